@@ -0,0 +1,156 @@
+package space.exploration.spice.dataUpload;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Writer stage for the sclk table. The producer hands rows to {@link #write(long, String, int, String)}, which only
+ * blocks when the bounded queue is full; a single consumer thread drains the queue into PreparedStatement batches
+ * and commits every commitInterval batches.
+ */
+public class SclkBatchWriter implements AutoCloseable {
+    public static final int DEFAULT_BATCH_SIZE      = 1000;
+    public static final int DEFAULT_QUEUE_CAPACITY  = 20000;
+    public static final int DEFAULT_COMMIT_INTERVAL = 10;
+
+    private static final SclkEntry END_OF_STREAM = new SclkEntry(0L, null, 0, null);
+
+    private static Logger logger = LoggerFactory.getLogger(SclkBatchWriter.class);
+
+    private final Connection               connection;
+    private final String                   insertSql;
+    private final int                      batchSize;
+    private final int                      commitInterval;
+    private final BlockingQueue<SclkEntry> queue;
+    private final Thread                   consumer;
+
+    private volatile SQLException failure     = null;
+    private volatile long         rowsWritten = 0L;
+    private          boolean      closed      = false;
+
+    public SclkBatchWriter(Connection connection, String tableName) {
+        this(connection, tableName, DEFAULT_BATCH_SIZE, DEFAULT_QUEUE_CAPACITY, DEFAULT_COMMIT_INTERVAL);
+    }
+
+    /**
+     * @param batchSize      rows per executeBatch round trip
+     * @param queueCapacity  rows buffered between producer and consumer before the producer blocks
+     * @param commitInterval batches per commit
+     */
+    public SclkBatchWriter(Connection connection, String tableName, int batchSize, int queueCapacity, int
+            commitInterval) {
+        this.connection = connection;
+        this.insertSql = "INSERT INTO " + tableName + " (ephemerisMs, utcTime, sol, sclkString) "
+                         + "VALUES (?, ?, ?, ?)";
+        this.batchSize = batchSize;
+        this.commitInterval = commitInterval;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.consumer = new Thread(this::drain, "sclkBatchWriter-" + tableName);
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    public void write(long ephemerisTimeMs, String utcTime, int sol, String sclkString) throws SQLException,
+            InterruptedException {
+        checkFailure();
+        queue.put(new SclkEntry(ephemerisTimeMs, utcTime, sol, sclkString));
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Flushes the rows still queued, commits and stops the consumer. The connection stays open.
+     */
+    @Override
+    public void close() throws SQLException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            if (failure == null) {
+                queue.put(END_OF_STREAM);
+            } else {
+                consumer.interrupt();
+            }
+            consumer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            consumer.interrupt();
+        }
+        checkFailure();
+    }
+
+    private void checkFailure() throws SQLException {
+        if (failure != null) {
+            throw new SQLException("Sclk batch writer failed after " + rowsWritten + " rows", failure);
+        }
+    }
+
+    private void drain() {
+        boolean autoCommit = true;
+        try {
+            autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement insert = connection.prepareStatement(insertSql)) {
+                int rowsInBatch     = 0;
+                int batchesInCommit = 0;
+                while (true) {
+                    SclkEntry entry = queue.take();
+                    if (entry == END_OF_STREAM) {
+                        break;
+                    }
+
+                    insert.setDouble(1, (double) entry.getEphemerisMs());
+                    insert.setString(2, entry.getUtcTime());
+                    insert.setInt(3, entry.getSol());
+                    insert.setString(4, entry.getSclkString());
+                    insert.addBatch();
+
+                    if (++rowsInBatch == batchSize) {
+                        insert.executeBatch();
+                        rowsWritten += rowsInBatch;
+                        rowsInBatch = 0;
+                        if (++batchesInCommit == commitInterval) {
+                            connection.commit();
+                            batchesInCommit = 0;
+                            logger.debug("Committed sclk rows, total = " + rowsWritten);
+                        }
+                    }
+                }
+
+                if (rowsInBatch > 0) {
+                    insert.executeBatch();
+                    rowsWritten += rowsInBatch;
+                }
+                connection.commit();
+            }
+        } catch (SQLException e) {
+            logger.error("Sclk batch writer failed", e);
+            failure = e;
+            queue.clear();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                connection.setAutoCommit(autoCommit);
+            } catch (SQLException e) {
+                logger.error("Unable to restore autoCommit", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package space.exploration.spice.dataUpload;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverPropertyInfo;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.logging.Logger;
+
+/**
+ * Checks {@link SclkBatchWriter} against an in-memory stub of the sclk table: rows arrive complete and in order,
+ * batches and commits follow the configured sizes, autoCommit is restored, and a failing batch surfaces as an
+ * SQLException from the producer side. Exits with status 1 on the first failure.
+ */
+public class SclkBatchWriterTest {
+    private static int checks = 0;
+
+    public static void main(String[] args) throws Exception {
+        StubDatabase database   = new StubDatabase();
+        Connection   connection = database.connect();
+
+        SclkBatchWriter writer = new SclkBatchWriter(connection, "sclk", 3, 4, 2);
+        for (int i = 0; i < 20; i++) {
+            writer.write(1000L * i, "2016-09-30~15:32:" + i, 1537, "1/01537:00:00:" + i);
+        }
+        writer.close();
+        writer.close();
+
+        check("rows written", writer.getRowsWritten() == 20L && database.getRows().size() == 20);
+        for (int i = 0; i < 20; i++) {
+            Object[] row = database.getRows().get(i);
+            check("row " + i, row[0].equals(1000.0d * i) && row[1].equals("2016-09-30~15:32:" + i)
+                    && row[2].equals(1537) && row[3].equals("1/01537:00:00:" + i));
+        }
+        check("batches", database.getBatches() == 7);
+        check("commits", database.getCommits() == 4);
+        check("autoCommit restored", connection.getAutoCommit() && !connection.isClosed());
+        check("insert statement", database.getStatements().get(0).equals(
+                "INSERT INTO sclk (ephemerisMs, utcTime, sol, sclkString) VALUES (?, ?, ?, ?)"));
+
+        StubDatabase empty = new StubDatabase();
+        new SclkBatchWriter(empty.connect(), "sclk").close();
+        check("empty upload", empty.getRows().isEmpty() && empty.getBatches() == 0 && empty.getCommits() == 1);
+
+        StubDatabase failing = new StubDatabase();
+        failing.failOnBatch(2);
+        SclkBatchWriter failingWriter = new SclkBatchWriter(failing.connect(), "sclk", 3, 4, 2);
+        SQLException    failure       = null;
+        try {
+            for (int i = 0; i < 1000; i++) {
+                failingWriter.write(i, "utc", 1, "sclk");
+            }
+            failingWriter.close();
+        } catch (SQLException e) {
+            failure = e;
+        }
+        check("failure reported", failure != null && failure.getCause() instanceof SQLException
+                && "injected".equals(failure.getCause().getMessage()));
+        check("rows before failure", failingWriter.getRowsWritten() == 3L);
+        try {
+            failingWriter.close();
+            check("close after failure", false);
+        } catch (SQLException expected) {
+            checks++;
+        }
+
+        System.out.println("SclkBatchWriterTest passed " + checks + " checks");
+    }
+
+    private static void check(String name, boolean passed) {
+        checks++;
+        if (!passed) {
+            System.err.println("SclkBatchWriterTest FAILED :: " + name);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Just enough of a JDBC database for the sclk uploads: one table of (ephemerisMs, utcTime, sol, sclkString)
+     * rows, batched inserts, DELETE by ephemerisMs range and transactions. Connections are dynamic proxies; calls
+     * the uploads do not make throw UnsupportedOperationException.
+     */
+    static class StubDatabase {
+        private final List<Object[]> rows        = new ArrayList<>();
+        private final List<String>   statements  = new ArrayList<>();
+        private       int            batches     = 0;
+        private       int            commits     = 0;
+        private       int            failOnBatch = -1;
+
+        synchronized List<Object[]> getRows() {
+            return new ArrayList<>(rows);
+        }
+
+        synchronized List<String> getStatements() {
+            return new ArrayList<>(statements);
+        }
+
+        synchronized int getBatches() {
+            return batches;
+        }
+
+        synchronized int getCommits() {
+            return commits;
+        }
+
+        /**
+         * Makes the given executeBatch call, counted from 1 over all connections, throw.
+         */
+        synchronized void failOnBatch(int batch) {
+            failOnBatch = batch;
+        }
+
+        Connection connect() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection
+                    .class}, new ConnectionHandler());
+        }
+
+        private class ConnectionHandler implements InvocationHandler {
+            private final List<Object[]> pending    = new ArrayList<>();
+            private       boolean        autoCommit = true;
+            private       boolean        closed     = false;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws SQLException {
+                synchronized (StubDatabase.this) {
+                    switch (method.getName()) {
+                        case "getAutoCommit":
+                            return autoCommit;
+                        case "setAutoCommit":
+                            if ((Boolean) args[0] && !autoCommit) {
+                                // Switching autoCommit on commits the open transaction.
+                                rows.addAll(pending);
+                                pending.clear();
+                            }
+                            autoCommit = (Boolean) args[0];
+                            return null;
+                        case "commit":
+                            commit();
+                            return null;
+                        case "rollback":
+                            pending.clear();
+                            return null;
+                        case "prepareStatement":
+                            statements.add((String) args[0]);
+                            return Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(), new
+                                    Class<?>[]{PreparedStatement.class}, new StatementHandler(this, (String)
+                                    args[0]));
+                        case "close":
+                            closed = true;
+                            return null;
+                        case "isClosed":
+                            return closed;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                }
+            }
+
+            private void commit() {
+                rows.addAll(pending);
+                pending.clear();
+                commits++;
+            }
+
+            private void apply(List<Object[]> changes) {
+                if (autoCommit) {
+                    rows.addAll(changes);
+                } else {
+                    pending.addAll(changes);
+                }
+            }
+
+            private int delete(double from, double to) {
+                int before = rows.size();
+                rows.removeIf(row -> (Double) row[0] >= from && (Double) row[0] < to);
+                return before - rows.size();
+            }
+        }
+
+        private class StatementHandler implements InvocationHandler {
+            private final ConnectionHandler connection;
+            private final String            sql;
+            private final Object[]          parameters = new Object[4];
+            private final List<Object[]>    batch      = new ArrayList<>();
+
+            StatementHandler(ConnectionHandler connection, String sql) {
+                this.connection = connection;
+                this.sql = sql;
+            }
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws SQLException {
+                synchronized (StubDatabase.this) {
+                    switch (method.getName()) {
+                        case "setDouble":
+                        case "setString":
+                        case "setInt":
+                            parameters[(Integer) args[0] - 1] = args[1];
+                            return null;
+                        case "addBatch":
+                            batch.add(parameters.clone());
+                            return null;
+                        case "executeBatch":
+                            if (++batches == failOnBatch) {
+                                batch.clear();
+                                throw new SQLException("injected");
+                            }
+                            int[] counts = new int[batch.size()];
+                            connection.apply(new ArrayList<>(batch));
+                            batch.clear();
+                            return counts;
+                        case "executeUpdate":
+                            if (!sql.startsWith("DELETE")) {
+                                throw new UnsupportedOperationException(sql);
+                            }
+                            return connection.delete((Double) parameters[0], (Double) parameters[1]);
+                        case "close":
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Driver handing out connections to a {@link StubDatabase} for jdbc:mysql: URLs, so code that goes through
+     * DriverManager can be run without a server.
+     */
+    static class StubDriver implements Driver {
+        private final StubDatabase database;
+
+        StubDriver(StubDatabase database) {
+            this.database = database;
+        }
+
+        @Override
+        public Connection connect(String url, Properties info) {
+            return acceptsURL(url) ? database.connect() : null;
+        }
+
+        @Override
+        public boolean acceptsURL(String url) {
+            return url.startsWith("jdbc:mysql:");
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+            return new DriverPropertyInfo[0];
+        }
+
+        @Override
+        public int getMajorVersion() {
+            return 1;
+        }
+
+        @Override
+        public int getMinorVersion() {
+            return 0;
+        }
+
+        @Override
+        public boolean jdbcCompliant() {
+            return false;
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package space.exploration.spice.dataUpload;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Sequential reader for files written by {@link SclkFileSink} in {@link SclkFileSink.Format#BINARY}.
+ */
+public class SclkBinaryReader implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer  buffer;
+    private final byte[]      ascii = new byte[255];
+
+    public SclkBinaryReader(File file) throws IOException {
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.BIG_ENDIAN);
+        buffer.flip();
+
+        if (!fill(8) || buffer.getInt() != SclkFileSink.BINARY_MAGIC) {
+            channel.close();
+            throw new IOException(file + " is not a binary sclk file");
+        }
+        int version = buffer.getInt();
+        if (version != SclkFileSink.BINARY_VERSION) {
+            channel.close();
+            throw new IOException(file + " has unsupported version " + version);
+        }
+    }
+
+    /**
+     * @return the next entry, or null at the end of the file.
+     */
+    public SclkEntry read() throws IOException {
+        if (!fill(13)) {
+            return null;
+        }
+        long   ephemerisMs = buffer.getLong();
+        int    sol         = buffer.getInt();
+        String utcTime     = readAscii();
+        String sclkString  = readAscii();
+        return new SclkEntry(ephemerisMs, utcTime, sol, sclkString);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private String readAscii() throws IOException {
+        if (!fill(1)) {
+            throw new EOFException("Truncated sclk record");
+        }
+        int length = buffer.get() & 0xFF;
+        if (!fill(length)) {
+            throw new EOFException("Truncated sclk record");
+        }
+        buffer.get(ascii, 0, length);
+        return new String(ascii, 0, length, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Makes at least the given number of bytes available, false at a clean end of file.
+     */
+    private boolean fill(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return true;
+        }
+        buffer.compact();
+        while (buffer.position() < bytes) {
+            if (channel.read(buffer) < 0) {
+                buffer.flip();
+                if (buffer.hasRemaining()) {
+                    throw new EOFException("Truncated sclk record");
+                }
+                return false;
+            }
+        }
+        buffer.flip();
+        return true;
+    }
+}
@@ -14,6 +14,7 @@ import org.apache.log4j.PatternLayout;
 import org.apache.log4j.Priority;
 import space.exploration.spice.utilities.TimeUtils;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.sql.DriverManager;
@@ -39,32 +40,61 @@ public class SclkDataUpload {
      *             args[1] - number of months - missionDuration.
      *             args[2] - logging level
      *             args[3] - dbProperties file.
+     *             args[4] - optional, number of worker threads. Switches to the partitioned, resumable upload.
+     *             args[5] - optional, checkpoint file for the partitioned upload.
      */
-    public static void main(String[] args) throws SQLException {
+    public static void main(String[] args) throws SQLException, InterruptedException {
         configureLogging(Boolean.parseBoolean(args[2]));
         logger.info("\n Welcome to the data upload utility for sclk data");
 
         try {
             logDBConfig = convertToPropertyFiles(args[3]);
-            configureDB(logDBConfig);
 
             DateTime  startDateTime  = DATE_FORMATTER.parseDateTime(args[0]).withZone(DateTimeZone.UTC);
             int       durationMonths = Integer.parseInt(args[1]);
             DateTime  endTime        = startDateTime.plusMonths(durationMonths);
-            TimeUtils timeUtils      = new TimeUtils();
-
-            while (startDateTime.isBefore(endTime)) {
-                timeUtils.updateClock(DATE_FORMATTER.print(startDateTime));
-                String sclkString = timeUtils.getSclkTime();
-                int    sol        = timeUtils.getSol();
-                String utcTime    = timeUtils.getUtcTime();
-                writeSclkEntry(startDateTime.getMillis(), utcTime, sol, sclkString);
-                startDateTime = startDateTime.plusSeconds(1);
+
+            if (args.length > 4) {
+                File checkpointFile = new File((args.length > 5) ? args[5] : "sclkDataUpload/checkpoint_" + args[0]
+                        .replace(":", "") + ".txt");
+                new SclkPartitionedUpload(logDBConfig, checkpointFile, Integer.parseInt(args[4])).upload
+                        (startDateTime, endTime);
+                return;
+            }
+
+            TimeUtils timeUtils = new TimeUtils();
+            if (getOutputFormat(logDBConfig) != null) {
+                try (SclkFileSink sclkSink = createFileSink(logDBConfig, args[0].replace(":", ""))) {
+                    while (startDateTime.isBefore(endTime)) {
+                        timeUtils.updateClock(DATE_FORMATTER.print(startDateTime));
+                        sclkSink.write(startDateTime.getMillis(), timeUtils.getUtcTime(), timeUtils.getSol(),
+                                       timeUtils.getSclkTime());
+                        startDateTime = startDateTime.plusSeconds(1);
+                    }
+                    logger.info("Wrote " + sclkSink.getRowsWritten() + " sclk entries to " + sclkSink.getFiles()
+                            .size() + " files");
+                }
+                return;
+            }
+
+            configureDB(logDBConfig);
+            try (SclkBatchWriter sclkWriter = createBatchWriter(logDBConfig)) {
+                while (startDateTime.isBefore(endTime)) {
+                    timeUtils.updateClock(DATE_FORMATTER.print(startDateTime));
+                    String sclkString = timeUtils.getSclkTime();
+                    int    sol        = timeUtils.getSol();
+                    String utcTime    = timeUtils.getUtcTime();
+                    sclkWriter.write(startDateTime.getMillis(), utcTime, sol, sclkString);
+                    startDateTime = startDateTime.plusSeconds(1);
+                }
+                logger.info("Uploaded " + sclkWriter.getRowsWritten() + " sclk entries");
             }
         } catch (IOException e) {
             e.printStackTrace();
         } finally {
-            logDBConnection.close();
+            if (logDBConnection != null) {
+                logDBConnection.close();
+            }
         }
     }
 
@@ -96,23 +126,80 @@ public class SclkDataUpload {
 
         try {
             System.out.println("Configuring database");
-            dbUserName = logDBConfig.getProperty("mars.rover.database.user");
-            dbPassword = logDBConfig.getProperty("mars.rover.database.password");
-            logDBConnection = DriverManager
-                    .getConnection("jdbc:mysql://" + logDBConfig.getProperty("mars.rover.database.host")
-                                           + "/" + logDBConfig.getProperty("mars.rover.database.dbName")
-                                           + "?user=" + dbUserName + "&password=" + dbPassword);
-            statement = logDBConnection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet
-                    .CONCUR_UPDATABLE);
-            resultSet = statement.executeQuery("SELECT * FROM " + logDBConfig.getProperty("mars.rover.database" +
-                                                                                                  ".sclkTableName"));
+            logDBConnection = openConnection(logDBConfig);
         } catch (SQLException sqlException) {
             sqlException.printStackTrace();
         }
     }
 
+    public static Connection openConnection(Properties logDBConfig) throws SQLException {
+        dbUserName = logDBConfig.getProperty("mars.rover.database.user");
+        dbPassword = logDBConfig.getProperty("mars.rover.database.password");
+        return DriverManager.getConnection("jdbc:mysql://" + logDBConfig.getProperty("mars.rover.database.host")
+                                                   + "/" + logDBConfig.getProperty("mars.rover.database.dbName")
+                                                   + "?user=" + dbUserName + "&password=" + dbPassword
+                                                   + "&rewriteBatchedStatements=true");
+    }
+
+    /**
+     * Batched writer for the sclk table, sized from mars.rover.database.sclkBatchSize, sclkQueueCapacity and
+     * sclkCommitInterval.
+     */
+    public static SclkBatchWriter createBatchWriter(Properties logDBConfig) {
+        return createBatchWriter(logDBConnection, logDBConfig);
+    }
+
+    public static SclkBatchWriter createBatchWriter(Connection connection, Properties logDBConfig) {
+        String tableName      = logDBConfig.getProperty("mars.rover.database.sclkTableName");
+        int    batchSize      = getIntProperty(logDBConfig, "mars.rover.database.sclkBatchSize",
+                                               SclkBatchWriter.DEFAULT_BATCH_SIZE);
+        int    queueCapacity  = getIntProperty(logDBConfig, "mars.rover.database.sclkQueueCapacity",
+                                               SclkBatchWriter.DEFAULT_QUEUE_CAPACITY);
+        int    commitInterval = getIntProperty(logDBConfig, "mars.rover.database.sclkCommitInterval",
+                                               SclkBatchWriter.DEFAULT_COMMIT_INTERVAL);
+        return new SclkBatchWriter(connection, tableName, batchSize, queueCapacity, commitInterval);
+    }
+
+    /**
+     * Bulk file format selected by mars.rover.sclk.outputMode (loadData or binary), null when rows go to the
+     * database.
+     */
+    public static SclkFileSink.Format getOutputFormat(Properties logDBConfig) {
+        String outputMode = logDBConfig.getProperty("mars.rover.sclk.outputMode", "database").trim();
+        if (outputMode.equalsIgnoreCase("loadData")) {
+            return SclkFileSink.Format.LOAD_DATA;
+        } else if (outputMode.equalsIgnoreCase("binary")) {
+            return SclkFileSink.Format.BINARY;
+        }
+        return null;
+    }
+
+    public static SclkFileSink createFileSink(Properties logDBConfig, String prefix) throws IOException {
+        File outputDirectory = new File(logDBConfig.getProperty("mars.rover.sclk.outputDirectory",
+                                                                "sclkDataUpload/bulk"));
+        int  rowsPerFile     = getIntProperty(logDBConfig, "mars.rover.sclk.rowsPerFile", SclkFileSink
+                .DEFAULT_ROWS);
+        return new SclkFileSink(outputDirectory, "sclk_" + prefix, getOutputFormat(logDBConfig), rowsPerFile);
+    }
+
+    private static int getIntProperty(Properties config, String key, int defaultValue) {
+        String value = config.getProperty(key);
+        return (value == null) ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    /**
+     * Row at a time insert through an updatable result set. Kept for ad hoc corrections; bulk uploads go through
+     * {@link SclkBatchWriter}.
+     */
     public static void writeSclkEntry(long ephemerisTimeMs, String utcTime, int sol, String sclkString) {
         try {
+            if (resultSet == null) {
+                statement = logDBConnection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet
+                        .CONCUR_UPDATABLE);
+                resultSet = statement.executeQuery("SELECT * FROM " + logDBConfig.getProperty("mars.rover" +
+                                                                                                      ".database" +
+                                                                                                      ".sclkTableName"));
+            }
             if (resultSet.isClosed()) {
                 resultSet = statement.executeQuery("SELECT * FROM " + logDBConfig.getProperty("mars.rover.database" +
                                                                                                       ".logTableName"));
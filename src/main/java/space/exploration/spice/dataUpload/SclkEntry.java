@@ -0,0 +1,39 @@
+package space.exploration.spice.dataUpload;
+
+/**
+ * One row of the sclk table - ephemerisMs, utcTime, sol, sclkString.
+ */
+public class SclkEntry {
+    private final long   ephemerisMs;
+    private final String utcTime;
+    private final int    sol;
+    private final String sclkString;
+
+    public SclkEntry(long ephemerisMs, String utcTime, int sol, String sclkString) {
+        this.ephemerisMs = ephemerisMs;
+        this.utcTime = utcTime;
+        this.sol = sol;
+        this.sclkString = sclkString;
+    }
+
+    public long getEphemerisMs() {
+        return ephemerisMs;
+    }
+
+    public String getUtcTime() {
+        return utcTime;
+    }
+
+    public int getSol() {
+        return sol;
+    }
+
+    public String getSclkString() {
+        return sclkString;
+    }
+
+    @Override
+    public String toString() {
+        return ephemerisMs + "," + utcTime + "," + sol + "," + sclkString;
+    }
+}
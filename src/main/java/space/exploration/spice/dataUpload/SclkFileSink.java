@@ -0,0 +1,207 @@
+package space.exploration.spice.dataUpload;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Streams sclk rows to rotating files instead of the database.
+ * <p>
+ * {@link Format#LOAD_DATA} writes tab separated lines using the MySQL LOAD DATA INFILE defaults (fields terminated
+ * by tab, escaped by backslash, lines terminated by newline), see {@link #getLoadDataStatement(File, String)}.
+ * {@link Format#BINARY} writes the compact record layout read back by {@link SclkBinaryReader}:
+ * <pre>
+ *     header : int magic 'SCLK', int version
+ *     record : long ephemerisMs, int sol, byte utcLength, utc ascii, byte sclkLength, sclk ascii
+ * </pre>
+ * All values are big endian; lengths are unsigned. Both formats hold US-ASCII strings only, and BINARY strings of
+ * at most 255 characters; {@link #write(long, String, int, String)} rejects other rows with an IOException before
+ * any of their bytes are buffered.
+ */
+public class SclkFileSink implements Closeable {
+    public static final int BINARY_MAGIC   = 0x53434C4B;
+    public static final int BINARY_VERSION = 1;
+    public static final int DEFAULT_ROWS   = 86400;
+
+    private static final int BUFFER_SIZE       = 1 << 20;
+    private static final int MAX_BINARY_LENGTH = 255;
+
+    private static Logger logger = LoggerFactory.getLogger(SclkFileSink.class);
+
+    public enum Format {
+        LOAD_DATA(".tsv"), BINARY(".sclk");
+        String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private final File        directory;
+    private final String      prefix;
+    private final Format      format;
+    private final int         rowsPerFile;
+    private final ByteBuffer  buffer;
+    private final List<File>  files       = new ArrayList<>();
+    private       FileChannel channel     = null;
+    private       int         rowsInFile  = 0;
+    private       long        rowsWritten = 0L;
+
+    /**
+     * @param rowsPerFile rows written before rotating to the next file, one day of seconds by default
+     */
+    public SclkFileSink(File directory, String prefix, Format format, int rowsPerFile) throws IOException {
+        this.directory = directory;
+        this.prefix = prefix;
+        this.format = format;
+        this.rowsPerFile = rowsPerFile;
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.BIG_ENDIAN);
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Unable to create " + directory);
+        }
+    }
+
+    public void write(long ephemerisTimeMs, String utcTime, int sol, String sclkString) throws IOException {
+        checkValue("UTC time", utcTime);
+        checkValue("Sclk string", sclkString);
+        if (channel == null || rowsInFile == rowsPerFile) {
+            rotate();
+        }
+        if (buffer.remaining() < 2 * (utcTime.length() + sclkString.length()) + 64) {
+            flush();
+        }
+
+        if (format == Format.LOAD_DATA) {
+            putDigits(ephemerisTimeMs);
+            buffer.put((byte) '\t');
+            putEscaped(utcTime);
+            buffer.put((byte) '\t');
+            putDigits(sol);
+            buffer.put((byte) '\t');
+            putEscaped(sclkString);
+            buffer.put((byte) '\n');
+        } else {
+            buffer.putLong(ephemerisTimeMs);
+            buffer.putInt(sol);
+            putAscii(utcTime);
+            putAscii(sclkString);
+        }
+        rowsInFile++;
+        rowsWritten++;
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    public List<File> getFiles() {
+        return Collections.unmodifiableList(files);
+    }
+
+    /**
+     * LOAD DATA statement matching the layout of a {@link Format#LOAD_DATA} file.
+     */
+    public static String getLoadDataStatement(File file, String tableName) {
+        return "LOAD DATA LOCAL INFILE '" + file.getAbsolutePath().replace("\\", "\\\\").replace("'", "\\'") + "' " +
+                "INTO TABLE " + tableName + " FIELDS TERMINATED BY '\\t' ESCAPED BY '\\\\' LINES TERMINATED BY " +
+                "'\\n' (ephemerisMs, utcTime, sol, sclkString)";
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            flush();
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void rotate() throws IOException {
+        close();
+        File file = new File(directory, String.format("%s_%05d%s", prefix, files.size(), format.getExtension()));
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                   StandardOpenOption.TRUNCATE_EXISTING);
+        files.add(file);
+        rowsInFile = 0;
+        if (format == Format.BINARY) {
+            buffer.putInt(BINARY_MAGIC);
+            buffer.putInt(BINARY_VERSION);
+        }
+        logger.debug("Writing sclk rows to " + file);
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void putDigits(long value) {
+        if (value == Long.MIN_VALUE) {
+            // -Long.MIN_VALUE overflows and stays negative, so this one value is written by Long.toString.
+            String digits = Long.toString(value);
+            for (int i = 0; i < digits.length(); i++) {
+                buffer.put((byte) digits.charAt(i));
+            }
+            return;
+        }
+        if (value < 0L) {
+            buffer.put((byte) '-');
+            value = -value;
+        }
+        long divisor = 1L;
+        while (value / divisor >= 10L) {
+            divisor *= 10L;
+        }
+        while (divisor > 0L) {
+            buffer.put((byte) ('0' + (value / divisor) % 10L));
+            divisor /= 10L;
+        }
+    }
+
+    private void putEscaped(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '\t' || c == '\n') {
+                buffer.put((byte) '\\');
+                c = (c == '\t') ? 't' : (c == '\n') ? 'n' : c;
+            }
+            buffer.put((byte) c);
+        }
+    }
+
+    private void checkValue(String name, String value) throws IOException {
+        if (format == Format.BINARY && value.length() > MAX_BINARY_LENGTH) {
+            throw new IOException(name + " of " + value.length() + " characters is longer than the "
+                                  + MAX_BINARY_LENGTH + " a binary sclk record holds");
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0x7F) {
+                throw new IOException(name + " '" + value + "' is not US-ASCII");
+            }
+        }
+    }
+
+    private void putAscii(String value) {
+        buffer.put((byte) value.length());
+        for (int i = 0; i < value.length(); i++) {
+            buffer.put((byte) value.charAt(i));
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package space.exploration.spice.dataUpload;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Checks {@link SclkFileSink} in both formats: binary rows read back by {@link SclkBinaryReader} across rotated
+ * files, LOAD DATA escaping of tabs, newlines and backslashes, the LOAD DATA statement for awkward paths, and the
+ * rejection of rows a format can't hold. Exits with status 1 on the first failure.
+ */
+public class SclkFileSinkTest {
+    private static int checks = 0;
+
+    public static void main(String[] args) throws IOException {
+        File directory = Files.createTempDirectory("sclkFileSink").toFile();
+
+        List<SclkEntry> written = new ArrayList<>();
+        char[]          longest = new char[255];
+        Arrays.fill(longest, 'x');
+        try (SclkFileSink sink = new SclkFileSink(directory, "binary", SclkFileSink.Format.BINARY, 1000)) {
+            for (int i = 0; i < 2500; i++) {
+                String    utc   = (i == 7) ? "" : (i == 8) ? new String(longest) : "2016-09-30~15:32:" + i;
+                String    sclk  = "1/0" + (1500 + i % 100) + ":12:34:56:" + i;
+                SclkEntry entry = new SclkEntry(-5000L + 1000L * i, utc, 1500 + i % 100, sclk);
+                sink.write(entry.getEphemerisMs(), entry.getUtcTime(), entry.getSol(), entry.getSclkString());
+                written.add(entry);
+
+                if (i == 1500) {
+                    expectRejected(sink, new String(longest) + "x", sclk);
+                    expectRejected(sink, "2016-09-30~15:32:00", "1/01537:12:34:56:\u00e9");
+                }
+            }
+            check("rows written", sink.getRowsWritten() == 2500L);
+            check("rotated files", sink.getFiles().size() == 3 && sink.getFiles().get(2).getName().equals(
+                    "binary_00002.sclk"));
+        }
+
+        List<SclkEntry> read = new ArrayList<>();
+        for (int f = 0; f < 3; f++) {
+            try (SclkBinaryReader reader = new SclkBinaryReader(new File(directory, String.format("binary_%05d.sclk",
+                                                                                                  f)))) {
+                int rows = 0;
+                for (SclkEntry entry = reader.read(); entry != null; entry = reader.read()) {
+                    read.add(entry);
+                    rows++;
+                }
+                check("rows in file " + f, rows == ((f < 2) ? 1000 : 500));
+            }
+        }
+        check("binary row count", read.size() == written.size());
+        for (int i = 0; i < written.size(); i++) {
+            check("binary row " + i, read.get(i).toString().equals(written.get(i).toString()));
+        }
+
+        File truncated = new File(directory, "truncated.sclk");
+        Files.copy(new File(directory, "binary_00002.sclk").toPath(), truncated.toPath());
+        try (RandomAccessFile file = new RandomAccessFile(truncated, "rw")) {
+            file.setLength(file.length() - 3);
+        }
+        try (SclkBinaryReader reader = new SclkBinaryReader(truncated)) {
+            for (int i = 0; i < 500; i++) {
+                reader.read();
+            }
+            check("truncated file", false);
+        } catch (EOFException expected) {
+            checks++;
+        }
+
+        try (SclkFileSink sink = new SclkFileSink(directory, "loadData", SclkFileSink.Format.LOAD_DATA, 2)) {
+            sink.write(-1234L, "a\tb", 7, "c\\d\ne");
+            sink.write(0L, "", 0, "plain");
+            sink.write(Long.MAX_VALUE, "\\\\", -1537, "\t\n");
+            expectRejected(sink, "2016-09-30~15:32:00\u00e9", "1/01537:12:34:56:78901");
+            sink.write(1L, new String(longest) + "x", 1, "sclk");
+            sink.write(Long.MIN_VALUE, "min", Integer.MIN_VALUE, "sclk");
+            check("load data files", sink.getFiles().size() == 3);
+        }
+        check("escaped lines", read(new File(directory, "loadData_00000.tsv")).equals(
+                "-1234\ta\\tb\t7\tc\\\\d\\ne\n0\t\t0\tplain\n"));
+        check("escaped specials", read(new File(directory, "loadData_00001.tsv")).equals(
+                Long.MAX_VALUE + "\t\\\\\\\\\t-1537\t\\t\\n\n" + "1\t" + new String(longest) + "x\t1\tsclk\n"));
+        check("minimum values", read(new File(directory, "loadData_00002.tsv")).equals(
+                "-9223372036854775808\tmin\t-2147483648\tsclk\n"));
+
+        check("load data statement", SclkFileSink.getLoadDataStatement(new File("/data/it's\\here.tsv"), "sclk")
+                .equals("LOAD DATA LOCAL INFILE '/data/it\\'s\\\\here.tsv' INTO TABLE sclk FIELDS TERMINATED BY "
+                        + "'\\t' ESCAPED BY '\\\\' LINES TERMINATED BY '\\n' (ephemerisMs, utcTime, sol, "
+                        + "sclkString)"));
+
+        try {
+            new SclkBinaryReader(new File(directory, "loadData_00000.tsv")).close();
+            check("non binary file", false);
+        } catch (IOException expected) {
+            checks++;
+        }
+
+        for (File file : directory.listFiles()) {
+            Files.delete(file.toPath());
+        }
+        Files.delete(directory.toPath());
+        System.out.println("SclkFileSinkTest passed " + checks + " checks");
+    }
+
+    private static void expectRejected(SclkFileSink sink, String utcTime, String sclkString) {
+        long rows = sink.getRowsWritten();
+        try {
+            sink.write(1L, utcTime, 1, sclkString);
+            check("accepted '" + utcTime + "', '" + sclkString + "'", false);
+        } catch (IOException expected) {
+            check("nothing written for a rejected row", sink.getRowsWritten() == rows);
+        }
+    }
+
+    private static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.US_ASCII);
+    }
+
+    private static void check(String name, boolean passed) {
+        checks++;
+        if (!passed) {
+            System.err.println("SclkFileSinkTest FAILED :: " + name);
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package space.exploration.spice.dataUpload;
+
+import org.joda.time.DateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import space.exploration.spice.utilities.TimeUtils;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Splits a mission range into one-day partitions and uploads them concurrently. Every partition runs on its own
+ * connection, {@link TimeUtils} and {@link SclkBatchWriter}; finished partitions are appended to a checkpoint file
+ * so an interrupted upload can be restarted without redoing them. A checkpoint names the start, end and step of a
+ * partition, so a rerun over a different range or step redoes the partitions that differ. Rows left behind by a
+ * partition that did not finish are deleted before it is uploaded again. In bulk file mode each partition writes
+ * its own files, which are truncated when a partition is redone.
+ */
+public class SclkPartitionedUpload {
+    private static final int STEP_SECONDS = 1;
+
+    private static Logger logger = LoggerFactory.getLogger(SclkPartitionedUpload.class);
+
+    private final Properties  logDBConfig;
+    private final File        checkpointFile;
+    private final int         threads;
+    private final Set<String> finishedPartitions;
+
+    public SclkPartitionedUpload(Properties logDBConfig, File checkpointFile, int threads) throws IOException {
+        this.logDBConfig = logDBConfig;
+        this.checkpointFile = checkpointFile;
+        this.threads = threads;
+        this.finishedPartitions = readCheckpoint(checkpointFile);
+    }
+
+    public void upload(DateTime startTime, DateTime endTime) throws IOException, SQLException,
+            InterruptedException {
+        ExecutorService      workers    = Executors.newFixedThreadPool(threads);
+        List<Future<String>> partitions = new ArrayList<>();
+
+        try {
+            for (DateTime partitionStart = startTime; partitionStart.isBefore(endTime); partitionStart =
+                    partitionStart.plusDays(1)) {
+                DateTime partitionEnd = partitionStart.plusDays(1).isBefore(endTime) ? partitionStart.plusDays(1) :
+                        endTime;
+                String   partitionKey = getPartitionKey(partitionStart, partitionEnd);
+                if (finishedPartitions.contains(partitionKey)) {
+                    logger.info("Skipping finished partition " + partitionKey);
+                    continue;
+                }
+
+                final DateTime from = partitionStart;
+                partitions.add(workers.submit(() -> {
+                    uploadPartition(from, partitionEnd);
+                    markFinished(partitionKey);
+                    return partitionKey;
+                }));
+            }
+
+            for (Future<String> partition : partitions) {
+                try {
+                    logger.info("Finished partition " + partition.get());
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof SQLException) {
+                        throw (SQLException) cause;
+                    } else if (cause instanceof IOException) {
+                        throw (IOException) cause;
+                    }
+                    throw new IllegalStateException(cause);
+                }
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Checkpoint entry of a partition: its start, end and step, as in 2016-09-30~00:00:00/2016-10-01~00:00:00/1.
+     */
+    static String getPartitionKey(DateTime partitionStart, DateTime partitionEnd) {
+        return SclkDataUpload.DATE_FORMATTER.print(partitionStart) + "/" + SclkDataUpload.DATE_FORMATTER.print(
+                partitionEnd) + "/" + STEP_SECONDS;
+    }
+
+    private void uploadPartition(DateTime partitionStart, DateTime partitionEnd) throws SQLException,
+            InterruptedException, IOException {
+        TimeUtils timeUtils = new TimeUtils();
+
+        if (SclkDataUpload.getOutputFormat(logDBConfig) != null) {
+            String prefix = SclkDataUpload.DATE_FORMATTER.print(partitionStart).replace(":", "");
+            try (SclkFileSink sclkSink = SclkDataUpload.createFileSink(logDBConfig, prefix)) {
+                for (DateTime current = partitionStart; current.isBefore(partitionEnd); current = current
+                        .plusSeconds(STEP_SECONDS)) {
+                    timeUtils.updateClock(SclkDataUpload.DATE_FORMATTER.print(current));
+                    sclkSink.write(current.getMillis(), timeUtils.getUtcTime(), timeUtils.getSol(), timeUtils
+                            .getSclkTime());
+                }
+            }
+            return;
+        }
+
+        try (Connection connection = SclkDataUpload.openConnection(logDBConfig)) {
+            deletePartialPartition(connection, partitionStart, partitionEnd);
+
+            try (SclkBatchWriter sclkWriter = SclkDataUpload.createBatchWriter(connection, logDBConfig)) {
+                for (DateTime current = partitionStart; current.isBefore(partitionEnd); current = current
+                        .plusSeconds(STEP_SECONDS)) {
+                    timeUtils.updateClock(SclkDataUpload.DATE_FORMATTER.print(current));
+                    sclkWriter.write(current.getMillis(), timeUtils.getUtcTime(), timeUtils.getSol(), timeUtils
+                            .getSclkTime());
+                }
+            }
+        }
+    }
+
+    private void deletePartialPartition(Connection connection, DateTime partitionStart, DateTime partitionEnd)
+            throws SQLException {
+        String sql = "DELETE FROM " + logDBConfig.getProperty("mars.rover.database.sclkTableName") + " WHERE " +
+                "ephemerisMs >= ? AND ephemerisMs < ?";
+        try (PreparedStatement delete = connection.prepareStatement(sql)) {
+            delete.setDouble(1, (double) partitionStart.getMillis());
+            delete.setDouble(2, (double) partitionEnd.getMillis());
+            int deleted = delete.executeUpdate();
+            if (deleted > 0) {
+                logger.info("Removed " + deleted + " rows of unfinished partition " + SclkDataUpload
+                        .DATE_FORMATTER.print(partitionStart));
+            }
+        }
+    }
+
+    private synchronized void markFinished(String partitionKey) throws IOException {
+        File parent = checkpointFile.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+
+        try (FileOutputStream outputStream = new FileOutputStream(checkpointFile, true);
+             Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.US_ASCII)) {
+            writer.write(partitionKey);
+            writer.write(System.lineSeparator());
+            writer.flush();
+            outputStream.getFD().sync();
+        }
+        finishedPartitions.add(partitionKey);
+    }
+
+    private static Set<String> readCheckpoint(File checkpointFile) throws IOException {
+        Set<String> finished = ConcurrentHashMap.newKeySet();
+        if (!checkpointFile.exists()) {
+            return finished;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(checkpointFile))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.trim().isEmpty()) {
+                    finished.add(line.trim());
+                }
+            }
+        }
+        logger.info("Checkpoint " + checkpointFile + " lists " + finished.size() + " finished partitions");
+        return finished;
+    }
+}
@@ -0,0 +1,161 @@
+package space.exploration.spice.dataUpload;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import space.exploration.spice.utilities.TimeUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeSet;
+
+/**
+ * Runs {@link SclkPartitionedUpload} over a day and ten seconds, two partitions, in binary file mode and against
+ * {@link SclkBatchWriterTest.StubDatabase}: every second is written exactly once, finished partitions are skipped
+ * on restart, a partition whose range changed is redone, and the rows of a partition that failed part way are
+ * replaced when it is redone. Exits with status 1 on the first failure.
+ */
+public class SclkPartitionedUploadTest {
+    private static final DateTime START = new DateTime(2016, 9, 30, 0, 0, 0, DateTimeZone.UTC);
+    private static final DateTime END   = START.plusDays(1).plusSeconds(10);
+    private static final int      ROWS  = 86410;
+
+    private static int checks = 0;
+
+    public static void main(String[] args) throws Exception {
+        File   directory  = Files.createTempDirectory("sclkPartitionedUpload").toFile();
+        File   checkpoint = new File(directory, "checkpoint.txt");
+        String firstKey   = SclkPartitionedUpload.getPartitionKey(START, START.plusDays(1));
+        String secondKey  = SclkPartitionedUpload.getPartitionKey(START.plusDays(1), END);
+
+        Properties fileConfig = new Properties();
+        fileConfig.setProperty("mars.rover.sclk.outputMode", "binary");
+        fileConfig.setProperty("mars.rover.sclk.outputDirectory", directory.getPath());
+
+        new SclkPartitionedUpload(fileConfig, checkpoint, 2).upload(START, END);
+
+        check("checkpoint", readCheckpoint(checkpoint).equals(new TreeSet<>(Arrays.asList(firstKey, secondKey))));
+        File first  = partitionFile(directory, START);
+        File second = partitionFile(directory, START.plusDays(1));
+        check("first partition", countRows(first, START) == 86400);
+        check("second partition", countRows(second, START.plusDays(1)) == 10);
+
+        TimeUtils timeUtils = new TimeUtils();
+        timeUtils.updateClock(SclkDataUpload.DATE_FORMATTER.print(START));
+        try (SclkBinaryReader reader = new SclkBinaryReader(first)) {
+            SclkEntry entry = reader.read();
+            check("converted row", entry.getSclkString().equals(timeUtils.getSclkTime()) && entry.getSol() ==
+                    timeUtils.getSol() && entry.getUtcTime().equals(SclkDataUpload.DATE_FORMATTER.print(START)));
+        }
+
+        delete(first);
+        delete(second);
+        new SclkPartitionedUpload(fileConfig, checkpoint, 2).upload(START, END);
+        check("finished partitions skipped", !first.exists() && !second.exists());
+
+        Files.write(checkpoint.toPath(), Collections.singletonList(firstKey), StandardCharsets.US_ASCII);
+        new SclkPartitionedUpload(fileConfig, checkpoint, 2).upload(START, END);
+        check("unfinished partition redone", !first.exists() && countRows(second, START.plusDays(1)) == 10);
+        check("checkpoint after redo", readCheckpoint(checkpoint).size() == 2);
+
+        new SclkPartitionedUpload(fileConfig, checkpoint, 2).upload(START, END.plusSeconds(5));
+        check("changed partition redone", !first.exists() && countRows(second, START.plusDays(1)) == 15);
+        check("checkpoint of changed partition", readCheckpoint(checkpoint).contains(
+                SclkPartitionedUpload.getPartitionKey(START.plusDays(1), END.plusSeconds(5))));
+
+        SclkBatchWriterTest.StubDatabase database = new SclkBatchWriterTest.StubDatabase();
+        SclkBatchWriterTest.StubDriver   driver   = new SclkBatchWriterTest.StubDriver(database);
+        DriverManager.registerDriver(driver);
+        try {
+            Properties dbConfig = new Properties();
+            dbConfig.setProperty("mars.rover.database.host", "localhost:1");
+            dbConfig.setProperty("mars.rover.database.dbName", "mars");
+            dbConfig.setProperty("mars.rover.database.sclkTableName", "sclk");
+            dbConfig.setProperty("mars.rover.database.sclkBatchSize", "1000");
+            dbConfig.setProperty("mars.rover.database.sclkCommitInterval", "1");
+            File dbCheckpoint = new File(directory, "dbCheckpoint.txt");
+
+            database.failOnBatch(50);
+            try {
+                new SclkPartitionedUpload(dbConfig, dbCheckpoint, 1).upload(START, END);
+                check("failed upload", false);
+            } catch (SQLException expected) {
+                checks++;
+            }
+            check("partial rows committed", database.getRows().size() >= 49000);
+            check("failed partition not finished", !readCheckpoint(dbCheckpoint).contains(firstKey));
+
+            new SclkPartitionedUpload(dbConfig, dbCheckpoint, 1).upload(START, END);
+            List<Object[]> rows    = database.getRows();
+            TreeSet<Long>  seconds = new TreeSet<>();
+            for (Object[] row : rows) {
+                seconds.add((long) (double) (Double) row[0]);
+            }
+            check("every second once", rows.size() == ROWS && seconds.size() == ROWS && seconds.first() == START
+                    .getMillis() && seconds.last() == END.getMillis() - 1000L);
+            check("partial partition deleted", database.getStatements().contains(
+                    "DELETE FROM sclk WHERE ephemerisMs >= ? AND ephemerisMs < ?"));
+            check("db checkpoint", readCheckpoint(dbCheckpoint).size() == 2);
+        } finally {
+            DriverManager.deregisterDriver(driver);
+        }
+
+        for (File file : directory.listFiles()) {
+            delete(file);
+        }
+        delete(directory);
+        System.out.println("SclkPartitionedUploadTest passed " + checks + " checks");
+    }
+
+    private static File partitionFile(File directory, DateTime partitionStart) {
+        return new File(directory, "sclk_" + SclkDataUpload.DATE_FORMATTER.print(partitionStart).replace(":", "") +
+                "_00000" + SclkFileSink.Format.BINARY.getExtension());
+    }
+
+    /**
+     * Rows of a partition file, checking that they are consecutive seconds from start.
+     */
+    private static int countRows(File file, DateTime start) throws IOException {
+        int rows = 0;
+        try (SclkBinaryReader reader = new SclkBinaryReader(file)) {
+            for (SclkEntry entry = reader.read(); entry != null; entry = reader.read()) {
+                if (entry.getEphemerisMs() != start.getMillis() + 1000L * rows) {
+                    check(file + " row " + rows, false);
+                }
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private static TreeSet<String> readCheckpoint(File checkpoint) throws IOException {
+        TreeSet<String> keys = new TreeSet<>();
+        if (checkpoint.exists()) {
+            for (String line : Files.readAllLines(checkpoint.toPath(), StandardCharsets.US_ASCII)) {
+                if (!line.trim().isEmpty()) {
+                    keys.add(line.trim());
+                }
+            }
+        }
+        return keys;
+    }
+
+    private static void delete(File file) throws IOException {
+        Files.deleteIfExists(file.toPath());
+    }
+
+    private static void check(String name, boolean passed) {
+        checks++;
+        if (!passed) {
+            System.err.println("SclkPartitionedUploadTest FAILED :: " + name);
+            System.exit(1);
+        }
+    }
+}
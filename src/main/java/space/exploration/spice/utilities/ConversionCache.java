@@ -0,0 +1,151 @@
+package space.exploration.spice.utilities;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded, concurrent LRU cache with time to live eviction. Keys are spread over independently locked segments,
+ * each an access ordered LinkedHashMap holding its share of the size bound, so lookups on different segments do not
+ * contend. Values are computed outside the segment lock; two threads missing on the same key may both compute it,
+ * which is harmless for the deterministic conversions cached here.
+ */
+public class ConversionCache<K, V> {
+    public static final int  DEFAULT_MAXIMUM_SIZE = 100000;
+    public static final long DEFAULT_TTL_SECONDS  = 3600L;
+
+    private static final int SEGMENTS = 16;
+
+    private final List<Segment<K, V>> segments;
+    private final long                ttlNanos;
+    private final LongAdder           hits      = new LongAdder();
+    private final LongAdder           misses    = new LongAdder();
+    private final LongAdder           evictions = new LongAdder();
+
+    private static class Expiring<V> {
+        final V    value;
+        final long expiresAt;
+
+        Expiring(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static class Segment<K, V> extends LinkedHashMap<K, Expiring<V>> {
+        private static final long serialVersionUID = 1L;
+
+        private final int       maximumSize;
+        private final LongAdder evictions;
+
+        Segment(int maximumSize, LongAdder evictions) {
+            super(16, 0.75f, true);
+            this.maximumSize = maximumSize;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, Expiring<V>> eldest) {
+            if (size() > maximumSize) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    public ConversionCache() {
+        this(DEFAULT_MAXIMUM_SIZE, DEFAULT_TTL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * @param maximumSize entries kept before the least recently used ones are evicted
+     * @param timeToLive  age after which an entry is recomputed, 0 to keep entries until they are evicted by size
+     */
+    public ConversionCache(int maximumSize, long timeToLive, TimeUnit unit) {
+        int segmentSize = Math.max(1, (maximumSize + SEGMENTS - 1) / SEGMENTS);
+        this.segments = new ArrayList<>(SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments.add(new Segment<>(segmentSize, evictions));
+        }
+        this.ttlNanos = unit.toNanos(timeToLive);
+    }
+
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        Segment<K, V> segment = segmentFor(key);
+        long          now     = System.nanoTime();
+        synchronized (segment) {
+            Expiring<V> entry = segment.get(key);
+            if (entry != null) {
+                if (ttlNanos == 0L || now - entry.expiresAt < 0L) {
+                    hits.increment();
+                    return entry.value;
+                }
+                segment.remove(key);
+                evictions.increment();
+            }
+        }
+
+        misses.increment();
+        V value = loader.apply(key);
+        synchronized (segment) {
+            segment.put(key, new Expiring<>(value, now + ttlNanos));
+        }
+        return value;
+    }
+
+    public void invalidateAll() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Entries dropped for size or age.
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total    = hitCount + misses.sum();
+        return (total == 0L) ? 0.0d : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+        return "ConversionCache[size=" + size() + ", hits=" + getHits() + ", misses=" + getMisses() + ", evictions="
+                + getEvictions() + "]";
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return segments.get(hash & (SEGMENTS - 1));
+    }
+}
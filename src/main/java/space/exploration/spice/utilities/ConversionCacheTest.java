@@ -0,0 +1,73 @@
+package space.exploration.spice.utilities;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks hit and miss counting, size eviction and time to live expiry of {@link ConversionCache}. Exits with status
+ * 1 on the first failure.
+ */
+public class ConversionCacheTest {
+    public static void main(String[] args) throws InterruptedException {
+        AtomicInteger loads  = new AtomicInteger();
+        int           checks = 0;
+
+        ConversionCache<Integer, String> cache = new ConversionCache<>(64, 0L, TimeUnit.SECONDS);
+        for (int i = 0; i < 32; i++) {
+            check("first load of " + i, ("v" + i).equals(cache.get(i, key -> load(loads, key))));
+            check("second read of " + i, ("v" + i).equals(cache.get(i, key -> load(loads, key))));
+            checks += 2;
+        }
+        check("loads", loads.get() == 32);
+        check("hits", cache.getHits() == 32L && cache.getMisses() == 32L && cache.getHitRate() == 0.5d);
+        check("no evictions below the bound", cache.getEvictions() == 0L && cache.size() == 32);
+        checks += 3;
+
+        for (int i = 32; i < 10000; i++) {
+            cache.get(i, key -> load(loads, key));
+        }
+        check("size bound", cache.size() <= 64);
+        check("evictions", cache.getEvictions() == 10000L - cache.size());
+        checks += 2;
+
+        // Reading a key keeps it in its segment while the other keys of that segment are replaced.
+        ConversionCache<Integer, String> recent = new ConversionCache<>(32, 0L, TimeUnit.SECONDS);
+        recent.get(0, key -> load(loads, key));
+        for (int i = 1; i < 1000; i++) {
+            recent.get(i * 16, key -> load(loads, key));
+            recent.get(0, key -> load(loads, key));
+        }
+        check("recently used entry kept", recent.getMisses() == 1000L && recent.getHits() == 999L);
+        checks++;
+
+        ConversionCache<Integer, String> expiring = new ConversionCache<>(64, 50L, TimeUnit.MILLISECONDS);
+        loads.set(0);
+        expiring.get(1, key -> load(loads, key));
+        expiring.get(1, key -> load(loads, key));
+        check("read before expiry", loads.get() == 1 && expiring.getHits() == 1L);
+        Thread.sleep(150L);
+        expiring.get(1, key -> load(loads, key));
+        check("reload after expiry", loads.get() == 2 && expiring.getEvictions() == 1L && expiring.size() == 1);
+        checks += 2;
+
+        expiring.invalidateAll();
+        check("invalidateAll", expiring.size() == 0);
+        expiring.get(1, key -> load(loads, key));
+        check("reload after invalidateAll", loads.get() == 3);
+        checks += 2;
+
+        System.out.println("ConversionCacheTest passed " + checks + " checks");
+    }
+
+    private static String load(AtomicInteger loads, Integer key) {
+        loads.incrementAndGet();
+        return "v" + key;
+    }
+
+    private static void check(String name, boolean passed) {
+        if (!passed) {
+            System.err.println("ConversionCacheTest FAILED :: " + name);
+            System.exit(1);
+        }
+    }
+}
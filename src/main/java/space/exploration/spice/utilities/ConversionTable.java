@@ -0,0 +1,154 @@
+package space.exploration.spice.utilities;
+
+import org.joda.time.DateTime;
+
+import java.util.Arrays;
+
+/**
+ * Conversions precomputed for a regular grid of UTC or ephemeris times. Rows are held in primitive arrays: ephemeris
+ * times in a double[] and the sclk and calendar strings as fixed stride char[] slots with a byte[] of lengths, so a
+ * row costs about 130 bytes and no objects. Lookups that do not fall on the grid return null and are left to the
+ * caller.
+ */
+public class ConversionTable {
+    private static final int    SCLK_WIDTH     = 32;
+    private static final int    CALENDAR_WIDTH = 28;
+    private static final double GRID_TOLERANCE = 1.0e-6;
+    private static final long   J2000_MILLIS   = 946728000000L; // 2000-01-01T12:00:00Z
+
+    private final SclkConversionEngine utcEngine;
+    private final double   keyStart;
+    private final double   keyStep;
+    private final int      rows;
+    private final double[] ephemerisTimes;
+    private final char[]   sclkChars;
+    private final byte[]   sclkLengths;
+    private final char[]   calendarChars;
+    private final byte[]   calendarLengths;
+
+    private ConversionTable(SclkConversionEngine utcEngine, double keyStart, double keyStep, int rows) {
+        if (rows <= 0) {
+            throw new IllegalArgumentException("Conversion table needs at least one row");
+        }
+        this.utcEngine = utcEngine;
+        this.keyStart = keyStart;
+        this.keyStep = keyStep;
+        this.rows = rows;
+        this.ephemerisTimes = new double[rows];
+        this.sclkChars = new char[rows * SCLK_WIDTH];
+        this.sclkLengths = new byte[rows];
+        this.calendarChars = new char[rows * CALENDAR_WIDTH];
+        this.calendarLengths = new byte[rows];
+    }
+
+    /**
+     * Table for start, start + stepMillis, ... up to but excluding end, looked up by UTC strings. Instants are
+     * taken as UTC whatever the zone of start; like Joda time, the grid does not count leap seconds.
+     */
+    public static ConversionTable forUtcRange(SclkConversionEngine engine, DateTime start, DateTime end, long
+            stepMillis) {
+        double          utcStart = (start.getMillis() - J2000_MILLIS) / 1000.0d;
+        double          step     = stepMillis / 1000.0d;
+        ConversionTable table    = new ConversionTable(engine, utcStart, step, getRows((end.getMillis() - start
+                .getMillis() + stepMillis - 1) / stepMillis));
+
+        for (int row = 0; row < table.rows; row++) {
+            table.setRow(row, engine, engine.utcSecondsToEphemerisTime(utcStart + row * step));
+        }
+        return table;
+    }
+
+    /**
+     * Table for startEt, startEt + step, ... up to but excluding endEt, looked up by ephemeris time.
+     */
+    public static ConversionTable forEphemerisRange(SclkConversionEngine engine, double startEt, double endEt, double
+            step) {
+        ConversionTable table = new ConversionTable(null, startEt, step, getRows(Math.ceil((endEt - startEt) /
+                                                                                           step)));
+        for (int row = 0; row < table.rows; row++) {
+            table.setRow(row, engine, startEt + row * step);
+        }
+        return table;
+    }
+
+    /**
+     * Row of a UTC table for utcTime, in any format the engine's TimeConverter parses. Callers that fall back to
+     * another conversion when this returns null should parse once themselves and use {@link #findUtc(double)}.
+     */
+    public SclkConversion findUtc(String utcTime) {
+        if (utcEngine == null) {
+            return null;
+        }
+        try {
+            return findUtc(utcEngine.utcToEphemerisTime(utcTime));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Row of a UTC table for a UTC time already converted to ephemeris time. The row is found by binary search, so
+     * rows after a leap second are found too.
+     */
+    public SclkConversion findUtc(double ephemerisTime) {
+        if (utcEngine == null) {
+            return null;
+        }
+        int row = Arrays.binarySearch(ephemerisTimes, ephemerisTime);
+        if (row >= 0) {
+            return getRow(row);
+        }
+        int next = -row - 1;
+        if (next < rows && ephemerisTimes[next] - ephemerisTime <= GRID_TOLERANCE) {
+            return getRow(next);
+        }
+        if (next > 0 && ephemerisTime - ephemerisTimes[next - 1] <= GRID_TOLERANCE) {
+            return getRow(next - 1);
+        }
+        return null;
+    }
+
+    public SclkConversion findEphemerisTime(double ephemerisTime) {
+        return (utcEngine == null) ? find(ephemerisTime) : null;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    private SclkConversion find(double key) {
+        double offset = (key - keyStart) / keyStep;
+        long   row    = Math.round(offset);
+        if (row < 0L || row >= rows || Math.abs(offset - row) * keyStep > GRID_TOLERANCE) {
+            return null;
+        }
+        return getRow((int) row);
+    }
+
+    private SclkConversion getRow(int i) {
+        return new SclkConversion(ephemerisTimes[i], new String(sclkChars, i * SCLK_WIDTH, sclkLengths[i]), new
+                String(calendarChars, i * CALENDAR_WIDTH, calendarLengths[i]));
+    }
+
+    private void setRow(int row, SclkConversionEngine engine, double ephemerisTime) {
+        ephemerisTimes[row] = ephemerisTime;
+        sclkLengths[row] = put(engine.ephemerisTimeToSclk(ephemerisTime), sclkChars, row * SCLK_WIDTH, SCLK_WIDTH);
+        calendarLengths[row] = put(engine.ephemerisTimeToCalendar(ephemerisTime), calendarChars, row *
+                CALENDAR_WIDTH, CALENDAR_WIDTH);
+    }
+
+    private static byte put(String value, char[] chars, int offset, int width) {
+        if (value.length() > width) {
+            throw new IllegalStateException("'" + value + "' does not fit a " + width + " character slot");
+        }
+        value.getChars(0, value.length(), chars, offset);
+        return (byte) value.length();
+    }
+
+    private static int getRows(double rows) {
+        if (rows > Integer.MAX_VALUE / SCLK_WIDTH) {
+            throw new IllegalArgumentException("Conversion table of " + rows + " rows is too large");
+        }
+        return (int) rows;
+    }
+}
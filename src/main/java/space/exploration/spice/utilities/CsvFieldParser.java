@@ -0,0 +1,181 @@
+package space.exploration.spice.utilities;
+
+/**
+ * Reusable cursor over one comma separated line of executable output. Fields are parsed in place from the
+ * underlying CharSequence (a String, StringBuilder or CharBuffer), so reading numeric fields does not create
+ * intermediate strings. An instance is not thread-safe; keep one per thread and {@link #reset(CharSequence)} it
+ * for every line.
+ */
+public class CsvFieldParser {
+    private static final double[] POWERS_OF_TEN  = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+                                                    1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+    private static final int      MAX_SIG_DIGITS = 15;
+
+    private CharSequence line     = "";
+    private int          position = 0;
+    private int          fieldEnd = 0;
+
+    public CsvFieldParser reset(CharSequence line) {
+        this.line = line;
+        this.position = 0;
+        this.fieldEnd = 0;
+        return this;
+    }
+
+    public boolean hasNext() {
+        return position <= line.length();
+    }
+
+    public void skipField() {
+        nextField();
+        position = fieldEnd + 1;
+    }
+
+    public String nextString() {
+        int    start = nextField();
+        String value = line.subSequence(trimStart(start), trimEnd(start)).toString();
+        position = fieldEnd + 1;
+        return value;
+    }
+
+    public int nextInt() {
+        int start = trimStart(nextField());
+        int end   = trimEnd(start);
+        position = fieldEnd + 1;
+        return parseInt(line, start, end);
+    }
+
+    /**
+     * Parses the fixed and exponent notations printf produces for %f, %e and %g. Values with more than 15
+     * significant digits are handed to Double.parseDouble so the result stays correctly rounded. Like
+     * Double.parseDouble, a field without a digit before any exponent, e.g. an empty field or a lone ".", is a
+     * NumberFormatException rather than zero.
+     */
+    public double nextDouble() {
+        int start = trimStart(nextField());
+        int end   = trimEnd(start);
+        position = fieldEnd + 1;
+
+        int     i        = start;
+        boolean negative = false;
+        if (i < end && (line.charAt(i) == '-' || line.charAt(i) == '+')) {
+            negative = line.charAt(i) == '-';
+            i++;
+        }
+
+        long    mantissa  = 0L;
+        int     digits    = 0;
+        int     scale     = 0;
+        boolean seenDot   = false;
+        boolean seenDigit = false;
+        for (; i < end; i++) {
+            char c = line.charAt(i);
+            if (c >= '0' && c <= '9') {
+                seenDigit = true;
+                if (mantissa == 0L && c == '0') {
+                    if (seenDot) {
+                        scale--;
+                    }
+                    continue;
+                }
+                if (++digits > MAX_SIG_DIGITS) {
+                    return Double.parseDouble(line.subSequence(start, end).toString());
+                }
+                mantissa = mantissa * 10L + (c - '0');
+                if (seenDot) {
+                    scale--;
+                }
+            } else if (c == '.' && !seenDot) {
+                seenDot = true;
+            } else if ((c == 'e' || c == 'E') && seenDigit) {
+                scale += parseInt(line, i + 1, end);
+                break;
+            } else {
+                throw new NumberFormatException("Bad number '" + line.subSequence(start, end) + "'");
+            }
+        }
+
+        if (!seenDigit) {
+            throw new NumberFormatException("Bad number '" + line.subSequence(start, end) + "'");
+        }
+
+        double value;
+        if (mantissa == 0L) {
+            value = 0.0d;
+        } else if (scale >= 0 && scale < POWERS_OF_TEN.length) {
+            value = mantissa * POWERS_OF_TEN[scale];
+        } else if (scale < 0 && -scale < POWERS_OF_TEN.length) {
+            value = mantissa / POWERS_OF_TEN[-scale];
+        } else {
+            return Double.parseDouble(line.subSequence(start, end).toString());
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Sol of an MSL LMST sclk string such as 1/01537:12:34:56:78901, without splitting it.
+     */
+    public static int parseSol(CharSequence sclk) {
+        int start = 0;
+        while (start < sclk.length() && sclk.charAt(start) != '/') {
+            start++;
+        }
+        int end = ++start;
+        while (end < sclk.length() && sclk.charAt(end) != ':') {
+            end++;
+        }
+        return parseInt(sclk, start, end);
+    }
+
+    private int nextField() {
+        int start = position;
+        fieldEnd = start;
+        while (fieldEnd < line.length() && line.charAt(fieldEnd) != ',') {
+            fieldEnd++;
+        }
+        return start;
+    }
+
+    private int trimStart(int start) {
+        while (start < fieldEnd && Character.isWhitespace(line.charAt(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    private int trimEnd(int start) {
+        int end = fieldEnd;
+        while (end > start && Character.isWhitespace(line.charAt(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+    private static int parseInt(CharSequence chars, int start, int end) {
+        boolean negative = false;
+        if (start < end && (chars.charAt(start) == '-' || chars.charAt(start) == '+')) {
+            negative = chars.charAt(start) == '-';
+            start++;
+        }
+        if (start == end) {
+            throw new NumberFormatException("Empty integer field");
+        }
+
+        // Accumulates negatively, as Integer.parseInt does, so that Integer.MIN_VALUE is in range.
+        int limit    = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        int multiMin = limit / 10;
+        int value    = 0;
+        for (int i = start; i < end; i++) {
+            char c = chars.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new NumberFormatException("Bad integer '" + chars.subSequence(start, end) + "'");
+            }
+            int digit = c - '0';
+            if (value < multiMin || value * 10 < limit + digit) {
+                throw new NumberFormatException("Integer '" + chars.subSequence(start, end) + "' out of range");
+            }
+            value = value * 10 - digit;
+        }
+        return negative ? value : -value;
+    }
+}
@@ -0,0 +1,95 @@
+package space.exploration.spice.utilities;
+
+import java.util.Random;
+
+/**
+ * Checks {@link CsvFieldParser} against Double.parseDouble on the number formats finalPositionCalc prints, and on
+ * malformed fields. Exits with status 1 on the first mismatch.
+ */
+public class CsvFieldParserTest {
+    private static final String[] BAD_FIELDS = {"", "   ", ".", "-", "+", "-.", "e5", ".e5", "1e", "1.2.3", "12a",
+                                                "nan"};
+
+    public static void main(String[] args) {
+        CsvFieldParser parser = new CsvFieldParser();
+        Random         random = new Random(42L);
+        int            checks = 0;
+
+        String[] fixed = {"0", "-0.0", "0.000", "1", "-1", "+2.5", "123456.789", "   -4032.125  ", ".5", "5.",
+                          "1e3", "-1.5E-7", "2.5e+10", "0.0000001234", "123456789012345678", "1e300", "4.9e-324",
+                          "17.000000000000001"};
+        for (String field : fixed) {
+            check(parser, field);
+            checks++;
+        }
+
+        for (int i = 0; i < 100000; i++) {
+            double value = (random.nextDouble() - 0.5d) * Math.pow(10.0d, random.nextInt(20) - 6);
+            check(parser, String.format("%16.3f", value));
+            check(parser, String.format("%f", value));
+            check(parser, String.format("%e", value));
+            check(parser, Double.toString(value));
+            checks += 4;
+        }
+
+        for (String field : BAD_FIELDS) {
+            try {
+                double value = parser.reset(field).nextDouble();
+                fail("'" + field + "' parsed as " + value + " instead of failing");
+            } catch (NumberFormatException expected) {
+                checks++;
+            }
+        }
+
+        parser.reset("2017.5, 1/01537:12:34:56:78901,,7");
+        if (parser.nextDouble() != 2017.5d || CsvFieldParser.parseSol(parser.nextString()) != 1537) {
+            fail("field sequence");
+        }
+        try {
+            parser.nextDouble();
+            fail("empty middle field parsed");
+        } catch (NumberFormatException expected) {
+            checks++;
+        }
+        if (parser.nextInt() != 7 || parser.hasNext()) {
+            fail("last field");
+        }
+
+        String[] ints = {"2147483647", "-2147483648", "+0", "-0", "0001537", "214748364", "-214748364"};
+        for (String field : ints) {
+            if (parser.reset(field).nextInt() != Integer.parseInt(field)) {
+                fail("integer '" + field + "'");
+            }
+            checks++;
+        }
+        for (String field : new String[]{"2147483648", "-2147483649", "21474836470", "99999999999"}) {
+            try {
+                int value = parser.reset(field).nextInt();
+                fail("'" + field + "' parsed as " + value + " instead of failing");
+            } catch (NumberFormatException expected) {
+                checks++;
+            }
+        }
+        try {
+            int sol = CsvFieldParser.parseSol("1/4294968833:12:34:56:78901");
+            fail("sol parsed as " + sol + " instead of failing");
+        } catch (NumberFormatException expected) {
+            checks++;
+        }
+
+        System.out.println("CsvFieldParserTest passed " + checks + " checks");
+    }
+
+    private static void check(CsvFieldParser parser, String field) {
+        double expected = Double.parseDouble(field.trim());
+        double actual   = parser.reset(field).nextDouble();
+        if (Double.doubleToLongBits(expected) != Double.doubleToLongBits(actual)) {
+            fail("'" + field + "' parsed as " + actual + ", Double.parseDouble gives " + expected);
+        }
+    }
+
+    private static void fail(String message) {
+        System.err.println("CsvFieldParserTest FAILED :: " + message);
+        System.exit(1);
+    }
+}
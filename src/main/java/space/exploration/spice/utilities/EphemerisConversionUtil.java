@@ -13,6 +13,11 @@ public class EphemerisConversionUtil {
     private String utcTime       = "";
     private Logger logger        = LoggerFactory.getLogger(TimeUtils.class);
 
+    private final SclkConversionEngine sclkConversionEngine;
+
+    private static final ConversionCache<Double, SclkConversion> CONVERSION_CACHE = new ConversionCache<>();
+    private static volatile ConversionTable                      conversionTable  = null;
+
     public enum SCHEMA {
         SCLK_STR(0), EPHEMERIS_TIME(1), CALENDAR_TIME(2);
         int value;
@@ -27,19 +32,50 @@ public class EphemerisConversionUtil {
     }
 
     public EphemerisConversionUtil() {
-        clockFile = ExecUtils.getExecutionFile("/SCLK/ephemerisUtil.out");
+        sclkConversionEngine = SclkConversionEngine.getInstance();
     }
 
     public void updateClock(String ephemerisTimeString) {
         logger.debug(ephemerisTimeString);
 
-        String[] outputParts = ExecUtils.getExecutionOutput(clockFile, ephemerisTimeString);
-        sclkTime = outputParts[TimeUtils.SCHEMA.SCLK_STR.value];
-        ephemerisTime = Double.parseDouble(outputParts[TimeUtils.SCHEMA.EPHEMERIS_TIME.value]);
-        calendarTime = outputParts[TimeUtils.SCHEMA.CALENDAR_TIME.value];
+        ephemerisTime = Double.parseDouble(ephemerisTimeString.trim());
+        ConversionTable table      = conversionTable;
+        SclkConversion  conversion = (table == null) ? null : table.findEphemerisTime(ephemerisTime);
+        if (conversion == null) {
+            conversion = CONVERSION_CACHE.get(ephemerisTime, sclkConversionEngine::toConversion);
+        }
+        sclkTime = conversion.getSclkTime();
+        calendarTime = conversion.getCalendarTime();
+    }
+
+    /**
+     * Precomputes every step seconds from startEt (inclusive) to endEt (exclusive) into a {@link ConversionTable}
+     * shared by all instances. Replaces a previously warmed range.
+     */
+    public static void warmUp(double startEt, double endEt, double step) {
+        conversionTable = ConversionTable.forEphemerisRange(SclkConversionEngine.getInstance(), startEt, endEt,
+                                                            step);
     }
 
-    public File getClockFile() {
+    public static void clearWarmUp() {
+        conversionTable = null;
+    }
+
+    /**
+     * Cache shared by all instances, keyed on the parsed ephemeris time. Exposed for its hit and miss counts.
+     */
+    public static ConversionCache<Double, SclkConversion> getConversionCache() {
+        return CONVERSION_CACHE;
+    }
+
+    /**
+     * Conversions run in-process through {@link SclkConversionEngine}; the legacy executable is only extracted when
+     * it is asked for here.
+     */
+    public synchronized File getClockFile() {
+        if (clockFile == null) {
+            clockFile = ExecUtils.getExecutionFile("/SCLK/ephemerisUtil.out");
+        }
         return clockFile;
     }
 
@@ -56,8 +92,7 @@ public class EphemerisConversionUtil {
     }
 
     public int getSol() {
-        String solPart = sclkTime.split("/")[1];
-        return Integer.parseInt(solPart.split(":")[0]);
+        return CsvFieldParser.parseSol(sclkTime);
     }
 
     public String getUtcTime() {
@@ -3,37 +3,138 @@ package space.exploration.spice.utilities;
 import org.apache.commons.io.IOUtils;
 
 import java.io.*;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
 
 public class ExecUtils {
 
-    private static final String EXECUTIONS_FILE = "executionsFile";
+    public static final  String CACHE_DIR_PROPERTY = "spice.utilities.executionCache";
+    public static final  String STREAM_MODE_FLAG   = "--stream";
+    public static final  String ERROR_PREFIX       = "ERROR,";
+    public static final  String READY_LINE         = "READY";
+    /**
+     * Longest UTC time a stream mode worker accepts on one line; finalPositionCalc reads into a 256 byte buffer.
+     */
+    public static final  int    MAX_STREAM_INPUT   = 254;
 
+    private static final ConcurrentHashMap<String, File> EXTRACTED_FILES = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the bundled executable at filePath, extracted into a cache directory keyed by its content. The key
+     * comes from the jar entry CRC and size when running from a jar (hashing the content otherwise), so a version is
+     * extracted once and reused by later instances and JVM runs. Extraction writes a temporary file and renames it
+     * into place, which keeps concurrent extractions from seeing a partial file. The cache root defaults to
+     * java.io.tmpdir and can be moved with the {@link #CACHE_DIR_PROPERTY} system property.
+     *
+     * @throws UncheckedIOException if the executable is not bundled or cannot be extracted
+     */
     public static File getExecutionFile(String filePath) {
-        InputStream executionFileStream = TimeUtils.class.getResourceAsStream(filePath);
-        File        executionsFile      = new File(EXECUTIONS_FILE + filePath.replace("/", "_"));
-        executionsFile.setReadable(true);
-        executionsFile.setExecutable(true);
+        File executionsFile = EXTRACTED_FILES.get(filePath);
+        if (executionsFile != null && executionsFile.canExecute()) {
+            return executionsFile;
+        }
+
+        String fileName = filePath.substring(filePath.lastIndexOf('/') + 1);
         try {
-            Thread.sleep(1000);
-            OutputStream outputStream = new FileOutputStream(executionsFile);
-            IOUtils.copy(executionFileStream, outputStream);
-            outputStream.close();
+            executionsFile = new File(new File(getCacheDirectory(), getCacheKey(filePath)), fileName);
+            if (!executionsFile.canExecute()) {
+                extract(filePath, executionsFile);
+            }
+            EXTRACTED_FILES.put(filePath, executionsFile);
         } catch (IOException io) {
-            io.printStackTrace();
-        } catch (InterruptedException e) {
-            e.printStackTrace();
+            throw new UncheckedIOException("Unable to extract " + filePath, io);
         }
 
         return executionsFile;
     }
 
+    private static File getCacheDirectory() {
+        return new File(System.getProperty(CACHE_DIR_PROPERTY, System.getProperty("java.io.tmpdir") + File
+                .separator + "spiceUtilitiesExecutables"));
+    }
+
+    private static String getCacheKey(String filePath) throws IOException {
+        URL resource = ExecUtils.class.getResource(filePath);
+        if (resource == null) {
+            throw new FileNotFoundException("No bundled executable " + filePath);
+        }
+
+        URLConnection connection = resource.openConnection();
+        if (connection instanceof JarURLConnection) {
+            JarEntry entry = ((JarURLConnection) connection).getJarEntry();
+            if (entry != null && entry.getCrc() != -1L && entry.getSize() != -1L) {
+                return "crc" + Long.toHexString(entry.getCrc()) + "_" + Long.toHexString(entry.getSize());
+            }
+        }
+
+        try (InputStream inputStream = new DigestInputStream(connection.getInputStream(), MessageDigest
+                .getInstance("SHA-256"))) {
+            byte[] buffer = new byte[65536];
+            while (inputStream.read(buffer) != -1) {
+                // digest only
+            }
+            StringBuilder key = new StringBuilder("sha");
+            for (byte b : ((DigestInputStream) inputStream).getMessageDigest().digest()) {
+                key.append(String.format("%02x", b & 0xFF));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static void extract(String filePath, File executionsFile) throws IOException {
+        File directory = executionsFile.getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs() && !directory.isDirectory()) {
+            throw new IOException("Unable to create " + directory);
+        }
+
+        File temporaryFile = File.createTempFile(executionsFile.getName(), ".part", directory);
+        try (InputStream executionFileStream = ExecUtils.class.getResourceAsStream(filePath);
+             OutputStream outputStream = new FileOutputStream(temporaryFile)) {
+            IOUtils.copy(executionFileStream, outputStream);
+        }
+        temporaryFile.setReadable(true);
+        temporaryFile.setExecutable(true);
+
+        try {
+            Files.move(temporaryFile.toPath(), executionsFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.deleteIfExists(temporaryFile.toPath());
+            if (!executionsFile.canExecute()) {
+                throw e;
+            }
+        }
+    }
+
     public static String[] getExecutionOutput(File executionFile, String utcTime) {
+        String output = getExecutionLine(executionFile, utcTime);
+        return (output == null) ? new String[]{""} : output.split(",");
+    }
+
+    /**
+     * First line printed by a single run of executionFile, unsplit, or null if the run failed.
+     */
+    public static String getExecutionLine(File executionFile, String utcTime) {
         executionFile.setReadable(true);
         executionFile.setExecutable(true);
         Runtime runtime = Runtime.getRuntime();
-        String  output  = "";
+        String  output  = null;
         try {
-            String[]          commands = {"./" + executionFile.getPath(), utcTime};
+            String[]          commands = {executionFile.getAbsolutePath(), utcTime};
             Process           process  = runtime.exec(commands);
             InputStream       is       = process.getInputStream();
             InputStreamReader isr      = new InputStreamReader(is);
@@ -44,6 +145,266 @@ public class ExecUtils {
             e.printStackTrace();
         }
 
-        return output.split(",");
+        return output;
+    }
+
+    /**
+     * Consumer of one line of executable output, see {@link ProcessPool#execute(String, LineHandler)}.
+     */
+    public interface LineHandler<T> {
+        T handle(CharSequence line) throws IOException;
+    }
+
+    /**
+     * Pool of long lived co-processes started with {@link #STREAM_MODE_FLAG}. Each worker loads its kernels once,
+     * announces itself with {@link #READY_LINE} and then answers one stdin line with one stdout line. Callers borrow
+     * an idle worker for the duration of a request, so at most N requests are in flight and further callers block
+     * until a worker is returned or the pool is closed. Construction fails with an IOException when the executable
+     * does not answer the handshake, e.g. a build that predates stream mode.
+     */
+    public static class ProcessPool implements Closeable {
+        private static final long                  POLL_MILLIS = 100L;
+        private final        File                  executionFile;
+        private final        List<Worker>          workers;
+        private final        BlockingQueue<Worker> idleWorkers;
+        private volatile     boolean               closed      = false;
+
+        public ProcessPool(File executionFile, int poolSize) throws IOException {
+            this.executionFile = executionFile;
+            this.workers = new ArrayList<>(poolSize);
+            this.idleWorkers = new ArrayBlockingQueue<>(poolSize);
+            executionFile.setReadable(true);
+            executionFile.setExecutable(true);
+            try {
+                for (int i = 0; i < poolSize; i++) {
+                    Worker worker = new Worker();
+                    workers.add(worker);
+                    idleWorkers.add(worker);
+                }
+            } catch (IOException e) {
+                for (Worker worker : workers) {
+                    worker.destroy();
+                }
+                throw e;
+            }
+        }
+
+        /**
+         * Same contract as {@link ExecUtils#getExecutionOutput(File, String)}, served by a warm worker.
+         */
+        public String[] getExecutionOutput(String utcTime) throws IOException {
+            return execute(utcTime, line -> line.toString().split(","));
+        }
+
+        public String getExecutionLine(String utcTime) throws IOException {
+            return execute(utcTime, CharSequence::toString);
+        }
+
+        /**
+         * Hands the worker's reply to handler while the worker is still borrowed. The line is the worker's own
+         * reusable buffer, so it is only valid inside handle() and must not be retained; this lets callers parse
+         * the fields in place without materialising a String per reply. Error replies are turned into an
+         * IOException before the handler is called. Blank, multi-line or over-long times are rejected before they are
+         * written, since the worker answers each line it reads.
+         */
+        public <T> T execute(String utcTime, LineHandler<T> handler) throws IOException {
+            checkInput(utcTime);
+            Worker worker = borrow();
+            try {
+                CharSequence output;
+                try {
+                    worker.ensureStarted();
+                    output = worker.execute(utcTime);
+                } catch (IOException e) {
+                    try {
+                        if (!closed) {
+                            worker.restart();
+                        }
+                    } catch (IOException restartFailure) {
+                        e.addSuppressed(restartFailure);
+                    }
+                    throw e;
+                }
+                if (startsWith(output, ERROR_PREFIX)) {
+                    throw new IOException(executionFile.getName() + " failed for " + utcTime + " :: " + output
+                            .subSequence(ERROR_PREFIX.length(), output.length()));
+                }
+                return handler.handle(output);
+            } finally {
+                if (closed) {
+                    worker.destroy();
+                }
+                idleWorkers.add(worker);
+            }
+        }
+
+        /**
+         * Takes an idle worker, rechecking periodically so that callers waiting when the pool is closed are released.
+         */
+        private Worker borrow() throws IOException {
+            try {
+                while (!closed) {
+                    Worker worker = idleWorkers.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (worker != null) {
+                        if (!closed) {
+                            return worker;
+                        }
+                        idleWorkers.add(worker);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted waiting for a " + executionFile.getName() + " worker");
+            }
+            throw new IOException("Process pool for " + executionFile.getName() + " is closed");
+        }
+
+        private static void checkInput(String utcTime) {
+            if (utcTime == null || utcTime.trim().isEmpty()) {
+                throw new IllegalArgumentException("Blank UTC time");
+            }
+            if (utcTime.indexOf('\n') >= 0 || utcTime.indexOf('\r') >= 0) {
+                throw new IllegalArgumentException("UTC time spans more than one line :: " + utcTime);
+            }
+            if (utcTime.length() > MAX_STREAM_INPUT) {
+                throw new IllegalArgumentException("UTC time longer than " + MAX_STREAM_INPUT + " characters");
+            }
+        }
+
+        public int getPoolSize() {
+            return workers.size();
+        }
+
+        /**
+         * Number of workers currently serving a request.
+         */
+        public int getBusyWorkers() {
+            return workers.size() - idleWorkers.size();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            for (Worker worker : workers) {
+                worker.destroy();
+            }
+        }
+
+        private static boolean startsWith(CharSequence chars, String prefix) {
+            if (chars.length() < prefix.length()) {
+                return false;
+            }
+            for (int i = 0; i < prefix.length(); i++) {
+                if (chars.charAt(i) != prefix.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private class Worker {
+            private final char[]        readBuffer = new char[8192];
+            private final StringBuilder line       = new StringBuilder(512);
+            private       Process       process;
+            private       IOException   failure;
+            private       Writer        stdin;
+            private       Reader        stdout;
+            private       int           readPosition;
+            private       int           readLimit;
+
+            Worker() throws IOException {
+                start();
+            }
+
+            /**
+             * Starts the process and waits for its handshake. On failure the process is destroyed and the failure is
+             * remembered, so that the next borrower retries the start instead of writing to a dead process.
+             */
+            private void start() throws IOException {
+                failure = null;
+                try {
+                    // Nothing reads the worker's stderr, so a chatty worker would fill the pipe and block.
+                    ProcessBuilder builder = new ProcessBuilder(executionFile.getAbsolutePath(), STREAM_MODE_FLAG);
+                    builder.redirectError(ProcessBuilder.Redirect.INHERIT);
+                    process = builder.start();
+                    stdin = new BufferedWriter(new OutputStreamWriter(process.getOutputStream()));
+                    stdout = new InputStreamReader(process.getInputStream());
+                    readPosition = 0;
+                    readLimit = 0;
+                    if (!readLine() || !READY_LINE.contentEquals(line)) {
+                        throw new IOException(executionFile.getName() + " does not support " + STREAM_MODE_FLAG
+                                + "; rebuild it from FinalComputedPositionsMSL.c");
+                    }
+                } catch (IOException e) {
+                    destroy();
+                    failure = e;
+                    throw e;
+                }
+            }
+
+            void ensureStarted() throws IOException {
+                if (failure != null) {
+                    start();
+                }
+            }
+
+            CharSequence execute(String utcTime) throws IOException {
+                stdin.write(utcTime);
+                stdin.write('\n');
+                stdin.flush();
+                if (!readLine()) {
+                    throw new EOFException(executionFile.getName() + " worker exited while processing " + utcTime);
+                }
+                return line;
+            }
+
+            /**
+             * Reads the next line into the reused line buffer, dropping the terminator.
+             */
+            private boolean readLine() throws IOException {
+                line.setLength(0);
+                while (true) {
+                    if (readPosition == readLimit) {
+                        readLimit = stdout.read(readBuffer, 0, readBuffer.length);
+                        readPosition = 0;
+                        if (readLimit <= 0) {
+                            readLimit = 0;
+                            return false;
+                        }
+                    }
+                    int start = readPosition;
+                    while (readPosition < readLimit && readBuffer[readPosition] != '\n') {
+                        readPosition++;
+                    }
+                    line.append(readBuffer, start, readPosition - start);
+                    if (readPosition < readLimit) {
+                        readPosition++;
+                        int length = line.length();
+                        if (length > 0 && line.charAt(length - 1) == '\r') {
+                            line.setLength(length - 1);
+                        }
+                        return true;
+                    }
+                }
+            }
+
+            void restart() throws IOException {
+                destroy();
+                start();
+            }
+
+            synchronized void destroy() {
+                if (process == null) {
+                    return;
+                }
+                try {
+                    stdin.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+                process.destroy();
+                process = null;
+            }
+        }
     }
 }
@@ -0,0 +1,106 @@
+package space.exploration.spice.utilities;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import spice.basic.AberrationCorrection;
+import spice.basic.Body;
+import spice.basic.GFConstraint;
+import spice.basic.GFScalarQuantity;
+import spice.basic.GFUserDefinedScalarSearch;
+import spice.basic.PositionRecord;
+import spice.basic.ReferenceFrame;
+import spice.basic.SpiceException;
+import spice.basic.SpiceWindow;
+import spice.basic.TDBTime;
+import spice.basic.Vector3;
+
+/**
+ * Finds the intervals in which the MSL_HGA boresight is within a threshold of the apparent direction of Earth, the
+ * same test {@link PositionUtils} applies to a single instant through the hgaPass flag. The windows come out of a
+ * GF user defined scalar search, so a range costs a few root-finding passes rather than dense sampling.
+ * <p>
+ * The kernels used by finalPositionCalc (lsk, sclk, MSL spk, fk, pck, rover and hga cks) must be loaded through
+ * spice.basic.KernelDatabase before searching.
+ */
+public class HgaPassFinder {
+    public static final double DEFAULT_STEP_SECONDS  = 60.0d;
+    public static final int    DEFAULT_MAX_INTERVALS = 100000;
+
+    private static Logger logger = LoggerFactory.getLogger(HgaPassFinder.class);
+
+    private final double thresholdDegrees;
+    private final double stepSeconds;
+    private final int    maxIntervals;
+
+    public HgaPassFinder() {
+        this(PositionUtils.ALIGNMENT_THRESHOLD, DEFAULT_STEP_SECONDS, DEFAULT_MAX_INTERVALS);
+    }
+
+    /**
+     * @param stepSeconds GF step size; must be shorter than the shortest pass or gap that has to be found
+     */
+    public HgaPassFinder(double thresholdDegrees, double stepSeconds, int maxIntervals) {
+        this.thresholdDegrees = thresholdDegrees;
+        this.stepSeconds = stepSeconds;
+        this.maxIntervals = maxIntervals;
+    }
+
+    /**
+     * @param startUtc UTC time in any format accepted by {@link TimeUtils#updateClock(String)}
+     */
+    public SpiceWindow findPassWindows(String startUtc, String endUtc) throws SpiceException {
+        SclkConversionEngine sclkConversionEngine = SclkConversionEngine.getInstance();
+        return findPassWindows(sclkConversionEngine.utcToEphemerisTime(startUtc), sclkConversionEngine
+                .utcToEphemerisTime(endUtc));
+    }
+
+    public SpiceWindow findPassWindows(double startEphemerisTime, double endEphemerisTime) throws SpiceException {
+        SpiceWindow confinementWindow = new SpiceWindow();
+        confinementWindow.insert(startEphemerisTime, endEphemerisTime);
+        return findPassWindows(confinementWindow);
+    }
+
+    public SpiceWindow findPassWindows(SpiceWindow confinementWindow) throws SpiceException {
+        GFUserDefinedScalarSearch search = new GFUserDefinedScalarSearch(new HgaEarthSeparation());
+        GFConstraint constraint = GFConstraint.createReferenceConstraint(GFConstraint.LESS_THAN, thresholdDegrees);
+
+        SpiceWindow passWindows = search.run(confinementWindow, constraint, stepSeconds, maxIntervals);
+        logger.debug("Found " + passWindows.card() + " HGA pass windows, total " + passWindows.getMeasure() + "s");
+        return passWindows;
+    }
+
+    /**
+     * Angular separation in degrees between the MSL_HGA +Z boresight and the LT+S corrected position of Earth as
+     * seen from MSL, both in J2000 - field 19 of the finalPositionCalc output.
+     */
+    public static class HgaEarthSeparation extends GFScalarQuantity {
+        private static final double               DERIVATIVE_DELTA = 0.5d;
+        private static final Vector3              BORESIGHT        = new Vector3(0.0d, 0.0d, 1.0d);
+        private final        Body                 earth;
+        private final        Body                 msl;
+        private final        ReferenceFrame       hgaFrame;
+        private final        ReferenceFrame       j2000;
+        private final        AberrationCorrection abcorr;
+
+        public HgaEarthSeparation() throws SpiceException {
+            earth = new Body("EARTH");
+            msl = new Body("MSL");
+            hgaFrame = new ReferenceFrame("MSL_HGA");
+            j2000 = new ReferenceFrame("J2000");
+            abcorr = new AberrationCorrection("LT+S");
+        }
+
+        @Override
+        public double getQuantity(double et) throws SpiceException {
+            TDBTime        time          = new TDBTime(et);
+            Vector3        boresight     = hgaFrame.getPositionTransformation(j2000, time).mxv(BORESIGHT);
+            PositionRecord earthPosition = new PositionRecord(earth, time, j2000, abcorr, msl);
+            return Math.toDegrees(boresight.sep(earthPosition));
+        }
+
+        @Override
+        public boolean isQuantityDecreasing(double et) throws SpiceException {
+            return getQuantity(et + DERIVATIVE_DELTA) < getQuantity(et - DERIVATIVE_DELTA);
+        }
+    }
+}
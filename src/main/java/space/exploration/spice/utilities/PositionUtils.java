@@ -1,19 +1,50 @@
 package space.exploration.spice.utilities;
 
+import org.joda.time.DateTime;
+import org.joda.time.Period;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import space.exploration.communications.protocol.spice.MSLRelativePositions;
 
 import java.io.*;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class PositionUtils {
-    private static final double ALIGNMENT_THRESHOLD = 1.0d;
-    private              File   positionsCalcFile   = ExecUtils.getExecutionFile("/POSITIONS/finalPositionCalc");
-    private              String utcTime             = "";
-    private              Logger logger              = LoggerFactory.getLogger(PositionUtils.class);
+    public static final  String                      POSITIONS_CALC      = "/POSITIONS/finalPositionCalc";
+    public static final  DateTimeFormatter           UTC_FORMATTER       = DateTimeFormat.forPattern
+            ("yyyy-MM-dd~HH:mm:ss.SSS");
+    public static final  double                      ALIGNMENT_THRESHOLD = 1.0d;
+    private static final ThreadLocal<CsvFieldParser> PARSERS             = ThreadLocal.withInitial
+            (CsvFieldParser::new);
+    private final        File                        positionsCalcFile;
+    private final        ExecUtils.ProcessPool       processPool;
+    private              String                      utcTime             = "";
+    private              Logger                      logger              = LoggerFactory.getLogger(PositionUtils
+            .class);
 
     public PositionUtils() {
+        positionsCalcFile = ExecUtils.getExecutionFile(POSITIONS_CALC);
+        processPool = null;
+    }
+
+    /**
+     * Serve position queries from warm finalPositionCalc workers instead of forking one process per query. The
+     * pool is owned by the caller and can be shared by any number of PositionUtils instances.
+     */
+    public PositionUtils(ExecUtils.ProcessPool processPool) {
+        this.positionsCalcFile = null;
+        this.processPool = processPool;
+    }
 
+    public static ExecUtils.ProcessPool createProcessPool(int poolSize) throws IOException {
+        return new ExecUtils.ProcessPool(ExecUtils.getExecutionFile(POSITIONS_CALC), poolSize);
     }
 
     public void setUtcTime(String utcTime) {
@@ -22,60 +53,165 @@ public class PositionUtils {
     }
 
     public String[] getPositionData() {
-        return ExecUtils.getExecutionOutput(positionsCalcFile, utcTime);
+        if (processPool == null) {
+            return ExecUtils.getExecutionOutput(positionsCalcFile, utcTime);
+        }
+        return getPositionData(processPool, utcTime);
     }
 
     public MSLRelativePositions.MSLRelPositionsPacket getPositionPacket() {
+        if (processPool == null) {
+            String output = ExecUtils.getExecutionLine(positionsCalcFile, utcTime);
+            return toPositionPacket(utcTime, (output == null) ? "" : output);
+        }
+        return getPositionPacket(processPool, utcTime);
+    }
+
+    /**
+     * Lazily evaluated packets for start, start + step, ... up to but excluding end. The whole range is served by
+     * one warm finalPositionCalc session - the shared pool if this instance has one, otherwise a private worker
+     * started on the first packet. If the bundled executable has no stream mode the private session falls back to
+     * one process per packet. Does not touch the state set by {@link #setUtcTime(String)}, so any number of threads
+     * may call it at once.
+     * <p>
+     * A private worker is shut down when the stream is exhausted or closed. Streams that may stop early, e.g. through
+     * limit() or findFirst(), must be closed, typically with try-with-resources. Failures of finalPositionCalc
+     * surface from the stream as {@link UncheckedIOException}.
+     */
+    public Stream<MSLRelativePositions.MSLRelPositionsPacket> getPositionPackets(DateTime start, DateTime end,
+                                                                                 Period step) {
+        final PacketSession session = new PacketSession();
+
+        Iterator<MSLRelativePositions.MSLRelPositionsPacket> packets = new Iterator<MSLRelativePositions
+                .MSLRelPositionsPacket>() {
+            private DateTime current = start;
+
+            @Override
+            public boolean hasNext() {
+                boolean hasNext = current.isBefore(end);
+                if (!hasNext) {
+                    session.close();
+                }
+                return hasNext;
+            }
+
+            @Override
+            public MSLRelativePositions.MSLRelPositionsPacket next() {
+                if (!current.isBefore(end)) {
+                    throw new NoSuchElementException();
+                }
+                String pointUtcTime = UTC_FORMATTER.print(current);
+                current = current.plus(step);
+                return session.getPositionPacket(pointUtcTime);
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(packets, Spliterator.ORDERED | Spliterator
+                .NONNULL), false).onClose(session::close);
+    }
+
+    private static String[] getPositionData(ExecUtils.ProcessPool pool, String utcTime) {
+        try {
+            return pool.getExecutionOutput(utcTime);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static MSLRelativePositions.MSLRelPositionsPacket getPositionPacket(ExecUtils.ProcessPool pool, String
+            utcTime) {
+        try {
+            return pool.execute(utcTime, line -> toPositionPacket(utcTime, line));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The finalPositionCalc session behind one packet stream. Uses the shared pool when there is one; otherwise the
+     * private worker is only started by the first request, so a stream that is never consumed starts no process.
+     */
+    private class PacketSession implements Closeable {
+        private ExecUtils.ProcessPool privatePool = null;
+        private boolean               singleShot  = false;
+        private boolean               closed      = false;
+
+        MSLRelativePositions.MSLRelPositionsPacket getPositionPacket(String utcTime) {
+            if (processPool != null) {
+                return PositionUtils.getPositionPacket(processPool, utcTime);
+            }
+            if (closed) {
+                throw new IllegalStateException("Position stream is closed");
+            }
+            if (privatePool == null && !singleShot) {
+                try {
+                    privatePool = new ExecUtils.ProcessPool(positionsCalcFile, 1);
+                } catch (IOException e) {
+                    logger.warn("No stream mode worker, running one process per packet :: " + e.getMessage());
+                    singleShot = true;
+                }
+            }
+            if (singleShot) {
+                String output = ExecUtils.getExecutionLine(positionsCalcFile, utcTime);
+                return toPositionPacket(utcTime, (output == null) ? "" : output);
+            }
+            return PositionUtils.getPositionPacket(privatePool, utcTime);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            if (privatePool != null) {
+                privatePool.close();
+                privatePool = null;
+            }
+        }
+    }
+
+    /**
+     * Reads the fields straight off the output line into the builder, in output order, without splitting it.
+     */
+    private static MSLRelativePositions.MSLRelPositionsPacket toPositionPacket(String utcTime, CharSequence line) {
         /*et, stC0, stC1, stC2, stC3, stC4, stC5, ltCE, stE0, stE1, stE2, stE3, stE4, stE5, ltEC, posEC0, posEC1,
-        posEC2, ltEC, angularSeparation*/
+        posEC2, ltEC, angularSeparation, sclk*/
+        CsvFieldParser                                     fields   = PARSERS.get().reset(line);
         MSLRelativePositions.MSLRelPositionsPacket.Builder mBuilder = MSLRelativePositions.MSLRelPositionsPacket
                 .newBuilder();
 
-        String[] positionsData = ExecUtils.getExecutionOutput(positionsCalcFile, utcTime);
-
         // Ephemeris Time
-        mBuilder.setEphemerisTime(Double.parseDouble(positionsData[0]));
+        mBuilder.setEphemerisTime(fields.nextDouble());
 
         // x,y,z,vx,vy,vz
-        mBuilder.addStateCuriosity(Double.parseDouble(positionsData[1]));
-        mBuilder.addStateCuriosity(Double.parseDouble(positionsData[2]));
-        mBuilder.addStateCuriosity(Double.parseDouble(positionsData[3]));
-        mBuilder.addStateCuriosity(Double.parseDouble(positionsData[4]));
-        mBuilder.addStateCuriosity(Double.parseDouble(positionsData[5]));
-        mBuilder.addStateCuriosity(Double.parseDouble(positionsData[6]));
-        mBuilder.setOwltMSLEarth(Double.parseDouble(positionsData[7]));
+        for (int i = 0; i < 6; i++) {
+            mBuilder.addStateCuriosity(fields.nextDouble());
+        }
+        mBuilder.setOwltMSLEarth(fields.nextDouble());
 
         // x,y,z,vx,vy,vz
-        mBuilder.addStateEarth(Double.parseDouble(positionsData[8]));
-        mBuilder.addStateEarth(Double.parseDouble(positionsData[9]));
-        mBuilder.addStateEarth(Double.parseDouble(positionsData[10]));
-        mBuilder.addStateEarth(Double.parseDouble(positionsData[11]));
-        mBuilder.addStateEarth(Double.parseDouble(positionsData[12]));
-        mBuilder.addStateEarth(Double.parseDouble(positionsData[13]));
-        mBuilder.setOwltEarthMSL(Double.parseDouble(positionsData[14]));
+        for (int i = 0; i < 6; i++) {
+            mBuilder.addStateEarth(fields.nextDouble());
+        }
+        mBuilder.setOwltEarthMSL(fields.nextDouble());
 
         // pX, pY, pZ
-        mBuilder.addPositionEarthWRTCuriosity(Double.parseDouble(positionsData[15]));
-        mBuilder.addPositionEarthWRTCuriosity(Double.parseDouble(positionsData[16]));
-        mBuilder.addPositionEarthWRTCuriosity(Double.parseDouble(positionsData[17]));
-        mBuilder.setOwltEarthMSL2(Double.parseDouble(positionsData[18]));
+        for (int i = 0; i < 3; i++) {
+            mBuilder.addPositionEarthWRTCuriosity(fields.nextDouble());
+        }
+        mBuilder.setOwltEarthMSL2(fields.nextDouble());
 
         //Angular separation Earth vs MSL HGA
-        mBuilder.setAngSepHGAEarth(Double.parseDouble(positionsData[19]));
+        double angularSeparation = fields.nextDouble();
+        mBuilder.setAngSepHGAEarth(angularSeparation);
 
         //set HGA Pass boolean
-        mBuilder.setHgaPass(Math.abs(Double.parseDouble(positionsData[19])) < ALIGNMENT_THRESHOLD);
-        mBuilder.setSclkValue(positionsData[20]);
-        mBuilder.setSol(getSol(positionsData[20]));
+        mBuilder.setHgaPass(Math.abs(angularSeparation) < ALIGNMENT_THRESHOLD);
+        String sclkValue = fields.nextString();
+        mBuilder.setSclkValue(sclkValue);
+        mBuilder.setSol(CsvFieldParser.parseSol(sclkValue));
 
         //utcTime
         mBuilder.setUtcTime(utcTime);
 
         return mBuilder.build();
     }
-
-    private int getSol(String sclkTime) {
-        String solPart = sclkTime.split("/")[1];
-        return Integer.parseInt(solPart.split(":")[0]);
-    }
 }
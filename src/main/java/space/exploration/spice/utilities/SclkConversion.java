@@ -0,0 +1,29 @@
+package space.exploration.spice.utilities;
+
+/**
+ * Result of one clock conversion: ephemeris time with its sclk and TDB calendar strings. Immutable, so instances
+ * are shared freely between caches, tables and threads.
+ */
+public class SclkConversion {
+    private final double ephemerisTime;
+    private final String sclkTime;
+    private final String calendarTime;
+
+    public SclkConversion(double ephemerisTime, String sclkTime, String calendarTime) {
+        this.ephemerisTime = ephemerisTime;
+        this.sclkTime = sclkTime;
+        this.calendarTime = calendarTime;
+    }
+
+    public double getEphemerisTime() {
+        return ephemerisTime;
+    }
+
+    public String getSclkTime() {
+        return sclkTime;
+    }
+
+    public String getCalendarTime() {
+        return calendarTime;
+    }
+}
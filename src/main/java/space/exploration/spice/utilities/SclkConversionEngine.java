@@ -0,0 +1,184 @@
+package space.exploration.spice.utilities;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import spice.basic.KernelPoolSnapshot;
+import spice.basic.SCLK;
+import spice.basic.SCLKConverter;
+import spice.basic.SpiceException;
+import spice.basic.TextKernel;
+import spice.basic.TextKernelPool;
+import spice.basic.TimeConverter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * In-process replacement for the /SCLK/msl and /SCLK/ephemerisUtil.out executables. The leapseconds kernel and the
+ * MSL LMST sclk kernel are read once; every conversion afterwards is plain arithmetic on immutable tables, so a
+ * single instance can be shared by any number of threads. Sclk encoding is done by {@link SCLKConverter}, time
+ * parsing and formatting by {@link TimeConverter}.
+ * <p>
+ * Output follows the executables: sclkString,ephemerisTime,calendarTime - see {@link TimeUtils.SCHEMA}.
+ */
+public class SclkConversionEngine {
+    public static final String LEAP_SECONDS_KERNEL = "/mslsp_1000/data/lsk/naif0012.tls";
+    public static final String SCLK_KERNEL         = "/mslsp_1000/data/sclk/msl_lmst_ops120808_v1.tsc";
+    public static final int    MSL_LMST_CLOCK_ID   = -76900;
+
+    private static Logger logger = LoggerFactory.getLogger(SclkConversionEngine.class);
+
+    private static final String CALENDAR_PICTURE = "YYYY MON DD HR:MN:SC.###::TDB::RND";
+
+    private final TimeConverter timeConverter;
+    private final int           clockId;
+    private final SCLKConverter sclkConverter;
+
+    private static class InstanceHolder {
+        private static final SclkConversionEngine INSTANCE = loadDefault();
+    }
+
+    /**
+     * Shared engine for the MSL LMST clock built from the bundled kernels. Kernels are parsed on first use only.
+     */
+    public static SclkConversionEngine getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    public SclkConversionEngine(InputStream leapSecondsKernel, InputStream sclkKernel, int clockId) throws
+            IOException {
+        TextKernelPool kernelPool = new TextKernelPool();
+        try {
+            kernelPool.load(readTextKernel("leapseconds kernel", leapSecondsKernel));
+            kernelPool.load(readTextKernel("sclk kernel", sclkKernel));
+            KernelPoolSnapshot kernels = kernelPool.getSnapshot();
+
+            timeConverter = TimeConverter.create(kernels);
+            this.clockId = clockId;
+            sclkConverter = SCLKConverter.create(kernels, new SCLK(clockId));
+        } catch (SpiceException e) {
+            throw new IllegalArgumentException("Unable to load sclk data for clock " + clockId + ": " + e
+                    .getMessage(), e);
+        }
+
+        logger.debug("Loaded sclk engine for clock " + clockId);
+    }
+
+    /**
+     * Equivalent of the /SCLK/msl executable.
+     *
+     * @param utcTime UTC time as accepted by the executable, e.g. 2016-09-30~15:32:32 or 09-30-2016~15:32:32
+     * @return sclkString,ephemerisTime,calendarTime
+     */
+    public String[] convertUtc(String utcTime) {
+        return convertEphemerisTime(utcToEphemerisTime(utcTime));
+    }
+
+    /**
+     * Equivalent of the /SCLK/ephemerisUtil.out executable.
+     *
+     * @return sclkString,ephemerisTime,calendarTime
+     */
+    public String[] convertEphemerisTime(double ephemerisTime) {
+        return new String[]{ephemerisTimeToSclk(ephemerisTime), String.format(Locale.US, "%f", ephemerisTime),
+                            ephemerisTimeToCalendar(ephemerisTime)};
+    }
+
+    public SclkConversion toConversion(double ephemerisTime) {
+        return new SclkConversion(ephemerisTime, ephemerisTimeToSclk(ephemerisTime), ephemerisTimeToCalendar
+                (ephemerisTime));
+    }
+
+    /**
+     * UTC to TDB seconds past J2000, the str2et equivalent for the formats listed in {@link TimeConverter}.
+     */
+    public double utcToEphemerisTime(String utcTime) {
+        try {
+            return timeConverter.parse(utcTime);
+        } catch (SpiceException e) {
+            throw new IllegalArgumentException("Unrecognized UTC time " + utcTime + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Formal UTC seconds past J2000, counted without leap seconds, to TDB seconds past J2000.
+     */
+    double utcSecondsToEphemerisTime(double utc) {
+        return timeConverter.utcToTDB(utc);
+    }
+
+    /**
+     * Encoded sclk (ticks since the clock start), rounded to the nearest tick - the sce2t equivalent.
+     */
+    public double ephemerisTimeToTicks(double ephemerisTime) {
+        try {
+            return sclkConverter.toDiscreteTicks(ephemerisTime);
+        } catch (SpiceException e) {
+            throw new IllegalArgumentException("Ephemeris time " + ephemerisTime + " can't be converted to clock "
+                                                       + clockId + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sclk string such as 1/01537:12:34:56:78901 - the sce2s equivalent.
+     */
+    public String ephemerisTimeToSclk(double ephemerisTime) {
+        try {
+            return sclkConverter.toSCLKString(ephemerisTime);
+        } catch (SpiceException e) {
+            throw new IllegalArgumentException("Ephemeris time " + ephemerisTime + " can't be converted to clock "
+                                                       + clockId + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * The converter for the loaded clock, for callers that need sclk strings or ticks back as ephemeris time.
+     */
+    public SCLKConverter getSclkConverter() {
+        return sclkConverter;
+    }
+
+    /**
+     * The converter for the loaded leapseconds kernel, for callers that format or parse other time strings.
+     */
+    public TimeConverter getTimeConverter() {
+        return timeConverter;
+    }
+
+    /**
+     * TDB calendar string such as 2016 SEP 30 15:33:40.184 - the etcal equivalent.
+     */
+    public String ephemerisTimeToCalendar(double ephemerisTime) {
+        return timeConverter.format(ephemerisTime, CALENDAR_PICTURE);
+    }
+
+    /**
+     * Reads a text kernel from a stream; the stream is closed.
+     */
+    static TextKernel readTextKernel(String name, InputStream kernel) throws IOException, SpiceException {
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(kernel, StandardCharsets.US_ASCII))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        return TextKernel.parse(name, lines.toArray(new String[0]), false);
+    }
+
+    private static SclkConversionEngine loadDefault() {
+        try {
+            return new SclkConversionEngine(SclkConversionEngine.class.getResourceAsStream(LEAP_SECONDS_KERNEL),
+                                            SclkConversionEngine.class.getResourceAsStream(SCLK_KERNEL),
+                                            MSL_LMST_CLOCK_ID);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to load bundled sclk kernels", e);
+        }
+    }
+}
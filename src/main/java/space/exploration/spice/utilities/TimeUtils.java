@@ -1,5 +1,6 @@
 package space.exploration.spice.utilities;
 
+import org.joda.time.DateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -14,6 +15,11 @@ public class TimeUtils {
     private String utcTime       = "";
     private Logger logger        = LoggerFactory.getLogger(TimeUtils.class);
 
+    private final SclkConversionEngine sclkConversionEngine;
+
+    private static final ConversionCache<String, SclkConversion> CONVERSION_CACHE = new ConversionCache<>();
+    private static volatile ConversionTable                      conversionTable  = null;
+
     public enum SCHEMA {
         SCLK_STR(0), EPHEMERIS_TIME(1), CALENDAR_TIME(2);
         int value;
@@ -28,20 +34,60 @@ public class TimeUtils {
     }
 
     public TimeUtils() {
-        clockFile = ExecUtils.getExecutionFile("/SCLK/msl");
+        sclkConversionEngine = SclkConversionEngine.getInstance();
     }
 
     public void updateClock(String utcTime) {
         this.utcTime = utcTime;
         logger.debug(utcTime);
 
-        String[] outputParts = ExecUtils.getExecutionOutput(clockFile, this.utcTime);
-        sclkTime = outputParts[SCHEMA.SCLK_STR.value];
-        ephemerisTime = Double.parseDouble(outputParts[SCHEMA.EPHEMERIS_TIME.value]);
-        calendarTime = outputParts[SCHEMA.CALENDAR_TIME.value];
+        String          key   = this.utcTime.trim();
+        ConversionTable table = conversionTable;
+        SclkConversion  conversion;
+        if (table == null) {
+            conversion = CONVERSION_CACHE.get(key, utc -> sclkConversionEngine.toConversion(sclkConversionEngine
+                    .utcToEphemerisTime(utc)));
+        } else {
+            // Parse once: the table lookup and the fallback both start from this ephemeris time.
+            double et = sclkConversionEngine.utcToEphemerisTime(key);
+            conversion = table.findUtc(et);
+            if (conversion == null) {
+                conversion = CONVERSION_CACHE.get(key, utc -> sclkConversionEngine.toConversion(et));
+            }
+        }
+        ephemerisTime = conversion.getEphemerisTime();
+        sclkTime = conversion.getSclkTime();
+        calendarTime = conversion.getCalendarTime();
+    }
+
+    /**
+     * Precomputes every stepMillis from start (inclusive) to end (exclusive) into a {@link ConversionTable} shared
+     * by all instances. Times on that grid are then answered from the table; anything else still goes through
+     * {@link #getConversionCache()}. Replaces a previously warmed range.
+     */
+    public static void warmUp(DateTime start, DateTime end, long stepMillis) {
+        conversionTable = ConversionTable.forUtcRange(SclkConversionEngine.getInstance(), start, end, stepMillis);
     }
 
-    public File getClockFile() {
+    public static void clearWarmUp() {
+        conversionTable = null;
+    }
+
+    /**
+     * Cache shared by all instances, keyed on the trimmed UTC string. Exposed for its hit and miss counts.
+     */
+    public static ConversionCache<String, SclkConversion> getConversionCache() {
+        return CONVERSION_CACHE;
+    }
+
+    /**
+     * Conversions run in-process through {@link SclkConversionEngine}; the legacy executable is only extracted when
+     * it is asked for here.
+     */
+    public synchronized File getClockFile() {
+        if (clockFile == null) {
+            clockFile = ExecUtils.getExecutionFile("/SCLK/msl");
+        }
         return clockFile;
     }
 
@@ -58,8 +104,7 @@ public class TimeUtils {
     }
 
     public int getSol() {
-        String solPart = sclkTime.split("/")[1];
-        return Integer.parseInt(solPart.split(":")[0]);
+        return CsvFieldParser.parseSol(sclkTime);
     }
 
     public String getUtcTime() {
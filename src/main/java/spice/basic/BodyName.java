@@ -9,6 +9,10 @@ are initialized by specification of a body name.
 this class directly; they should use the class
 {@link spice.basic.Body} instead.
 
+<h3> Version 2.1.0 18-OCT-2026</h3>
+
+getIDCode obtains the code from {@link IDCache}.
+
 <h3> Version 2.0.0 26-DEC-2016 (NJB)</h3>
 
 Functional change: getName now returns the original string used
@@ -49,7 +53,7 @@ public class BodyName extends IDMap
 
       throws SpiceException
    {
-      int IDcode = CSPICE.bods2c( bodyName );
+      int IDcode = IDCache.getBodyCode( bodyName );
 
       return ( IDcode );
    }
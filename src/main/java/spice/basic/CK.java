@@ -2,6 +2,8 @@
 
 package spice.basic;
 
+import java.util.TreeSet;
+
 
 /**
 Class CK provides methods for writing, summarizing,
@@ -12,6 +14,15 @@ To make CK data available to programs for frame
 transformations, use the method
 {@link spice.basic.KernelDatabase#load(java.lang.String)}.
 
+<p> Version 1.1.0 18-OCT-2026
+
+<p> For files open for read access, instrument sets and coverage in
+    the SCLK and TDB time systems are obtained from the
+    {@link CoverageCache#getDefault() default coverage cache} instead
+    of by scanning the file through CSPICE. Interval level coverage
+    is cached for files whose segments for the instrument are all of
+    type 3.
+
 <p> Version 1.0.0 04-JAN-2010 (NJB)
 */
 public class CK extends DAF
@@ -170,6 +181,11 @@ public class CK extends DAF
 
       throws SpiceException
    {
+      if ( readable && !writable )
+      {
+         return (  CoverageCache.getDefault().getCoverage( fileName ).getIDs()  );
+      }
+
       int   size       = this.countSegments();
 
       int[] initialSet = new int[0];
@@ -190,6 +206,31 @@ public class CK extends DAF
 
       throws SpiceException
    {
+      if ( readable && !writable )
+      {
+         TreeSet<Integer> instruments = new TreeSet<Integer>();
+
+         for ( int inst : initialSet )
+         {
+            instruments.add( inst );
+         }
+
+         for ( int inst : CoverageCache.getDefault().getCoverage( fileName ).getIDs() )
+         {
+            instruments.add( inst );
+         }
+
+         int[] objectSet = new int[ instruments.size() ];
+         int   i         = 0;
+
+         for ( Integer inst : instruments )
+         {
+            objectSet[i++] = inst;
+         }
+
+         return ( objectSet );
+      }
+
       int   size      = this.countSegments();
 
       int[] objectSet = CSPICE.ckobj( fileName, size + initialSet.length,
@@ -232,6 +273,13 @@ public class CK extends DAF
          throw ( exc );
       }
 
+      double[] cached = getCachedCoverage( instrument, needav, level,
+                                           tol,        timsys          );
+      if ( cached != null )
+      {
+         return (  checkSize( new SpiceWindow( cached ), nintvls )  );
+      }
+
       double[] initialWindow = new double[0];
 
       double[] coverArray = CSPICE.ckcov( fileName,
@@ -291,6 +339,14 @@ public class CK extends DAF
          throw ( exc );
       }
 
+      double[] cached = getCachedCoverage( instrument, needav, level,
+                                           tol,        timsys          );
+      if ( cached != null )
+      {
+         return (  checkSize( cover.union( new SpiceWindow( cached ) ),
+                              nintvls                                    )  );
+      }
+
       double[] initialWindow = cover.toArray();
 
       double[] coverArray = CSPICE.ckcov( fileName,
@@ -528,8 +584,81 @@ public class CK extends DAF
       return ( n );
    }
 
-}
 
 
+   //
+   // Private methods
+   //
+
+   /**
+   Get the coverage of `instrument' from the coverage cache, in the
+   time system `timsys', or return null if it must be obtained from
+   CSPICE: that is, if the file is open for write access, if the
+   time system is neither SCLK nor TDB, or if interval level
+   coverage is requested for segments of types other than 3.
+   */
+   private double[] getCachedCoverage ( Instrument    instrument,
+                                        boolean       needav,
+                                        String        level,
+                                        SCLKDuration  tol,
+                                        TimeSystem    timsys     )
+      throws SpiceException
+   {
+      if (    !readable
+           || writable
+           || (  ( timsys != TimeSystem.SCLK ) && ( timsys != TimeSystem.TDB )  )  )
+      {
+         return ( null );
+      }
+
+      KernelCoverage coverage = CoverageCache.getDefault().getCoverage( fileName );
+
+      int            inst     = instrument.getIDCode();
+
+      if (    level.trim().equalsIgnoreCase( "INTERVAL" )
+           && !coverage.hasIntervalCoverage( inst )       )
+      {
+         return ( null );
+      }
+
+      double[] window = coverage.getCoverage( inst, needav, level,
+                                              tol.getMeasure()     );
+
+      if ( timsys == TimeSystem.TDB )
+      {
+         int clkid = instrument.getSCLK().getIDCode();
+
+         for ( int i = 0;  i < window.length;  i++ )
+         {
+            window[i] = CSPICE.sct2e( clkid, window[i] );
+         }
+      }
+
+      return ( window );
+   }
 
 
+   /**
+   Signal the error CKCOV signals if `cover' has more than `nintvls'
+   intervals; otherwise return `cover'.
+   */
+   private static SpiceWindow checkSize ( SpiceWindow  cover,
+                                          int          nintvls )
+      throws SpiceException
+   {
+      if ( cover.card() > nintvls )
+      {
+         SpiceException exc = SpiceErrorException.create(
+
+            "CK.getCoverage", "SPICE(WINDOWEXCESS)",
+
+            "The coverage window has " + cover.card() + " intervals; " +
+            "room for " + nintvls + " was requested."                     );
+
+         throw ( exc );
+      }
+
+      return ( cover );
+   }
+
+}
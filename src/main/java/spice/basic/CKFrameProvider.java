@@ -0,0 +1,201 @@
+package spice.basic;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+Class CKFrameProvider supplies the orientation of CK frames to a
+{@link FrameTree} from the CK files of a {@link CKPointing}, without
+calls to CSPICE.
+
+<p>
+The frame class ID of a CK frame is the ID code of the instrument or
+structure whose pointing is stored in the CKs. As in CSPICE, pointing
+is looked up with zero tolerance at the continuous encoded SCLK time
+of the request; the spacecraft clock is given by the kernel variable
+CK_&lt;class ID&gt;_SCLK, or if that variable is absent, is derived
+from the class ID as is done by the SPICELIB routine CKMETA. The base
+frame of a CK frame is the reference frame of the segment supplying
+the pointing.
+
+<p>
+SCLK converters are built from the kernel pool snapshot on first use
+of each clock and kept for the life of the provider. Instances may be
+shared by any number of threads.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+
+public class CKFrameProvider extends Object implements FrameRotationProvider
+{
+   //
+   // Fields
+   //
+   private final CKPointing                                   pointing;
+   private final KernelPoolSnapshot                           pool;
+   private final ConcurrentHashMap<Integer, SCLKConverter>    converters;
+
+
+
+   //
+   // Constructors
+   //
+
+   /**
+   Construct a provider that looks up pointing in `pointing' and
+   builds SCLK converters from the variables in `pool'. `pool' must
+   contain the SCLK kernels of the CKs, and a leapseconds kernel if
+   any of the clocks is based on TDT.
+   */
+   public CKFrameProvider ( CKPointing          pointing,
+                            KernelPoolSnapshot  pool      )
+   {
+      this.pointing   = pointing;
+      this.pool       = pool;
+      this.converters = new ConcurrentHashMap<Integer, SCLKConverter>();
+   }
+
+
+
+   //
+   // Instance Methods
+   //
+
+   /**
+   Fill `rotate' with the rotation from the CK frame `frame' to the
+   reference frame of the pointing at `et'; return the ID code of
+   that frame, or zero if pointing was not found.
+   */
+   public int getRotation ( FrameInfo  frame,
+                            double     et,
+                            double[]   rotate )
+
+      throws SpiceException
+   {
+      int         inst   = frame.getFrameClassID();
+      double      sclkdp = getConverter( inst ).toContinuousTicks( et );
+      double[][]  cmat   = new double[3][3];
+
+      CKSegment   seg    = pointing.getPointing( inst,  sclkdp, 0.0, false,
+                                                 cmat,  null,   new double[1] );
+      if ( seg == null )
+      {
+         return ( 0 );
+      }
+
+      //
+      // The C-matrix maps vectors from the reference frame to the CK
+      // frame; the rotation sought is its transpose.
+      //
+      for ( int i = 0;  i < 3;  i++ )
+      {
+         for ( int j = 0;  j < 3;  j++ )
+         {
+            rotate[3*i + j] = cmat[j][i];
+         }
+      }
+
+      return (  seg.getReferenceFrame()  );
+   }
+
+
+   /**
+   Fill `xform' with the state transformation from the CK frame
+   `frame' to the reference frame of the pointing at `et'; return the
+   ID code of that frame, or zero if pointing having angular velocity
+   was not found.
+   */
+   public int getStateTransformation ( FrameInfo  frame,
+                                       double     et,
+                                       double[]   xform )
+
+      throws SpiceException
+   {
+      int         inst   = frame.getFrameClassID();
+      double      sclkdp = getConverter( inst ).toContinuousTicks( et );
+      double[][]  cmat   = new double[3][3];
+      double[]    av     = new double[3];
+
+      CKSegment   seg    = pointing.getPointing( inst,  sclkdp, 0.0, true,
+                                                 cmat,  av,     new double[1] );
+      if ( seg == null )
+      {
+         return ( 0 );
+      }
+
+      //
+      // With C the C-matrix and W the cross product matrix of the
+      // angular velocity, expressed in the reference frame, the
+      // transformation from the reference frame to the CK frame has
+      // the derivative block -C*W. The inverse transformation is
+      //
+      //    |  C'     0  |
+      //    |  W*C'   C' |
+      //
+      double[][] w = {  {    0.0,  -av[2],   av[1] },
+                        {  av[2],     0.0,  -av[0] },
+                        { -av[1],   av[0],     0.0 }  };
+
+      for ( int i = 0;  i < 3;  i++ )
+      {
+         for ( int j = 0;  j < 3;  j++ )
+         {
+            double dr = 0.0;
+
+            for ( int k = 0;  k < 3;  k++ )
+            {
+               dr += w[i][k] * cmat[j][k];
+            }
+
+            xform[ 6*i       + j     ] = cmat[j][i];
+            xform[ 6*i       + j + 3 ] = 0.0;
+            xform[ 6*(i + 3) + j     ] = dr;
+            xform[ 6*(i + 3) + j + 3 ] = cmat[j][i];
+         }
+      }
+
+      return (  seg.getReferenceFrame()  );
+   }
+
+
+
+   //
+   // Private Methods
+   //
+
+   /**
+   Get the SCLK converter for the clock of the CK instrument `inst'.
+   */
+   private SCLKConverter getConverter ( int inst )
+
+      throws SpiceException
+   {
+      SCLKConverter converter = converters.get( inst );
+
+      if ( converter == null )
+      {
+         String name  = "CK_" + inst + "_SCLK";
+
+         int    clock;
+
+         if ( pool.exists( name ) )
+         {
+            clock = pool.getInteger( name, 0 );
+         }
+         else
+         {
+            clock = ( inst <= -1000 ) ? ( inst / 1000 ) : inst;
+         }
+
+         converter = SCLKConverter.create( pool, new SCLK( clock ) );
+
+         SCLKConverter prior = converters.putIfAbsent( inst, converter );
+
+         if ( prior != null )
+         {
+            converter = prior;
+         }
+      }
+
+      return ( converter );
+   }
+}
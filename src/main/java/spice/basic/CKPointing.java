@@ -0,0 +1,253 @@
+package spice.basic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+Class CKPointing looks up pointing from a set of type 3 CK files
+read through {@link MappedCK}, without calls to CSPICE.
+
+<p>
+Files are searched as CSPICE searches loaded CKs: the file loaded
+last is searched first, and within a file, segments are searched
+from last to first. As with CSPICE.ckgp and CSPICE.ckgpav, the
+first segment able to satisfy a request supplies the pointing; see
+{@link CKSegment} for the rules applied within a segment.
+
+<p>
+Pointing is returned relative to the reference frame of the segment
+that supplied it. Combining pointing with other frame data is left
+to the caller; {@link CKSegment#getReferenceFrame()} identifies the
+frame.
+
+<p>
+Segments are found through a {@link SegmentIndex}. With zero
+tolerance, the highest priority segment covering the request is
+found in time logarithmic in the number of segments for the
+instrument; other segments are considered only if that segment
+cannot supply the pointing. The index is immutable and is replaced
+when files are loaded or unloaded; only the entries of the
+instruments in the affected file are rebuilt. Lookups read the
+current index without locking, so any number of threads may look up
+pointing while files are loaded or unloaded by another thread.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+
+public class CKPointing extends Object
+{
+   //
+   // Fields
+   //
+   private final List<MappedCK>                 files;
+   private volatile SegmentIndex<CKSegment>     index;
+
+   //
+   // ID codes and time bounds of CK segments.
+   //
+   private static final SegmentIndex.Bounds<CKSegment> BOUNDS =
+
+      new SegmentIndex.Bounds<CKSegment>()
+      {
+         public int getID ( CKSegment segment )
+         {
+            return ( segment.getInstrument() );
+         }
+
+         public double getStart ( CKSegment segment )
+         {
+            return ( segment.getStart() );
+         }
+
+         public double getStop ( CKSegment segment )
+         {
+            return ( segment.getStop() );
+         }
+      };
+
+
+
+   //
+   // Constructors
+   //
+   public CKPointing()
+   {
+      this.files = new ArrayList<MappedCK>();
+      this.index = SegmentIndex.create( BOUNDS );
+   }
+
+
+
+   //
+   // Instance Methods
+   //
+
+   /**
+   Map a CK file and add it to the files searched by this instance.
+   The file has the highest priority.
+   */
+   public MappedCK load ( String fileName )
+
+      throws SpiceException
+   {
+      MappedCK ck = MappedCK.openForRead( fileName );
+
+      load( ck );
+
+      return ( ck );
+   }
+
+   /**
+   Add an opened CK to the files searched by this instance. The
+   file has the highest priority.
+   */
+   public synchronized void load ( MappedCK ck )
+   {
+      files.remove( ck );
+      files.add   ( ck );
+
+      index = index.load( ck, ck.getSegments() );
+   }
+
+   /**
+   Remove a CK from the files searched by this instance. The file
+   is not closed: lookups started before the call may still be
+   reading it.
+   */
+   public synchronized void unload ( MappedCK ck )
+   {
+      if ( files.remove( ck ) )
+      {
+         index = index.unload( ck );
+      }
+   }
+
+   /**
+   Get the files searched by this instance, in load order.
+   */
+   public synchronized List<MappedCK> getFiles()
+   {
+      return (  new ArrayList<MappedCK>( files )  );
+   }
+
+   /**
+   Get the current segment index. Its statistics include the lookups
+   made by all indexes of this instance.
+   */
+   public SegmentIndex<CKSegment> getSegmentIndex()
+   {
+      return ( index );
+   }
+
+   /**
+   Look up pointing for the instrument or structure `inst' at the
+   encoded SCLK time `sclkdp' with tolerance `tol', both in ticks.
+   If `needav' is true, only segments having angular velocity are
+   used.
+
+   <p>
+   The segment that supplied the pointing is returned, or null if
+   pointing was not found. If pointing is found, the C-matrix,
+   relative to the segment's reference frame, is stored in `cmat',
+   a 3x3 array; the angular velocity is stored in `av' if `av' is
+   non-null; and the time of the pointing is stored in clkout[0].
+   */
+   public CKSegment getPointing ( int         inst,
+                                  double      sclkdp,
+                                  double      tol,
+                                  boolean     needav,
+                                  double[][]  cmat,
+                                  double[]    av,
+                                  double[]    clkout )
+   {
+      SegmentIndex<CKSegment> current = index;
+
+      //
+      // Without tolerance, the highest priority segment covering the
+      // request is the first candidate, and usually supplies the
+      // pointing. If no segment covers the request, there are no
+      // candidates.
+      //
+      if ( tol == 0.0 )
+      {
+         CKSegment segment = current.find( inst, sclkdp );
+
+         if ( segment == null )
+         {
+            return ( null );
+         }
+
+         if (    ( !needav || segment.hasAngularVelocity() )
+              && segment.getPointing( sclkdp, tol, cmat, av, clkout ) )
+         {
+            return ( segment );
+         }
+      }
+
+      for ( CKSegment segment : current.getCandidates( inst,
+                                                       sclkdp - tol,
+                                                       sclkdp + tol  ) )
+      {
+         if ( needav && !segment.hasAngularVelocity() )
+         {
+            continue;
+         }
+
+         if ( segment.getPointing( sclkdp, tol, cmat, av, clkout ) )
+         {
+            return ( segment );
+         }
+      }
+
+      return ( null );
+   }
+
+   /**
+   Return the C-matrix of `inst' relative to the frame `ref' at the
+   encoded SCLK time `sclkdp', using tolerance `tol'. The frame of
+   the segment supplying the pointing must be `ref'.
+   */
+   public Matrix33 getCMatrix ( int     inst,
+                                double  sclkdp,
+                                double  tol,
+                                int     ref    )
+
+      throws PointingNotFoundException, SpiceException
+   {
+      double[][] cmat    = new double[3][3];
+      double[]   clkout  = new double[1];
+
+      CKSegment  segment = getPointing( inst,  sclkdp, tol, false,
+                                        cmat,  null,   clkout       );
+      if ( segment == null )
+      {
+         PointingNotFoundException exc = PointingNotFoundException.create(
+
+            "CKPointing.getCMatrix",
+
+            "Pointing was not found for instrument " + inst +
+            " at time " + sclkdp + " using a tolerance of " +
+            tol + " ticks."                                   );
+
+         throw ( exc );
+      }
+
+      if ( segment.getReferenceFrame() != ref )
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            "CKPointing.getCMatrix",
+
+            "SPICE(FRAMEDATANOTFOUND)",
+
+            "Pointing for instrument " + inst + " at time " + sclkdp   +
+            " is given by segment <" + segment.getSegmentID() + "> of " +
+            segment.getFileName() + " relative to frame "               +
+            segment.getReferenceFrame() + ", not " + ref + "."            );
+
+         throw ( exc );
+      }
+
+      return (  new Matrix33( cmat )  );
+   }
+}
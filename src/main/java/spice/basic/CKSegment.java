@@ -0,0 +1,665 @@
+package spice.basic;
+
+import java.util.Arrays;
+
+/**
+Class CKSegment evaluates a single type 3 CK segment read through a
+{@link MappedDAF}, without calls to CSPICE.
+
+<p>
+Lookups follow the SPICELIB routines CKR03 and CKE03. A request
+for pointing at encoded SCLK time `sclkdp' with tolerance `tol' is
+satisfied as follows:
+
+<ul>
+<li>If `sclkdp' lies between two pointing instances of the same
+interpolation interval, the pointing is interpolated to `sclkdp'.
+The rotation is interpolated by SLERP, that is, at a constant
+rate about a fixed axis; the angular velocity is interpolated
+linearly.</li>
+
+<li>Otherwise the pointing instance nearest to `sclkdp' is
+returned, if its time differs from `sclkdp' by no more than
+`tol'.</li>
+</ul>
+
+<p>
+Requests outside the segment's time bounds, but within `tol' of
+them, are treated as requests at the nearest bound.
+
+<p>
+Instances are immutable. Epochs are located by binary search of the
+segment's epoch and interval directories, which hold every 100th
+value, followed by a search of at most 100 values; the mapped file
+is read with absolute gets, so any number of threads may evaluate
+a segment at once.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+
+public class CKSegment extends Object
+{
+   //
+   // Private constants
+   //
+   private static final int        DIRSIZ = 100;
+
+   //
+   // Fields
+   //
+   private final MappedDAF         daf;
+   private final String            segmentID;
+   private final int               instrument;
+   private final int               referenceFrame;
+   private final int               type;
+   private final boolean           hasAV;
+   private final double            start;
+   private final double            stop;
+   private final int               begin;
+   private final int               end;
+
+   //
+   // Layout of the type 3 data: pointing records of four or seven
+   // elements, their epochs, the epoch directory, the interval start
+   // times and the interval directory.
+   //
+   private final int               n;
+   private final int               nint;
+   private final int               recordSize;
+   private final int               epochBase;
+   private final int               epochDirBase;
+   private final int               intervalBase;
+   private final int               intervalDirBase;
+
+
+
+   //
+   // Constructors
+   //
+
+   /**
+   Construct a CKSegment for the array at which a search of
+   `daf' is positioned.
+   */
+   public CKSegment ( MappedDAF daf )
+
+      throws SpiceException
+   {
+      double[]   dc = daf.getDoubleSummaryComponent();
+      int[]      ic = daf.getIntegerSummaryComponent();
+
+      this.daf            = daf;
+      this.segmentID      = daf.getArrayName();
+      this.instrument     = ic[0];
+      this.referenceFrame = ic[1];
+      this.type           = ic[2];
+      this.hasAV          = ( ic[3] != 0 );
+      this.begin          = ic[4];
+      this.end            = ic[5];
+      this.start          = dc[0];
+      this.stop           = dc[1];
+
+      if ( type != 3 )
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            "CKSegment.CKSegment",
+
+            "SPICE(CKUNKNOWNDATATYPE)",
+
+            "Segment <" + segmentID + "> of " + daf.getFileName() +
+            " has data type " + type + ". Only type 3 is "         +
+            "supported."                                             );
+
+         throw ( exc );
+      }
+
+      if (  ( begin < 1 ) || ( end < begin + 1 )
+         || ( end >= daf.getFreeAddress() ) )
+      {
+         throw badSegment( "has addresses " + begin + ":" + end +
+                           ", which are not in the file."         );
+      }
+
+      n               = (int) daf.getDouble( end     );
+      nint            = (int) daf.getDouble( end - 1 );
+      recordSize      = hasAV ? 7 : 4;
+
+      epochBase       = begin           +  recordSize * n;
+      epochDirBase    = epochBase       +  n;
+      intervalBase    = epochDirBase    +  (n - 1) / DIRSIZ;
+      intervalDirBase = intervalBase    +  nint;
+
+      if (  ( n < 1 ) || ( nint < 1 ) || ( nint > n )
+         || (   (long)( recordSize + 1 ) * n  +  (n    - 1) / DIRSIZ
+              + nint                          +  (nint - 1) / DIRSIZ
+              + 2                           !=  end - begin + 1       ) )
+      {
+         throw badSegment( "has an inconsistent type 3 trailer." );
+      }
+   }
+
+
+
+   //
+   // Instance Methods
+   //
+
+   public int getInstrument()
+   {
+      return ( instrument );
+   }
+
+   /**
+   Get the ID code of the frame relative to which the segment gives
+   pointing. C-matrices map vectors from this frame to that of the
+   instrument.
+   */
+   public int getReferenceFrame()
+   {
+      return ( referenceFrame );
+   }
+
+   public int getType()
+   {
+      return ( type );
+   }
+
+   public boolean hasAngularVelocity()
+   {
+      return ( hasAV );
+   }
+
+   /**
+   Get the start time of the segment as encoded SCLK.
+   */
+   public double getStart()
+   {
+      return ( start );
+   }
+
+   /**
+   Get the stop time of the segment as encoded SCLK.
+   */
+   public double getStop()
+   {
+      return ( stop );
+   }
+
+   public String getSegmentID()
+   {
+      return ( segmentID );
+   }
+
+   public String getFileName()
+   {
+      return ( daf.getFileName() );
+   }
+
+   /**
+   Get the number of pointing instances in the segment.
+   */
+   public int getRecordCount()
+   {
+      return ( n );
+   }
+
+   /**
+   Get the number of interpolation intervals in the segment.
+   */
+   public int getIntervalCount()
+   {
+      return ( nint );
+   }
+
+   /**
+   Get the interpolation intervals of the segment as pairs of
+   encoded SCLK times, in increasing order. Each interval extends
+   from its first pointing instance to its last, and is intersected
+   with the segment's time bounds; intervals outside the bounds are
+   omitted. These are the intervals making up the interval level
+   coverage of the segment reported by CKCOV.
+   */
+   public double[] getIntervalBounds()
+   {
+      double[] bounds = new double[ 2*nint ];
+      int      count  = 0;
+
+      for ( int i = 0;  i < nint;  i++ )
+      {
+         double first = daf.getDouble( intervalBase + i );
+         double last;
+
+         if ( i < nint - 1 )
+         {
+            //
+            // The next interval starts at a pointing instance; this
+            // one ends at the instance preceding it.
+            //
+            int next = getLastEpochBefore(  daf.getDouble( intervalBase + i + 1 )  );
+
+            last     = getEpoch( next - 1 );
+         }
+         else
+         {
+            last     = getEpoch( n - 1 );
+         }
+
+         first = Math.max( first, start );
+         last  = Math.min( last,  stop  );
+
+         if ( first <= last )
+         {
+            bounds[ count++ ] = first;
+            bounds[ count++ ] = last;
+         }
+      }
+
+      return (  Arrays.copyOf( bounds, count )  );
+   }
+
+   /**
+   Look up pointing at the encoded SCLK time `sclkdp' with tolerance
+   `tol', both in ticks.
+
+   <p>
+   If pointing is found, the C-matrix is stored in `cmat', a 3x3
+   array; the angular velocity, in the reference frame of the
+   segment and in radians/second, is stored in `av' if `av' is
+   non-null; and the time of the pointing is stored in clkout[0].
+   The outputs are not changed if pointing is not found.
+
+   <p>
+   Angular velocity is zero for segments without it; callers
+   needing angular velocity should check
+   {@link #hasAngularVelocity()}.
+   */
+   public boolean getPointing ( double      sclkdp,
+                                double      tol,
+                                double[][]  cmat,
+                                double[]    av,
+                                double[]    clkout )
+   {
+      double[] quat = new double[4];
+      double[] rate = new double[3];
+
+      if ( !getQuaternion( sclkdp, tol, quat, rate, clkout ) )
+      {
+         return ( false );
+      }
+
+      quaternionToMatrix( quat, cmat );
+
+      if ( av != null )
+      {
+         System.arraycopy( rate, 0, av, 0, 3 );
+      }
+
+      return ( true );
+   }
+
+   /**
+   Look up pointing as does {@link #getPointing}, returning the
+   pointing as a SPICE quaternion, normalized, in `quat'.
+   */
+   public boolean getQuaternion ( double    sclkdp,
+                                  double    tol,
+                                  double[]  quat,
+                                  double[]  av,
+                                  double[]  clkout )
+   {
+      if (  ( sclkdp + tol < start ) || ( sclkdp - tol > stop )  )
+      {
+         return ( false );
+      }
+
+      //
+      // Requests outside of the segment bounds are moved to the
+      // nearest bound, which is within tolerance of the request.
+      //
+      double t    = Math.max( start, Math.min( sclkdp, stop ) );
+
+      int    last = getLastEpochBefore( t );
+
+      if ( last < 0 )
+      {
+         //
+         // The request precedes the first pointing instance.
+         //
+         return (  getNearest( 0, sclkdp, tol, quat, av, clkout )  );
+      }
+
+      double t1 = getEpoch( last );
+
+      if (  ( t1 == t ) || ( last == n - 1 )  )
+      {
+         return (  getNearest( last, sclkdp, tol, quat, av, clkout )  );
+      }
+
+      double t2 = getEpoch( last + 1 );
+
+      if ( isIntervalStart( t2 ) )
+      {
+         //
+         // The request falls in a gap between interpolation
+         // intervals. Take the nearer of the instances that bound
+         // the gap, favoring the earlier one on a tie.
+         //
+         int nearest = ( t2 - sclkdp < sclkdp - t1 ) ? last + 1 : last;
+
+         return (  getNearest( nearest, sclkdp, tol, quat, av, clkout )  );
+      }
+
+      //
+      // Interpolate between the bracketing instances.
+      //
+      double   frac = ( t - t1 ) / ( t2 - t1 );
+      double[] q1   = new double[4];
+      double[] q2   = new double[4];
+
+      readQuaternion( last,     q1 );
+      readQuaternion( last + 1, q2 );
+
+      slerp( q1, q2, frac, quat );
+
+      if ( av != null )
+      {
+         int av1 = begin + recordSize * last       + 4;
+         int av2 = begin + recordSize * (last + 1) + 4;
+
+         for ( int i = 0;  i < 3;  i++ )
+         {
+            if ( hasAV )
+            {
+               double a1 = daf.getDouble( av1 + i );
+               double a2 = daf.getDouble( av2 + i );
+
+               av[i] = a1  +  frac * ( a2 - a1 );
+            }
+            else
+            {
+               av[i] = 0.0;
+            }
+         }
+      }
+
+      clkout[0] = t;
+
+      return ( true );
+   }
+
+
+
+   //
+   // Private Methods
+   //
+
+   /**
+   Return pointing instance `index' if its time is within `tol' of
+   `sclkdp'.
+   */
+   private boolean getNearest ( int       index,
+                                double    sclkdp,
+                                double    tol,
+                                double[]  quat,
+                                double[]  av,
+                                double[]  clkout )
+   {
+      double epoch = getEpoch( index );
+
+      if ( Math.abs( epoch - sclkdp ) > tol )
+      {
+         return ( false );
+      }
+
+      readQuaternion( index, quat );
+
+      if ( av != null )
+      {
+         for ( int i = 0;  i < 3;  i++ )
+         {
+            av[i] = hasAV ? daf.getDouble( begin + recordSize*index + 4 + i )
+                          : 0.0;
+         }
+      }
+
+      clkout[0] = epoch;
+
+      return ( true );
+   }
+
+
+   /**
+   Read and normalize the quaternion of pointing instance `index'.
+   */
+   private void readQuaternion ( int       index,
+                                 double[]  quat  )
+   {
+      int    base = begin + recordSize * index;
+      double norm = 0.0;
+
+      for ( int i = 0;  i < 4;  i++ )
+      {
+         quat[i] = daf.getDouble( base + i );
+         norm   += quat[i] * quat[i];
+      }
+
+      norm = Math.sqrt( norm );
+
+      if ( norm > 0.0 )
+      {
+         for ( int i = 0;  i < 4;  i++ )
+         {
+            quat[i] /= norm;
+         }
+      }
+   }
+
+
+   private double getEpoch ( int index )
+   {
+      return (  daf.getDouble( epochBase + index )  );
+   }
+
+
+   /**
+   Index of the last epoch less than or equal to `t', or -1 if there
+   is none.
+   */
+   private int getLastEpochBefore ( double t )
+   {
+      return (  search( epochBase, epochDirBase, n, t )  );
+   }
+
+
+   /**
+   Indicate whether `t', which is the epoch of a pointing instance,
+   starts an interpolation interval.
+   */
+   private boolean isIntervalStart ( double t )
+   {
+      int i = search( intervalBase, intervalDirBase, nint, t );
+
+      return (  ( i >= 0 ) && ( daf.getDouble( intervalBase + i ) == t )  );
+   }
+
+
+   /**
+   Search the `count' increasing values at `base', using the
+   directory at `dirBase' of every DIRSIZ'th value. Return the
+   index of the last value less than or equal to `t', or -1 if
+   there is none.
+   */
+   private int search ( int     base,
+                        int     dirBase,
+                        int     count,
+                        double  t        )
+   {
+      //
+      // Directory entry k is value DIRSIZ*(k+1) - 1. Find the
+      // number of entries less than or equal to `t'; this selects
+      // a block of at most DIRSIZ values.
+      //
+      int low  = 0;
+      int high = ( count - 1 ) / DIRSIZ;
+
+      while ( low < high )
+      {
+         int mid = ( low + high ) >>> 1;
+
+         if ( daf.getDouble( dirBase + mid ) <= t )
+         {
+            low  = mid + 1;
+         }
+         else
+         {
+            high = mid;
+         }
+      }
+
+      int first = DIRSIZ * low;
+      int last  = Math.min( first + DIRSIZ, count ) - 1;
+
+      //
+      // Now find the last value in [first, last] that does not
+      // exceed `t'. Values in earlier blocks all do.
+      //
+      int lo = first - 1;
+      int hi = last  + 1;
+
+      while ( hi - lo > 1 )
+      {
+         int mid = ( lo + hi ) >>> 1;
+
+         if ( daf.getDouble( base + mid ) <= t )
+         {
+            lo = mid;
+         }
+         else
+         {
+            hi = mid;
+         }
+      }
+
+      return ( lo );
+   }
+
+
+   private SpiceErrorException badSegment ( String problem )
+   {
+      return (  SpiceErrorException.create(
+
+                   "CKSegment.CKSegment",
+
+                   "SPICE(BADCKSEGMENT)",
+
+                   "Segment <" + segmentID + "> of " + daf.getFileName() +
+                   " " + problem                                          )  );
+   }
+
+
+
+   //
+   // Static Methods
+   //
+
+   /**
+   Interpolate between the unit quaternions `q1' and `q2' at a
+   constant rotation rate, taking the shorter of the two paths.
+   `frac' is 0 at `q1' and 1 at `q2'. The result, a unit
+   quaternion, is stored in `q'.
+   */
+   static void slerp ( double[]  q1,
+                       double[]  q2,
+                       double    frac,
+                       double[]  q    )
+   {
+      double dot  = 0.0;
+
+      for ( int i = 0;  i < 4;  i++ )
+      {
+         dot += q1[i] * q2[i];
+      }
+
+      double sign = ( dot < 0.0 ) ? -1.0 : 1.0;
+
+      //
+      // Half the angle between the rotations. This form is accurate
+      // for small angles, where acos( dot ) is not.
+      //
+      double diff  = 0.0;
+      double sum   = 0.0;
+
+      for ( int i = 0;  i < 4;  i++ )
+      {
+         double a = sign * q2[i] - q1[i];
+         double b = sign * q2[i] + q1[i];
+
+         diff += a * a;
+         sum  += b * b;
+      }
+
+      double theta = 2.0 * Math.atan2( Math.sqrt( diff ), Math.sqrt( sum ) );
+      double sin   = Math.sin( theta );
+
+      double w1;
+      double w2;
+
+      if ( sin < 1.e-12 )
+      {
+         w1 = 1.0 - frac;
+         w2 = frac;
+      }
+      else
+      {
+         w1 = Math.sin( ( 1.0 - frac ) * theta ) / sin;
+         w2 = Math.sin(         frac   * theta ) / sin;
+      }
+
+      double norm = 0.0;
+
+      for ( int i = 0;  i < 4;  i++ )
+      {
+         q[i]  = w1 * q1[i]  +  w2 * sign * q2[i];
+         norm += q[i] * q[i];
+      }
+
+      norm = Math.sqrt( norm );
+
+      for ( int i = 0;  i < 4;  i++ )
+      {
+         q[i] /= norm;
+      }
+   }
+
+
+   /**
+   Convert the unit SPICE quaternion `q' to a rotation matrix, as
+   does CSPICE.q2m.
+   */
+   static void quaternionToMatrix ( double[]    q,
+                                    double[][]  m )
+   {
+      double q01 = q[0] * q[1];
+      double q02 = q[0] * q[2];
+      double q03 = q[0] * q[3];
+      double q12 = q[1] * q[2];
+      double q13 = q[1] * q[3];
+      double q23 = q[2] * q[3];
+      double q11 = q[1] * q[1];
+      double q22 = q[2] * q[2];
+      double q33 = q[3] * q[3];
+
+      m[0][0] = 1.0  -  2.0 * ( q22 + q33 );
+      m[0][1] =         2.0 * ( q12 - q03 );
+      m[0][2] =         2.0 * ( q13 + q02 );
+
+      m[1][0] =         2.0 * ( q12 + q03 );
+      m[1][1] = 1.0  -  2.0 * ( q11 + q33 );
+      m[1][2] =         2.0 * ( q23 - q01 );
+
+      m[2][0] =         2.0 * ( q13 - q02 );
+      m[2][1] =         2.0 * ( q23 + q01 );
+      m[2][2] = 1.0  -  2.0 * ( q11 + q22 );
+   }
+}
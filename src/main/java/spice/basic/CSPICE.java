@@ -143,12 +143,17 @@ public class CSPICE extends Object
    //      messages are combined into a single message
    //      associated with the exception that is thrown.
    //
+   //    - Supply the toolkit version string used in the
+   //      messages of SpiceErrorExceptions.
+   //
    static
    {
       try
       {
          erract ( "SET", "RETURN" );
          errdev ( "SET", "NULL"   );
+
+         SpiceErrorException.setToolkitVersion( tkvrsn( "TOOLKIT" ) );
       }
       catch ( SpiceException exc )
       {
@@ -0,0 +1,240 @@
+package spice.basic;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+Class CSPICECallEvent records, for {@link CSPICEProfiler}, a Java
+Flight Recorder event for each profiled CSPICE call. An event spans
+both the wait for the CSPICE monitor and the time the call held it;
+its waitTime field gives the wait.
+
+<p>
+The event type, named spice.basic.CSPICECall, is defined at run time
+through jdk.jfr.EventFactory, and all JFR classes are reached by
+reflection, so that this package compiles for and runs on Java 8
+runtimes without the JFR API. When the API is absent, or any
+reflective call fails, events are not recorded.
+
+<h3>Version 1.1.0 18-OCT-2026</h3>
+
+<p> The event type is defined through jdk.jfr.EventFactory by
+reflection rather than by subclassing jdk.jfr.Event, so that the
+package no longer needs the JFR API to compile. Events are begun and
+ended outside the CSPICE monitor, so they include the monitor wait.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+
+final class CSPICECallEvent extends Object
+{
+   //
+   // Private constants
+   //
+
+   //
+   // Indices of the event fields, in the order given to the factory.
+   //
+   private static final int                      METHOD    = 0;
+   private static final int                      WAIT_TIME = 1;
+   private static final int                      FAILED    = 2;
+
+   //
+   // Class variables
+   //
+
+   //
+   // `factory' is the jdk.jfr.EventFactory of the event type, or null
+   // if events can't be recorded. The methods are those of
+   // jdk.jfr.Event and jdk.jfr.EventFactory.
+   //
+   private static volatile Object                factory;
+
+   private static Method                         newEvent;
+   private static Method                         isEnabled;
+   private static Method                         begin;
+   private static Method                         end;
+   private static Method                         shouldCommit;
+   private static Method                         commit;
+   private static Method                         set;
+
+   static
+   {
+      try
+      {
+         factory = createFactory();
+      }
+      catch ( Throwable exc )
+      {
+         factory = null;
+      }
+   }
+
+
+
+   //
+   // Constructors
+   //
+
+   private CSPICECallEvent()
+   {
+   }
+
+
+
+   //
+   // Static Methods
+   //
+
+   /**
+   Indicate whether events can be recorded in this runtime.
+   */
+   static boolean isAvailable()
+   {
+      return ( factory != null );
+   }
+
+
+   /**
+   Begin an event for a call of `method' that is about to wait for the
+   CSPICE monitor, or return null if the event is not being recorded.
+   */
+   static Object begin ( String method )
+   {
+      Object f = factory;
+
+      if ( f == null )
+      {
+         return ( null );
+      }
+
+      try
+      {
+         Object event = newEvent.invoke( f );
+
+         if (  !( (Boolean) isEnabled.invoke( event ) )  )
+         {
+            return ( null );
+         }
+
+         set  .invoke( event, METHOD, method );
+         begin.invoke( event );
+
+         return ( event );
+      }
+      catch ( Exception exc )
+      {
+         factory = null;
+
+         return ( null );
+      }
+   }
+
+
+   /**
+   End the event `event' returned by {@link #begin(String)} and
+   commit it.
+   */
+   static void end ( Object   event,
+                     long     waitNanos,
+                     boolean  failed     )
+   {
+      try
+      {
+         end.invoke( event );
+
+         if (  (Boolean) shouldCommit.invoke( event )  )
+         {
+            set   .invoke( event, WAIT_TIME, waitNanos );
+            set   .invoke( event, FAILED,    failed    );
+            commit.invoke( event );
+         }
+      }
+      catch ( Exception exc )
+      {
+         factory = null;
+      }
+   }
+
+
+
+   //
+   // Private Methods
+   //
+
+   /**
+   Define the event type and look up the methods used to record
+   events of it.
+   */
+   private static Object createFactory()
+
+      throws Exception
+   {
+      Class<?> eventClass   = Class.forName( "jdk.jfr.Event"             );
+      Class<?> factoryClass = Class.forName( "jdk.jfr.EventFactory"      );
+      Class<?> elementClass = Class.forName( "jdk.jfr.AnnotationElement" );
+      Class<?> fieldClass   = Class.forName( "jdk.jfr.ValueDescriptor"   );
+
+      Constructor<?> element = elementClass.getConstructor( Class.class,
+                                                            Object.class );
+
+      Constructor<?> field   = fieldClass.getConstructor( Class.class,
+                                                          String.class,
+                                                          List.class    );
+
+      List<Object> annotations = new ArrayList<Object>();
+
+      annotations.add(  element.newInstance( annotation( "Name" ),
+                                             "spice.basic.CSPICECall" )  );
+
+      annotations.add(  element.newInstance( annotation( "Label" ),
+                                             "CSPICE Call" )  );
+
+      annotations.add(  element.newInstance( annotation( "Category" ),
+                                             new String[] { "JNISpice" } )  );
+
+      annotations.add(  element.newInstance( annotation( "Description" ),
+                                             "A call of a CSPICE method "   +
+                                             "made through CSPICEProfiler" )  );
+
+      List<Object> fields = new ArrayList<Object>();
+
+      fields.add(  field.newInstance( String.class, "method",
+                      Arrays.asList( element.newInstance( annotation( "Label" ),
+                                                          "Method" ) ) )  );
+
+      fields.add(  field.newInstance( long.class, "waitTime",
+                      Arrays.asList( element.newInstance( annotation( "Label" ),
+                                                          "Monitor Wait" ),
+                                     element.newInstance( annotation( "Timespan" ),
+                                                          "NANOSECONDS" ) ) )  );
+
+      fields.add(  field.newInstance( boolean.class, "failed",
+                      Arrays.asList( element.newInstance( annotation( "Label" ),
+                                                          "Failed" ) ) )  );
+
+      Object created = factoryClass.getMethod( "create", List.class, List.class )
+                                   .invoke( null, annotations, fields );
+
+      newEvent     = factoryClass.getMethod( "newEvent" );
+      isEnabled    = eventClass  .getMethod( "isEnabled" );
+      begin        = eventClass  .getMethod( "begin" );
+      end          = eventClass  .getMethod( "end" );
+      shouldCommit = eventClass  .getMethod( "shouldCommit" );
+      commit       = eventClass  .getMethod( "commit" );
+      set          = eventClass  .getMethod( "set", int.class, Object.class );
+
+      return ( created );
+   }
+
+
+   private static Class<?> annotation ( String name )
+
+      throws ClassNotFoundException
+   {
+      return (  Class.forName( "jdk.jfr." + name )  );
+   }
+}
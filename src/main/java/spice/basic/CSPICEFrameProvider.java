@@ -0,0 +1,78 @@
+package spice.basic;
+
+/**
+Class CSPICEFrameProvider supplies the orientation of frames to a
+{@link FrameTree} by calling CSPICE.pxform and CSPICE.sxform.
+
+<p>
+The base frame of every frame is J2000. The frame must be known to
+CSPICE, and the kernels needed to orient it must be loaded through
+{@link KernelDatabase}; CSPICE errors are passed to the caller. This
+provider is intended for frame classes for which no pure Java
+provider is available, such as PCK frames whose orientation comes
+from binary PCKs.
+
+<p>
+Calls are serialized by the CSPICE class; instances may be shared by
+any number of threads.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+
+public class CSPICEFrameProvider extends Object implements FrameRotationProvider
+{
+   //
+   // Constructors
+   //
+   public CSPICEFrameProvider()
+   {
+   }
+
+
+
+   //
+   // Instance Methods
+   //
+
+   /**
+   Fill `rotate' with the rotation from `frame' to J2000 at `et',
+   computed by CSPICE.pxform.
+   */
+   public int getRotation ( FrameInfo  frame,
+                            double     et,
+                            double[]   rotate )
+
+      throws SpiceException
+   {
+      String     name = CSPICE.frmnam ( frame.getFrameID() );
+
+      double[][] m    = CSPICE.pxform ( name, "J2000", et );
+
+      for ( int i = 0;  i < 3;  i++ )
+      {
+         System.arraycopy ( m[i], 0, rotate, 3*i, 3 );
+      }
+
+      return ( FrameTree.J2000 );
+   }
+
+
+   /**
+   Fill `xform' with the state transformation from `frame' to J2000
+   at `et', computed by CSPICE.sxform.
+   */
+   public int getStateTransformation ( FrameInfo  frame,
+                                       double     et,
+                                       double[]   xform )
+
+      throws SpiceException
+   {
+      String   name = CSPICE.frmnam ( frame.getFrameID() );
+
+      double[] m    = CSPICE.sxform ( name, "J2000", et );
+
+      System.arraycopy ( m, 0, xform, 0, 36 );
+
+      return ( FrameTree.J2000 );
+   }
+}
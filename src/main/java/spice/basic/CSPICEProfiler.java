@@ -0,0 +1,597 @@
+package spice.basic;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+Class CSPICEProfiler records, for each CSPICE method called through
+it, the number of calls, a histogram of their latencies, and the time
+spent waiting for the monitor of class {@link CSPICE} versus the time
+spent holding it.
+
+<p>
+The methods of CSPICE are static, native and synchronized; they
+cannot be wrapped by proxies, so calls are profiled where they are
+made:
+
+<pre>
+   double et = CSPICEProfiler.call ( "str2et",
+
+      new NativeExecutor.Task&lt;Double&gt;()
+      {
+         public Double call()
+
+            throws SpiceException
+         {
+            return ( CSPICE.str2et( time ) );
+         }
+      } );
+</pre>
+
+<p>
+{@link #call(String, NativeExecutor.Task)} acquires the CSPICE
+monitor itself before running the task, which then reenters it, so
+the wait and hold times are measured exactly. Tasks submitted to a
+{@link NativeExecutor} with a method name are profiled too; their
+wait time is the time they spent queued.
+
+<p>
+The CSPICE calls made by {@link StateRecord}, {@link PositionRecord},
+{@link ReferenceFrame}, {@link TDBTime}, {@link TDTTime},
+{@link JEDTime}, {@link SCLKTime} and {@link SCLKDuration} go through
+this class while profiling is enabled, so enabling the profiler
+covers those made by existing code through these classes. While it
+is off, those classes call CSPICE directly.
+
+<p>
+Profiling is off unless enabled by {@link #setEnabled(boolean)} or by
+the system property {@link #ENABLED_PROPERTY}; while it is off, calls
+run their tasks directly. The statistics are published over JMX once
+{@link #registerMBean()} is called, and each call is recorded as a
+spice.basic.CSPICECall event in Java Flight Recordings in which that
+event is enabled, on runtimes that provide the JFR API.
+{@link #getReport(int)} lists the methods that take the most time, as
+candidates for batching or for replacement by pure Java code.
+
+<h3>Version 1.1.0 18-OCT-2026</h3>
+
+<p> The wrapper classes listed above route their CSPICE calls through
+the profiler. JFR events are recorded by reflection, so the class no
+longer needs the JFR API to compile for Java 8. Statistics and
+events are recorded outside the CSPICE monitor.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+
+public class CSPICEProfiler extends Object
+{
+   //
+   // Public constants
+   //
+
+   /**
+   System property that enables profiling when set to "true".
+   */
+   public static final String                    ENABLED_PROPERTY =
+
+      "spice.basic.profile";
+
+   /**
+   JMX object name of the profiler.
+   */
+   public static final String                    OBJECT_NAME      =
+
+      "spice.basic:type=CSPICEProfiler";
+
+   //
+   // Private constants
+   //
+
+   //
+   // Latency histograms have a bucket for each power of two of
+   // nanoseconds.
+   //
+   private static final int                      NBUCKETS         = 48;
+
+   //
+   // Class variables
+   //
+   private static volatile boolean               enabled          =
+
+      Boolean.getBoolean( ENABLED_PROPERTY );
+
+   private static final ConcurrentHashMap<String, Statistics>  statistics =
+
+      new ConcurrentHashMap<String, Statistics>();
+
+
+
+   //
+   // Constructors
+   //
+
+   private CSPICEProfiler()
+   {
+   }
+
+
+
+   //
+   // Static Methods
+   //
+
+   /**
+   Indicate whether calls are being profiled.
+   */
+   public static boolean isEnabled()
+   {
+      return ( enabled );
+   }
+
+
+   /**
+   Enable or disable profiling.
+   */
+   public static void setEnabled ( boolean enable )
+   {
+      enabled = enable;
+   }
+
+
+   /**
+   Run `task', which calls the CSPICE method `method', while holding
+   the CSPICE monitor, and record the call.
+   */
+   public static <T> T call ( String                   method,
+                              NativeExecutor.Task<T>   task    )
+
+      throws SpiceException
+   {
+      if ( !enabled )
+      {
+         return ( task.call() );
+      }
+
+      long    start   = System.nanoTime();
+      long    entered = start;
+      long    left    = start;
+      boolean failed  = true;
+
+      //
+      // The event and the statistics are recorded after the monitor is
+      // released, so that their cost neither inflates the hold time
+      // nor delays other threads waiting for CSPICE.
+      //
+      Object  event   = CSPICECallEvent.begin( method );
+      try
+      {
+         synchronized ( CSPICE.class )
+         {
+            entered = System.nanoTime();
+            try
+            {
+               T result = task.call();
+
+               failed   = false;
+
+               return ( result );
+            }
+            finally
+            {
+               left = System.nanoTime();
+            }
+         }
+      }
+      finally
+      {
+         record( method, entered - start, left - entered, failed );
+
+         if ( event != null )
+         {
+            CSPICECallEvent.end( event, entered - start, failed );
+         }
+      }
+   }
+
+
+   /**
+   Run `task', which calls only CSPICE methods, as by
+   {@link #call(String, NativeExecutor.Task)}. The methods of CSPICE
+   throw only SpiceErrorException; this form lets wrappers that declare
+   that exception alone profile their calls.
+   */
+   static <T> T callNative ( String                   method,
+                             NativeExecutor.Task<T>   task    )
+
+      throws SpiceErrorException
+   {
+      try
+      {
+         return (  call( method, task )  );
+      }
+      catch ( SpiceErrorException exc )
+      {
+         throw ( exc );
+      }
+      catch ( SpiceException exc )
+      {
+         SpiceErrorException spexc = SpiceErrorException.create(
+
+            "CSPICEProfiler.callNative",
+
+            "SPICE(BUG)",
+
+            "The task for " + method + " threw " + exc  );
+
+         throw ( spexc );
+      }
+   }
+
+
+   /**
+   Get the names of the methods profiled, in alphabetical order.
+   */
+   public static String[] getMethodNames()
+   {
+      String[] names = statistics.keySet().toArray( new String[0] );
+
+      Arrays.sort( names );
+
+      return ( names );
+   }
+
+
+   /**
+   Get the number of calls of `method'.
+   */
+   public static long getCallCount ( String method )
+   {
+      Statistics s = statistics.get( method );
+
+      return (  ( s == null ) ? 0L : s.calls.sum()  );
+   }
+
+
+   /**
+   Get the number of calls of `method' that threw exceptions.
+   */
+   public static long getErrorCount ( String method )
+   {
+      Statistics s = statistics.get( method );
+
+      return (  ( s == null ) ? 0L : s.errors.sum()  );
+   }
+
+
+   /**
+   Get the total time, in nanoseconds, for which calls of `method'
+   held the CSPICE monitor.
+   */
+   public static long getHoldNanos ( String method )
+   {
+      Statistics s = statistics.get( method );
+
+      return (  ( s == null ) ? 0L : s.hold.sum()  );
+   }
+
+
+   /**
+   Get the total time, in nanoseconds, for which calls of `method'
+   waited for the CSPICE monitor.
+   */
+   public static long getWaitNanos ( String method )
+   {
+      Statistics s = statistics.get( method );
+
+      return (  ( s == null ) ? 0L : s.wait.sum()  );
+   }
+
+
+   /**
+   Get an upper bound, in nanoseconds, of the `percentile'th
+   percentile of the hold times of calls of `method', accurate to a
+   factor of two. Zero is returned if `method' has not been called.
+   */
+   public static long getPercentileNanos ( String  method,
+                                           double  percentile )
+   {
+      Statistics s = statistics.get( method );
+
+      return (  ( s == null ) ? 0L : s.getPercentile( percentile )  );
+   }
+
+
+   /**
+   Get a report of the `topN' methods with the largest total hold
+   time, one line per method.
+   */
+   public static String getReport ( int topN )
+   {
+      ArrayList<Map.Entry<String, Statistics>> entries =
+
+         new ArrayList<Map.Entry<String, Statistics>>( statistics.entrySet() );
+
+      Collections.sort( entries,
+
+         new Comparator<Map.Entry<String, Statistics>>()
+         {
+            public int compare ( Map.Entry<String, Statistics>  a,
+                                 Map.Entry<String, Statistics>  b )
+            {
+               return (  Long.compare( b.getValue().hold.sum(),
+                                       a.getValue().hold.sum() )  );
+            }
+         } );
+
+      StringBuilder report = new StringBuilder();
+
+      report.append(  String.format( "%-24s %10s %8s %12s %10s %10s %10s %12s%n",
+                                     "method",  "calls",   "errors",
+                                     "hold ms", "mean us", "p50 us",
+                                     "p99 us",  "wait ms"             )  );
+
+      for ( int i = 0;  i < Math.min( topN, entries.size() );  i++ )
+      {
+         String     name  = entries.get(i).getKey();
+         Statistics s     = entries.get(i).getValue();
+         long       calls = s.calls.sum();
+
+         report.append(  String.format(
+
+                            "%-24s %10d %8d %12.3f %10.3f %10.3f %10.3f %12.3f%n",
+
+                            name,
+                            calls,
+                            s.errors.sum(),
+                            s.hold.sum() / 1.e6,
+                            ( calls == 0 ) ? 0.0 : s.hold.sum() / 1.e3 / calls,
+                            s.getPercentile( 50.0 ) / 1.e3,
+                            s.getPercentile( 99.0 ) / 1.e3,
+                            s.wait.sum() / 1.e6                               )  );
+      }
+
+      return ( report.toString() );
+   }
+
+
+   /**
+   Discard the statistics gathered.
+   */
+   public static void reset()
+   {
+      statistics.clear();
+   }
+
+
+   /**
+   Register the profiler with the platform MBean server, under the
+   name {@link #OBJECT_NAME}, unless it is registered already.
+   */
+   public static synchronized void registerMBean()
+
+      throws SpiceException
+   {
+      try
+      {
+         MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+         ObjectName  name   = new ObjectName( OBJECT_NAME );
+
+         if ( !server.isRegistered( name ) )
+         {
+            server.registerMBean( new MBean(), name );
+         }
+      }
+      catch ( JMException exc )
+      {
+         SpiceErrorException spexc = SpiceErrorException.create(
+
+            "CSPICEProfiler.registerMBean",
+
+            "SPICE(JMXERROR)",
+
+            "The profiler could not be registered: " + exc  );
+
+         throw ( spexc );
+      }
+   }
+
+
+   /**
+   Remove the profiler from the platform MBean server, if it is
+   registered.
+   */
+   public static synchronized void unregisterMBean()
+
+      throws SpiceException
+   {
+      try
+      {
+         MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+         ObjectName  name   = new ObjectName( OBJECT_NAME );
+
+         if ( server.isRegistered( name ) )
+         {
+            server.unregisterMBean( name );
+         }
+      }
+      catch ( JMException exc )
+      {
+         SpiceErrorException spexc = SpiceErrorException.create(
+
+            "CSPICEProfiler.unregisterMBean",
+
+            "SPICE(JMXERROR)",
+
+            "The profiler could not be unregistered: " + exc  );
+
+         throw ( spexc );
+      }
+   }
+
+
+   /**
+   Record a call of `method' that waited `waitNanos' nanoseconds for
+   the CSPICE monitor, or in a queue, and then ran for `holdNanos'
+   nanoseconds.
+   */
+   static void record ( String   method,
+                        long     waitNanos,
+                        long     holdNanos,
+                        boolean  failed     )
+   {
+      Statistics s = statistics.get( method );
+
+      if ( s == null )
+      {
+         Statistics added = new Statistics();
+
+         s = statistics.putIfAbsent( method, added );
+
+         if ( s == null )
+         {
+            s = added;
+         }
+      }
+
+      s.calls.increment();
+      s.wait .add( waitNanos );
+      s.hold .add( holdNanos );
+
+      if ( failed )
+      {
+         s.errors.increment();
+      }
+
+      int bucket = 64 - Long.numberOfLeadingZeros( Math.max( holdNanos, 1L ) );
+
+      s.histogram.incrementAndGet(  Math.min( bucket, NBUCKETS - 1 )  );
+   }
+
+
+
+   //
+   // Private classes
+   //
+
+   /**
+   Statistics of one method. Bucket b of the histogram counts hold
+   times of less than 2**b nanoseconds and at least 2**(b-1).
+   */
+   private static class Statistics extends Object
+   {
+      private final LongAdder                    calls     = new LongAdder();
+      private final LongAdder                    errors    = new LongAdder();
+      private final LongAdder                    hold      = new LongAdder();
+      private final LongAdder                    wait      = new LongAdder();
+      private final AtomicLongArray              histogram = new AtomicLongArray( NBUCKETS );
+
+
+      private long getPercentile ( double percentile )
+      {
+         long total = 0;
+
+         for ( int b = 0;  b < NBUCKETS;  b++ )
+         {
+            total += histogram.get( b );
+         }
+
+         long rank  = (long) Math.ceil( total * percentile / 100.0 );
+         long count = 0;
+
+         for ( int b = 0;  b < NBUCKETS;  b++ )
+         {
+            count += histogram.get( b );
+
+            if (  ( count >= rank ) && ( count > 0 )  )
+            {
+               return ( 1L << b );
+            }
+         }
+
+         return ( 0L );
+      }
+   }
+
+
+   /**
+   The JMX view of the profiler.
+   */
+   private static class MBean extends Object implements CSPICEProfilerMXBean
+   {
+      public boolean isEnabled()
+      {
+         return ( CSPICEProfiler.isEnabled() );
+      }
+
+      public void setEnabled ( boolean enable )
+      {
+         CSPICEProfiler.setEnabled( enable );
+      }
+
+      public String[] getMethodNames()
+      {
+         return ( CSPICEProfiler.getMethodNames() );
+      }
+
+      public long getTotalCallCount()
+      {
+         long total = 0;
+
+         for ( Statistics s : statistics.values() )
+         {
+            total += s.calls.sum();
+         }
+
+         return ( total );
+      }
+
+      public double getTotalHoldMillis()
+      {
+         long total = 0;
+
+         for ( Statistics s : statistics.values() )
+         {
+            total += s.hold.sum();
+         }
+
+         return ( total / 1.e6 );
+      }
+
+      public double getTotalWaitMillis()
+      {
+         long total = 0;
+
+         for ( Statistics s : statistics.values() )
+         {
+            total += s.wait.sum();
+         }
+
+         return ( total / 1.e6 );
+      }
+
+      public long getCallCount ( String method )
+      {
+         return ( CSPICEProfiler.getCallCount( method ) );
+      }
+
+      public String getReport ( int topN )
+      {
+         return ( CSPICEProfiler.getReport( topN ) );
+      }
+
+      public void reset()
+      {
+         CSPICEProfiler.reset();
+      }
+   }
+}
@@ -0,0 +1,61 @@
+package spice.basic;
+
+/**
+Interface CSPICEProfilerMXBean is the management interface through
+which {@link CSPICEProfiler} publishes its statistics over JMX. The
+bean is registered by {@link CSPICEProfiler#registerMBean()} under the
+name given by {@link CSPICEProfiler#OBJECT_NAME}.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+
+public interface CSPICEProfilerMXBean
+{
+   /**
+   Indicate whether calls are being profiled.
+   */
+   boolean isEnabled();
+
+   /**
+   Enable or disable profiling.
+   */
+   void setEnabled ( boolean enabled );
+
+   /**
+   Get the names of the methods profiled, in alphabetical order.
+   */
+   String[] getMethodNames();
+
+   /**
+   Get the number of calls of all methods.
+   */
+   long getTotalCallCount();
+
+   /**
+   Get the total time, in milliseconds, for which calls held the
+   CSPICE monitor.
+   */
+   double getTotalHoldMillis();
+
+   /**
+   Get the total time, in milliseconds, for which calls waited for the
+   CSPICE monitor.
+   */
+   double getTotalWaitMillis();
+
+   /**
+   Get the number of calls of `method'.
+   */
+   long getCallCount ( String method );
+
+   /**
+   Get a report of the `topN' methods with the largest total hold
+   time.
+   */
+   String getReport ( int topN );
+
+   /**
+   Discard the statistics gathered.
+   */
+   void reset();
+}
@@ -0,0 +1,443 @@
+package spice.basic;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+Class CoverageCache computes the {@link KernelCoverage} of each SPK
+or CK file once, keeps it in memory, and optionally persists it to a
+small binary sidecar file in a cache directory.
+
+<p>
+A cached coverage is used as long as the size and modification time
+of its file are unchanged, provided its checksum was taken more than
+{@link #MTIME_GRANULARITY} milliseconds after that modification time.
+A file rewritten within one tick of a coarse file system clock can
+keep both its size and its modification time, so a coverage whose
+checksum was taken earlier is used only if the CRC-32 checksum of the
+file still agrees with the one recorded. The checksum is compared in
+the same way if only the modification time has changed, as when a
+file is copied or touched. Otherwise the coverage is computed again.
+
+<p>
+Sidecar files are named after the kernel file and a hash of its
+absolute path, so that kernels of the same name in different
+directories do not collide. Sidecars are written to a temporary file
+and then renamed, so readers never see a partial sidecar; a sidecar
+that cannot be read is ignored, and one that cannot be written is
+skipped, as the coverage remains available from memory.
+
+<p>
+{@link SPK} and {@link CK} obtain coverage of files open for read
+access from the cache returned by {@link #getDefault()}, which keeps
+coverage in memory only unless replaced by
+{@link #setDefault(CoverageCache)}. A directory of kernels may be
+indexed in parallel at startup by
+{@link #indexDirectory(String, int)}.
+
+<p>
+Coverage is computed without calls to CSPICE; instances may be shared
+by any number of threads.
+
+<h3>Version 1.1.0 18-OCT-2026</h3>
+
+<p> The checksum of a file whose size and modification time are
+unchanged is verified while its modification time is within
+{@link #MTIME_GRANULARITY} of the time the checksum was taken.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+
+public class CoverageCache extends Object
+{
+   //
+   // Public constants
+   //
+
+   /**
+   The coarsest granularity, in milliseconds, assumed of file
+   modification times: two seconds, that of FAT file systems.
+   */
+   public static final long                          MTIME_GRANULARITY = 2000L;
+
+   //
+   // Private constants
+   //
+   private static final String                       SUFFIX = ".cov";
+
+   //
+   // Class variables
+   //
+   private static volatile CoverageCache             defaultCache =
+
+      new CoverageCache( null );
+
+   //
+   // Fields
+   //
+   private final File                                directory;
+   private final ConcurrentHashMap<String, KernelCoverage>  memory;
+
+
+
+   //
+   // Constructors
+   //
+
+   /**
+   Construct a cache that persists coverage to sidecar files in
+   `directory', which is created if needed. If `directory' is null,
+   coverage is kept in memory only.
+   */
+   public CoverageCache ( String directory )
+   {
+      this.directory = ( directory == null ) ? null : new File( directory );
+      this.memory    = new ConcurrentHashMap<String, KernelCoverage>();
+   }
+
+
+
+   //
+   // Static Methods
+   //
+
+   /**
+   Get the cache used by SPK and CK.
+   */
+   public static CoverageCache getDefault()
+   {
+      return ( defaultCache );
+   }
+
+   /**
+   Set the cache used by SPK and CK.
+   */
+   public static void setDefault ( CoverageCache cache )
+   {
+      defaultCache = cache;
+   }
+
+
+
+   //
+   // Instance Methods
+   //
+
+   /**
+   Get the coverage of the SPK or CK file `fileName', computing it
+   if no valid coverage is cached.
+   */
+   public KernelCoverage getCoverage ( String fileName )
+
+      throws SpiceException
+   {
+      File           file     = new File( fileName ).getAbsoluteFile();
+      String         key      = file.getPath();
+      long           size     = file.length();
+      long           modified = file.lastModified();
+
+      KernelCoverage coverage = memory.get( key );
+
+      if (  ( coverage != null ) && isCurrent( coverage, size, modified )  )
+      {
+         return ( coverage );
+      }
+
+      File sidecar = getSidecar( file );
+
+      if ( coverage == null )
+      {
+         coverage = readSidecar( fileName, sidecar );
+      }
+
+      boolean valid = false;
+
+      if (  ( coverage != null ) && ( coverage.getFileSize() == size )  )
+      {
+         if ( isCurrent( coverage, size, modified ) )
+         {
+            valid = true;
+         }
+         else
+         {
+            long verified = System.currentTimeMillis();
+
+            if ( coverage.getChecksum() == KernelCoverage.checksum( fileName ) )
+            {
+               coverage = coverage.withChecksumVerified( modified, verified );
+               valid    = true;
+
+               writeSidecar( coverage, sidecar );
+            }
+         }
+      }
+
+      if ( !valid )
+      {
+         coverage = KernelCoverage.compute( fileName );
+
+         writeSidecar( coverage, sidecar );
+      }
+
+      memory.put( key, coverage );
+
+      return ( coverage );
+   }
+
+
+   /**
+   Compute or load the coverage of the SPK and CK files in
+   `directory', using `nThreads' threads. Files whose names end in
+   ".bsp" or ".bc", ignoring case, are indexed; files that cannot be
+   read as SPKs or CKs are skipped. The coverage of the indexed
+   files is returned, in file name order.
+   */
+   public List<KernelCoverage> indexDirectory ( String  directory,
+                                                int     nThreads  )
+
+      throws SpiceException
+   {
+      File[] files = new File( directory ).listFiles();
+
+      if ( files == null )
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            "CoverageCache.indexDirectory",
+
+            "SPICE(NOSUCHFILE)",
+
+            "Directory " + directory + " does not exist or cannot " +
+            "be read."                                               );
+
+         throw ( exc );
+      }
+
+      Arrays.sort( files );
+
+      ExecutorService                  executor = Executors.newFixedThreadPool(
+                                                     Math.max( nThreads, 1 ) );
+
+      ArrayList<Future<KernelCoverage>> futures  = new ArrayList<Future<KernelCoverage>>();
+
+      try
+      {
+         for ( final File file : files )
+         {
+            String name = file.getName().toLowerCase();
+
+            if (    !file.isFile()
+                 || !(  name.endsWith( ".bsp" ) || name.endsWith( ".bc" )  )  )
+            {
+               continue;
+            }
+
+            futures.add(  executor.submit(
+
+               new Callable<KernelCoverage>()
+               {
+                  public KernelCoverage call()
+                  {
+                     try
+                     {
+                        return (  getCoverage( file.getPath() )  );
+                     }
+                     catch ( SpiceException exc )
+                     {
+                        return ( null );
+                     }
+                  }
+               } )  );
+         }
+
+         ArrayList<KernelCoverage> result = new ArrayList<KernelCoverage>();
+
+         for ( Future<KernelCoverage> future : futures )
+         {
+            KernelCoverage coverage = future.get();
+
+            if ( coverage != null )
+            {
+               result.add( coverage );
+            }
+         }
+
+         return ( result );
+      }
+      catch ( InterruptedException exc )
+      {
+         Thread.currentThread().interrupt();
+
+         SpiceErrorException spexc = SpiceErrorException.create(
+
+            "CoverageCache.indexDirectory",
+
+            "SPICE(INTERRUPTED)",
+
+            "Indexing of " + directory + " was interrupted."  );
+
+         throw ( spexc );
+      }
+      catch ( ExecutionException exc )
+      {
+         SpiceErrorException spexc = SpiceErrorException.create(
+
+            "CoverageCache.indexDirectory",
+
+            "SPICE(BUG)",
+
+            "Indexing of " + directory + " failed: " + exc.getCause() );
+
+         throw ( spexc );
+      }
+      finally
+      {
+         executor.shutdownNow();
+      }
+   }
+
+
+   /**
+   Discard the coverage held in memory. Sidecar files are kept.
+   */
+   public void clear()
+   {
+      memory.clear();
+   }
+
+
+
+   //
+   // Private Methods
+   //
+
+   /**
+   Indicate whether `coverage' may be used without verifying its
+   checksum for a file of size `size' last modified at `modified'.
+   Any write to the file after the checksum was taken more than one
+   granularity tick after `modified' changes the modification time.
+   */
+   private static boolean isCurrent ( KernelCoverage  coverage,
+                                      long            size,
+                                      long            modified )
+   {
+      return (     ( coverage.getFileSize()     == size     )
+               &&  ( coverage.getLastModified() == modified )
+               &&  (   coverage.getChecksumTime() - modified
+                     > MTIME_GRANULARITY                     )  );
+   }
+
+
+   /**
+   Get the sidecar file for `file', or null if coverage is kept in
+   memory only.
+   */
+   private File getSidecar ( File file )
+   {
+      if ( directory == null )
+      {
+         return ( null );
+      }
+
+      String tag = Integer.toHexString( file.getPath().hashCode() );
+
+      return (  new File( directory, file.getName() + "-" + tag + SUFFIX )  );
+   }
+
+
+   private static KernelCoverage readSidecar ( String  fileName,
+                                               File    sidecar   )
+   {
+      if (  ( sidecar == null ) || !sidecar.isFile()  )
+      {
+         return ( null );
+      }
+
+      try
+      {
+         DataInputStream in = new DataInputStream(
+                                 new BufferedInputStream(
+                                    new FileInputStream( sidecar ) ) );
+         try
+         {
+            return (  KernelCoverage.read( fileName, in )  );
+         }
+         finally
+         {
+            in.close();
+         }
+      }
+      catch ( IOException exc )
+      {
+         //
+         // A damaged or outdated sidecar is replaced once the
+         // coverage is computed again.
+         //
+         return ( null );
+      }
+   }
+
+
+   private void writeSidecar ( KernelCoverage  coverage,
+                               File            sidecar   )
+   {
+      if ( sidecar == null )
+      {
+         return;
+      }
+
+      File temp = null;
+
+      try
+      {
+         directory.mkdirs();
+
+         temp = File.createTempFile( sidecar.getName(), ".tmp", directory );
+
+         DataOutputStream out = new DataOutputStream(
+                                   new BufferedOutputStream(
+                                      new FileOutputStream( temp ) ) );
+         try
+         {
+            coverage.write( out );
+         }
+         finally
+         {
+            out.close();
+         }
+
+         Files.move( temp.toPath(),
+                     sidecar.toPath(),
+                     StandardCopyOption.REPLACE_EXISTING,
+                     StandardCopyOption.ATOMIC_MOVE      );
+      }
+      catch ( IOException exc )
+      {
+         //
+         // The sidecar is an optimization; the coverage remains
+         // available from memory.
+         //
+         if ( temp != null )
+         {
+            temp.delete();
+         }
+      }
+   }
+}
@@ -5,6 +5,11 @@ package spice.basic;
 Class FrameInfo packages specification
 parameters common to all SPICE reference frames.
 
+<p> Version 1.2.0 18-OCT-2026
+
+<p> Added a constructor taking all frame parameters, for frames
+    defined without calls to CSPICE.
+
 <p> Version 1.1.0 02-FEB-2011 (NJB)(EDW)
 
    <pre>
@@ -78,6 +83,22 @@ public class FrameInfo extends Object
 
 
 
+   /**
+   Create a FrameInfo instance from a frame ID code, frame center ID
+   code, frame class and frame class ID. No CSPICE calls are made.
+   */
+   public FrameInfo( int  frameID,
+                     int  frameCenterID,
+                     int  frameClass,
+                     int  frameClassID  )
+   {
+      this.frameID        = frameID;
+      this.frameCenterID  = frameCenterID;
+      this.frameClass     = frameClass;
+      this.frameClassID   = frameClassID;
+   }
+
+
    /**
    Copy constructor. This constructor creates a deep copy.
    */
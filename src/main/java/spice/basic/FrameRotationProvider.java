@@ -0,0 +1,51 @@
+package spice.basic;
+
+/**
+Interface FrameRotationProvider supplies the orientation of frames
+whose orientation varies with time, such as CK and PCK frames, to a
+{@link FrameTree}.
+
+<p>
+A provider relates a frame to a base frame chosen by the provider:
+for a CK frame, the reference frame of the segment supplying the
+pointing; for a PCK frame, the inertial frame of the orientation
+model. The ID code of the base frame is returned by each method. A
+return value of zero indicates that no data are available for the
+frame at the requested epoch; this is not an error, since a
+transformation may not need the frame's base.
+
+<p>
+Implementations must be safe for use by multiple threads.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+
+public interface FrameRotationProvider
+{
+   /**
+   Fill the 9-element array `rotate' with the rotation matrix, in
+   row major order, that maps vectors relative to the frame
+   described by `frame' to vectors relative to its base frame at
+   the TDB epoch `et'. Return the ID code of the base frame, or
+   zero if no data are available.
+   */
+   int getRotation ( FrameInfo  frame,
+                     double     et,
+                     double[]   rotate )
+
+      throws SpiceException;
+
+
+   /**
+   Fill the 36-element array `xform' with the 6x6 state
+   transformation matrix, in row major order, that maps states
+   relative to the frame described by `frame' to states relative
+   to its base frame at the TDB epoch `et'. Return the ID code of
+   the base frame, or zero if no data are available.
+   */
+   int getStateTransformation ( FrameInfo  frame,
+                                double     et,
+                                double[]   xform )
+
+      throws SpiceException;
+}
@@ -0,0 +1,34 @@
+package spice.basic;
+
+/**
+Interface FrameTransformer supplies state transformations between
+reference frames, identified by frame ID code, to the pure Java
+kernel readers of this package.
+
+<p>
+The readers evaluate segments in the frames in which they are
+stored; a FrameTransformer is needed only when a computation
+combines data from segments having different frames, or asks for
+results in a frame other than that of the data.
+
+<p>
+Implementations must be safe for use by multiple threads.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+
+public interface FrameTransformer
+{
+   /**
+   Fill the 36-element array `xform' with the 6x6 state
+   transformation matrix, in row major order, that maps states
+   relative to frame `fromFrame' to states relative to frame
+   `toFrame' at the TDB epoch `et'.
+   */
+   void getStateTransformation ( int       fromFrame,
+                                 int       toFrame,
+                                 double    et,
+                                 double[]  xform     )
+
+      throws SpiceException;
+}
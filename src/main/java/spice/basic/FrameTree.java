@@ -0,0 +1,1182 @@
+package spice.basic;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+Class FrameTree computes rotations and state transformations between
+reference frames defined by frame kernels, without calls to CSPICE
+other than those made by its frame providers.
+
+<p>
+Frames are those built into SPICE that are listed below, and those
+defined by FRAME_&lt;ID&gt;_NAME, FRAME_&lt;ID&gt;_CLASS,
+FRAME_&lt;ID&gt;_CLASS_ID and FRAME_&lt;ID&gt;_CENTER variables in a
+{@link KernelPoolSnapshot}. As in CSPICE, built-in frames take
+precedence over kernel-defined frames having the same name or ID.
+
+<p>
+Each frame is linked to a base frame nearer the root of the frame
+tree, J2000:
+
+<ul>
+<li>TK frames are linked to their RELATIVE frames by constant
+rotations given by TKFRAME_&lt;ID&gt;_SPEC values ANGLES, MATRIX or
+QUATERNION. Runs of consecutive TK frames are composed into a single
+rotation on first use and cached, so a transformation evaluates only
+the links that vary with time.</li>
+
+<li>CK and PCK frames are linked by the {@link FrameRotationProvider}
+given for their class, for example a {@link CKFrameProvider} or a
+{@link TextPCKRotation}. Without a provider, no data are available for
+frames of the class.</li>
+
+<li>ECLIPJ2000 is linked to J2000 by the rotation through the mean
+obliquity of the ecliptic at J2000 used by CSPICE. The other built-in
+inertial frames, and dynamic frames, are not supported.</li>
+</ul>
+
+<p>
+As does the SPICELIB routine FRMCHG, a transformation between two
+frames is found by following the links from each frame toward J2000
+until the paths meet; links above the first common frame are not
+evaluated. The paths are followed alternately, one link at a time.
+Missing data for a frame end its path; an error is signaled only if
+the paths do not meet.
+
+<p>
+Built-in frames:
+
+<pre>
+   Name            ID      Class   Class ID   Center
+   J2000               1   1           1         0
+   ECLIPJ2000         17   1          17         0
+   B1950, FK4, GALACTIC, MARSIAU, ECLIPB1950 and
+   the DE-nnn frames: IDs 2-21, class 1
+   IAU_SUN         10010   2          10        10
+   IAU_MERCURY     10011   2         199       199
+   IAU_VENUS       10012   2         299       299
+   IAU_EARTH       10013   2         399       399
+   IAU_MARS        10014   2         499       499
+   IAU_JUPITER     10015   2         599       599
+   IAU_SATURN      10016   2         699       699
+   IAU_URANUS      10017   2         799       799
+   IAU_NEPTUNE     10018   2         899       899
+   IAU_PLUTO       10019   2         999       999
+   IAU_MOON        10020   2         301       301
+   IAU_PHOBOS      10021   2         401       401
+   IAU_DEIMOS      10022   2         402       402
+   ITRF93          13000   2        3000       399
+</pre>
+
+<p>
+Instances are immutable apart from the cache of constant rotations,
+which is safe for concurrent use; any number of threads may compute
+transformations with one instance, provided its frame providers are
+thread safe.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+
+public final class FrameTree extends Object implements FrameTransformer
+{
+   //
+   // Public constants
+   //
+
+   /**
+   Frame classes, as returned by {@link FrameInfo#getFrameClass()}.
+   */
+   public static final int                      INERTIAL = 1;
+   public static final int                      PCK      = 2;
+   public static final int                      CK       = 3;
+   public static final int                      TK       = 4;
+   public static final int                      DYNAMIC  = 5;
+
+   /**
+   ID code of the root frame, J2000.
+   */
+   public static final int                      J2000    = 1;
+
+   /**
+   Maximum number of links followed from a frame toward J2000.
+   */
+   public static final int                      MAXCHN   = 100;
+
+   //
+   // Private constants
+   //
+   private static final int                     ECLIPJ2000 = 17;
+
+   //
+   // Mean obliquity of the ecliptic at J2000, in arcseconds, as used
+   // by the SPICELIB routine CHGIRF.
+   //
+   private static final double                  OBLIQUITY  = 84381.448;
+
+   private static final String[]  BUILT_IN_NAMES = {
+
+      "J2000",       "B1950",       "FK4",         "DE-118",
+      "DE-96",       "DE-102",      "DE-108",      "DE-111",
+      "DE-114",      "DE-122",      "DE-125",      "DE-130",
+      "GALACTIC",    "DE-200",      "DE-202",      "MARSIAU",
+      "ECLIPJ2000",  "ECLIPB1950",  "DE-140",      "DE-142",
+      "DE-143",
+
+      "IAU_SUN",     "IAU_MERCURY", "IAU_VENUS",   "IAU_EARTH",
+      "IAU_MARS",    "IAU_JUPITER", "IAU_SATURN",  "IAU_URANUS",
+      "IAU_NEPTUNE", "IAU_PLUTO",   "IAU_MOON",    "IAU_PHOBOS",
+      "IAU_DEIMOS",  "ITRF93"                                     };
+
+   //
+   // The first NINERT names are those of the inertial frames, whose
+   // IDs are their indices plus one. Class IDs and centers of the
+   // built-in PCK frames follow, in the order of their names above;
+   // the IDs of the IAU frames are consecutive.
+   //
+   private static final int[]     PCK_CLASS_IDS  = {
+
+      10,  199,  299,  399,  499,  599,  699,  799,  899,  999,
+      301,  401,  402,  3000                                   };
+
+   private static final int[]     PCK_CENTERS    = {
+
+      10,  199,  299,  399,  499,  599,  699,  799,  899,  999,
+      301,  401,  402,  399                                    };
+
+   private static final int       NINERT         = 21;
+   private static final int       FIRST_IAU_ID   = 10010;
+   private static final int       ITRF93_ID      = 13000;
+
+   //
+   // Marker for frames that have no constant link.
+   //
+   private static final Link      VARIABLE       = new Link( 0, null );
+
+   //
+   // Fields
+   //
+   private final KernelPoolSnapshot                   pool;
+   private final FrameRotationProvider                ckProvider;
+   private final FrameRotationProvider                pckProvider;
+   private final Map<String, Integer>                 ids;
+   private final Map<Integer, Frame>                  frames;
+   private final ConcurrentHashMap<Integer, Link>     constants;
+
+
+
+   //
+   // Nested classes
+   //
+
+   /**
+   A frame: its name and parameters.
+   */
+   private static final class Frame
+   {
+      final String     name;
+      final FrameInfo  info;
+
+      Frame ( String     name,
+              FrameInfo  info )
+      {
+         this.name = name;
+         this.info = info;
+      }
+   }
+
+   /**
+   A constant link from a frame to the base frame `base': `rotate'
+   maps vectors relative to the frame to vectors relative to the
+   base, in row major order.
+   */
+   private static final class Link
+   {
+      final int        base;
+      final double[]   rotate;
+
+      Link ( int       base,
+             double[]  rotate )
+      {
+         this.base   = base;
+         this.rotate = rotate;
+      }
+   }
+
+   /**
+   The path from a frame toward J2000 followed by one transformation.
+   rotate[i] maps vectors relative to the first frame to vectors
+   relative to frames[i]; drotate[i], present only for state
+   transformations, is the derivative of rotate[i].
+   */
+   private static final class Path
+   {
+      int[]        frames;
+      double[][]   rotate;
+      double[][]   drotate;
+      int          n;
+      boolean      ended;
+
+      Path ( int      frame,
+             boolean  state )
+      {
+         frames     = new int     [8];
+         rotate     = new double  [8][];
+         drotate    = state ? new double[8][] : null;
+
+         frames[0]  = frame;
+         rotate[0]  = identity();
+
+         if ( state )
+         {
+            drotate[0] = new double[9];
+         }
+
+         n          = 1;
+         ended      = ( frame == J2000 );
+      }
+
+      int last()
+      {
+         return (  frames[ n - 1 ]  );
+      }
+
+      int indexOf ( int frame )
+      {
+         for ( int i = 0;  i < n;  i++ )
+         {
+            if ( frames[i] == frame )
+            {
+               return ( i );
+            }
+         }
+
+         return ( -1 );
+      }
+
+      /**
+      Extend the path to `base', given the link from the last frame
+      of the path to `base' and its derivative, which is null for
+      rotations.
+      */
+      void append ( int       base,
+                    double[]  r,
+                    double[]  dr    )
+      {
+         if ( n == frames.length )
+         {
+            int size = 2 * n;
+
+            frames = Arrays.copyOf( frames, size );
+            rotate = Arrays.copyOf( rotate, size );
+
+            if ( drotate != null )
+            {
+               drotate = Arrays.copyOf( drotate, size );
+            }
+         }
+
+         double[] prior = rotate[ n - 1 ];
+
+         rotate[n]      = multiply( r, prior );
+
+         if ( drotate != null )
+         {
+            double[] sum   = multiply( dr, prior );
+            double[] term  = multiply( r,  drotate[ n - 1 ] );
+
+            for ( int i = 0;  i < 9;  i++ )
+            {
+               sum[i] += term[i];
+            }
+
+            drotate[n] = sum;
+         }
+
+         frames[n] = base;
+
+         n++;
+
+         ended = ( base == J2000 );
+      }
+   }
+
+
+
+   //
+   // Constructors
+   //
+   private FrameTree ( KernelPoolSnapshot     pool,
+                       FrameRotationProvider  ckProvider,
+                       FrameRotationProvider  pckProvider )
+
+      throws SpiceException
+   {
+      this.pool        = pool;
+      this.ckProvider  = ckProvider;
+      this.pckProvider = pckProvider;
+      this.ids         = new HashMap<String, Integer>();
+      this.frames      = new HashMap<Integer, Frame>();
+      this.constants   = new ConcurrentHashMap<Integer, Link>();
+
+      //
+      // Kernel-defined frames are entered first so that built-in
+      // frames replace them.
+      //
+      for ( String var : pool.getNames( "FRAME_*_NAME" ) )
+      {
+         int id;
+
+         try
+         {
+            id = Integer.parseInt(  var.substring( 6, var.length() - 5 )  );
+         }
+         catch ( NumberFormatException exc )
+         {
+            continue;
+         }
+
+         String prefix = "FRAME_" + id;
+         String name   = pool.getCharacter( var, 0 );
+         int    fclass = pool.getInteger( prefix + "_CLASS",    0 );
+         int    clssid = pool.getInteger( prefix + "_CLASS_ID", 0 );
+         int    center = 0;
+
+         //
+         // Centers given by name are not resolved; centers are not
+         // needed to orient frames.
+         //
+         if (     pool.exists( prefix + "_CENTER" )
+              &&  ( pool.getDataType( prefix + "_CENTER" ) == KernelPool.NUMERIC ) )
+         {
+            center = pool.getInteger( prefix + "_CENTER", 0 );
+         }
+
+         addFrame( name, new FrameInfo( id, center, fclass, clssid ) );
+      }
+
+      for ( int i = 0;  i < BUILT_IN_NAMES.length;  i++ )
+      {
+         FrameInfo info;
+
+         if ( i < NINERT )
+         {
+            info = new FrameInfo( i + 1, 0, INERTIAL, i + 1 );
+         }
+         else
+         {
+            int j  = i - NINERT;
+            int id = ( j < PCK_CLASS_IDS.length - 1 ) ? ( FIRST_IAU_ID + j )
+                                                      :   ITRF93_ID;
+
+            info = new FrameInfo( id, PCK_CENTERS[j], PCK, PCK_CLASS_IDS[j] );
+         }
+
+         addFrame( BUILT_IN_NAMES[i], info );
+      }
+   }
+
+
+
+   //
+   // Static Methods
+   //
+
+   /**
+   Create a FrameTree for the built-in frames and the frames defined
+   in `pool', without frame providers. Transformations can be found
+   only between frames connected by TK frames and inertial frames.
+   */
+   public static FrameTree create ( KernelPoolSnapshot pool )
+
+      throws SpiceException
+   {
+      return (  new FrameTree( pool, null, null )  );
+   }
+
+
+   /**
+   Create a FrameTree for the built-in frames and the frames defined
+   in `pool', orienting CK frames with `ckProvider' and PCK frames
+   with `pckProvider'. Either provider may be null.
+   */
+   public static FrameTree create ( KernelPoolSnapshot     pool,
+                                    FrameRotationProvider  ckProvider,
+                                    FrameRotationProvider  pckProvider )
+
+      throws SpiceException
+   {
+      return (  new FrameTree( pool, ckProvider, pckProvider )  );
+   }
+
+
+
+   //
+   // Instance Methods
+   //
+
+   /**
+   Get the ID code of the frame named `name'. Case and leading and
+   trailing blanks are not significant.
+   */
+   public int getFrameID ( String name )
+
+      throws SpiceException
+   {
+      Integer id = ids.get(  name.trim().toUpperCase( Locale.US )  );
+
+      if ( id == null )
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            "FrameTree.getFrameID",
+            "SPICE(UNKNOWNFRAME)",
+            "No frame named " + name + " is known." );
+
+         throw ( exc );
+      }
+
+      return ( id );
+   }
+
+
+   /**
+   Get the name of the frame having ID code `frameID'.
+   */
+   public String getFrameName ( int frameID )
+
+      throws SpiceException
+   {
+      return (  getFrame( frameID ).name  );
+   }
+
+
+   /**
+   Get the parameters of the frame having ID code `frameID'.
+   */
+   public FrameInfo getFrameInfo ( int frameID )
+
+      throws SpiceException
+   {
+      return (  new FrameInfo( getFrame( frameID ).info )  );
+   }
+
+
+   /**
+   Get the snapshot from which this instance was created.
+   */
+   public KernelPoolSnapshot getKernelPoolSnapshot()
+   {
+      return ( pool );
+   }
+
+
+   /**
+   Fill the 9-element array `rotate' with the rotation matrix, in
+   row major order, that maps vectors relative to frame `fromFrame'
+   to vectors relative to frame `toFrame' at the TDB epoch `et'.
+   This is the computation performed by CSPICE.pxform.
+   */
+   public void getRotation ( int       fromFrame,
+                             int       toFrame,
+                             double    et,
+                             double[]  rotate     )
+
+      throws SpiceException
+   {
+      transform( fromFrame, toFrame, et, rotate, null );
+   }
+
+
+   /**
+   Fill the 36-element array `xform' with the 6x6 state
+   transformation matrix, in row major order, that maps states
+   relative to frame `fromFrame' to states relative to frame
+   `toFrame' at the TDB epoch `et'. This is the computation
+   performed by CSPICE.sxform.
+   */
+   public void getStateTransformation ( int       fromFrame,
+                                        int       toFrame,
+                                        double    et,
+                                        double[]  xform      )
+
+      throws SpiceException
+   {
+      double[] r  = new double[9];
+      double[] dr = new double[9];
+
+      transform( fromFrame, toFrame, et, r, dr );
+
+      for ( int i = 0;  i < 3;  i++ )
+      {
+         for ( int j = 0;  j < 3;  j++ )
+         {
+            xform[ 6*i       + j     ] = r [ 3*i + j ];
+            xform[ 6*i       + j + 3 ] = 0.0;
+            xform[ 6*(i + 3) + j     ] = dr[ 3*i + j ];
+            xform[ 6*(i + 3) + j + 3 ] = r [ 3*i + j ];
+         }
+      }
+   }
+
+
+   /**
+   Return the rotation that maps vectors relative to the frame named
+   `fromFrame' to vectors relative to the frame named `toFrame' at
+   the TDB epoch `et'.
+   */
+   public Matrix33 getPositionTransformation ( String  fromFrame,
+                                               String  toFrame,
+                                               double  et        )
+
+      throws SpiceException
+   {
+      double[] rotate = new double[9];
+
+      getRotation( getFrameID( fromFrame ), getFrameID( toFrame ), et, rotate );
+
+      return (  new Matrix33( rotate )  );
+   }
+
+
+   /**
+   Return the state transformation that maps states relative to the
+   frame named `fromFrame' to states relative to the frame named
+   `toFrame' at the TDB epoch `et'.
+   */
+   public Matrix66 getStateTransformation ( String  fromFrame,
+                                            String  toFrame,
+                                            double  et        )
+
+      throws SpiceException
+   {
+      double[] xform = new double[36];
+
+      getStateTransformation( getFrameID( fromFrame ),
+                              getFrameID( toFrame   ),  et,  xform );
+
+      return (  new Matrix66( xform )  );
+   }
+
+
+
+   //
+   // Private Methods
+   //
+
+   /**
+   Find the rotation `r' from `fromFrame' to `toFrame' at `et' and,
+   if `dr' is non-null, its derivative.
+   */
+   private void transform ( int       fromFrame,
+                            int       toFrame,
+                            double    et,
+                            double[]  r,
+                            double[]  dr         )
+
+      throws SpiceException
+   {
+      boolean state = ( dr != null );
+
+      //
+      // Unknown frames are rejected before any link is evaluated.
+      //
+      getFrame( fromFrame );
+      getFrame( toFrame   );
+
+      Path from = new Path( fromFrame, state );
+      Path to   = new Path( toFrame,   state );
+
+      int  i    = to.indexOf( fromFrame );
+      int  j    = 0;
+
+      while ( i < 0 )
+      {
+         if ( from.ended && to.ended )
+         {
+            SpiceErrorException exc = SpiceErrorException.create(
+
+               "FrameTree.transform",
+
+               "SPICE(NOFRAMECONNECT)",
+
+               "At epoch " + et + " TDB, there is insufficient data " +
+               "to relate frame " + getFrame( fromFrame ).name        +
+               " to frame " + getFrame( toFrame ).name + ". Frame "    +
+               getFrame( fromFrame ).name + " could be transformed "   +
+               "to frame " + getFrame( from.last() ).name + ", and "   +
+               "frame " + getFrame( toFrame ).name + " to frame "      +
+               getFrame( to.last() ).name + "."                          );
+
+            throw ( exc );
+         }
+
+         //
+         // Advance the shorter path, checking its new frame against
+         // the other path.
+         //
+         if (  !from.ended  &&  ( to.ended || ( from.n <= to.n ) )  )
+         {
+            if ( advance( from, et ) )
+            {
+               j = from.n - 1;
+               i = to.indexOf( from.last() );
+            }
+         }
+         else
+         {
+            if ( advance( to, et ) )
+            {
+               i = to.n - 1;
+               j = from.indexOf( to.last() );
+
+               if ( j < 0 )
+               {
+                  i = -1;
+               }
+            }
+         }
+
+         if ( i >= 0 )
+         {
+            //
+            // from.frames[j] and to.frames[i] are the same frame.
+            //
+            break;
+         }
+      }
+
+      //
+      // The result is the inverse of the path of `toFrame', applied
+      // after the path of `fromFrame'.
+      //
+      double[] rt = transpose( to.rotate[i] );
+
+      System.arraycopy( multiply( rt, from.rotate[j] ), 0, r, 0, 9 );
+
+      if ( state )
+      {
+         double[] sum  = multiply( transpose( to.drotate[i] ), from.rotate[j] );
+         double[] term = multiply( rt, from.drotate[j] );
+
+         for ( int k = 0;  k < 9;  k++ )
+         {
+            dr[k] = sum[k] + term[k];
+         }
+      }
+   }
+
+
+   /**
+   Extend `path' by the link from its last frame at `et'. Return
+   true if the path was extended; the path is marked as ended if no
+   data are available for the link.
+   */
+   private boolean advance ( Path    path,
+                             double  et    )
+
+      throws SpiceException
+   {
+      Frame    frame = getFrame( path.last() );
+      Link     link  = getConstant( frame );
+
+      double[] r;
+      double[] dr;
+      int      base;
+
+      if ( link != VARIABLE )
+      {
+         base = link.base;
+         r    = link.rotate;
+         dr   = ( path.drotate != null ) ? new double[9] : null;
+      }
+      else
+      {
+         FrameRotationProvider provider = null;
+
+         int fclass = frame.info.getFrameClass();
+
+         if ( fclass == CK )
+         {
+            provider = ckProvider;
+         }
+         else if ( fclass == PCK )
+         {
+            provider = pckProvider;
+         }
+         else
+         {
+            SpiceErrorException exc = SpiceErrorException.create(
+
+               "FrameTree.advance",
+
+               "SPICE(NOTSUPPORTED)",
+
+               "Frame " + frame.name + " has class " + fclass +
+               "; frames of this class are not supported."     );
+
+            throw ( exc );
+         }
+
+         r    = new double[9];
+         dr   = null;
+         base = 0;
+
+         if ( provider == null )
+         {
+            base = 0;
+         }
+         else if ( path.drotate == null )
+         {
+            base = provider.getRotation( frame.info, et, r );
+         }
+         else
+         {
+            double[] xform = new double[36];
+
+            base = provider.getStateTransformation( frame.info, et, xform );
+
+            dr   = new double[9];
+
+            for ( int i = 0;  i < 3;  i++ )
+            {
+               System.arraycopy( xform, 6*i,       r,  3*i, 3 );
+               System.arraycopy( xform, 6*(i + 3), dr, 3*i, 3 );
+            }
+         }
+      }
+
+      if ( base == 0 )
+      {
+         path.ended = true;
+
+         return ( false );
+      }
+
+      if ( path.n == MAXCHN )
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            "FrameTree.advance",
+
+            "SPICE(TOOMANYHOPS)",
+
+            "More than " + MAXCHN + " links were followed from frame " +
+            getFrame( path.frames[0] ).name + " toward J2000; the "      +
+            "frame definitions may contain a loop."                       );
+
+         throw ( exc );
+      }
+
+      getFrame( base );
+
+      path.append( base, r, dr );
+
+      return ( true );
+   }
+
+
+   /**
+   Get the constant link of `frame', composing and caching it on
+   first use. Return VARIABLE if the frame's orientation varies with
+   time.
+   */
+   private Link getConstant ( Frame frame )
+
+      throws SpiceException
+   {
+      Link link = constants.get( frame.info.getFrameID() );
+
+      if ( link == null )
+      {
+         link = buildConstant( frame, 0 );
+
+         Link prior = constants.putIfAbsent( frame.info.getFrameID(), link );
+
+         if ( prior != null )
+         {
+            link = prior;
+         }
+      }
+
+      return ( link );
+   }
+
+
+   /**
+   Build the constant link of `frame', composing the links of any TK
+   frames between the frame and the first frame of another class.
+   `depth' counts the TK frames already composed.
+   */
+   private Link buildConstant ( Frame  frame,
+                                int    depth )
+
+      throws SpiceException
+   {
+      int id     = frame.info.getFrameID();
+      int fclass = frame.info.getFrameClass();
+
+      if ( id == ECLIPJ2000 )
+      {
+         double angle = -Math.toRadians( OBLIQUITY / 3600.0 );
+
+         return (  new Link( J2000, rotate( angle, 1 ) )  );
+      }
+
+      if ( fclass != TK )
+      {
+         return ( VARIABLE );
+      }
+
+      if ( depth == MAXCHN )
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            "FrameTree.buildConstant",
+
+            "SPICE(TOOMANYHOPS)",
+
+            "More than " + MAXCHN + " TK frames are chained from " +
+            "frame " + frame.name + "; the frame definitions may "  +
+            "contain a loop."                                        );
+
+         throw ( exc );
+      }
+
+      //
+      // TK variables may be keyed by frame ID or by frame name.
+      //
+      String prefix = "TKFRAME_" + frame.info.getFrameClassID() + "_";
+
+      if ( !pool.exists( prefix + "RELATIVE" ) )
+      {
+         prefix = "TKFRAME_" + frame.name + "_";
+      }
+
+      Frame    relative = getFrame(  getFrameID( pool.getCharacter( prefix + "RELATIVE", 0 ) )  );
+
+      double[] offset   = getTKRotation( frame, prefix );
+
+      Link     parent   = constants.get( relative.info.getFrameID() );
+
+      if ( parent == null )
+      {
+         parent = buildConstant( relative, depth + 1 );
+
+         constants.putIfAbsent( relative.info.getFrameID(), parent );
+      }
+
+      if ( parent == VARIABLE )
+      {
+         return (  new Link( relative.info.getFrameID(), offset )  );
+      }
+
+      return (  new Link( parent.base, multiply( parent.rotate, offset ) )  );
+   }
+
+
+   /**
+   Get the rotation from the TK frame `frame' to its RELATIVE frame,
+   from the TK variables having the prefix `prefix'.
+   */
+   private double[] getTKRotation ( Frame   frame,
+                                    String  prefix )
+
+      throws SpiceException
+   {
+      String spec = pool.getCharacter( prefix + "SPEC", 0 ).trim().toUpperCase( Locale.US );
+
+      if ( spec.equals( "ANGLES" ) )
+      {
+         double[] angles = pool.getDouble ( prefix + "ANGLES" );
+         int[]    axes   = pool.getInteger( prefix + "AXES"   );
+         double   scale  = getRadiansPerUnit( frame,
+                                              pool.getCharacter( prefix + "UNITS", 0 ) );
+
+         if (  ( angles.length != 3 ) || ( axes.length != 3 )  )
+         {
+            throw tkError( frame, "SPICE(INVALIDCOUNT)",
+                           angles.length + " angles and " + axes.length +
+                           " axes were given; 3 of each are required."    );
+         }
+
+         //
+         // The rotation from the TK frame to the RELATIVE frame is
+         //
+         //    [angle_1]      [angle_2]      [angle_3]
+         //             axis_1         axis_2         axis_3
+         //
+         double[] r = identity();
+
+         for ( int i = 0;  i < 3;  i++ )
+         {
+            if (  ( axes[i] < 1 ) || ( axes[i] > 3 )  )
+            {
+               throw tkError( frame, "SPICE(BADAXISNUMBERS)",
+                              "Axis " + axes[i] + " is not 1, 2 or 3." );
+            }
+
+            r = multiply( r, rotate( angles[i] * scale, axes[i] ) );
+         }
+
+         return ( r );
+      }
+      else if ( spec.equals( "MATRIX" ) )
+      {
+         double[] values = pool.getDouble( prefix + "MATRIX" );
+
+         if ( values.length != 9 )
+         {
+            throw tkError( frame, "SPICE(INVALIDCOUNT)",
+                           values.length + " matrix elements were " +
+                           "given; 9 are required."                    );
+         }
+
+         //
+         // Elements are given in column major order.
+         //
+         double[] r = new double[9];
+
+         for ( int i = 0;  i < 3;  i++ )
+         {
+            for ( int j = 0;  j < 3;  j++ )
+            {
+               r[ 3*i + j ] = values[ 3*j + i ];
+            }
+         }
+
+         checkRotation( frame, r );
+
+         return ( r );
+      }
+      else if ( spec.equals( "QUATERNION" ) )
+      {
+         double[] q = pool.getDouble( prefix + "Q" );
+
+         if ( q.length != 4 )
+         {
+            throw tkError( frame, "SPICE(INVALIDCOUNT)",
+                           q.length + " quaternion components were " +
+                           "given; 4 are required."                     );
+         }
+
+         double norm = Math.sqrt( q[0]*q[0] + q[1]*q[1] + q[2]*q[2] + q[3]*q[3] );
+
+         if ( norm == 0.0 )
+         {
+            throw tkError( frame, "SPICE(ZEROQUATERNION)",
+                           "The quaternion is zero." );
+         }
+
+         for ( int i = 0;  i < 4;  i++ )
+         {
+            q[i] /= norm;
+         }
+
+         double[][] m = new double[3][3];
+         double[]   r = new double[9];
+
+         CKSegment.quaternionToMatrix( q, m );
+
+         for ( int i = 0;  i < 3;  i++ )
+         {
+            System.arraycopy( m[i], 0, r, 3*i, 3 );
+         }
+
+         return ( r );
+      }
+
+      throw tkError( frame, "SPICE(NOTSUPPORTED)",
+                     "The frame specification " + spec + " is not " +
+                     "ANGLES, MATRIX or QUATERNION."                   );
+   }
+
+
+   /**
+   Get the count of radians per `units', an angular unit name.
+   */
+   private static double getRadiansPerUnit ( Frame   frame,
+                                             String  units )
+
+      throws SpiceException
+   {
+      String u = units.trim().toUpperCase( Locale.US );
+
+      if ( u.equals( "RADIANS" ) )
+      {
+         return ( 1.0 );
+      }
+      else if ( u.equals( "DEGREES" ) )
+      {
+         return ( Math.PI / 180.0 );
+      }
+      else if ( u.equals( "ARCMINUTES" ) )
+      {
+         return ( Math.PI / 10800.0 );
+      }
+      else if ( u.equals( "ARCSECONDS" ) )
+      {
+         return ( Math.PI / 648000.0 );
+      }
+      else if ( u.equals( "HOURANGLE" ) )
+      {
+         return ( Math.PI / 12.0 );
+      }
+      else if ( u.equals( "MINUTEANGLE" ) )
+      {
+         return ( Math.PI / 720.0 );
+      }
+      else if ( u.equals( "SECONDANGLE" ) )
+      {
+         return ( Math.PI / 43200.0 );
+      }
+
+      throw tkError( frame, "SPICE(UNITSNOTREC)",
+                     "The angular units " + units + " are not recognized." );
+   }
+
+
+   /**
+   Signal an error if the matrix `r' is not a rotation.
+   */
+   private static void checkRotation ( Frame     frame,
+                                       double[]  r     )
+
+      throws SpiceException
+   {
+      double[] p   = multiply( r, transpose( r ) );
+      double   det =   r[0] * ( r[4]*r[8] - r[5]*r[7] )
+                     - r[1] * ( r[3]*r[8] - r[5]*r[6] )
+                     + r[2] * ( r[3]*r[7] - r[4]*r[6] );
+
+      boolean  ok  = ( Math.abs( det - 1.0 ) <= 1.e-6 );
+
+      for ( int i = 0;  ok && ( i < 9 );  i++ )
+      {
+         double expected = ( i % 4 == 0 ) ? 1.0 : 0.0;
+
+         ok = ( Math.abs( p[i] - expected ) <= 1.e-6 );
+      }
+
+      if ( !ok )
+      {
+         throw tkError( frame, "SPICE(NOTAROTATION)",
+                        "The matrix is not a rotation." );
+      }
+   }
+
+
+   private static SpiceErrorException tkError ( Frame   frame,
+                                                String  shortMsg,
+                                                String  problem   )
+   {
+      return (  SpiceErrorException.create(
+
+                   "FrameTree",
+
+                   shortMsg,
+
+                   "TK frame " + frame.name + ": " + problem  )  );
+   }
+
+
+   private void addFrame ( String     name,
+                           FrameInfo  info )
+   {
+      Frame frame = new Frame( name.trim().toUpperCase( Locale.US ), info );
+
+      frames.put( info.getFrameID(), frame );
+      ids.put   ( frame.name,        info.getFrameID() );
+   }
+
+
+   private Frame getFrame ( int frameID )
+
+      throws SpiceException
+   {
+      Frame frame = frames.get( frameID );
+
+      if ( frame == null )
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            "FrameTree",
+            "SPICE(UNKNOWNFRAME)",
+            "No frame having ID code " + frameID + " is known." );
+
+         throw ( exc );
+      }
+
+      return ( frame );
+   }
+
+
+
+   //
+   // Private static methods
+   //
+
+   /**
+   Return the matrix [angle]_axis: the rotation of vectors into a
+   frame rotated by `angle' radians about axis `axis' (1-3) of the
+   original frame, as computed by CSPICE.rotate.
+   */
+   private static double[] rotate ( double  angle,
+                                    int     axis  )
+   {
+      double   c = Math.cos( angle );
+      double   s = Math.sin( angle );
+
+      int      i = ( axis     ) % 3;
+      int      j = ( axis + 1 ) % 3;
+      int      k = ( axis - 1 );
+
+      double[] r = new double[9];
+
+      r[ 3*k + k ] =  1.0;
+      r[ 3*i + i ] =  c;
+      r[ 3*i + j ] =  s;
+      r[ 3*j + i ] = -s;
+      r[ 3*j + j ] =  c;
+
+      return ( r );
+   }
+
+
+   private static double[] identity()
+   {
+      return (  new double[] { 1.0, 0.0, 0.0,
+                               0.0, 1.0, 0.0,
+                               0.0, 0.0, 1.0 }  );
+   }
+
+
+   private static double[] multiply ( double[]  a,
+                                      double[]  b )
+   {
+      double[] c = new double[9];
+
+      for ( int i = 0;  i < 3;  i++ )
+      {
+         for ( int j = 0;  j < 3;  j++ )
+         {
+            c[ 3*i + j ] =   a[ 3*i     ] * b[ j     ]
+                           + a[ 3*i + 1 ] * b[ j + 3 ]
+                           + a[ 3*i + 2 ] * b[ j + 6 ];
+         }
+      }
+
+      return ( c );
+   }
+
+
+   private static double[] transpose ( double[] a )
+   {
+      return (  new double[] { a[0], a[3], a[6],
+                               a[1], a[4], a[7],
+                               a[2], a[5], a[8] }  );
+   }
+}
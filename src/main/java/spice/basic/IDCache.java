@@ -0,0 +1,374 @@
+package spice.basic;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+Class IDCache holds the name-to-ID and ID-to-name mappings of bodies,
+instruments, reference frames and surfaces, so that each mapping is
+obtained from CSPICE once rather than on every call.
+
+<p>
+{@link Body}, {@link Instrument}, {@link ReferenceFrame} and
+{@link Surface} compare and hash instances by ID code. Without this
+cache, each call of their methods equals and hashCode, and so each
+lookup in a collection keyed by them, called CSPICE while holding its
+monitor. Cached mappings are read without locking.
+
+<p>
+Mappings depend on the kernel pool. The cache watches the pool
+variables
+<pre>
+   NAIF_BODY_NAME     NAIF_BODY_CODE
+   NAIF_SURFACE_NAME  NAIF_SURFACE_CODE  NAIF_SURFACE_BODY
+</pre>
+through a kernel pool agent. After kernels are loaded or unloaded
+through {@link KernelDatabase}, or the pool is changed through
+{@link KernelPool}, the next lookup asks the agent whether these
+variables were updated, discarding body and surface mappings if so.
+Frame definitions are not held in variables of fixed names, so frame
+mappings are discarded after every such change.
+
+<p>
+Applications that change the kernel pool by calling CSPICE directly,
+for example by calling CSPICE.furnsh or CSPICE.pcpool, must call
+{@link #invalidate()} afterward.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+
+public final class IDCache extends Object
+{
+   //
+   // Private constants
+   //
+   private static final String                   AGENT   = "JNISPICE_IDCACHE";
+
+   private static final String[]                 WATCHED =
+
+      { "NAIF_BODY_NAME",    "NAIF_BODY_CODE",
+        "NAIF_SURFACE_NAME", "NAIF_SURFACE_CODE", "NAIF_SURFACE_BODY" };
+
+   //
+   // Class variables
+   //
+   private static final ConcurrentHashMap<String,  Integer>  bodyCodes    =
+
+      new ConcurrentHashMap<String,  Integer>();
+
+   private static final ConcurrentHashMap<Integer, String>   bodyNames    =
+
+      new ConcurrentHashMap<Integer, String>();
+
+   private static final ConcurrentHashMap<String,  Integer>  frameCodes   =
+
+      new ConcurrentHashMap<String,  Integer>();
+
+   private static final ConcurrentHashMap<Integer, String>   frameNames   =
+
+      new ConcurrentHashMap<Integer, String>();
+
+   private static final ConcurrentHashMap<String,  Integer>  surfaceCodes =
+
+      new ConcurrentHashMap<String,  Integer>();
+
+   //
+   // `stale' is set when the kernel pool may have changed; `watching'
+   // indicates whether the agent is registered. Both are changed only
+   // while holding the CSPICE monitor, except that `stale' may be set
+   // at any time.
+   //
+   private static volatile boolean               stale    = true;
+   private static boolean                        watching = false;
+
+
+
+   //
+   // Constructors
+   //
+
+   private IDCache()
+   {
+   }
+
+
+
+   //
+   // Static Methods
+   //
+
+   /**
+   Discard all cached mappings. This method must be called after the
+   kernel pool is changed by calling CSPICE directly.
+   */
+   public static void invalidate()
+   {
+      synchronized ( CSPICE.class )
+      {
+         clearAll();
+
+         watching = false;
+         stale    = true;
+      }
+   }
+
+
+   /**
+   Get the number of mappings cached.
+   */
+   public static int size()
+   {
+      return (  bodyCodes.size()  + bodyNames.size()  +
+                frameCodes.size() + frameNames.size() + surfaceCodes.size()  );
+   }
+
+
+   /**
+   Get the body ID code of `name', as by CSPICE.bods2c.
+   */
+   static int getBodyCode ( String name )
+
+      throws SpiceException
+   {
+      if ( stale )
+      {
+         revalidate();
+      }
+
+      Integer code = bodyCodes.get( name );
+
+      if ( code != null )
+      {
+         return ( code );
+      }
+
+      synchronized ( CSPICE.class )
+      {
+         revalidate();
+
+         int id = CSPICE.bods2c( name );
+
+         bodyCodes.put( name, id );
+
+         return ( id );
+      }
+   }
+
+
+   /**
+   Get the body name of `code', as by CSPICE.bodc2s.
+   */
+   static String getBodyName ( int code )
+
+      throws SpiceException
+   {
+      if ( stale )
+      {
+         revalidate();
+      }
+
+      String name = bodyNames.get( code );
+
+      if ( name != null )
+      {
+         return ( name );
+      }
+
+      synchronized ( CSPICE.class )
+      {
+         revalidate();
+
+         name = CSPICE.bodc2s( code );
+
+         bodyNames.put( code, name );
+
+         return ( name );
+      }
+   }
+
+
+   /**
+   Get the frame ID code of `name', as by CSPICE.namfrm; zero if the
+   frame is not known.
+   */
+   static int getFrameCode ( String name )
+
+      throws SpiceException
+   {
+      if ( stale )
+      {
+         revalidate();
+      }
+
+      Integer code = frameCodes.get( name );
+
+      if ( code != null )
+      {
+         return ( code );
+      }
+
+      synchronized ( CSPICE.class )
+      {
+         revalidate();
+
+         int id = CSPICE.namfrm( name );
+
+         frameCodes.put( name, id );
+
+         return ( id );
+      }
+   }
+
+
+   /**
+   Get the frame name of `code', as by CSPICE.frmnam; blank if the
+   frame is not known.
+   */
+   static String getFrameName ( int code )
+
+      throws SpiceException
+   {
+      if ( stale )
+      {
+         revalidate();
+      }
+
+      String name = frameNames.get( code );
+
+      if ( name != null )
+      {
+         return ( name );
+      }
+
+      synchronized ( CSPICE.class )
+      {
+         revalidate();
+
+         name = CSPICE.frmnam( code );
+
+         frameNames.put( code, name );
+
+         return ( name );
+      }
+   }
+
+
+   /**
+   Get the ID code of the surface `name' of the body `bodyid', as by
+   CSPICE.srfscc. Return false if the surface is not known.
+   */
+   static boolean getSurfaceCode ( String     name,
+                                   int        bodyid,
+                                   int[]      code    )
+
+      throws SpiceException
+   {
+      if ( stale )
+      {
+         revalidate();
+      }
+
+      String  key = bodyid + ":" + name;
+      Integer id  = surfaceCodes.get( key );
+
+      if ( id != null )
+      {
+         code[0] = id;
+
+         return ( true );
+      }
+
+      synchronized ( CSPICE.class )
+      {
+         revalidate();
+
+         boolean[] found = new boolean[1];
+
+         CSPICE.srfscc( name, bodyid, code, found );
+
+         //
+         // Unknown surfaces are not cached, so that they are found
+         // once defined.
+         //
+         if ( found[0] )
+         {
+            surfaceCodes.put( key, code[0] );
+         }
+
+         return ( found[0] );
+      }
+   }
+
+
+   /**
+   Indicate that the kernel pool may have changed.
+   */
+   static void kernelPoolChanged()
+   {
+      stale = true;
+   }
+
+
+   /**
+   Indicate that the kernel pool has been cleared.
+   */
+   static void kernelPoolCleared()
+   {
+      invalidate();
+   }
+
+
+
+   //
+   // Private Methods
+   //
+
+   /**
+   Discard the mappings that may have been changed since the kernel
+   pool last changed. This method does nothing unless `stale' is set.
+   */
+   private static void revalidate()
+
+      throws SpiceException
+   {
+      synchronized ( CSPICE.class )
+      {
+         if ( !stale )
+         {
+            return;
+         }
+
+         if ( !watching )
+         {
+            //
+            // The agent is notified when registered, so the check
+            // below discards all mappings.
+            //
+            CSPICE.swpool( AGENT, WATCHED );
+
+            watching = true;
+         }
+
+         frameCodes.clear();
+         frameNames.clear();
+
+         if (  CSPICE.cvpool( AGENT )  )
+         {
+            bodyCodes   .clear();
+            bodyNames   .clear();
+            surfaceCodes.clear();
+         }
+
+         stale = false;
+      }
+   }
+
+
+   private static void clearAll()
+   {
+      bodyCodes   .clear();
+      bodyNames   .clear();
+      frameCodes  .clear();
+      frameNames  .clear();
+      surfaceCodes.clear();
+   }
+}
@@ -9,6 +9,10 @@ are initialized by specification of a instrument ID code.
 this class directly; they should use the class
 {@link spice.basic.Instrument} instead.
 
+<h3> Version 2.1.0 18-OCT-2026</h3>
+
+getName obtains the name from {@link IDCache}.
+
 <h3> Version 2.0.0 26-DEC-2016 (NJB)</h3>
 
 Added deepCopy method.
@@ -53,7 +57,7 @@ public class InstrumentCode extends IDMap
 
       throws SpiceException
    {
-      String name = CSPICE.bodc2s ( IDcode );
+      String name = IDCache.getBodyName ( IDcode );
 
       return ( name );
    }
@@ -9,6 +9,10 @@ are initialized by specification of a instrument name.
 this class directly; they should use the class
 {@link spice.basic.Instrument} instead.
 
+<h3> Version 2.1.0 18-OCT-2026</h3>
+
+getIDCode obtains the code from {@link IDCache}.
+
 <h3> Version 2.0.0 26-DEC-2016 (NJB)</h3>
 
 Functional change: the getName method now returns a copy of the 
@@ -49,7 +53,7 @@ public class InstrumentName extends IDMap
 
       throws SpiceException
    {
-      int IDcode = CSPICE.bods2c( instrumentName );
+      int IDcode = IDCache.getBodyCode( instrumentName );
 
       return ( IDcode );
    }
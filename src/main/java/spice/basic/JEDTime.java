@@ -8,6 +8,14 @@ import static spice.basic.TimeConstants.*;
 /**
 Class JEDime represents times as Julian ephemeris dates.
 
+<p> A JEDTime created from a {@link TimeConverter} formats time strings
+with that converter, without calls to CSPICE. JEDTimes derived from it
+by arithmetic use the same converter.
+
+<p> Version 1.1.0 18-OCT-2026
+
+<p> Added constructors taking a TimeConverter.
+
 <p> Version 1.0.0 22-DEC-2009 (NJB)
 */
 
@@ -19,6 +27,7 @@ public class JEDTime extends Time
    Instance variables
    */
    private double           JED;
+   private TimeConverter    converter;
 
 
    /*
@@ -43,7 +52,8 @@ public class JEDTime extends Time
    */
    public JEDTime ( JEDTime t )
    {
-      this.JED = t.JED;
+      this.JED       = t.JED;
+      this.converter = t.converter;
    }
 
 
@@ -65,6 +75,32 @@ public class JEDTime extends Time
    }
 
 
+   /**
+   Construct a JEDTime from a double precision Julian ephemeris
+   date, using a TimeConverter.
+   */
+   public JEDTime ( TimeConverter  converter,
+                    double         JED        )
+   {
+      this.JED       = JED;
+      this.converter = converter;
+   }
+
+
+   /**
+   Create a JEDTime from any {@link spice.basic.Time} instance, using
+   a TimeConverter.
+   */
+   public JEDTime ( TimeConverter  converter,
+                    Time           t          )
+
+      throws SpiceException
+   {
+      this.JED       = TimeConverter.tdbToJED( t.getTDBSeconds() );
+      this.converter = converter;
+   }
+
+
 
 
    /*
@@ -87,7 +123,16 @@ public class JEDTime extends Time
 
       throws SpiceException
    {
-      double inputJED = J2000 +  ( t.getTDBSeconds() / SPD );
+      double inputJED;
+
+      if ( converter != null )
+      {
+         inputJED = TimeConverter.tdbToJED( t.getTDBSeconds() );
+      }
+      else
+      {
+         inputJED = J2000 +  ( t.getTDBSeconds() / SPD );
+      }
 
       double diff     = this.JED - inputJED;
 
@@ -108,6 +153,12 @@ public class JEDTime extends Time
       //
       double offset = d.getTDBSeconds( this );
 
+      if ( converter != null )
+      {
+         return (  new JEDTime( converter,
+                                this.JED + ( offset / TimeConverter.SPD ) )  );
+      }
+
       double days   = this.JED + ( offset / SPD );
 
       return ( new JEDTime(days) );
@@ -127,6 +178,12 @@ public class JEDTime extends Time
       //
       double offset = d.getTDBSeconds( this );
 
+      if ( converter != null )
+      {
+         return (  new JEDTime( converter,
+                                this.JED - ( offset / TimeConverter.SPD ) )  );
+      }
+
       double days   = this.JED - ( offset / SPD );
 
       return ( new JEDTime(days) );
@@ -173,7 +230,31 @@ public class JEDTime extends Time
 
       throws SpiceErrorException
    {
-      return (  CSPICE.timout ( this.getTDBSeconds(), picture )  );
+      if ( converter != null )
+      {
+         return (  converter.format( this.getTDBSeconds(), picture )  );
+      }
+
+      double et = this.getTDBSeconds();
+
+      if ( CSPICEProfiler.isEnabled() )
+      {
+         return ( CSPICEProfiler.callNative ( "timout",
+
+            new NativeExecutor.Task<String>()
+            {
+               public String call()
+
+                  throws SpiceException
+               {
+                  return (  CSPICE.timout ( et, picture )  );
+               }
+            } ) );
+      }
+      else
+      {
+         return (  CSPICE.timout ( et, picture )  );
+      }
    }
 
 
@@ -186,7 +267,31 @@ public class JEDTime extends Time
 
       throws SpiceErrorException
    {
-      return (  CSPICE.et2utc ( this.getTDBSeconds(), format, precision )  );
+      if ( converter != null )
+      {
+         return (  converter.toUTCString( this.getTDBSeconds(), format, precision )  );
+      }
+
+      double et = this.getTDBSeconds();
+
+      if ( CSPICEProfiler.isEnabled() )
+      {
+         return ( CSPICEProfiler.callNative ( "et2utc",
+
+            new NativeExecutor.Task<String>()
+            {
+               public String call()
+
+                  throws SpiceException
+               {
+                  return (  CSPICE.et2utc ( et, format, precision )  );
+               }
+            } ) );
+      }
+      else
+      {
+         return (  CSPICE.et2utc ( et, format, precision )  );
+      }
    }
 
 
@@ -218,6 +323,11 @@ public class JEDTime extends Time
    */
    public double getTDBSeconds ()
    {
+      if ( converter != null )
+      {
+         return (  TimeConverter.jedToTDB( JED )  );
+      }
+
       return ( SPD*(JED-J2000) );
    }
 
@@ -0,0 +1,711 @@
+package spice.basic;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+Class KernelCoverage holds the time coverage of the segments of one
+SPK or CK file, computed without calls to CSPICE.
+
+<p>
+For each ID code in the file, the coverage records the time bounds
+of the ID's segments in file order and, for CK segments, whether
+they have angular velocity. For type 3 CK segments, the
+interpolation intervals within the bounds are recorded as well. From
+these the methods of this class compute the windows returned by
+the CSPICE routines SPKCOV and CKCOV:
+
+<pre>
+   {@link #getIDs()}                                       spkobj, ckobj
+   {@link #getCoverage(int)}                               spkcov
+   {@link #getCoverage(int, boolean, String, double)}      ckcov
+</pre>
+
+<p>
+Windows are returned as arrays of interval endpoints, in increasing
+order, with overlapping and abutting intervals merged; SPK times are
+TDB seconds past J2000 and CK times are encoded SCLK ticks.
+
+<p>
+The size, modification time and CRC-32 checksum of the file at the
+time the coverage was computed are recorded with it, together with
+the time at which the checksum was taken, so that the coverage
+persisted by {@link CoverageCache} can be checked against the file.
+Instances are immutable.
+
+<h3>Version 1.1.0 18-OCT-2026</h3>
+
+<p> Records the time at which the checksum was taken. The sidecar
+format is now version 2; version 1 sidecars are not read.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+
+public final class KernelCoverage extends Object
+{
+   //
+   // Public constants
+   //
+
+   /**
+   File type of SPK files.
+   */
+   public static final String                SPK        = "SPK";
+
+   /**
+   File type of CK files.
+   */
+   public static final String                CK         = "CK";
+
+   //
+   // Private constants
+   //
+
+   //
+   // Sidecar format: magic number "KCOV" and version.
+   //
+   private static final int                  MAGIC      = 0x4B434F56;
+   private static final int                  VERSION    = 2;
+
+   private static final int                  BUFSIZ     = 1 << 20;
+
+   //
+   // Fields
+   //
+   private final String                      fileName;
+   private final String                      fileType;
+   private final long                        size;
+   private final long                        modified;
+   private final long                        checksum;
+   private final long                        checksumTime;
+   private final Map<Integer, Segments>      segments;
+
+
+
+   //
+   // Nested classes
+   //
+
+   /**
+   The segments of one ID code, in file order. bounds[2i:2i+1] are
+   the bounds of segment i; intervals[i] holds the interpolation
+   intervals of segment i, or null if the segment is not a type 3
+   CK segment.
+   */
+   private static final class Segments
+   {
+      final double[]     bounds;
+      final boolean[]    hasAV;
+      final double[][]   intervals;
+
+      Segments ( double[]    bounds,
+                 boolean[]   hasAV,
+                 double[][]  intervals )
+      {
+         this.bounds    = bounds;
+         this.hasAV     = hasAV;
+         this.intervals = intervals;
+      }
+   }
+
+
+
+   //
+   // Constructors
+   //
+   private KernelCoverage ( String                  fileName,
+                            String                  fileType,
+                            long                    size,
+                            long                    modified,
+                            long                    checksum,
+                            long                    checksumTime,
+                            Map<Integer, Segments>  segments )
+   {
+      this.fileName     = fileName;
+      this.fileType     = fileType;
+      this.size         = size;
+      this.modified     = modified;
+      this.checksum     = checksum;
+      this.checksumTime = checksumTime;
+      this.segments     = Collections.unmodifiableMap( segments );
+   }
+
+
+
+   //
+   // Static Methods
+   //
+
+   /**
+   Compute the coverage of the SPK or CK file `fileName'.
+   */
+   public static KernelCoverage compute ( String fileName )
+
+      throws SpiceException
+   {
+      File      file     = new File( fileName );
+      long      size     = file.length();
+      long      modified = file.lastModified();
+      long      verified = System.currentTimeMillis();
+      long      checksum = checksum( fileName );
+
+      MappedDAF daf      = MappedDAF.openForRead( fileName );
+
+      try
+      {
+         String idword   = daf.getFileType();
+         String fileType;
+
+         if ( idword.equals( "DAF/SPK" ) )
+         {
+            fileType = SPK;
+         }
+         else if ( idword.equals( "DAF/CK" ) )
+         {
+            fileType = CK;
+         }
+         else
+         {
+            SpiceErrorException exc = SpiceErrorException.create(
+
+               "KernelCoverage.compute",
+
+               "SPICE(INVALIDFILETYPE)",
+
+               "File " + fileName + " has ID word <" + idword +
+               ">; it is neither an SPK nor a CK."              );
+
+            throw ( exc );
+         }
+
+         //
+         // Collect the segments of each ID code in file order.
+         //
+         LinkedHashMap<Integer, ArrayList<double[]>>  bounds =
+            new LinkedHashMap<Integer, ArrayList<double[]>>();
+
+         LinkedHashMap<Integer, ArrayList<double[]>>  intervals =
+            new LinkedHashMap<Integer, ArrayList<double[]>>();
+
+         LinkedHashMap<Integer, ArrayList<Boolean>>   av =
+            new LinkedHashMap<Integer, ArrayList<Boolean>>();
+
+         daf.beginForwardSearch();
+
+         while ( daf.findNextArray() )
+         {
+            double[] dc = daf.getDoubleSummaryComponent();
+            int[]    ic = daf.getIntegerSummaryComponent();
+            int      id = ic[0];
+
+            if ( !bounds.containsKey( id ) )
+            {
+               bounds   .put( id, new ArrayList<double[]>() );
+               intervals.put( id, new ArrayList<double[]>() );
+               av       .put( id, new ArrayList<Boolean> () );
+            }
+
+            bounds.get( id ).add(  new double[] { dc[0], dc[1] }  );
+
+            if ( fileType.equals( CK ) )
+            {
+               av       .get( id ).add(  ic[3] != 0  );
+               intervals.get( id ).add(  ( ic[2] == 3 ) ?
+                                            new CKSegment( daf ).getIntervalBounds()
+                                         :  null                                    );
+            }
+            else
+            {
+               av       .get( id ).add(  false  );
+               intervals.get( id ).add(  null   );
+            }
+         }
+
+         LinkedHashMap<Integer, Segments> segments =
+            new LinkedHashMap<Integer, Segments>();
+
+         for ( Integer id : bounds.keySet() )
+         {
+            List<double[]>  b = bounds   .get( id );
+            List<double[]>  i = intervals.get( id );
+            List<Boolean>   a = av       .get( id );
+
+            int             n = b.size();
+
+            double[]        segBounds    = new double  [2*n];
+            boolean[]       segAV        = new boolean [n];
+            double[][]      segIntervals = new double  [n][];
+
+            for ( int k = 0;  k < n;  k++ )
+            {
+               segBounds[2*k]     = b.get(k)[0];
+               segBounds[2*k + 1] = b.get(k)[1];
+               segAV       [k]    = a.get(k);
+               segIntervals[k]    = i.get(k);
+            }
+
+            segments.put( id, new Segments( segBounds, segAV, segIntervals ) );
+         }
+
+         return (  new KernelCoverage( fileName, fileType, size, modified,
+                                       checksum, verified, segments       )  );
+      }
+      finally
+      {
+         daf.close();
+      }
+   }
+
+
+   /**
+   Compute the CRC-32 checksum of the contents of the file `fileName'.
+   */
+   public static long checksum ( String fileName )
+
+      throws SpiceException
+   {
+      CRC32 crc = new CRC32();
+
+      try
+      {
+         FileInputStream in = new FileInputStream( fileName );
+
+         try
+         {
+            FileChannel channel = in.getChannel();
+            ByteBuffer  buffer  = ByteBuffer.allocateDirect( BUFSIZ );
+
+            while ( channel.read( buffer ) >= 0 )
+            {
+               buffer.flip();
+
+               crc.update( buffer );
+
+               buffer.clear();
+            }
+         }
+         finally
+         {
+            in.close();
+         }
+      }
+      catch ( IOException ioe )
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            "KernelCoverage.checksum",
+
+            "SPICE(FILEREADFAILED)",
+
+            "Could not read " + fileName + ": " + ioe.getMessage() );
+
+         throw ( exc );
+      }
+
+      return (  crc.getValue()  );
+   }
+
+
+   /**
+   Read coverage written by {@link #write(DataOutputStream)}. The
+   file name is not stored; `fileName' is used.
+   */
+   static KernelCoverage read ( String           fileName,
+                                DataInputStream  in       )
+
+      throws IOException
+   {
+      if (  ( in.readInt() != MAGIC ) || ( in.readInt() != VERSION )  )
+      {
+         throw (  new IOException( "not a coverage sidecar" )  );
+      }
+
+      String   fileType = in.readUTF().equals( CK ) ? CK : SPK;
+      long     size     = in.readLong();
+      long     modified = in.readLong();
+      long     checksum = in.readLong();
+      long     verified = in.readLong();
+      int      nids     = in.readInt();
+
+      LinkedHashMap<Integer, Segments> segments =
+         new LinkedHashMap<Integer, Segments>();
+
+      for ( int i = 0;  i < nids;  i++ )
+      {
+         int        id        = in.readInt();
+         int        n         = in.readInt();
+
+         double[]   bounds    = new double  [2*n];
+         boolean[]  hasAV     = new boolean [n];
+         double[][] intervals = new double  [n][];
+
+         for ( int k = 0;  k < n;  k++ )
+         {
+            bounds[2*k]     = in.readDouble();
+            bounds[2*k + 1] = in.readDouble();
+            hasAV [k]       = in.readBoolean();
+
+            int count       = in.readInt();
+
+            if ( count >= 0 )
+            {
+               intervals[k] = new double[count];
+
+               for ( int j = 0;  j < count;  j++ )
+               {
+                  intervals[k][j] = in.readDouble();
+               }
+            }
+         }
+
+         segments.put( id, new Segments( bounds, hasAV, intervals ) );
+      }
+
+      return (  new KernelCoverage( fileName, fileType, size, modified,
+                                    checksum, verified, segments       )  );
+   }
+
+
+
+   //
+   // Instance Methods
+   //
+
+   public String getFileName()
+   {
+      return ( fileName );
+   }
+
+   /**
+   Get the type of the file, {@link #SPK} or {@link #CK}.
+   */
+   public String getFileType()
+   {
+      return ( fileType );
+   }
+
+   /**
+   Get the size in bytes of the file when the coverage was computed.
+   */
+   public long getFileSize()
+   {
+      return ( size );
+   }
+
+   /**
+   Get the modification time of the file, in milliseconds since
+   1970, when the coverage was computed.
+   */
+   public long getLastModified()
+   {
+      return ( modified );
+   }
+
+   /**
+   Get the CRC-32 checksum of the file when the coverage was
+   computed.
+   */
+   public long getChecksum()
+   {
+      return ( checksum );
+   }
+
+   /**
+   Get the time, in milliseconds since 1970, at or before which the
+   checksum was last taken or verified. Writes to the file after
+   this time are not reflected in the checksum.
+   */
+   public long getChecksumTime()
+   {
+      return ( checksumTime );
+   }
+
+
+   /**
+   Return a copy of this coverage recording `modified' as the
+   modification time of the file and `checksumTime' as the time its
+   checksum was verified.
+   */
+   KernelCoverage withChecksumVerified ( long  modified,
+                                         long  checksumTime )
+   {
+      return (  new KernelCoverage( fileName, fileType, size, modified,
+                                    checksum, checksumTime, segments   )  );
+   }
+
+
+   /**
+   Get the ID codes of the bodies or instruments for which the file
+   has segments, in increasing order.
+   */
+   public int[] getIDs()
+   {
+      int[] ids = new int[ segments.size() ];
+      int   i   = 0;
+
+      for ( Integer id : segments.keySet() )
+      {
+         ids[i++] = id;
+      }
+
+      Arrays.sort( ids );
+
+      return ( ids );
+   }
+
+
+   /**
+   Get the number of segments for `id'.
+   */
+   public int getSegmentCount ( int id )
+   {
+      Segments s = segments.get( id );
+
+      return (  ( s == null ) ? 0 : s.hasAV.length  );
+   }
+
+
+   /**
+   Indicate whether interval level coverage is available for `id':
+   that is, whether all of its segments are type 3 CK segments.
+   */
+   public boolean hasIntervalCoverage ( int id )
+   {
+      Segments s = segments.get( id );
+
+      if ( s == null )
+      {
+         return ( true );
+      }
+
+      for ( double[] intervals : s.intervals )
+      {
+         if ( intervals == null )
+         {
+            return ( false );
+         }
+      }
+
+      return ( true );
+   }
+
+
+   /**
+   Get the union of the time bounds of the segments for `id', as is
+   computed by SPKCOV for SPK files. The window is empty if the file
+   has no segments for `id'.
+   */
+   public double[] getCoverage ( int id )
+   {
+      Segments s = segments.get( id );
+
+      if ( s == null )
+      {
+         return ( new double[0] );
+      }
+
+      return (  union( s.bounds.clone(), s.bounds.length )  );
+   }
+
+
+   /**
+   Get the coverage of the CK instrument `id' in encoded SCLK ticks,
+   as is computed by CKCOV.
+
+   <p>
+   If `needav' is true, only segments having angular velocity
+   contribute. `level' is "SEGMENT" for the union of the segments'
+   bounds or "INTERVAL" for the union of their interpolation
+   intervals. Each bound or interval is expanded by `tol' ticks on
+   both sides, and its start is limited to zero, before the union is
+   formed.
+   */
+   public double[] getCoverage ( int      id,
+                                 boolean  needav,
+                                 String   level,
+                                 double   tol    )
+
+      throws SpiceException
+   {
+      String  lvl      = level.trim().toUpperCase( Locale.US );
+      boolean interval = lvl.equals( "INTERVAL" );
+
+      if (  !interval  &&  !lvl.equals( "SEGMENT" )  )
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            "KernelCoverage.getCoverage",
+
+            "SPICE(INVALIDLEVEL)",
+
+            "Coverage level <" + level + "> is not recognized; " +
+            "the level must be SEGMENT or INTERVAL."               );
+
+         throw ( exc );
+      }
+
+      if (  interval  &&  !hasIntervalCoverage( id )  )
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            "KernelCoverage.getCoverage",
+
+            "SPICE(NOTSUPPORTED)",
+
+            "File " + fileName + " has segments for instrument " + id +
+            " of a type other than 3; interval level coverage of "    +
+            "these segments is not available."                          );
+
+         throw ( exc );
+      }
+
+      Segments s = segments.get( id );
+
+      if ( s == null )
+      {
+         return ( new double[0] );
+      }
+
+      int count = 0;
+
+      for ( int k = 0;  k < s.hasAV.length;  k++ )
+      {
+         count += interval ? s.intervals[k].length : 2;
+      }
+
+      double[] endpoints = new double[count];
+      int      n         = 0;
+
+      for ( int k = 0;  k < s.hasAV.length;  k++ )
+      {
+         if ( needav && !s.hasAV[k] )
+         {
+            continue;
+         }
+
+         double[] source = interval ? s.intervals[k]
+                                    : new double[] { s.bounds[2*k], s.bounds[2*k + 1] };
+
+         for ( int j = 0;  j < source.length;  j += 2 )
+         {
+            endpoints[n++] = Math.max( source[j] - tol, 0.0 );
+            endpoints[n++] = source[j + 1] + tol;
+         }
+      }
+
+      return (  union( endpoints, n )  );
+   }
+
+
+   /**
+   Write the coverage to `out' in the sidecar format read by
+   {@link #read(String, DataInputStream)}.
+   */
+   void write ( DataOutputStream out )
+
+      throws IOException
+   {
+      out.writeInt  ( MAGIC           );
+      out.writeInt  ( VERSION         );
+      out.writeUTF  ( fileType        );
+      out.writeLong ( size            );
+      out.writeLong ( modified        );
+      out.writeLong ( checksum        );
+      out.writeLong ( checksumTime    );
+      out.writeInt  ( segments.size() );
+
+      for ( Map.Entry<Integer, Segments> entry : segments.entrySet() )
+      {
+         Segments s = entry.getValue();
+
+         out.writeInt( entry.getKey()  );
+         out.writeInt( s.hasAV.length  );
+
+         for ( int k = 0;  k < s.hasAV.length;  k++ )
+         {
+            out.writeDouble ( s.bounds[2*k]     );
+            out.writeDouble ( s.bounds[2*k + 1] );
+            out.writeBoolean( s.hasAV[k]        );
+
+            if ( s.intervals[k] == null )
+            {
+               out.writeInt( -1 );
+            }
+            else
+            {
+               out.writeInt( s.intervals[k].length );
+
+               for ( double t : s.intervals[k] )
+               {
+                  out.writeDouble( t );
+               }
+            }
+         }
+      }
+   }
+
+
+
+   //
+   // Private Methods
+   //
+
+   /**
+   Form the union of the `n'/2 intervals whose endpoints are stored
+   in `endpoints'; intervals that overlap or abut are merged.
+   */
+   private static double[] union ( double[]  endpoints,
+                                   int       n         )
+   {
+      int      count = n / 2;
+      double[] left  = new double[count];
+      double[] right = new double[count];
+
+      for ( int i = 0;  i < count;  i++ )
+      {
+         left [i] = endpoints[2*i];
+         right[i] = endpoints[2*i + 1];
+      }
+
+      Arrays.sort( left );
+
+      //
+      // Sorting the left and right endpoints separately gives the
+      // same union as sorting the intervals: an interval's right
+      // endpoint can only be paired with a larger left endpoint when
+      // the intervals involved overlap.
+      //
+      Arrays.sort( right );
+
+      double[] result = new double[n];
+      int      m      = 0;
+
+      for ( int i = 0;  i < count;  i++ )
+      {
+         if (  ( m > 0 ) && ( left[i] <= result[m - 1] )  )
+         {
+            result[m - 1] = Math.max( result[m - 1], right[i] );
+         }
+         else
+         {
+            result[m++] = left [i];
+            result[m++] = right[i];
+         }
+      }
+
+      return (  Arrays.copyOf( result, m )  );
+   }
+}
@@ -14,6 +14,10 @@ class for a future system that will support KernelDatabase instances.
 <p> The current implementation of the KernelDatabase class relies
 entirely on JNISpice methods.
 
+<p> Version 1.1.0 18-OCT-2026
+
+<p> Loading, unloading and clearing kernels notify {@link IDCache}.
+
 <p> Version 1.0.0 27-OCT-2009 (NJB)
 
 */
@@ -309,7 +313,14 @@ public class KernelDatabase extends Object
 
       throws SpiceErrorException
    {
-      CSPICE.furnsh ( file );
+      try
+      {
+         CSPICE.furnsh ( file );
+      }
+      finally
+      {
+         IDCache.kernelPoolChanged();
+      }
    }
 
 
@@ -471,7 +482,14 @@ public class KernelDatabase extends Object
 
       throws SpiceErrorException
    {
-      CSPICE.unload ( file );
+      try
+      {
+         CSPICE.unload ( file );
+      }
+      finally
+      {
+         IDCache.kernelPoolChanged();
+      }
    }
 
 
@@ -607,5 +625,7 @@ public class KernelDatabase extends Object
    public static void clear()
    {
       CSPICE.kclear();
+
+      IDCache.kernelPoolCleared();
    }
 }
@@ -7,6 +7,10 @@ package spice.basic;
 Class KernelPool supports access to the kernel pool
 data structure.
 
+<p> Version 1.1.0 18-OCT-2026
+
+<p> Methods that change the kernel pool notify {@link IDCache}.
+
 <p> Version 1.0.0 08-JAN-2010 (NJB)
 */
 public class KernelPool extends Object
@@ -473,6 +477,8 @@ public class KernelPool extends Object
       throws SpiceException
    {
       CSPICE.pcpool( name, values );
+
+      IDCache.kernelPoolChanged();
    }
 
 
@@ -485,6 +491,8 @@ public class KernelPool extends Object
       throws SpiceException
    {
       CSPICE.pdpool( name, values );
+
+      IDCache.kernelPoolChanged();
    }
 
 
@@ -498,6 +506,8 @@ public class KernelPool extends Object
       throws SpiceException
    {
       CSPICE.pipool( name, values );
+
+      IDCache.kernelPoolChanged();
    }
 
 
@@ -509,7 +519,14 @@ public class KernelPool extends Object
 
       throws SpiceException
    {
-      CSPICE.lmpool( cvals );
+      try
+      {
+         CSPICE.lmpool( cvals );
+      }
+      finally
+      {
+         IDCache.kernelPoolChanged();
+      }
    }
 
 
@@ -523,7 +540,14 @@ public class KernelPool extends Object
 
       throws SpiceException
    {
-      CSPICE.ldpool( name );
+      try
+      {
+         CSPICE.ldpool( name );
+      }
+      finally
+      {
+         IDCache.kernelPoolChanged();
+      }
    }
 
 
@@ -538,6 +562,8 @@ public class KernelPool extends Object
       throws SpiceException
    {
       CSPICE.clpool();
+
+      IDCache.kernelPoolCleared();
    }
 
 
@@ -603,6 +629,8 @@ public class KernelPool extends Object
 
    {
       CSPICE.dvpool( name );
+
+      IDCache.kernelPoolChanged();
    }
 
 
@@ -0,0 +1,481 @@
+package spice.basic;
+
+import java.util.ArrayList;
+import java.util.Map;
+
+/**
+Class KernelPoolSnapshot is an immutable copy of the variables of a
+{@link TextKernelPool} at one point in time.
+
+<p>
+Values are stored in two shared arrays, one of doubles and one of
+strings; each variable is a slice of one of them. Variables are
+found through an open addressing hash table of their names, so
+lookups allocate nothing. Scalar accessors such as
+{@link #getDouble(String, int)} and the buffer accessor
+{@link #getDouble(String, int, double[])} return values without
+copying the variable.
+
+<p>
+Instances may be read by any number of threads without locking.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+
+public final class KernelPoolSnapshot extends Object
+{
+   //
+   // Fields
+   //
+   private final long              generation;
+   private final String[]          names;
+   private final boolean[]         numeric;
+   private final int[]             start;
+   private final int[]             size;
+   private final double[]          numbers;
+   private final String[]          strings;
+
+   //
+   // The hash table holds variable indices plus one; zero marks an
+   // empty slot. Its length is a power of two at least twice the
+   // number of variables.
+   //
+   private final int[]             table;
+   private final int               mask;
+
+
+
+   //
+   // Constructors
+   //
+
+   /**
+   Construct a snapshot of `variables', whose values are double[] or
+   String[] arrays. The arrays are copied.
+   */
+   KernelPoolSnapshot ( long                 generation,
+                        Map<String, Object>  variables   )
+   {
+      int nvars    = variables.size();
+      int nnumbers = 0;
+      int nstrings = 0;
+
+      for ( Object value : variables.values() )
+      {
+         if ( value instanceof double[] )
+         {
+            nnumbers += ( (double[]) value ).length;
+         }
+         else
+         {
+            nstrings += ( (String[]) value ).length;
+         }
+      }
+
+      this.generation = generation;
+      this.names      = new String [ nvars    ];
+      this.numeric    = new boolean[ nvars    ];
+      this.start      = new int    [ nvars    ];
+      this.size       = new int    [ nvars    ];
+      this.numbers    = new double [ nnumbers ];
+      this.strings    = new String [ nstrings ];
+
+      int capacity = 16;
+
+      while ( capacity < 2 * nvars )
+      {
+         capacity *= 2;
+      }
+
+      this.table = new int[ capacity ];
+      this.mask  = capacity - 1;
+
+      int i  = 0;
+      int dp = 0;
+      int cp = 0;
+
+      for ( Map.Entry<String, Object> entry : variables.entrySet() )
+      {
+         Object value = entry.getValue();
+
+         names[i] = entry.getKey();
+
+         if ( value instanceof double[] )
+         {
+            double[] dvals = (double[]) value;
+
+            numeric[i] = true;
+            start  [i] = dp;
+            size   [i] = dvals.length;
+
+            System.arraycopy( dvals, 0, numbers, dp, dvals.length );
+
+            dp += dvals.length;
+         }
+         else
+         {
+            String[] cvals = (String[]) value;
+
+            numeric[i] = false;
+            start  [i] = cp;
+            size   [i] = cvals.length;
+
+            System.arraycopy( cvals, 0, strings, cp, cvals.length );
+
+            cp += cvals.length;
+         }
+
+         int slot = hash( names[i] ) & mask;
+
+         while ( table[slot] != 0 )
+         {
+            slot = ( slot + 1 ) & mask;
+         }
+
+         table[slot] = i + 1;
+
+         ++i;
+      }
+   }
+
+
+
+   //
+   // Instance Methods
+   //
+
+   /**
+   Get the generation of the snapshot. Each change to a
+   TextKernelPool produces a snapshot with a greater generation.
+   */
+   public long getGeneration()
+   {
+      return ( generation );
+   }
+
+   /**
+   Get the number of variables in the snapshot.
+   */
+   public int getVariableCount()
+   {
+      return ( names.length );
+   }
+
+   /**
+   Indicate whether the variable `name' exists.
+   */
+   public boolean exists ( String name )
+   {
+      return (  find( name ) >= 0  );
+   }
+
+   /**
+   Get the data type of the variable `name': KernelPool.NUMERIC or
+   KernelPool.CHARACTER.
+   */
+   public int getDataType ( String name )
+
+      throws KernelVarNotFoundException
+   {
+      int i = lookup( name, "getDataType" );
+
+      return (  numeric[i] ? KernelPool.NUMERIC : KernelPool.CHARACTER  );
+   }
+
+   /**
+   Get the number of values of the variable `name', or zero if the
+   variable does not exist.
+   */
+   public int getSize ( String name )
+   {
+      int i = find( name );
+
+      return (  ( i < 0 ) ? 0 : size[i]  );
+   }
+
+   /**
+   Get the values of the numeric variable `name'.
+   */
+   public double[] getDouble ( String name )
+
+      throws KernelVarNotFoundException
+   {
+      int      i      = lookup( name, true, "getDouble" );
+      double[] result = new double[ size[i] ];
+
+      System.arraycopy( numbers, start[i], result, 0, size[i] );
+
+      return ( result );
+   }
+
+   /**
+   Get the value at `index' of the numeric variable `name'.
+   */
+   public double getDouble ( String  name,
+                             int     index )
+
+      throws KernelVarNotFoundException
+   {
+      int i = lookup( name, true, "getDouble" );
+
+      checkIndex( i, index, "getDouble" );
+
+      return (  numbers[ start[i] + index ]  );
+   }
+
+   /**
+   Copy values of the numeric variable `name', beginning with the
+   value at index `first', into `buffer'. Return the number of values
+   copied: the smaller of the buffer length and the number of values
+   from `first' on.
+   */
+   public int getDouble ( String    name,
+                          int       first,
+                          double[]  buffer )
+
+      throws KernelVarNotFoundException
+   {
+      int i = lookup( name, true, "getDouble" );
+      int n = Math.max( 0, Math.min( buffer.length, size[i] - first ) );
+
+      System.arraycopy( numbers, start[i] + first, buffer, 0, n );
+
+      return ( n );
+   }
+
+   /**
+   Get the values of the numeric variable `name', rounded to the
+   nearest integers as they are by CSPICE.gipool.
+   */
+   public int[] getInteger ( String name )
+
+      throws KernelVarNotFoundException
+   {
+      int   i      = lookup( name, true, "getInteger" );
+      int[] result = new int[ size[i] ];
+
+      for ( int j = 0;  j < size[i];  j++ )
+      {
+         result[j] = round( numbers[ start[i] + j ] );
+      }
+
+      return ( result );
+   }
+
+   /**
+   Get the value at `index' of the numeric variable `name', rounded to
+   the nearest integer.
+   */
+   public int getInteger ( String  name,
+                           int     index )
+
+      throws KernelVarNotFoundException
+   {
+      int i = lookup( name, true, "getInteger" );
+
+      checkIndex( i, index, "getInteger" );
+
+      return (  round( numbers[ start[i] + index ] )  );
+   }
+
+   /**
+   Get the values of the character variable `name'.
+   */
+   public String[] getCharacter ( String name )
+
+      throws KernelVarNotFoundException
+   {
+      int      i      = lookup( name, false, "getCharacter" );
+      String[] result = new String[ size[i] ];
+
+      System.arraycopy( strings, start[i], result, 0, size[i] );
+
+      return ( result );
+   }
+
+   /**
+   Get the value at `index' of the character variable `name'.
+   */
+   public String getCharacter ( String  name,
+                                int     index )
+
+      throws KernelVarNotFoundException
+   {
+      int i = lookup( name, false, "getCharacter" );
+
+      checkIndex( i, index, "getCharacter" );
+
+      return (  strings[ start[i] + index ]  );
+   }
+
+   /**
+   Get the names of the variables matching `template', in which `*'
+   matches any substring and `%' matches any single character, as
+   does CSPICE.gnpool. Matching is case sensitive.
+   */
+   public String[] getNames ( String template )
+   {
+      ArrayList<String> result = new ArrayList<String>();
+
+      for ( String name : names )
+      {
+         if ( matches( name, 0, template, 0 ) )
+         {
+            result.add( name );
+         }
+      }
+
+      return (  result.toArray( new String[0] )  );
+   }
+
+
+
+   //
+   // Private Methods
+   //
+
+   /**
+   Return the index of variable `name', or -1.
+   */
+   private int find ( String name )
+   {
+      int slot = hash( name ) & mask;
+
+      while ( true )
+      {
+         int entry = table[slot];
+
+         if ( entry == 0 )
+         {
+            return ( -1 );
+         }
+
+         if ( names[ entry - 1 ].equals( name ) )
+         {
+            return ( entry - 1 );
+         }
+
+         slot = ( slot + 1 ) & mask;
+      }
+   }
+
+
+   private int lookup ( String  name,
+                        String  method )
+
+      throws KernelVarNotFoundException
+   {
+      int i = find( name );
+
+      if ( i < 0 )
+      {
+         throw (  KernelVarNotFoundException.create(
+
+                     "KernelPoolSnapshot." + method,
+
+                     "The variable " + name + " could not be found " +
+                     "in the kernel pool."                             )  );
+      }
+
+      return ( i );
+   }
+
+
+   private int lookup ( String   name,
+                        boolean  isNumeric,
+                        String   method     )
+
+      throws KernelVarNotFoundException
+   {
+      int i = lookup( name, method );
+
+      if ( numeric[i] != isNumeric )
+      {
+         throw (  KernelVarNotFoundException.create(
+
+                     "KernelPoolSnapshot." + method,
+
+                     "The variable " + name + " was found in the "   +
+                     "kernel pool, but the variable has "            +
+                     ( numeric[i] ? "numeric" : "character" ) + " type." )  );
+      }
+
+      return ( i );
+   }
+
+
+   private void checkIndex ( int     i,
+                             int     index,
+                             String  method )
+
+      throws KernelVarNotFoundException
+   {
+      if (  ( index < 0 ) || ( index >= size[i] )  )
+      {
+         throw (  KernelVarNotFoundException.create(
+
+                     "KernelPoolSnapshot." + method,
+
+                     "The variable " + names[i] + " has " + size[i] +
+                     " values; index " + index + " is out of range."   )  );
+      }
+   }
+
+
+
+   //
+   // Static Methods
+   //
+
+   private static int hash ( String name )
+   {
+      int h = name.hashCode();
+
+      return (  h ^ ( h >>> 16 )  );
+   }
+
+
+   private static int round ( double value )
+   {
+      return (  (int) Math.round( value )  );
+   }
+
+
+   /**
+   Match name[n:] against template[t:].
+   */
+   private static boolean matches ( String  name,
+                                    int     n,
+                                    String  template,
+                                    int     t         )
+   {
+      while ( t < template.length() )
+      {
+         char c = template.charAt( t );
+
+         if ( c == '*' )
+         {
+            for ( int k = n;  k <= name.length();  k++ )
+            {
+               if ( matches( name, k, template, t + 1 ) )
+               {
+                  return ( true );
+               }
+            }
+
+            return ( false );
+         }
+
+         if (  ( n >= name.length() )
+            || (  ( c != '%' ) && ( c != name.charAt( n ) )  )  )
+         {
+            return ( false );
+         }
+
+         ++n;
+         ++t;
+      }
+
+      return (  n == name.length()  );
+   }
+}
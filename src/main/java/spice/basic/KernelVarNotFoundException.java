@@ -10,6 +10,12 @@ variable.  This exception is meant to be used for non-error cases
 which normally would be indicated in CSPICE by setting a "found flag"
 to SPICEFALSE.
 
+<p> Version 1.1.0 18-OCT-2026
+
+<p> The compound message is now formed by class
+SpiceErrorException, so that this exception can be created
+without the JNISpice library, as it is by class KernelPoolSnapshot.
+
 <p> Version 1.0.0 03-DEC-2009 (NJB)
 */
 
@@ -21,22 +27,6 @@ public class KernelVarNotFoundException extends SpiceException
    private static final String SHORT_MSG = "SPICE(KERNELVARNOTFOUND)";
 
 
-   private static String VERSION;
-
-   static
-   {
-      try
-      {
-         VERSION = CSPICE.tkvrsn( "TOOLKIT" );
-
-      }
-      catch( SpiceException exc )
-      {
-         VERSION = "<ERROR: Could not obtain SPICE Toolkit version>";
-      }
-   }
-
-
 
    //
    // Constructors
@@ -62,8 +52,9 @@ public class KernelVarNotFoundException extends SpiceException
    public static KernelVarNotFoundException create ( String caller,
                                                      String longMsg  )
    {
-      String compoundMsg = VERSION   + ": " + caller + ": " +
-                           SHORT_MSG + ": " + longMsg;
+      String compoundMsg = SpiceErrorException.compoundMessage( caller,
+                                                                SHORT_MSG,
+                                                                longMsg   );
 
       return( new KernelVarNotFoundException(compoundMsg) );
    }
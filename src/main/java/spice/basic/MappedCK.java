@@ -0,0 +1,147 @@
+package spice.basic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+Class MappedCK holds the segments of one CK file read through a
+{@link MappedDAF}, without calls to CSPICE.
+
+<p>
+Segments are kept in file order. Instances are immutable once
+opened, apart from {@link #close()}, and may be shared by any
+number of threads; see {@link CKPointing} for pointing lookups
+across several files.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+
+public class MappedCK extends Object
+{
+   //
+   // Fields
+   //
+   private final MappedDAF              daf;
+   private final List<CKSegment>        segments;
+
+
+
+   //
+   // Constructors
+   //
+   private MappedCK ( MappedDAF         daf,
+                      List<CKSegment>   segments )
+   {
+      this.daf      = daf;
+      this.segments = Collections.unmodifiableList( segments );
+   }
+
+
+
+   //
+   // Static Methods
+   //
+
+   /**
+   Map a CK file for read access and read its segment list.
+   */
+   public static MappedCK openForRead ( String fileName )
+
+      throws SpiceException
+   {
+      MappedDAF daf = MappedDAF.openForRead( fileName );
+
+      //
+      // Files predating the "DAF/CK" ID word are identified by
+      // the CK summary format.
+      //
+      String  idword = daf.getFileType();
+      boolean isCK   =     idword.equals( "DAF/CK" )
+                       || (    idword.equals( "NAIF/DAF" )
+                            && ( daf.getND() == 2 )
+                            && ( daf.getNI() == 6 )        );
+      if ( !isCK )
+      {
+         daf.close();
+
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            "MappedCK.openForRead",
+
+            "SPICE(FILEISNOTCK)",
+
+            "File " + fileName + " has ID word <" + idword +
+            ">; it is not a CK."                          );
+
+         throw ( exc );
+      }
+
+      //
+      // Segments read their data with absolute gets, so the search
+      // position of `daf' does not affect them once constructed.
+      //
+      ArrayList<CKSegment> segments = new ArrayList<CKSegment>();
+
+      daf.beginForwardSearch();
+
+      while ( daf.findNextArray() )
+      {
+         segments.add( new CKSegment( daf ) );
+      }
+
+      return (  new MappedCK( daf, segments )  );
+   }
+
+
+
+   //
+   // Instance Methods
+   //
+
+   public String getFileName()
+   {
+      return ( daf.getFileName() );
+   }
+
+   /**
+   Get the segments of the file, in file order.
+   */
+   public List<CKSegment> getSegments()
+   {
+      return ( segments );
+   }
+
+   /**
+   Get the ID codes of the instruments and structures for which
+   the file has pointing, in increasing order.
+   */
+   public int[] getInstruments()
+   {
+      TreeSet<Integer> instruments = new TreeSet<Integer>();
+
+      for ( CKSegment segment : segments )
+      {
+         instruments.add( segment.getInstrument() );
+      }
+
+      int[] result = new int[ instruments.size() ];
+      int   i      = 0;
+
+      for ( Integer instrument : instruments )
+      {
+         result[i++] = instrument;
+      }
+
+      return ( result );
+   }
+
+   /**
+   Release the file. Its segments can no longer be evaluated.
+   */
+   public void close()
+   {
+      daf.close();
+   }
+}
@@ -0,0 +1,1028 @@
+package spice.basic;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+/**
+Class MappedDAF provides read-only access to DAF files without
+calls to CSPICE.
+
+<p>
+The file is memory mapped when it is opened; segment descriptor
+list traversal, array names, array data and the comment area are
+read directly from the mapping. The methods of this class are
+modeled on those of {@link spice.basic.DAF}, so code written
+against one reads like code written against the other.
+
+<p>
+DAF methods are serialized by the JNI layer: every CSPICE call
+is a synchronized static method, so only one thread in a JVM can
+read from any DAF at a time. MappedDAF holds no state outside
+its instances. Each instance has its own search cursor; threads
+that search the same file should each use their own instance,
+obtained from {@link #openForRead(java.lang.String)} or, without
+mapping the file again, from {@link #duplicate()}. Data reads via
+{@link #readDoubles(int, int)} do not touch the cursor.
+
+<p>
+Both IEEE binary file formats, BIG-IEEE and LTL-IEEE, are
+supported on any platform; the format is taken from the file
+record, or inferred from the file record's integer values for
+files written before the format string was introduced. VAX
+formats are not supported.
+
+<p>
+Files larger than 2 gigabytes cannot be mapped by this class.
+
+<h3>Examples</h3>
+
+<pre>
+   //
+   // Count the segments of an SPK and print their bodies.
+   //
+   MappedDAF d = MappedDAF.openForRead( "msl_ls_ops120808_iau2000_v1.bsp" );
+
+   d.beginForwardSearch();
+
+   while ( d.findNextArray() )
+   {
+      int[] ic = d.getIntegerSummaryComponent();
+
+      System.out.println ( "Body ID = " + ic[0] + ", data type = " + ic[3] );
+   }
+
+   d.close();
+</pre>
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+
+public class MappedDAF extends Object
+{
+   //
+   // Class constants
+   //
+
+   /**
+   Size of a DAF physical record, in bytes.
+   */
+   public static final int         RECORD_BYTES     = 1024;
+
+   /**
+   Number of characters of a comment area record that hold comments.
+   */
+   public static final int         COMMENT_CHARS    = 1000;
+
+   private static final int        IDWORD_OFFSET    =  0;
+   private static final int        IDWORD_LENGTH    =  8;
+   private static final int        ND_OFFSET        =  8;
+   private static final int        NI_OFFSET        = 12;
+   private static final int        IFNAME_OFFSET    = 16;
+   private static final int        IFNAME_LENGTH    = 60;
+   private static final int        FWARD_OFFSET     = 76;
+   private static final int        BWARD_OFFSET     = 80;
+   private static final int        FREE_OFFSET      = 84;
+   private static final int        FORMAT_OFFSET    = 88;
+   private static final int        FORMAT_LENGTH    =  8;
+
+   private static final int        MAX_SUMMARY_SIZE = 125;
+
+   private static final char       END_OF_LINE      = 0;
+   private static final char       END_OF_COMMENTS  = 4;
+
+
+   //
+   // Fields
+   //
+   protected String                fileName;
+   protected String                fileType;
+   protected String                internalFileName;
+   protected ByteBuffer            buffer;
+   protected ByteOrder             byteOrder;
+   protected int                   ND;
+   protected int                   NI;
+   protected int                   summarySize;
+   protected int                   nameSize;
+   protected int                   forward;
+   protected int                   backward;
+   protected int                   free;
+   protected boolean               readable;
+
+   //
+   // Search state. `summaryRecord' is the record number of the
+   // current summary record, or 0 if no search has been started.
+   //
+   private int                     summaryRecord;
+   private int                     nextRecord;
+   private int                     previousRecord;
+   private int                     summaryCount;
+   private int                     summaryIndex;
+   private boolean                 found;
+
+
+
+   //
+   // Constructors
+   //
+
+   /**
+   Construct a MappedDAF over a mapped file image. The file record
+   is parsed by {@link #openForRead(java.lang.String)}.
+   */
+   protected MappedDAF ( String fileName )
+   {
+      this.fileName    = fileName;
+      internalFileName = null;
+      buffer           = null;
+      ND               = -1;
+      NI               = -1;
+      readable         = false;
+      summaryRecord    = 0;
+      found            = false;
+   }
+
+
+
+   //
+   // Static Methods
+   //
+
+   /**
+   Map a DAF for read access.
+   */
+   public static MappedDAF openForRead( String fileName )
+
+      throws SpiceException
+   {
+      MappedDAF   d = new MappedDAF( fileName );
+      ByteBuffer  image;
+
+      try ( FileChannel channel = FileChannel.open( Paths.get( fileName ),
+                                                    StandardOpenOption.READ ) )
+      {
+         long size = channel.size();
+
+         if ( size > Integer.MAX_VALUE )
+         {
+            SpiceErrorException exc = SpiceErrorException.create(
+
+               "MappedDAF.openForRead",
+
+               "SPICE(NOTSUPPORTED)",
+
+               "DAF " + fileName + " is " + size + " bytes long; " +
+               "files larger than 2 gigabytes cannot be mapped."   );
+
+            throw ( exc );
+         }
+
+         image = channel.map( FileChannel.MapMode.READ_ONLY, 0L, size );
+      }
+      catch ( IOException ioe )
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            "MappedDAF.openForRead",
+
+            "SPICE(FILEOPENFAILED)",
+
+            "DAF " + fileName + " could not be mapped: " +
+            ioe.getMessage()                              );
+
+         throw ( exc );
+      }
+
+      d.readFileRecord( image );
+
+      return ( d );
+   }
+
+
+
+
+   //
+   // Instance Methods
+   //
+
+   /**
+   Return a new instance that shares this instance's mapping but
+   has its own search cursor. The new instance is not positioned
+   on any array.
+   */
+   public MappedDAF duplicate()
+
+      throws SpiceException
+   {
+      checkReadable( "MappedDAF.duplicate" );
+
+      MappedDAF d = new MappedDAF( fileName );
+
+      d.fileType         = fileType;
+      d.internalFileName = internalFileName;
+      d.byteOrder        = byteOrder;
+      d.buffer           = buffer.duplicate().order( byteOrder );
+      d.ND               = ND;
+      d.NI               = NI;
+      d.summarySize      = summarySize;
+      d.nameSize         = nameSize;
+      d.forward          = forward;
+      d.backward         = backward;
+      d.free             = free;
+      d.readable         = true;
+
+      return ( d );
+   }
+
+
+   /**
+   Return the file name.
+   */
+   public String getFileName()
+   {
+      return( fileName );
+   }
+
+   /**
+   Return the ID word of the file, for example "DAF/SPK" or
+   "DAF/CK", without trailing blanks.
+   */
+   public String getFileType()
+   {
+      return( fileType );
+   }
+
+   /**
+   Return the byte order of the file's numeric data.
+   */
+   public ByteOrder getByteOrder()
+   {
+      return( byteOrder );
+   }
+
+   /**
+   Indicate whether a MappedDAF is readable. A MappedDAF is
+   readable from the time it is opened until it is closed.
+   */
+   public boolean isReadable()
+   {
+      return( readable );
+   }
+
+   /**
+   Get number of integer summary components.
+   */
+   public int getNI()
+   {
+      return NI;
+   }
+
+   /**
+   Get number of double precision summary components.
+   */
+   public int getND()
+   {
+      return ND;
+   }
+
+   /**
+   Get the first free address of the file. Array data occupy
+   addresses below this one.
+   */
+   public int getFreeAddress()
+   {
+      return free;
+   }
+
+
+   /**
+   Get internal file name.
+   */
+   public String getInternalFileName()
+
+      throws SpiceException
+   {
+      if ( internalFileName == null )
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            "MappedDAF.getInternalFileName",
+
+            "SPICE(NOTAVAILABLE)",
+
+            "Internal file name has not been read from DAF " + fileName);
+
+         throw ( exc );
+      }
+
+      return ( internalFileName );
+   }
+
+
+   /**
+   Begin forward search through segment list.
+   */
+   public void beginForwardSearch()
+
+      throws SpiceException
+   {
+      checkReadable( "MappedDAF.beginForwardSearch" );
+
+      loadSummaryRecord( forward );
+
+      summaryIndex = -1;
+      found        = false;
+   }
+
+
+   /**
+   Begin backward search through segment list.
+   */
+   public void beginBackwardSearch()
+
+      throws SpiceException
+   {
+      checkReadable( "MappedDAF.beginBackwardSearch" );
+
+      loadSummaryRecord( backward );
+
+      summaryIndex = summaryCount;
+      found        = false;
+   }
+
+
+   /**
+   Find the next array in the segment list.
+
+   <p>
+   This methods returns a "found" flag.
+   */
+   public boolean findNextArray()
+
+      throws SpiceException
+   {
+      checkSearch( "MappedDAF.findNextArray" );
+
+      ++summaryIndex;
+
+      //
+      // Move on to the next summary record when this one is used up.
+      // Records holding no summaries are skipped.
+      //
+      while ( summaryIndex >= summaryCount )
+      {
+         if ( nextRecord == 0 )
+         {
+            summaryIndex = summaryCount;
+            found        = false;
+
+            return ( false );
+         }
+
+         loadSummaryRecord( nextRecord );
+
+         summaryIndex = 0;
+      }
+
+      found = true;
+
+      return ( true );
+   }
+
+
+   /**
+   Find the previous array in the segment list.
+
+   <p>
+   This methods returns a "found" flag.
+   */
+   public boolean findPreviousArray()
+
+      throws SpiceException
+   {
+      checkSearch( "MappedDAF.findPreviousArray" );
+
+      --summaryIndex;
+
+      while ( summaryIndex < 0 )
+      {
+         if ( previousRecord == 0 )
+         {
+            summaryIndex = -1;
+            found        = false;
+
+            return ( false );
+         }
+
+         loadSummaryRecord( previousRecord );
+
+         summaryIndex = summaryCount - 1;
+      }
+
+      found = true;
+
+      return ( true );
+   }
+
+
+   /**
+   Get the array name (also called the "segment identifier")
+   for the current array (also called "segment").
+   */
+   public String getArrayName()
+
+      throws SpiceException
+   {
+      checkArray( "MappedDAF.getArrayName" );
+
+      //
+      // The name record immediately follows its summary record.
+      //
+      int offset = summaryRecord * RECORD_BYTES  +  summaryIndex * nameSize;
+
+      return ( readString( offset, nameSize ) );
+   }
+
+
+   /**
+   Get the double precision component of the array summary
+   for the current segment.
+   */
+   public double[] getDoubleSummaryComponent()
+
+      throws SpiceException
+   {
+      checkArray( "MappedDAF.getDoubleSummaryComponent" );
+
+      double[]     dc     = new double[ND];
+      int          offset = getSummaryOffset();
+
+      for ( int i = 0;  i < ND;  i++ )
+      {
+         dc[i] = buffer.getDouble( offset + 8*i );
+      }
+
+      return ( dc );
+   }
+
+
+   /**
+   Get the integer component of the array summary
+   for the current segment.
+   */
+   public int[] getIntegerSummaryComponent()
+
+      throws SpiceException
+   {
+      checkArray( "MappedDAF.getIntegerSummaryComponent" );
+
+      //
+      // The integer components are packed, two per double precision
+      // word, after the double precision components. They are stored
+      // in the byte order of the file.
+      //
+      int[]        ic     = new int[NI];
+      int          offset = getSummaryOffset() + 8*ND;
+
+      for ( int i = 0;  i < NI;  i++ )
+      {
+         ic[i] = buffer.getInt( offset + 4*i );
+      }
+
+      return ( ic );
+   }
+
+
+   /**
+   Read the double precision numbers at addresses begin through
+   end, inclusive. This is the counterpart of CSPICE.dafgda.
+   */
+   public double[] readDoubles ( int begin,
+                                 int end   )
+
+      throws SpiceException
+   {
+      checkAddresses( "MappedDAF.readDoubles", begin, end );
+
+      double[] data = new double[ end - begin + 1 ];
+
+      readDoubles( begin, end, data, 0 );
+
+      return ( data );
+   }
+
+
+   /**
+   Read the double precision numbers at addresses begin through
+   end, inclusive, into the array `data' starting at index
+   `offset'. This method allocates no memory; it may be called
+   by any number of threads at once, including threads using
+   other instances sharing this instance's mapping.
+   */
+   public void readDoubles ( int        begin,
+                             int        end,
+                             double[]   data,
+                             int        offset )
+
+      throws SpiceException
+   {
+      checkAddresses( "MappedDAF.readDoubles", begin, end );
+
+      int          n    = end - begin + 1;
+      int          base = 8 * ( begin - 1 );
+
+      if ( ( offset < 0 ) || ( offset + n > data.length ) )
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            "MappedDAF.readDoubles",
+
+            "SPICE(ARRAYTOOSMALL)",
+
+            n + " values starting at index " + offset + " do not " +
+            "fit an output array of length " + data.length + "."     );
+
+         throw ( exc );
+      }
+
+      for ( int i = 0;  i < n;  i++ )
+      {
+         data[offset + i] = buffer.getDouble( base + 8*i );
+      }
+   }
+
+
+   /**
+   Read the double precision number at `address' without argument
+   checks. This is the inner loop accessor used by the segment
+   readers of this package, which validate their address ranges
+   when they are constructed.
+   */
+   double getDouble( int address )
+   {
+      return ( buffer.getDouble( 8 * ( address - 1 ) ) );
+   }
+
+
+   /**
+   Read comments from the comment area of the DAF.
+
+   <p>
+   Lines longer than `lineLength' characters cause an exception
+   to be thrown, as they do for {@link DAF#readComments(int)}.
+   */
+   public String[] readComments( int  lineLength )
+
+      throws SpiceException
+   {
+      checkReadable( "MappedDAF.readComments" );
+
+      ArrayList<String> alist = new ArrayList<String>();
+      StringBuilder     line  = new StringBuilder( lineLength );
+
+      //
+      // The comment area occupies the records between the file
+      // record and the first summary record.
+      //
+      for ( int record = 2;  record < forward;  record++ )
+      {
+         int base = ( record - 1 ) * RECORD_BYTES;
+
+         for ( int i = 0;  i < COMMENT_CHARS;  i++ )
+         {
+            char c = (char) ( buffer.get( base + i ) & 0xFF );
+
+            if ( c == END_OF_COMMENTS )
+            {
+               if ( line.length() > 0 )
+               {
+                  alist.add( line.toString() );
+               }
+
+               return ( alist.toArray( new String[0] ) );
+            }
+            else if ( c == END_OF_LINE )
+            {
+               alist.add( line.toString() );
+
+               line.setLength( 0 );
+            }
+            else
+            {
+               if ( line.length() == lineLength )
+               {
+                  SpiceErrorException exc = SpiceErrorException.create(
+
+                     "MappedDAF.readComments",
+
+                     "SPICE(COMMENTTOOLONG)",
+
+                     "Comment line " + ( alist.size() + 1 ) + " of DAF " +
+                     fileName + " is longer than " + lineLength          +
+                     " characters."                                       );
+
+                  throw ( exc );
+               }
+
+               line.append( c );
+            }
+         }
+      }
+
+      if ( line.length() > 0 )
+      {
+         alist.add( line.toString() );
+      }
+
+      return ( alist.toArray( new String[0] ) );
+   }
+
+
+   /**
+   Count the segments in a DAF file. This starts a new forward
+   search.
+   */
+   public int countSegments()
+
+      throws SpiceException
+   {
+      boolean more;
+      int     n = 0;
+
+
+      this.beginForwardSearch();
+
+      more = this.findNextArray();
+
+      while ( more )
+      {
+         ++n;
+
+         more = this.findNextArray();
+      }
+
+      return ( n );
+   }
+
+
+   /**
+   Close this instance. The mapping is released by the garbage
+   collector once no instance sharing it remains reachable.
+   */
+   public void close()
+   {
+      buffer        = null;
+      readable      = false;
+      summaryRecord = 0;
+      found         = false;
+   }
+
+
+
+
+   //
+   // Private Methods
+   //
+
+   /**
+   Parse the file record: ID word, ND, NI, internal file name,
+   the first and last summary records, the first free address,
+   and the binary file format.
+   */
+   private void readFileRecord( ByteBuffer image )
+
+      throws SpiceException
+   {
+      if ( image.capacity() < RECORD_BYTES )
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            "MappedDAF.readFileRecord",
+
+            "SPICE(NOTADAFFILE)",
+
+            "File " + fileName + " is too short to be a DAF."  );
+
+         throw ( exc );
+      }
+
+      buffer   = image;
+      fileType = readString( IDWORD_OFFSET, IDWORD_LENGTH );
+
+      if (  !fileType.startsWith( "DAF/"     )
+         && !fileType.startsWith( "NAIF/DAF" ) )
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            "MappedDAF.readFileRecord",
+
+            "SPICE(NOTADAFFILE)",
+
+            "File " + fileName + " has ID word <" + fileType  +
+            ">, which is not that of a DAF."                     );
+
+         throw ( exc );
+      }
+
+      byteOrder = getFileByteOrder();
+
+      buffer.order( byteOrder );
+
+      ND               = buffer.getInt( ND_OFFSET    );
+      NI               = buffer.getInt( NI_OFFSET    );
+      forward          = buffer.getInt( FWARD_OFFSET );
+      backward         = buffer.getInt( BWARD_OFFSET );
+      free             = buffer.getInt( FREE_OFFSET  );
+      internalFileName = readString( IFNAME_OFFSET, IFNAME_LENGTH );
+
+      if (  ( ND < 0 ) || ( NI < 2 )
+         || ( ND + (NI+1)/2 > MAX_SUMMARY_SIZE ) )
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            "MappedDAF.readFileRecord",
+
+            "SPICE(INVALIDND)",
+
+            "DAF " + fileName + " has ND = " + ND + " and NI = " +
+            NI + ", which do not describe a valid summary."         );
+
+         throw ( exc );
+      }
+
+      summarySize = ND + (NI+1)/2;
+      nameSize    = 8 * summarySize;
+
+      if (  ( forward  < 2 ) || ( (long)forward  * RECORD_BYTES > buffer.capacity() )
+         || ( backward < 2 ) || ( (long)backward * RECORD_BYTES > buffer.capacity() ) )
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            "MappedDAF.readFileRecord",
+
+            "SPICE(BADDAFFILE)",
+
+            "DAF " + fileName + " lists summary records " + forward +
+            " and " + backward + ", which are not in the file."        );
+
+         throw ( exc );
+      }
+
+      readable = true;
+   }
+
+
+   /**
+   Determine the byte order of the file's numeric data.
+   */
+   private ByteOrder getFileByteOrder()
+
+      throws SpiceException
+   {
+      String format = readString( FORMAT_OFFSET, FORMAT_LENGTH );
+
+      if ( format.equals( "BIG-IEEE" ) )
+      {
+         return ( ByteOrder.BIG_ENDIAN );
+      }
+      else if ( format.equals( "LTL-IEEE" ) )
+      {
+         return ( ByteOrder.LITTLE_ENDIAN );
+      }
+      else if ( format.length() > 0 )
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            "MappedDAF.getFileByteOrder",
+
+            "SPICE(UNSUPPORTEDBFF)",
+
+            "DAF " + fileName + " has binary file format <" + format +
+            ">; only BIG-IEEE and LTL-IEEE are supported."              );
+
+         throw ( exc );
+      }
+
+      //
+      // Files written before the format string was added to the
+      // file record carry no format. Pick the byte order under
+      // which ND is a plausible value.
+      //
+      buffer.order( ByteOrder.BIG_ENDIAN );
+
+      int nd = buffer.getInt( ND_OFFSET );
+
+      if ( ( nd >= 0 ) && ( nd <= MAX_SUMMARY_SIZE ) )
+      {
+         return ( ByteOrder.BIG_ENDIAN );
+      }
+
+      return ( ByteOrder.LITTLE_ENDIAN );
+   }
+
+
+   /**
+   Make the summary record at `record' current.
+   */
+   private void loadSummaryRecord( int record )
+
+      throws SpiceException
+   {
+      if (  ( record < 2 )
+         || ( (long)record * RECORD_BYTES > buffer.capacity() ) )
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            "MappedDAF.loadSummaryRecord",
+
+            "SPICE(BADDAFFILE)",
+
+            "Summary record " + record + " of DAF " + fileName +
+            " is not in the file."                                );
+
+         throw ( exc );
+      }
+
+      //
+      // The control area of a summary record holds the next and
+      // previous summary record numbers and the summary count, as
+      // double precision numbers.
+      //
+      int base = ( record - 1 ) * RECORD_BYTES;
+
+      summaryRecord  = record;
+      nextRecord     = (int) buffer.getDouble( base      );
+      previousRecord = (int) buffer.getDouble( base +  8 );
+      summaryCount   = (int) buffer.getDouble( base + 16 );
+
+      if (  ( summaryCount < 0 )
+         || ( 3 + summaryCount * summarySize > RECORD_BYTES / 8 ) )
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            "MappedDAF.loadSummaryRecord",
+
+            "SPICE(BADDAFFILE)",
+
+            "Summary record " + record + " of DAF " + fileName +
+            " claims " + summaryCount + " summaries."             );
+
+         throw ( exc );
+      }
+   }
+
+
+   /**
+   Byte offset of the current array summary.
+   */
+   private int getSummaryOffset()
+   {
+      return (   ( summaryRecord - 1 ) * RECORD_BYTES
+               + 8 * ( 3  +  summaryIndex * summarySize ) );
+   }
+
+
+   /**
+   Read `length' bytes at `offset' as ASCII, dropping trailing
+   blanks and nulls.
+   */
+   private String readString( int offset, int length )
+   {
+      byte[] chars = new byte[length];
+
+      for ( int i = 0;  i < length;  i++ )
+      {
+         chars[i] = buffer.get( offset + i );
+      }
+
+      int n = length;
+
+      while ( ( n > 0 ) && ( ( chars[n-1] == ' ' ) || ( chars[n-1] == 0 ) ) )
+      {
+         --n;
+      }
+
+      return ( new String( chars, 0, n, StandardCharsets.US_ASCII ) );
+   }
+
+
+   private void checkReadable( String caller )
+
+      throws SpiceException
+   {
+      if ( !readable )
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            caller,
+
+            "SPICE(DAFNOTREADABLE)",
+
+            "DAF " + fileName + " must be opened for read " +
+            "access before it can be read."                   );
+
+         throw ( exc );
+      }
+   }
+
+
+   private void checkSearch( String caller )
+
+      throws SpiceException
+   {
+      checkReadable( caller );
+
+      if ( summaryRecord == 0 )
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            caller,
+
+            "SPICE(DAFNOSEARCH)",
+
+            "No search has been started on DAF " + fileName + "." );
+
+         throw ( exc );
+      }
+   }
+
+
+   private void checkArray( String caller )
+
+      throws SpiceException
+   {
+      checkSearch( caller );
+
+      if ( !found )
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            caller,
+
+            "SPICE(NOCURRENTARRAY)",
+
+            "The search on DAF " + fileName + " is not positioned " +
+            "on an array."                                            );
+
+         throw ( exc );
+      }
+   }
+
+
+   private void checkAddresses( String caller,
+                                int    begin,
+                                int    end    )
+
+      throws SpiceException
+   {
+      checkReadable( caller );
+
+      if ( ( begin < 1 ) || ( end < 1 ) )
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            caller,
+
+            "SPICE(DAFNEGADDR)",
+
+            "Addresses " + begin + " and " + end + " are not " +
+            "both positive."                                     );
+
+         throw ( exc );
+      }
+
+      if ( begin > end )
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            caller,
+
+            "SPICE(DAFBEGGTEND)",
+
+            "Begin address " + begin + " is greater than end " +
+            "address " + end + "."                                );
+
+         throw ( exc );
+      }
+
+      if ( 8L * end > buffer.capacity() )
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            caller,
+
+            "SPICE(DAFRANGEERROR)",
+
+            "Address " + end + " is past the end of DAF " +
+            fileName + "."                                  );
+
+         throw ( exc );
+      }
+   }
+
+}
@@ -0,0 +1,147 @@
+package spice.basic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+Class MappedSPK holds the segments of one SPK file read through a
+{@link MappedDAF}, without calls to CSPICE.
+
+<p>
+Segments are kept in file order. Instances are immutable once
+opened, apart from {@link #close()}, and may be shared by any
+number of threads; see {@link SPKEphemeris} for state lookups
+across several files.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+
+public class MappedSPK extends Object
+{
+   //
+   // Fields
+   //
+   private final MappedDAF              daf;
+   private final List<SPKSegment>       segments;
+
+
+
+   //
+   // Constructors
+   //
+   private MappedSPK ( MappedDAF         daf,
+                       List<SPKSegment>  segments )
+   {
+      this.daf      = daf;
+      this.segments = Collections.unmodifiableList( segments );
+   }
+
+
+
+   //
+   // Static Methods
+   //
+
+   /**
+   Map an SPK file for read access and read its segment list.
+   */
+   public static MappedSPK openForRead ( String fileName )
+
+      throws SpiceException
+   {
+      MappedDAF daf = MappedDAF.openForRead( fileName );
+
+      //
+      // Files predating the "DAF/SPK" ID word are identified by
+      // the SPK summary format.
+      //
+      String  idword = daf.getFileType();
+      boolean isSPK  =     idword.equals( "DAF/SPK" )
+                       || (    idword.equals( "NAIF/DAF" )
+                            && ( daf.getND() == 2 )
+                            && ( daf.getNI() == 6 )        );
+      if ( !isSPK )
+      {
+         daf.close();
+
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            "MappedSPK.openForRead",
+
+            "SPICE(FILEISNOTSPK)",
+
+            "File " + fileName + " has ID word <" + idword +
+            ">; it is not an SPK."                          );
+
+         throw ( exc );
+      }
+
+      //
+      // Segments read their data with absolute gets, so the search
+      // position of `daf' does not affect them once constructed.
+      //
+      ArrayList<SPKSegment> segments = new ArrayList<SPKSegment>();
+
+      daf.beginForwardSearch();
+
+      while ( daf.findNextArray() )
+      {
+         segments.add( new SPKSegment( daf ) );
+      }
+
+      return (  new MappedSPK( daf, segments )  );
+   }
+
+
+
+   //
+   // Instance Methods
+   //
+
+   public String getFileName()
+   {
+      return ( daf.getFileName() );
+   }
+
+   /**
+   Get the segments of the file, in file order.
+   */
+   public List<SPKSegment> getSegments()
+   {
+      return ( segments );
+   }
+
+   /**
+   Get the ID codes of the bodies for which the file has data,
+   in increasing order.
+   */
+   public int[] getBodies()
+   {
+      TreeSet<Integer> bodies = new TreeSet<Integer>();
+
+      for ( SPKSegment segment : segments )
+      {
+         bodies.add( segment.getBody() );
+      }
+
+      int[] result = new int[ bodies.size() ];
+      int   i      = 0;
+
+      for ( Integer body : bodies )
+      {
+         result[i++] = body;
+      }
+
+      return ( result );
+   }
+
+   /**
+   Release the file. Its segments can no longer be evaluated.
+   */
+   public void close()
+   {
+      daf.close();
+   }
+}
@@ -0,0 +1,564 @@
+package spice.basic;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+Class NativeExecutor evaluates CSPICE work in a single thread that
+owns all native calls made through it, so that callers need not block
+on the monitor of class {@link CSPICE}.
+
+<p>
+Work is submitted as a {@link Task} and its result delivered by a
+{@link CompletableFuture}; {@link #submit(Task)} never blocks. Tasks
+wait in a bounded queue. A task submitted while the queue is full is
+not queued: its future completes at once with the error
+SPICE(QUEUEFULL), so that callers can shed load rather than park
+threads.
+
+<p>
+The owner thread takes queued tasks in batches of up to a given size
+and runs each batch while holding the monitor of class CSPICE, so
+that the monitor is acquired once per batch rather than once per
+call; the CSPICE calls made by the tasks reenter it. Futures are
+completed after the monitor is released, so that stages dependent on
+them never run while holding it.
+
+<p>
+Threads that call CSPICE directly are unaffected, but wait for the
+batch being run. A task must not wait for the result of another task
+of the same executor, since both are run by the owner thread.
+
+<p>
+Queue depth and batch statistics are available for monitoring.
+Tasks submitted with the name of the CSPICE method they call are
+recorded by {@link CSPICEProfiler} while it is enabled.
+
+<h3>Version 1.1.0 18-OCT-2026</h3>
+
+<p> Added {@link #submit(String, Task)}.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+
+public class NativeExecutor extends Object implements Closeable
+{
+   //
+   // Public constants
+   //
+
+   /**
+   Default queue capacity.
+   */
+   public static final int                     DEFAULT_CAPACITY  = 10000;
+
+   /**
+   Default maximum number of tasks run in one batch.
+   */
+   public static final int                     DEFAULT_BATCH     = 256;
+
+   //
+   // Private constants
+   //
+   private static final Entry                  STOP              =
+
+      new Entry( null, null, null );
+
+   //
+   // Class variables
+   //
+   private static NativeExecutor               defaultExecutor   = null;
+
+   //
+   // Fields
+   //
+   private final ArrayBlockingQueue<Entry>     queue;
+   private final int                           maxBatch;
+   private final Thread                        owner;
+
+   private final AtomicInteger                 maxDepth;
+   private final LongAdder                     submitted;
+   private final LongAdder                     rejected;
+   private final LongAdder                     completed;
+   private final LongAdder                     batches;
+
+   private volatile boolean                    closed;
+   private volatile boolean                    terminated;
+
+
+
+   //
+   // Public types
+   //
+
+   /**
+   A unit of work run by the owner thread of a NativeExecutor.
+   */
+   public interface Task<T>
+   {
+      /**
+      Perform the work, returning its result.
+      */
+      T call()
+
+         throws SpiceException;
+   }
+
+
+
+   //
+   // Constructors
+   //
+
+   /**
+   Create an executor with the default queue capacity and batch size.
+   */
+   public NativeExecutor()
+   {
+      this ( DEFAULT_CAPACITY, DEFAULT_BATCH );
+   }
+
+
+   /**
+   Create an executor whose queue holds up to `capacity' tasks, and
+   that runs up to `maxBatch' tasks per acquisition of the CSPICE
+   monitor. The owner thread is a daemon thread.
+   */
+   public NativeExecutor ( int  capacity,
+                           int  maxBatch )
+   {
+      this.queue     = new ArrayBlockingQueue<Entry>( Math.max( capacity, 1 ) + 1 );
+      this.maxBatch  = Math.max( maxBatch, 1 );
+
+      this.maxDepth  = new AtomicInteger();
+      this.submitted = new LongAdder();
+      this.rejected  = new LongAdder();
+      this.completed = new LongAdder();
+      this.batches   = new LongAdder();
+
+      this.owner     = new Thread(
+
+         new Runnable()
+         {
+            public void run()
+            {
+               serve();
+            }
+         },
+
+         "NativeExecutor"  );
+
+      owner.setDaemon( true );
+      owner.start();
+   }
+
+
+
+   //
+   // Static Methods
+   //
+
+   /**
+   Get a shared executor with the default queue capacity and batch
+   size, creating it if necessary.
+   */
+   public static synchronized NativeExecutor getDefault()
+   {
+      if (  ( defaultExecutor == null ) || defaultExecutor.closed  )
+      {
+         defaultExecutor = new NativeExecutor();
+      }
+
+      return ( defaultExecutor );
+   }
+
+
+
+   //
+   // Instance Methods
+   //
+
+   /**
+   Submit `task' to be run by the owner thread, and return a future
+   holding its result. This method does not block.
+   */
+   public <T> CompletableFuture<T> submit ( Task<T> task )
+   {
+      return (  submit( null, task )  );
+   }
+
+
+   /**
+   Submit `task', which calls the CSPICE method `method', to be run by
+   the owner thread, and return a future holding its result. While
+   {@link CSPICEProfiler} is enabled, the task is recorded as a call
+   of `method' that waited for the time it was queued. This method
+   does not block.
+   */
+   public <T> CompletableFuture<T> submit ( String   method,
+                                            Task<T>  task    )
+   {
+      CompletableFuture<T> future = new CompletableFuture<T>();
+      Entry                entry  = new Entry( method, task, future );
+
+      if ( closed )
+      {
+         future.completeExceptionally(
+
+            SpiceErrorException.create(
+
+               "NativeExecutor.submit",
+
+               "SPICE(EXECUTORCLOSED)",
+
+               "The executor has been closed."  )  );
+
+         return ( future );
+      }
+
+      //
+      // One slot of the queue is kept for the request to stop.
+      //
+      if (  ( queue.remainingCapacity() <= 1 ) || !queue.offer( entry )  )
+      {
+         rejected.increment();
+
+         future.completeExceptionally(
+
+            SpiceErrorException.create(
+
+               "NativeExecutor.submit",
+
+               "SPICE(QUEUEFULL)",
+
+               "The queue of the executor holds " + queue.size() +
+               " tasks, its capacity."                              )  );
+
+         return ( future );
+      }
+
+      submitted.increment();
+
+      int depth = queue.size();
+      int max   = maxDepth.get();
+
+      while (  ( depth > max ) && !maxDepth.compareAndSet( max, depth )  )
+      {
+         max = maxDepth.get();
+      }
+
+      //
+      // A task queued as the owner thread stops is not run.
+      //
+      if (  terminated && queue.remove( entry )  )
+      {
+         entry.fail(  SpiceErrorException.create(
+
+                         "NativeExecutor.submit",
+
+                         "SPICE(EXECUTORCLOSED)",
+
+                         "The executor has been closed."  )  );
+      }
+
+      return ( future );
+   }
+
+
+   /**
+   Indicate whether the current thread is the owner thread of this
+   executor.
+   */
+   public boolean isOwnerThread()
+   {
+      return ( Thread.currentThread() == owner );
+   }
+
+
+   /**
+   Get the number of tasks waiting in the queue.
+   */
+   public int getQueueDepth()
+   {
+      return ( queue.size() );
+   }
+
+
+   /**
+   Get the largest number of tasks that have waited in the queue.
+   */
+   public int getMaxQueueDepth()
+   {
+      return ( maxDepth.get() );
+   }
+
+
+   /**
+   Get the number of tasks accepted.
+   */
+   public long getSubmittedCount()
+   {
+      return ( submitted.sum() );
+   }
+
+
+   /**
+   Get the number of tasks rejected because the queue was full.
+   */
+   public long getRejectedCount()
+   {
+      return ( rejected.sum() );
+   }
+
+
+   /**
+   Get the number of tasks run.
+   */
+   public long getCompletedCount()
+   {
+      return ( completed.sum() );
+   }
+
+
+   /**
+   Get the number of batches run.
+   */
+   public long getBatchCount()
+   {
+      return ( batches.sum() );
+   }
+
+
+   /**
+   Get the mean number of tasks run per batch.
+   */
+   public double getMeanBatchSize()
+   {
+      long n = batches.sum();
+
+      return (  ( n == 0 ) ? 0.0 : (double) completed.sum() / n  );
+   }
+
+
+   /**
+   Reset the statistics of this executor.
+   */
+   public void resetStatistics()
+   {
+      maxDepth .set  ( queue.size() );
+      submitted.reset();
+      rejected .reset();
+      completed.reset();
+      batches  .reset();
+   }
+
+
+   /**
+   Stop the owner thread once the tasks already queued have been run.
+   Tasks submitted afterward complete with the error
+   SPICE(EXECUTORCLOSED).
+   */
+   public void close()
+   {
+      if ( closed )
+      {
+         return;
+      }
+
+      closed = true;
+
+      try
+      {
+         queue.put( STOP );
+      }
+      catch ( InterruptedException exc )
+      {
+         Thread.currentThread().interrupt();
+      }
+   }
+
+
+   /**
+   Return a string describing the queue and batch statistics.
+   */
+   public String toString()
+   {
+      return (  "NativeExecutor[depth=" + getQueueDepth()     +
+                ", maxDepth="           + getMaxQueueDepth()  +
+                ", submitted="          + getSubmittedCount() +
+                ", rejected="           + getRejectedCount()  +
+                ", completed="          + getCompletedCount() +
+                ", batches="            + getBatchCount()     +
+                ", meanBatch="          + getMeanBatchSize()  + "]"  );
+   }
+
+
+
+   //
+   // Private Methods
+   //
+
+   /**
+   Run queued tasks in batches until the request to stop is taken.
+   */
+   private void serve()
+   {
+      ArrayList<Entry> batch = new ArrayList<Entry>( maxBatch );
+      boolean          stop  = false;
+
+      while ( !stop )
+      {
+         batch.clear();
+
+         try
+         {
+            batch.add( queue.take() );
+         }
+         catch ( InterruptedException exc )
+         {
+            continue;
+         }
+
+         queue.drainTo( batch, maxBatch - 1 );
+
+         synchronized ( CSPICE.class )
+         {
+            for ( Entry entry : batch )
+            {
+               if ( entry == STOP )
+               {
+                  stop = true;
+               }
+               else
+               {
+                  entry.run();
+               }
+            }
+         }
+
+         int n = 0;
+
+         for ( Entry entry : batch )
+         {
+            if ( entry != STOP )
+            {
+               entry.complete();
+
+               ++n;
+            }
+         }
+
+         if ( n > 0 )
+         {
+            completed.add( n );
+            batches.increment();
+         }
+      }
+
+      terminated = true;
+
+      //
+      // Fail the tasks queued after the request to stop.
+      //
+      batch.clear();
+
+      queue.drainTo( batch );
+
+      for ( Entry entry : batch )
+      {
+         entry.fail(  SpiceErrorException.create(
+
+                         "NativeExecutor.close",
+
+                         "SPICE(EXECUTORCLOSED)",
+
+                         "The executor has been closed."  )  );
+      }
+   }
+
+
+
+   //
+   // Private classes
+   //
+
+   /**
+   A queued task, its future, and its outcome once run.
+   */
+   private static class Entry extends Object
+   {
+      private final String                         method;
+      private final Task<Object>                   task;
+      private final CompletableFuture<Object>      future;
+      private final long                           queued;
+
+      private Object                               result;
+      private Throwable                            failure;
+
+
+      @SuppressWarnings( "unchecked" )
+      private Entry ( String                method,
+                      Task<?>               task,
+                      CompletableFuture<?>  future )
+      {
+         this.method = method;
+         this.task   = (Task<Object>)              task;
+         this.future = (CompletableFuture<Object>) future;
+
+         this.queued = (  ( method != null ) && CSPICEProfiler.isEnabled()  )
+                       ? System.nanoTime() : 0L;
+      }
+
+
+      /**
+      Run the task, recording its outcome.
+      */
+      private void run()
+      {
+         long start = ( queued != 0L ) ? System.nanoTime() : 0L;
+
+         try
+         {
+            result  = task.call();
+         }
+         catch ( Throwable exc )
+         {
+            failure = exc;
+         }
+
+         if ( queued != 0L )
+         {
+            CSPICEProfiler.record( method,
+                                   start - queued,
+                                   System.nanoTime() - start,
+                                   failure != null            );
+         }
+      }
+
+
+      /**
+      Complete the future with the recorded outcome.
+      */
+      private void complete()
+      {
+         if ( failure == null )
+         {
+            future.complete( result );
+         }
+         else
+         {
+            future.completeExceptionally( failure );
+         }
+      }
+
+
+      private void fail ( Throwable exc )
+      {
+         future.completeExceptionally( exc );
+      }
+   }
+}
@@ -0,0 +1,810 @@
+package spice.basic;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+Class NativeWorker is the main class of the worker processes started
+by {@link NativeWorkerPool}; it also holds the binary protocol the
+pool and its workers use to communicate.
+
+<p>
+A worker reads requests from its standard input and writes responses
+to its standard output. Each worker has its own JNISpice library and
+kernel pool, so workers evaluate CSPICE calls in parallel with one
+another. A worker exits when its standard input is closed, so workers
+do not outlive the process that started them.
+
+<p>
+Requests are framed as follows. All integers and doubles are written
+by {@link DataOutputStream}.
+
+<pre>
+   LOAD     op, file name
+   UNLOAD   op, file name
+   CLEAR    op
+   CALL     op, method name, call count, then for each call the
+            argument count and the arguments
+   EXIT     op
+</pre>
+
+<p>
+Each value is written as a one-byte tag followed by its data; arrays
+are preceded by their lengths. A response consists of a status byte,
+followed by an error message if the status is {@link #ERROR}. The
+response to a CALL request holds, for each call, the value returned
+and those arguments whose contents were changed by the call; the
+caller copies the latter into its own arrays, so CSPICE output
+arguments behave as they do in-process. Calls of a request are
+evaluated in order; the first one to fail ends the request.
+
+<p>
+Methods of {@link CSPICE} are located by name and argument types;
+the types are implied by the tags of the arguments.
+
+<p>
+This class is not meant to be used directly by applications.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+
+public final class NativeWorker extends Object
+{
+   //
+   // Protocol constants
+   //
+   static final int                     MAGIC         = 0x4E575250;
+   static final int                     VERSION       = 1;
+
+   static final byte                    LOAD          = 1;
+   static final byte                    UNLOAD        = 2;
+   static final byte                    CLEAR         = 3;
+   static final byte                    CALL          = 4;
+   static final byte                    EXIT          = 5;
+
+   static final byte                    OK            = 0;
+   static final byte                    ERROR         = 1;
+
+   //
+   // Value tags
+   //
+   static final byte                    NULL          = 0;
+   static final byte                    INT           = 1;
+   static final byte                    DOUBLE        = 2;
+   static final byte                    BOOLEAN       = 3;
+   static final byte                    STRING        = 4;
+   static final byte                    INT_ARRAY     = 5;
+   static final byte                    DOUBLE_ARRAY  = 6;
+   static final byte                    BOOLEAN_ARRAY = 7;
+   static final byte                    STRING_ARRAY  = 8;
+   static final byte                    INT_MATRIX    = 9;
+   static final byte                    DOUBLE_MATRIX = 10;
+
+   //
+   // Types of arguments, indexed by tag.
+   //
+   private static final Class<?>[]      TYPES         =
+
+      {  null,            int.class,        double.class,
+         boolean.class,   String.class,     int[].class,
+         double[].class,  boolean[].class,  String[].class,
+         int[][].class,   double[][].class                   };
+
+   //
+   // Fields
+   //
+   private final HashMap<String, Method> methods;
+
+   private final DataInputStream        in;
+   private final DataOutputStream       out;
+
+
+
+   //
+   // Constructors
+   //
+
+   private NativeWorker ( DataInputStream   in,
+                          DataOutputStream  out )
+   {
+      this.in      = in;
+      this.out     = out;
+      this.methods = new HashMap<String, Method>();
+   }
+
+
+
+   //
+   // Static Methods
+   //
+
+   /**
+   Serve requests read from standard input until it is closed or an
+   EXIT request is read.
+   */
+   public static void main ( String[] args )
+
+      throws IOException
+   {
+      //
+      // Responses are written to the original standard output; anything
+      // else printed by this process goes to standard error, so that it
+      // cannot corrupt the protocol.
+      //
+      DataOutputStream out = new DataOutputStream(
+                                new BufferedOutputStream(
+                                   new FileOutputStream( FileDescriptor.out ) ) );
+
+      DataInputStream  in  = new DataInputStream(
+                                new BufferedInputStream(
+                                   new FileInputStream( FileDescriptor.in ) ) );
+
+      System.setOut( System.err );
+
+      out.writeInt( MAGIC   );
+      out.writeInt( VERSION );
+
+      try
+      {
+         //
+         // Load the JNISpice library before reporting readiness.
+         //
+         CSPICE.tkvrsn( "TOOLKIT" );
+
+         out.writeByte( OK );
+      }
+      catch ( Throwable exc )
+      {
+         writeError( out, exc );
+         out.flush();
+
+         return;
+      }
+
+      out.flush();
+
+      new NativeWorker( in, out ).serve();
+   }
+
+
+   /**
+   Write a value preceded by its tag.
+   */
+   static void writeValue ( DataOutputStream  out,
+                            Object            value )
+
+      throws IOException
+   {
+      if ( value == null )
+      {
+         out.writeByte( NULL );
+      }
+      else if ( value instanceof Integer )
+      {
+         out.writeByte( INT );
+         out.writeInt ( ( (Integer) value ).intValue() );
+      }
+      else if ( value instanceof Double )
+      {
+         out.writeByte  ( DOUBLE );
+         out.writeDouble( ( (Double) value ).doubleValue() );
+      }
+      else if ( value instanceof Boolean )
+      {
+         out.writeByte   ( BOOLEAN );
+         out.writeBoolean( ( (Boolean) value ).booleanValue() );
+      }
+      else if ( value instanceof String )
+      {
+         out.writeByte( STRING );
+         out.writeUTF ( (String) value );
+      }
+      else if ( value instanceof int[] )
+      {
+         out.writeByte( INT_ARRAY );
+         writeInts    ( out, (int[]) value );
+      }
+      else if ( value instanceof double[] )
+      {
+         out.writeByte( DOUBLE_ARRAY );
+         writeDoubles ( out, (double[]) value );
+      }
+      else if ( value instanceof boolean[] )
+      {
+         boolean[] array = (boolean[]) value;
+
+         out.writeByte( BOOLEAN_ARRAY );
+         out.writeInt ( array.length  );
+
+         for ( int i = 0;  i < array.length;  i++ )
+         {
+            out.writeBoolean( array[i] );
+         }
+      }
+      else if ( value instanceof String[] )
+      {
+         String[] array = (String[]) value;
+
+         out.writeByte( STRING_ARRAY );
+         out.writeInt ( array.length );
+
+         for ( int i = 0;  i < array.length;  i++ )
+         {
+            out.writeUTF( array[i] );
+         }
+      }
+      else if ( value instanceof int[][] )
+      {
+         int[][] matrix = (int[][]) value;
+
+         out.writeByte( INT_MATRIX    );
+         out.writeInt ( matrix.length );
+
+         for ( int i = 0;  i < matrix.length;  i++ )
+         {
+            writeInts( out, matrix[i] );
+         }
+      }
+      else if ( value instanceof double[][] )
+      {
+         double[][] matrix = (double[][]) value;
+
+         out.writeByte( DOUBLE_MATRIX );
+         out.writeInt ( matrix.length );
+
+         for ( int i = 0;  i < matrix.length;  i++ )
+         {
+            writeDoubles( out, matrix[i] );
+         }
+      }
+      else
+      {
+         throw (  new IllegalArgumentException( value.getClass().getName() )  );
+      }
+   }
+
+
+   /**
+   Read a value preceded by its tag.
+   */
+   static Object readValue ( DataInputStream in )
+
+      throws IOException
+   {
+      byte tag = in.readByte();
+      int  n;
+
+      switch ( tag )
+      {
+         case NULL:
+
+            return ( null );
+
+         case INT:
+
+            return (  Integer.valueOf( in.readInt() )  );
+
+         case DOUBLE:
+
+            return (  Double.valueOf( in.readDouble() )  );
+
+         case BOOLEAN:
+
+            return (  Boolean.valueOf( in.readBoolean() )  );
+
+         case STRING:
+
+            return ( in.readUTF() );
+
+         case INT_ARRAY:
+
+            return (  readInts( in )  );
+
+         case DOUBLE_ARRAY:
+
+            return (  readDoubles( in )  );
+
+         case BOOLEAN_ARRAY:
+
+            boolean[] booleans = new boolean[ in.readInt() ];
+
+            for ( int i = 0;  i < booleans.length;  i++ )
+            {
+               booleans[i] = in.readBoolean();
+            }
+
+            return ( booleans );
+
+         case STRING_ARRAY:
+
+            String[] strings = new String[ in.readInt() ];
+
+            for ( int i = 0;  i < strings.length;  i++ )
+            {
+               strings[i] = in.readUTF();
+            }
+
+            return ( strings );
+
+         case INT_MATRIX:
+
+            int[][] ints = new int[ in.readInt() ][];
+
+            for ( int i = 0;  i < ints.length;  i++ )
+            {
+               ints[i] = readInts( in );
+            }
+
+            return ( ints );
+
+         case DOUBLE_MATRIX:
+
+            double[][] doubles = new double[ in.readInt() ][];
+
+            for ( int i = 0;  i < doubles.length;  i++ )
+            {
+               doubles[i] = readDoubles( in );
+            }
+
+            return ( doubles );
+
+         default:
+
+            throw (  new IOException( "Unknown value tag " + tag )  );
+      }
+   }
+
+
+   /**
+   Write an ERROR status and the message of `exc'. The message of a
+   SpiceException is passed unchanged, so that it can be thrown again
+   by the caller.
+   */
+   static void writeError ( DataOutputStream  out,
+                            Throwable         exc )
+
+      throws IOException
+   {
+      String message;
+
+      if ( exc instanceof SpiceException )
+      {
+         message = exc.getMessage();
+      }
+      else
+      {
+         message = SpiceErrorException.create(
+
+            "NativeWorker",
+
+            "SPICE(WORKERFAILED)",
+
+            "Worker process failed: " + exc ).getMessage();
+      }
+
+      //
+      // writeUTF is limited to 65535 bytes.
+      //
+      if ( message.length() > 16000 )
+      {
+         message = message.substring( 0, 16000 );
+      }
+
+      out.writeByte( ERROR   );
+      out.writeUTF ( message );
+   }
+
+
+
+   //
+   // Private Methods
+   //
+
+   private static void writeInts ( DataOutputStream  out,
+                                   int[]             array )
+
+      throws IOException
+   {
+      out.writeInt( array.length );
+
+      for ( int i = 0;  i < array.length;  i++ )
+      {
+         out.writeInt( array[i] );
+      }
+   }
+
+
+   private static void writeDoubles ( DataOutputStream  out,
+                                      double[]          array )
+
+      throws IOException
+   {
+      out.writeInt( array.length );
+
+      for ( int i = 0;  i < array.length;  i++ )
+      {
+         out.writeDouble( array[i] );
+      }
+   }
+
+
+   private static int[] readInts ( DataInputStream in )
+
+      throws IOException
+   {
+      int[] array = new int[ in.readInt() ];
+
+      for ( int i = 0;  i < array.length;  i++ )
+      {
+         array[i] = in.readInt();
+      }
+
+      return ( array );
+   }
+
+
+   private static double[] readDoubles ( DataInputStream in )
+
+      throws IOException
+   {
+      double[] array = new double[ in.readInt() ];
+
+      for ( int i = 0;  i < array.length;  i++ )
+      {
+         array[i] = in.readDouble();
+      }
+
+      return ( array );
+   }
+
+
+   /**
+   Make a copy of `value' if it is an array, so that changes made by a
+   call can be detected.
+   */
+   private static Object copy ( Object value )
+   {
+      if ( value instanceof int[] )
+      {
+         return (  ( (int[]) value ).clone()  );
+      }
+      else if ( value instanceof double[] )
+      {
+         return (  ( (double[]) value ).clone()  );
+      }
+      else if ( value instanceof boolean[] )
+      {
+         return (  ( (boolean[]) value ).clone()  );
+      }
+      else if ( value instanceof String[] )
+      {
+         return (  ( (String[]) value ).clone()  );
+      }
+      else if ( value instanceof int[][] )
+      {
+         int[][] matrix = ( (int[][]) value ).clone();
+
+         for ( int i = 0;  i < matrix.length;  i++ )
+         {
+            matrix[i] = matrix[i].clone();
+         }
+
+         return ( matrix );
+      }
+      else if ( value instanceof double[][] )
+      {
+         double[][] matrix = ( (double[][]) value ).clone();
+
+         for ( int i = 0;  i < matrix.length;  i++ )
+         {
+            matrix[i] = matrix[i].clone();
+         }
+
+         return ( matrix );
+      }
+
+      return ( null );
+   }
+
+
+   /**
+   Indicate whether the array `value' differs from its copy `before'.
+   */
+   private static boolean changed ( Object  before,
+                                    Object  value   )
+   {
+      if ( before == null )
+      {
+         return ( false );
+      }
+      else if ( value instanceof int[] )
+      {
+         return (  !Arrays.equals( (int[]) before, (int[]) value )  );
+      }
+      else if ( value instanceof double[] )
+      {
+         return (  !Arrays.equals( (double[]) before, (double[]) value )  );
+      }
+      else if ( value instanceof boolean[] )
+      {
+         return (  !Arrays.equals( (boolean[]) before, (boolean[]) value )  );
+      }
+
+      return (  !Arrays.deepEquals( (Object[]) before, (Object[]) value )  );
+   }
+
+
+   /**
+   Serve requests until standard input is closed.
+   */
+   private void serve()
+
+      throws IOException
+   {
+      while ( true )
+      {
+         byte op;
+
+         try
+         {
+            op = in.readByte();
+         }
+         catch ( EOFException exc )
+         {
+            return;
+         }
+
+         if ( op == EXIT )
+         {
+            return;
+         }
+
+         try
+         {
+            if ( op == CALL )
+            {
+               call();
+            }
+            else
+            {
+               String file = ( op == CLEAR ) ? null : in.readUTF();
+
+               if ( op == LOAD )
+               {
+                  CSPICE.furnsh( file );
+               }
+               else if ( op == UNLOAD )
+               {
+                  CSPICE.unload( file );
+               }
+               else if ( op == CLEAR )
+               {
+                  CSPICE.kclear();
+               }
+               else
+               {
+                  throw (  new IOException( "Unknown request " + op )  );
+               }
+
+               out.writeByte( OK );
+            }
+         }
+         catch ( SpiceException exc )
+         {
+            writeError( out, exc );
+         }
+
+         out.flush();
+      }
+   }
+
+
+   /**
+   Evaluate the calls of a CALL request. The response is buffered
+   until all calls have been evaluated, since any one of them may
+   fail.
+   */
+   private void call()
+
+      throws IOException, SpiceException
+   {
+      String     name   = in.readUTF();
+      int        ncalls = in.readInt();
+
+      Object[][] args   = new Object[ncalls][];
+
+      for ( int i = 0;  i < ncalls;  i++ )
+      {
+         args[i] = new Object[ in.readUnsignedByte() ];
+
+         for ( int j = 0;  j < args[i].length;  j++ )
+         {
+            args[i][j] = readValue( in );
+         }
+      }
+
+      ByteArrayOutputStream buffer   = new ByteArrayOutputStream();
+      DataOutputStream      response = new DataOutputStream(
+                                          new BufferedOutputStream( buffer ) );
+      Method                method   = null;
+
+      response.writeByte( OK );
+
+      for ( int i = 0;  i < ncalls;  i++ )
+      {
+         //
+         // Calls of a request normally have arguments of the same types.
+         //
+         if (  ( i == 0 ) || !sameTypes( args[i-1], args[i] )  )
+         {
+            method = getMethod( name, args[i] );
+         }
+
+         Object[] before = new Object[ args[i].length ];
+
+         for ( int j = 0;  j < args[i].length;  j++ )
+         {
+            before[j] = copy( args[i][j] );
+         }
+
+         Object result;
+
+         try
+         {
+            result = method.invoke( null, args[i] );
+         }
+         catch ( InvocationTargetException exc )
+         {
+            if ( exc.getCause() instanceof SpiceException )
+            {
+               throw (  (SpiceException) exc.getCause()  );
+            }
+
+            throw (  failure( name, exc.getCause() )  );
+         }
+         catch ( Exception exc )
+         {
+            throw (  failure( name, exc )  );
+         }
+
+         writeValue( response, result );
+
+         response.writeByte( args[i].length );
+
+         for ( int j = 0;  j < args[i].length;  j++ )
+         {
+            writeValue( response,
+                        changed( before[j], args[i][j] ) ? args[i][j] : null );
+         }
+      }
+
+      response.flush();
+
+      buffer.writeTo( out );
+   }
+
+
+   /**
+   Indicate whether the arguments `a' and `b' are of the same types.
+   */
+   private static boolean sameTypes ( Object[]  a,
+                                      Object[]  b )
+   {
+      if ( a.length != b.length )
+      {
+         return ( false );
+      }
+
+      for ( int i = 0;  i < a.length;  i++ )
+      {
+         if (    ( a[i] == null )
+              || ( b[i] == null )
+              || ( a[i].getClass() != b[i].getClass() )  )
+         {
+            return ( false );
+         }
+      }
+
+      return ( true );
+   }
+
+
+   /**
+   Find the method of CSPICE named `name' that accepts `args'.
+   */
+   private Method getMethod ( String    name,
+                              Object[]  args )
+
+      throws SpiceException
+   {
+      Class<?>[]    types = new Class<?>[ args.length ];
+      StringBuilder key   = new StringBuilder( name );
+
+      for ( int i = 0;  i < args.length;  i++ )
+      {
+         types[i] = getType( args[i] );
+
+         key.append( ' ' ).append( types[i].getName() );
+      }
+
+      Method method = methods.get( key.toString() );
+
+      if ( method == null )
+      {
+         try
+         {
+            method = CSPICE.class.getMethod( name, types );
+         }
+         catch ( NoSuchMethodException exc )
+         {
+            SpiceErrorException spexc = SpiceErrorException.create(
+
+               "NativeWorker.getMethod",
+
+               "SPICE(NOSUCHMETHOD)",
+
+               "CSPICE has no method " + key + "."  );
+
+            throw ( spexc );
+         }
+
+         methods.put( key.toString(), method );
+      }
+
+      return ( method );
+   }
+
+
+   private static Class<?> getType ( Object value )
+
+      throws SpiceException
+   {
+      for ( int i = 1;  i < TYPES.length;  i++ )
+      {
+         if (    TYPES[i].isInstance( value )
+              || ( TYPES[i] == int.class     && value instanceof Integer )
+              || ( TYPES[i] == double.class  && value instanceof Double  )
+              || ( TYPES[i] == boolean.class && value instanceof Boolean )  )
+         {
+            return ( TYPES[i] );
+         }
+      }
+
+      SpiceErrorException exc = SpiceErrorException.create(
+
+         "NativeWorker.getType",
+
+         "SPICE(UNSUPPORTEDTYPE)",
+
+         "Arguments of type " +
+         ( ( value == null ) ? "null" : value.getClass().getName() ) +
+         " cannot be passed to a worker."                               );
+
+      throw ( exc );
+   }
+
+
+   private static SpiceErrorException failure ( String     name,
+                                                Throwable  exc  )
+   {
+      return (  SpiceErrorException.create(
+
+                   "NativeWorker.call",
+
+                   "SPICE(WORKERFAILED)",
+
+                   "Call of CSPICE." + name + " failed: " + exc )  );
+   }
+}
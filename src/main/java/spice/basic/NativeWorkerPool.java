@@ -0,0 +1,1177 @@
+package spice.basic;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+Class NativeWorkerPool evaluates calls of {@link CSPICE} methods in
+a set of worker processes, so that CSPICE computations can use all
+processors of a host.
+
+<p>
+The methods of CSPICE are synchronized, and CSPICE keeps its state,
+such as the kernel pool and the loaded SPK and CK files, in global
+variables; a single JVM evaluates one CSPICE call at a time. Each
+worker of a pool is a separate JVM, started with the Java runtime,
+class path and library path of the current one, running
+{@link NativeWorker}. Workers exchange requests and responses with
+the pool over their standard input and output using a compact binary
+protocol.
+
+<p>
+The pool keeps the kernel set of its workers identical: kernels
+loaded by {@link #load(String)} are loaded by every worker, and a
+worker started to replace one that has failed loads them again
+before use. Kernels loaded in the current JVM by {@link KernelDatabase}
+are not seen by the workers.
+
+<p>
+Calls are named as the CSPICE methods they invoke, with arguments of
+the types those methods take; output arguments are filled in as if
+the methods had been called directly. For example
+<pre>
+   double[] state = new double[6];
+   double[] lt    = new double[1];
+
+   pool.invoke ( "spkezr", "MOON", et, "J2000", "LT+S", "EARTH", state, lt );
+</pre>
+
+<p>
+Routing keeps the CSPICE buffers of each worker warm:
+
+<ul>
+<li>{@link #invokeByKey(Object, String, Object...)} sends every call with
+the same affinity key, for example a target or instrument, to the
+same worker.</li>
+
+<li>{@link #invokeAll(String, Object[][])} gives each worker one
+contiguous range of the calls, so that a batch ordered by time
+touches few segments in each worker. Calls are sent in frames of many
+calls, so that the cost of communication is shared among them.</li>
+
+<li>{@link #invokeSplit(String, Object[], int)} divides the
+confinement window of a GF search among the workers, and merges the
+windows they find.</li>
+</ul>
+
+<p>
+Errors signaled by CSPICE in a worker are thrown again by the pool as
+{@link SpiceErrorException}s with the same messages. A worker whose
+process fails is replaced, and the request it was serving fails with
+the error SPICE(WORKERFAILED). If a kernel request fails in any
+worker, every worker is restarted with the kernels the pool had
+before the request, so that all workers keep the same kernel set.
+
+<p>
+Instances may be shared by any number of threads. Workers exit when
+the pool is closed, or when the JVM that started them exits.
+
+<h3>Version 1.1.0 18-OCT-2026</h3>
+
+<p> Calls without an affinity key wait for the first worker to become
+idle rather than for one chosen in advance. Workers are restarted
+after a kernel request that fails in some of them.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+
+public class NativeWorkerPool extends Object implements Closeable
+{
+   //
+   // Private constants
+   //
+
+   //
+   // Maximum number of calls sent to a worker in one request.
+   //
+   private static final int                  MAX_BATCH = 4096;
+
+   //
+   // Fields
+   //
+   private final List<String>                command;
+   private final ArrayList<String>           kernels;
+   private final Worker[]                    workers;
+   private final ExecutorService             executor;
+   private final AtomicInteger               next;
+
+   //
+   // Monitor notified whenever a worker is released.
+   //
+   private final Object                      idle      = new Object();
+
+   private volatile boolean                  closed;
+
+
+
+   //
+   // Constructors
+   //
+
+   /**
+   Start a pool of `nWorkers' worker processes.
+   */
+   public NativeWorkerPool ( int nWorkers )
+
+      throws SpiceException
+   {
+      this ( nWorkers, new ArrayList<String>() );
+   }
+
+
+   /**
+   Start a pool of `nWorkers' worker processes, passing the options
+   `jvmOptions', for example a maximum heap size, to their JVMs.
+   */
+   public NativeWorkerPool ( int           nWorkers,
+                             List<String>  jvmOptions )
+
+      throws SpiceException
+   {
+      if ( nWorkers < 1 )
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            "NativeWorkerPool",
+
+            "SPICE(INVALIDCOUNT)",
+
+            "The number of workers must be at least 1 but was " +
+            nWorkers + "."                                         );
+
+         throw ( exc );
+      }
+
+      String java = System.getProperty( "java.home" ) + File.separator +
+                    "bin"                             + File.separator + "java";
+
+      command = new ArrayList<String>();
+
+      command.add   ( java );
+      command.addAll( jvmOptions );
+      command.add   ( "-Djava.library.path=" +
+                      System.getProperty( "java.library.path" ) );
+      command.add   ( "-cp" );
+      command.add   ( System.getProperty( "java.class.path" ) );
+      command.add   ( NativeWorker.class.getName() );
+
+      kernels  = new ArrayList<String>();
+      workers  = new Worker[nWorkers];
+      next     = new AtomicInteger();
+
+      executor = Executors.newFixedThreadPool( nWorkers,
+
+         new ThreadFactory()
+         {
+            public Thread newThread ( Runnable r )
+            {
+               Thread thread = new Thread( r, "NativeWorkerPool" );
+
+               thread.setDaemon( true );
+
+               return ( thread );
+            }
+         } );
+
+      try
+      {
+         for ( int i = 0;  i < nWorkers;  i++ )
+         {
+            workers[i] = new Worker();
+
+            workers[i].start();
+         }
+      }
+      catch ( SpiceException exc )
+      {
+         close();
+
+         throw ( exc );
+      }
+   }
+
+
+
+   //
+   // Instance Methods
+   //
+
+   /**
+   Get the number of workers.
+   */
+   public int getWorkerCount()
+   {
+      return ( workers.length );
+   }
+
+
+   /**
+   Get the names of the kernels loaded by the workers, in load order.
+   */
+   public String[] getKernels()
+   {
+      synchronized ( kernels )
+      {
+         return (  kernels.toArray( new String[0] )  );
+      }
+   }
+
+
+   /**
+   Load the kernel `file' in every worker.
+   */
+   public void load ( String file )
+
+      throws SpiceException
+   {
+      broadcast( NativeWorker.LOAD, file );
+   }
+
+
+   /**
+   Unload the kernel `file' from every worker.
+   */
+   public void unload ( String file )
+
+      throws SpiceException
+   {
+      broadcast( NativeWorker.UNLOAD, file );
+   }
+
+
+   /**
+   Unload all kernels from every worker.
+   */
+   public void clear()
+
+      throws SpiceException
+   {
+      broadcast( NativeWorker.CLEAR, null );
+   }
+
+
+   /**
+   Call the CSPICE method `method' with the arguments `args' in any
+   idle worker, and return the value it returns, or null if it is
+   void.
+   */
+   public Object invoke ( String     method,
+                          Object...  args   )
+
+      throws SpiceException
+   {
+      return (  invokeByKey( null, method, args )  );
+   }
+
+
+   /**
+   Call the CSPICE method `method' with the arguments `args', and
+   return the value it returns, or null if it is void. Calls with
+   equal, non-null affinity keys are evaluated by the same worker;
+   calls with a null key are evaluated by any idle worker.
+   */
+   public Object invokeByKey ( Object     affinity,
+                               String     method,
+                               Object...  args     )
+
+      throws SpiceException
+   {
+      Worker worker = ( affinity == null ) ? acquire()
+                                           : acquire( affinity.hashCode() );
+      try
+      {
+         return (  worker.call( method, new Object[][] { args } )[0]  );
+      }
+      finally
+      {
+         release( worker );
+      }
+   }
+
+
+   /**
+   Start a call of the CSPICE method `method' with the arguments
+   `args', and return a Future holding the value it returns. Output
+   arguments are filled in once the Future is done. Calls with equal,
+   non-null affinity keys are evaluated by the same worker.
+   */
+   public Future<Object> submit ( final Object     affinity,
+                                  final String     method,
+                                  final Object...  args     )
+   {
+      return (  executor.submit(
+
+                   new Callable<Object>()
+                   {
+                      public Object call()
+
+                         throws SpiceException
+                      {
+                         return (  invokeByKey( affinity, method, args )  );
+                      }
+                   } )  );
+   }
+
+
+   /**
+   Call the CSPICE method `method' once for each set of arguments of
+   `args', and return the values returned by the calls, in order.
+   Each worker evaluates one contiguous range of the calls.
+   */
+   public Object[] invokeAll ( String      method,
+                               Object[][]  args   )
+
+      throws SpiceException
+   {
+      final Object[]            results = new Object[ args.length ];
+      ArrayList<Callable<Void>> tasks   = new ArrayList<Callable<Void>>();
+
+      int n = workers.length;
+
+      for ( int i = 0;  i < n;  i++ )
+      {
+         int begin = (int) ( (long) args.length *  i      / n );
+         int end   = (int) ( (long) args.length * (i + 1) / n );
+
+         if ( begin < end )
+         {
+            tasks.add(  range( i, method, args, results, begin, end )  );
+         }
+      }
+
+      run( tasks, "NativeWorkerPool.invokeAll" );
+
+      return ( results );
+   }
+
+
+   /**
+   Perform a GF search by calling the CSPICE method `method' with the
+   arguments `args', dividing the confinement window, which is the
+   argument at index `windowIndex', into pieces of equal measure, one
+   for each worker. The method must return a window; the union of the
+   windows found by the workers is returned.
+
+   <p>
+   The search must be one whose result on a window is the union of its
+   results on the pieces of the window: a search for a relational
+   condition or for local extrema. Searches for absolute extrema must
+   be evaluated by {@link #invoke(String, Object...)}. The number of
+   intervals in the workspace of each worker is the one given in
+   `args'.
+   */
+   public double[] invokeSplit ( String    method,
+                                 Object[]  args,
+                                 int       windowIndex )
+
+      throws SpiceException
+   {
+      if (    ( windowIndex < 0           )
+           || ( windowIndex >= args.length )
+           || !( args[windowIndex] instanceof double[] )  )
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            "NativeWorkerPool.invokeSplit",
+
+            "SPICE(INDEXOUTOFRANGE)",
+
+            "Argument " + windowIndex + " is not a confinement window." );
+
+         throw ( exc );
+      }
+
+      double[][]                pieces  = split( (double[]) args[windowIndex],
+                                                 workers.length              );
+
+      final Object[]            results = new Object[ pieces.length ];
+      Object[][]                calls   = new Object[ pieces.length ][];
+      ArrayList<Callable<Void>> tasks   = new ArrayList<Callable<Void>>();
+
+      for ( int i = 0;  i < pieces.length;  i++ )
+      {
+         calls[i]              = args.clone();
+         calls[i][windowIndex] = pieces[i];
+
+         tasks.add(  range( i, method, calls, results, i, i + 1 )  );
+      }
+
+      run( tasks, "NativeWorkerPool.invokeSplit" );
+
+      //
+      // The pieces are disjoint and in order, so the windows found are
+      // as well, except that intervals may meet at the boundaries of
+      // the pieces.
+      //
+      double[] union = new double[0];
+      int      size  = 0;
+
+      for ( Object result : results )
+      {
+         double[] window = (double[]) result;
+
+         union = Arrays.copyOf( union, size + window.length );
+
+         for ( int j = 0;  j < window.length;  j += 2 )
+         {
+            if (  ( size > 0 ) && ( window[j] <= union[size-1] )  )
+            {
+               union[size-1] = Math.max( union[size-1], window[j+1] );
+            }
+            else
+            {
+               union[size++] = window[j];
+               union[size++] = window[j+1];
+            }
+         }
+      }
+
+      return (  Arrays.copyOf( union, size )  );
+   }
+
+
+   /**
+   Stop the workers.
+   */
+   public void close()
+   {
+      closed = true;
+
+      executor.shutdownNow();
+
+      synchronized ( idle )
+      {
+         idle.notifyAll();
+      }
+
+      for ( Worker worker : workers )
+      {
+         if ( worker != null )
+         {
+            worker.lock.lock();
+
+            try
+            {
+               worker.stop();
+            }
+            finally
+            {
+               release( worker );
+            }
+         }
+      }
+   }
+
+
+
+   //
+   // Private Methods
+   //
+
+   /**
+   Divide `window' into at most `n' windows of equal measure.
+   */
+   private static double[][] split ( double[]  window,
+                                     int       n       )
+   {
+      double measure = 0.0;
+
+      for ( int i = 0;  i < window.length;  i += 2 )
+      {
+         measure += window[i+1] - window[i];
+      }
+
+      ArrayList<double[]> pieces = new ArrayList<double[]>();
+      double[]            piece  = new double[0];
+
+      double share = measure / n;
+      double room  = share;
+
+      for ( int i = 0;  i < window.length;  i += 2 )
+      {
+         double left = window[i];
+
+         while (    ( pieces.size() < n - 1       )
+                 && ( window[i+1] - left > room   )
+                 && ( room > 0.0                  )  )
+         {
+            piece = append( piece, left, left + room );
+
+            pieces.add( piece );
+
+            left  = left + room;
+            piece = new double[0];
+            room  = share;
+         }
+
+         piece = append( piece, left, window[i+1] );
+         room -= window[i+1] - left;
+      }
+
+      if (  ( piece.length > 0 ) || pieces.isEmpty()  )
+      {
+         pieces.add( piece );
+      }
+
+      return (  pieces.toArray( new double[0][] )  );
+   }
+
+
+   private static double[] append ( double[]  window,
+                                    double    left,
+                                    double    right   )
+   {
+      double[] result = Arrays.copyOf( window, window.length + 2 );
+
+      result[ window.length     ] = left;
+      result[ window.length + 1 ] = right;
+
+      return ( result );
+   }
+
+
+   /**
+   Copy the contents of the array `value' into the array `target' of
+   the same type and shape.
+   */
+   private static void copyInto ( Object  value,
+                                  Object  target )
+   {
+      if ( value instanceof int[][] )
+      {
+         int[][] source = (int[][]) value;
+
+         for ( int i = 0;  i < source.length;  i++ )
+         {
+            System.arraycopy( source[i], 0, ( (int[][]) target )[i], 0,
+                              source[i].length                           );
+         }
+      }
+      else if ( value instanceof double[][] )
+      {
+         double[][] source = (double[][]) value;
+
+         for ( int i = 0;  i < source.length;  i++ )
+         {
+            System.arraycopy( source[i], 0, ( (double[][]) target )[i], 0,
+                              source[i].length                              );
+         }
+      }
+      else
+      {
+         System.arraycopy( value, 0, target, 0, Array.getLength( value ) );
+      }
+   }
+
+
+   /**
+   Make a task that evaluates calls `begin' through `end'-1 of `args'
+   in worker `index', storing the values returned in `results'.
+   */
+   private Callable<Void> range ( final int         index,
+                                  final String      method,
+                                  final Object[][]  args,
+                                  final Object[]    results,
+                                  final int         begin,
+                                  final int         end      )
+   {
+      return (  new Callable<Void>()
+                {
+                   public Void call()
+
+                      throws SpiceException
+                   {
+                      Worker worker = acquire( index );
+
+                      try
+                      {
+                         for ( int i = begin;  i < end;  i += MAX_BATCH )
+                         {
+                            int      n     = Math.min( MAX_BATCH, end - i );
+
+                            Object[] batch = worker.call(
+
+                               method, Arrays.copyOfRange( args, i, i + n ) );
+
+                            System.arraycopy( batch, 0, results, i, n );
+                         }
+                      }
+                      finally
+                      {
+                         release( worker );
+                      }
+
+                      return ( null );
+                   }
+                }  );
+   }
+
+
+   /**
+   Run `tasks' and wait for them to finish, throwing the first
+   exception thrown by any of them.
+   */
+   private void run ( List<Callable<Void>>  tasks,
+                      String                caller )
+
+      throws SpiceException
+   {
+      try
+      {
+         List<Future<Void>> futures = executor.invokeAll( tasks );
+
+         for ( Future<Void> future : futures )
+         {
+            future.get();
+         }
+      }
+      catch ( InterruptedException exc )
+      {
+         Thread.currentThread().interrupt();
+
+         SpiceErrorException spexc = SpiceErrorException.create(
+
+            caller,
+
+            "SPICE(INTERRUPTED)",
+
+            "The calls were interrupted."  );
+
+         throw ( spexc );
+      }
+      catch ( ExecutionException exc )
+      {
+         if ( exc.getCause() instanceof SpiceException )
+         {
+            throw (  (SpiceException) exc.getCause()  );
+         }
+
+         SpiceErrorException spexc = SpiceErrorException.create(
+
+            caller,
+
+            "SPICE(BUG)",
+
+            "The calls failed: " + exc.getCause()  );
+
+         throw ( spexc );
+      }
+   }
+
+
+   /**
+   Lock and return an idle worker, or wait for the first worker to
+   become idle if all are busy.
+   */
+   private Worker acquire()
+
+      throws SpiceException
+   {
+      int start = next.getAndIncrement() & Integer.MAX_VALUE;
+
+      //
+      // Workers are released before `idle' is notified, so a worker
+      // released after the search below is seen by the wait.
+      //
+      synchronized ( idle )
+      {
+         while ( true )
+         {
+            for ( int i = 0;  i < workers.length;  i++ )
+            {
+               Worker worker = workers[ ( start + i ) % workers.length ];
+
+               if ( worker.lock.tryLock() )
+               {
+                  return (  checkOpen( worker )  );
+               }
+            }
+
+            if ( closed )
+            {
+               throw (  poolClosed()  );
+            }
+
+            try
+            {
+               idle.wait();
+            }
+            catch ( InterruptedException exc )
+            {
+               Thread.currentThread().interrupt();
+
+               SpiceErrorException spexc = SpiceErrorException.create(
+
+                  "NativeWorkerPool",
+
+                  "SPICE(INTERRUPTED)",
+
+                  "The wait for an idle worker was interrupted."  );
+
+               throw ( spexc );
+            }
+         }
+      }
+   }
+
+
+   /**
+   Lock and return the worker selected by `key'.
+   */
+   private Worker acquire ( int key )
+
+      throws SpiceException
+   {
+      Worker worker = workers[ ( key & Integer.MAX_VALUE ) % workers.length ];
+
+      worker.lock.lock();
+
+      return (  checkOpen( worker )  );
+   }
+
+
+   /**
+   Unlock `worker' and wake the threads waiting for an idle worker.
+   */
+   private void release ( Worker worker )
+   {
+      worker.lock.unlock();
+
+      synchronized ( idle )
+      {
+         idle.notifyAll();
+      }
+   }
+
+
+   private Worker checkOpen ( Worker worker )
+
+      throws SpiceException
+   {
+      if ( closed )
+      {
+         release( worker );
+
+         throw (  poolClosed()  );
+      }
+
+      return ( worker );
+   }
+
+
+   private static SpiceErrorException poolClosed()
+   {
+      return (  SpiceErrorException.create(
+
+                   "NativeWorkerPool",
+
+                   "SPICE(POOLCLOSED)",
+
+                   "The worker pool has been closed." )  );
+   }
+
+
+   /**
+   Send a kernel request to every worker. All workers are locked
+   first, so that no call sees workers with different kernel sets.
+   */
+   private void broadcast ( byte    op,
+                            String  file )
+
+      throws SpiceException
+   {
+      int locked = 0;
+
+      try
+      {
+         for ( ;  locked < workers.length;  locked++ )
+         {
+            workers[locked].lock.lock();
+         }
+
+         if ( closed )
+         {
+            throw (  poolClosed()  );
+         }
+
+         SpiceException failure = null;
+
+         for ( Worker worker : workers )
+         {
+            try
+            {
+               worker.request( op, file );
+            }
+            catch ( SpiceException exc )
+            {
+               if ( failure == null )
+               {
+                  failure = exc;
+               }
+            }
+         }
+
+         if ( failure != null )
+         {
+            //
+            // The request may have been applied by some workers and
+            // not by others, or applied in part by a worker in which
+            // it failed. Every worker is restarted, loading the
+            // kernels in `kernels', which the request has not changed.
+            //
+            for ( Worker worker : workers )
+            {
+               worker.reset();
+            }
+
+            throw ( failure );
+         }
+
+         synchronized ( kernels )
+         {
+            if ( op == NativeWorker.LOAD )
+            {
+               kernels.add( file );
+            }
+            else if ( op == NativeWorker.UNLOAD )
+            {
+               kernels.remove( file );
+            }
+            else
+            {
+               kernels.clear();
+            }
+         }
+      }
+      finally
+      {
+         for ( int i = 0;  i < locked;  i++ )
+         {
+            release( workers[i] );
+         }
+      }
+   }
+
+
+
+   //
+   // Private classes
+   //
+
+   /**
+   A worker process. A worker is used by one thread at a time, which
+   holds its lock.
+   */
+   private class Worker extends Object
+   {
+      private final ReentrantLock            lock = new ReentrantLock();
+
+      private Process                        process;
+      private DataInputStream                in;
+      private DataOutputStream               out;
+
+
+      /**
+      Start the worker process and load the kernels of the pool.
+      */
+      private void start()
+
+         throws SpiceException
+      {
+         try
+         {
+            ProcessBuilder builder = new ProcessBuilder( command );
+
+            builder.redirectError( ProcessBuilder.Redirect.INHERIT );
+
+            process = builder.start();
+
+            in  = new DataInputStream(
+                     new BufferedInputStream( process.getInputStream() ) );
+
+            out = new DataOutputStream(
+                     new BufferedOutputStream( process.getOutputStream() ) );
+
+            if (    ( in.readInt() != NativeWorker.MAGIC   )
+                 || ( in.readInt() != NativeWorker.VERSION )  )
+            {
+               throw (  new IOException( "Unexpected worker protocol." )  );
+            }
+
+            readStatus();
+
+            for ( String file : getKernels() )
+            {
+               send( NativeWorker.LOAD, file );
+            }
+         }
+         catch ( IOException exc )
+         {
+            stop();
+
+            throw (  failure( "start", exc )  );
+         }
+         catch ( SpiceException exc )
+         {
+            stop();
+
+            throw ( exc );
+         }
+      }
+
+
+      /**
+      Stop the worker process.
+      */
+      private void stop()
+      {
+         if ( process == null )
+         {
+            return;
+         }
+
+         try
+         {
+            out.writeByte( NativeWorker.EXIT );
+            out.close();
+
+            process.waitFor( 1, TimeUnit.SECONDS );
+         }
+         catch ( IOException exc )
+         {
+            //
+            // The process has already exited.
+            //
+         }
+         catch ( InterruptedException exc )
+         {
+            Thread.currentThread().interrupt();
+         }
+         finally
+         {
+            process.destroy();
+
+            process = null;
+         }
+      }
+
+
+      /**
+      Send a kernel request and read the response.
+      */
+      private void request ( byte    op,
+                             String  file )
+
+         throws SpiceException
+      {
+         ensureStarted();
+
+         try
+         {
+            send( op, file );
+         }
+         catch ( IOException exc )
+         {
+            throw (  restart( exc )  );
+         }
+      }
+
+
+      private void send ( byte    op,
+                          String  file )
+
+         throws IOException, SpiceException
+      {
+         out.writeByte( op );
+
+         if ( file != null )
+         {
+            out.writeUTF( file );
+         }
+
+         out.flush();
+
+         readStatus();
+      }
+
+
+      /**
+      Evaluate calls of `method' with the arguments `args', filling in
+      output arguments, and return the values returned by the calls.
+      */
+      private Object[] call ( String      method,
+                              Object[][]  args    )
+
+         throws SpiceException
+      {
+         //
+         // The request is encoded before it is sent, so that an
+         // argument that cannot be encoded leaves the stream intact.
+         //
+         ByteArrayOutputStream buffer  = new ByteArrayOutputStream();
+         DataOutputStream      request = new DataOutputStream(
+                                            new BufferedOutputStream( buffer ) );
+
+         try
+         {
+            request.writeByte( NativeWorker.CALL );
+            request.writeUTF ( method );
+            request.writeInt ( args.length );
+
+            for ( Object[] callArgs : args )
+            {
+               request.writeByte( callArgs.length );
+
+               for ( Object arg : callArgs )
+               {
+                  NativeWorker.writeValue( request, arg );
+               }
+            }
+
+            request.flush();
+         }
+         catch ( IllegalArgumentException exc )
+         {
+            SpiceErrorException spexc = SpiceErrorException.create(
+
+               "NativeWorkerPool.invoke",
+
+               "SPICE(UNSUPPORTEDTYPE)",
+
+               "Arguments of type " + exc.getMessage() +
+               " cannot be passed to a worker."          );
+
+            throw ( spexc );
+         }
+         catch ( IOException exc )
+         {
+            throw (  failure( method, exc )  );
+         }
+
+         ensureStarted();
+
+         try
+         {
+            buffer.writeTo( out );
+            out.flush();
+
+            readStatus();
+
+            Object[] results = new Object[ args.length ];
+
+            for ( int i = 0;  i < args.length;  i++ )
+            {
+               results[i] = NativeWorker.readValue( in );
+
+               int n = in.readUnsignedByte();
+
+               for ( int j = 0;  j < n;  j++ )
+               {
+                  Object value = NativeWorker.readValue( in );
+
+                  if ( value != null )
+                  {
+                     copyInto( value, args[i][j] );
+                  }
+               }
+            }
+
+            return ( results );
+         }
+         catch ( IOException exc )
+         {
+            throw (  restart( exc )  );
+         }
+      }
+
+
+      private void ensureStarted()
+
+         throws SpiceException
+      {
+         if ( process == null )
+         {
+            start();
+         }
+      }
+
+
+      /**
+      Read a response status, throwing the exception it reports.
+      */
+      private void readStatus()
+
+         throws IOException, SpiceException
+      {
+         if ( in.readByte() == NativeWorker.ERROR )
+         {
+            throw (  new SpiceErrorException( in.readUTF() )  );
+         }
+      }
+
+
+      /**
+      Replace a failed worker process, and return the exception
+      reporting the failure.
+      */
+      private SpiceErrorException restart ( IOException exc )
+      {
+         reset();
+
+         return (  failure( "request", exc )  );
+      }
+
+
+      /**
+      Stop the worker process, and start a new one loading the kernels
+      of the pool.
+      */
+      private void reset()
+      {
+         stop();
+
+         try
+         {
+            start();
+         }
+         catch ( SpiceException startExc )
+         {
+            //
+            // Another start is attempted by the next request.
+            //
+         }
+      }
+
+
+      private SpiceErrorException failure ( String       what,
+                                            IOException  exc  )
+      {
+         return (  SpiceErrorException.create(
+
+                      "NativeWorkerPool",
+
+                      "SPICE(WORKERFAILED)",
+
+                      "Worker " + what + " failed: " + exc )  );
+      }
+   }
+}
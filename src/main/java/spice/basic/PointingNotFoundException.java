@@ -9,6 +9,12 @@ lookup failed to find requested pointing.  This condition is normally
 non-fatal.  It is handled in CSPICE by returning a boolean "found flag"
 having a value of SPICEFALSE.
 
+<p> Version 1.1.0 18-OCT-2026
+
+<p> The compound message is now formed by class
+SpiceErrorException, so that this exception can be created
+without the JNISpice library, as it is by class CKPointing.
+
 <p> Version 1.0.0 13-DEC-2009 (NJB)
 */
 
@@ -20,22 +26,6 @@ public class PointingNotFoundException extends SpiceException
    private static final String SHORT_MSG = "SPICE(POINTINGNOTFOUND)";
 
 
-   private static String VERSION;
-
-   static
-   {
-      try
-      {
-         VERSION = CSPICE.tkvrsn( "TOOLKIT" );
-
-      }
-      catch( SpiceException exc )
-      {
-         VERSION = "<ERROR: Could not obtain SPICE Toolkit version>";
-      }
-   }
-
-
    /*
    Instance variables
    */
@@ -87,8 +77,9 @@ public class PointingNotFoundException extends SpiceException
    public static PointingNotFoundException create ( String caller,
                                                     String longMsg  )
    {
-      String compoundMsg = VERSION   + ": " + caller + ": " +
-                           SHORT_MSG + ": " + longMsg;
+      String compoundMsg = SpiceErrorException.compoundMessage( caller,
+                                                                SHORT_MSG,
+                                                                longMsg   );
 
       return( new PointingNotFoundException(compoundMsg) );
    }
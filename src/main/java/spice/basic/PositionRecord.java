@@ -83,7 +83,26 @@ public class PositionRecord extends PositionVector
       double[] v        = new double[3];
       double[] lt       = new double[1];
 
-      CSPICE.spkpos ( targ, et, frame, corr, obs, v, lt );
+      if ( CSPICEProfiler.isEnabled() )
+      {
+         CSPICEProfiler.call ( "spkpos",
+
+            new NativeExecutor.Task<Object>()
+            {
+               public Object call()
+
+                  throws SpiceException
+               {
+                  CSPICE.spkpos ( targ, et, frame, corr, obs, v, lt );
+
+                  return ( null );
+               }
+            } );
+      }
+      else
+      {
+         CSPICE.spkpos ( targ, et, frame, corr, obs, v, lt );
+      }
 
       super.assign( v );
 
@@ -110,6 +110,13 @@ at 2009 JUN 25 00:01:06.184 (TDB):
 </pre>
 
 
+<h3> Version 2.1.0 18-OCT-2026</h3>
+
+<p>Frame names and ID codes are obtained from {@link IDCache}, so that
+{@link #equals} and {@link #hashCode} do not call CSPICE once the
+code of a frame is cached.
+
+
 <h3> Version 2.0.0 28-DEC-2016 (NJB)</h3>
 
 
@@ -227,7 +234,7 @@ public class ReferenceFrame extends Object
 
       throws FrameNotFoundException, SpiceException
    {
-      frameName = CSPICE.frmnam ( code );
+      frameName = IDCache.getFrameName ( code );
 
       if (  frameName.trim().equals( "" )  )
       {
@@ -315,7 +322,7 @@ public class ReferenceFrame extends Object
 
       throws SpiceException
    {
-      return (  CSPICE.namfrm( frameName )  );
+      return (  IDCache.getFrameCode( frameName )  );
    }
 
 
@@ -398,7 +405,26 @@ public class ReferenceFrame extends Object
    {
       String           toName = toFrame.getName();
       double           et     = t.getTDBSeconds();
-      double[][]       m      = CSPICE.pxform( frameName, toName, et );
+      double[][]       m;
+
+      if ( CSPICEProfiler.isEnabled() )
+      {
+         m = CSPICEProfiler.call ( "pxform",
+
+            new NativeExecutor.Task<double[][]>()
+            {
+               public double[][] call()
+
+                  throws SpiceException
+               {
+                  return (  CSPICE.pxform( frameName, toName, et )  );
+               }
+            } );
+      }
+      else
+      {
+         m = CSPICE.pxform( frameName, toName, et );
+      }
 
       return (  new Matrix33( m )  );
    }
@@ -419,8 +445,28 @@ public class ReferenceFrame extends Object
       String           toName = toFrame.getName();
       double           etfrom = fromTime.getTDBSeconds();
       double           etto   = toTime.getTDBSeconds();
-      double[][]       m      = CSPICE.pxfrm2( frameName, toName, 
-                                               etfrom,    etto   );
+      double[][]       m;
+
+      if ( CSPICEProfiler.isEnabled() )
+      {
+         m = CSPICEProfiler.call ( "pxfrm2",
+
+            new NativeExecutor.Task<double[][]>()
+            {
+               public double[][] call()
+
+                  throws SpiceException
+               {
+                  return (  CSPICE.pxfrm2( frameName, toName,
+                                           etfrom,    etto   )  );
+               }
+            } );
+      }
+      else
+      {
+         m = CSPICE.pxfrm2( frameName, toName,
+                            etfrom,    etto   );
+      }
 
       return (  new Matrix33( m )  );
    }
@@ -443,7 +489,26 @@ public class ReferenceFrame extends Object
 
       String           toName    = toFrame.getName();
       double           et        = t.getTDBSeconds();
-      double[]         retArray  = CSPICE.sxform( frameName, toName, et );
+      double[]         retArray;
+
+      if ( CSPICEProfiler.isEnabled() )
+      {
+         retArray = CSPICEProfiler.call ( "sxform",
+
+            new NativeExecutor.Task<double[]>()
+            {
+               public double[] call()
+
+                  throws SpiceException
+               {
+                  return (  CSPICE.sxform( frameName, toName, et )  );
+               }
+            } );
+      }
+      else
+      {
+         retArray = CSPICE.sxform( frameName, toName, et );
+      }
 
       for ( int row = 0;  row < 6;  row++ )
       {
@@ -0,0 +1,699 @@
+package spice.basic;
+
+/**
+Class SCLKConverter converts between type 1 spacecraft clock strings,
+encoded SCLK and TDB seconds past J2000, without calls to CSPICE.
+
+<p>
+A converter is built from the SCLK kernel variables of one clock in
+a {@link KernelPoolSnapshot}: SCLK01_N_FIELDS, SCLK01_MODULI,
+SCLK01_OFFSETS, SCLK01_OUTPUT_DELIM, SCLK01_TIME_SYSTEM,
+SCLK_PARTITION_START, SCLK_PARTITION_END and SCLK01_COEFFICIENTS,
+each suffixed with the negative of the clock ID. Clocks whose
+parallel time system is TDT also need the DELTET variables of a
+leapseconds kernel.
+
+<p>
+The methods of this class correspond to CSPICE routines as follows:
+
+<pre>
+   {@link #encode(String)}               scencd
+   {@link #decode(double)}               scdecd
+   {@link #formatTicks(double)}          scfmt
+   {@link #parseTicks(String)}           sctiks
+   {@link #toTDBSeconds(double)}         sct2e
+   {@link #toContinuousTicks(double)}    sce2c
+   {@link #toDiscreteTicks(double)}      sce2t
+   {@link #toSCLKString(double)}         sce2s
+</pre>
+
+<p>
+Conversions between ticks and time locate the applicable record of
+the coefficient table by binary search. Instances are immutable and
+may be shared by any number of threads.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+
+public final class SCLKConverter extends Object
+{
+   //
+   // Private constants
+   //
+   private static final String     DELIMITERS     = ".:-, ";
+
+   private static final int        TDB_SYSTEM     = 1;
+   private static final int        TDT_SYSTEM     = 2;
+
+   //
+   // Fields
+   //
+   private final SCLK              clock;
+
+   //
+   // Clock fields, from most to least significant. weights[i] is the
+   // number of ticks in one unit of field i.
+   //
+   private final long[]            moduli;
+   private final long[]            offsets;
+   private final long[]            weights;
+   private final int[]             widths;
+   private final char              delimiter;
+
+   //
+   // Partition bounds, in counts, and the encoded SCLK at the end of
+   // each partition.
+   //
+   private final double[]          partitionStart;
+   private final double[]          partitionEnd;
+   private final double[]          partitionTotal;
+
+   //
+   // Coefficient records: encoded SCLK, parallel time and seconds of
+   // parallel time per count of the most significant field.
+   //
+   private final double[]          coefTicks;
+   private final double[]          coefTime;
+   private final double[]          coefRate;
+
+   //
+   // TDT to TDB conversion parameters, used only if the parallel time
+   // system is TDT.
+   //
+   private final boolean           tdt;
+   private final double            k;
+   private final double            eb;
+   private final double            m0;
+   private final double            m1;
+
+
+
+   //
+   // Constructors
+   //
+   private SCLKConverter ( SCLK                clock,
+                           KernelPoolSnapshot  pool   )
+
+      throws SpiceException
+   {
+      String suffix = "_" + ( -clock.getIDCode() );
+
+      this.clock = new SCLK( clock );
+
+      int type = pool.getInteger( "SCLK_DATA_TYPE" + suffix, 0 );
+
+      if ( type != 1 )
+      {
+         throw error( "SPICE(NOTSUPPORTED)",
+                      "SCLK data type " + type + " is not supported; " +
+                      "only type 1 clocks can be converted."            );
+      }
+
+      //
+      // Fields.
+      //
+      int      nfields = pool.getInteger( "SCLK01_N_FIELDS" + suffix, 0 );
+      double[] mvals   = pool.getDouble ( "SCLK01_MODULI"   + suffix    );
+      double[] ovals   = pool.getDouble ( "SCLK01_OFFSETS"  + suffix    );
+
+      if (     ( nfields < 1 )
+           ||  ( mvals.length != nfields )
+           ||  ( ovals.length != nfields ) )
+      {
+         throw error( "SPICE(INVALIDCOUNT)",
+                      "The clock has " + nfields + " fields, "         +
+                      mvals.length + " moduli and " + ovals.length     +
+                      " offsets."                                        );
+      }
+
+      moduli  = new long[ nfields ];
+      offsets = new long[ nfields ];
+      weights = new long[ nfields ];
+      widths  = new int [ nfields ];
+
+      for ( int i = 0;  i < nfields;  i++ )
+      {
+         moduli [i] = Math.round( mvals[i] );
+         offsets[i] = Math.round( ovals[i] );
+
+         if ( moduli[i] < 1 )
+         {
+            throw error( "SPICE(INVALIDMODULUS)",
+                         "The modulus of field " + ( i + 1 ) + " is " +
+                         moduli[i] + "."                                );
+         }
+
+         widths[i] = Long.toString( moduli[i] - 1 + offsets[i] ).length();
+      }
+
+      weights[ nfields - 1 ] = 1;
+
+      for ( int i = nfields - 2;  i >= 0;  i-- )
+      {
+         weights[i] = weights[ i + 1 ] * moduli[ i + 1 ];
+      }
+
+      int delim = pool.getInteger( "SCLK01_OUTPUT_DELIM" + suffix, 0 );
+
+      if (  ( delim < 1 ) || ( delim > DELIMITERS.length() )  )
+      {
+         throw error( "SPICE(INVALIDDELIMITER)",
+                      "The output delimiter code " + delim + " is not " +
+                      "in the range 1:" + DELIMITERS.length() + "."       );
+      }
+
+      delimiter = DELIMITERS.charAt( delim - 1 );
+
+      //
+      // Partitions.
+      //
+      partitionStart = pool.getDouble( "SCLK_PARTITION_START" + suffix );
+      partitionEnd   = pool.getDouble( "SCLK_PARTITION_END"   + suffix );
+
+      if ( partitionStart.length != partitionEnd.length )
+      {
+         throw error( "SPICE(NUMPARTSUNEQUAL)",
+                      "The clock has " + partitionStart.length           +
+                      " partition start times and " + partitionEnd.length +
+                      " partition end times."                               );
+      }
+
+      partitionTotal = new double[ partitionStart.length ];
+
+      double total = 0.0;
+
+      for ( int i = 0;  i < partitionStart.length;  i++ )
+      {
+         total += Math.rint( partitionEnd[i] ) - Math.rint( partitionStart[i] );
+
+         partitionTotal[i] = total;
+      }
+
+      //
+      // Coefficients.
+      //
+      double[] coeffs = pool.getDouble( "SCLK01_COEFFICIENTS" + suffix );
+
+      if (  ( coeffs.length == 0 ) || ( coeffs.length % 3 != 0 )  )
+      {
+         throw error( "SPICE(INVALIDCOUNT)",
+                      "The coefficient table has " + coeffs.length +
+                      " values; a positive multiple of 3 is required." );
+      }
+
+      int nrec = coeffs.length / 3;
+
+      coefTicks = new double[ nrec ];
+      coefTime  = new double[ nrec ];
+      coefRate  = new double[ nrec ];
+
+      for ( int i = 0;  i < nrec;  i++ )
+      {
+         coefTicks[i] = coeffs[ 3*i     ];
+         coefTime [i] = coeffs[ 3*i + 1 ];
+         coefRate [i] = coeffs[ 3*i + 2 ];
+      }
+
+      //
+      // Time system. TDB is the default.
+      //
+      int system = TDB_SYSTEM;
+
+      if ( pool.exists( "SCLK01_TIME_SYSTEM" + suffix ) )
+      {
+         system = pool.getInteger( "SCLK01_TIME_SYSTEM" + suffix, 0 );
+      }
+
+      if ( system == TDT_SYSTEM )
+      {
+         tdt = true;
+         k   = pool.getDouble( "DELTET/K",  0 );
+         eb  = pool.getDouble( "DELTET/EB", 0 );
+         m0  = pool.getDouble( "DELTET/M",  0 );
+         m1  = pool.getDouble( "DELTET/M",  1 );
+      }
+      else if ( system == TDB_SYSTEM )
+      {
+         tdt = false;
+         k   = 0.0;
+         eb  = 0.0;
+         m0  = 0.0;
+         m1  = 0.0;
+      }
+      else
+      {
+         throw error( "SPICE(VALUEOUTOFRANGE)",
+                      "The time system code " + system + " is not " +
+                      "1 (TDB) or 2 (TDT)."                           );
+      }
+   }
+
+
+
+   //
+   // Static Methods
+   //
+
+   /**
+   Create a converter for `clock' from the variables in `pool'.
+   */
+   public static SCLKConverter create ( KernelPoolSnapshot  pool,
+                                        SCLK                clock )
+
+      throws SpiceException
+   {
+      return (  new SCLKConverter( clock, pool )  );
+   }
+
+
+
+   //
+   // Instance Methods
+   //
+
+   /**
+   Get the clock converted by this instance.
+   */
+   public SCLK getSCLK()
+   {
+      return (  new SCLK( clock )  );
+   }
+
+   /**
+   Get the number of partitions of the clock.
+   */
+   public int getPartitionCount()
+   {
+      return ( partitionStart.length );
+   }
+
+   /**
+   Get the encoded SCLK value at the end of the last partition.
+   */
+   public double getMaximumTicks()
+   {
+      return (  partitionTotal[ partitionTotal.length - 1 ]  );
+   }
+
+   /**
+   Convert encoded SCLK to TDB seconds past J2000.
+   */
+   public double toTDBSeconds ( double sclkdp )
+
+      throws SpiceException
+   {
+      if ( sclkdp < 0.0 )
+      {
+         throw error( "SPICE(VALUEOUTOFRANGE)",
+                      "Encoded SCLK " + sclkdp + " is negative." );
+      }
+
+      int    i        = search( coefTicks, sclkdp );
+
+      double parallel = coefTime[i]  +    ( sclkdp - coefTicks[i] )
+                                        *   coefRate[i] / weights[0];
+
+      return (  tdt ? tdtToTDB( parallel ) : parallel  );
+   }
+
+   /**
+   Convert TDB seconds past J2000 to continuous encoded SCLK.
+   */
+   public double toContinuousTicks ( double et )
+
+      throws SpiceException
+   {
+      double parallel = tdt ? tdbToTDT( et ) : et;
+
+      int    i        = search( coefTime, parallel );
+
+      double sclkdp   = coefTicks[i]  +    ( parallel - coefTime[i] )
+                                         *   weights[0] / coefRate[i];
+      if ( sclkdp < 0.0 )
+      {
+         throw error( "SPICE(VALUEOUTOFRANGE)",
+                      "Time " + et + " TDB precedes the start of the " +
+                      "clock."                                           );
+      }
+
+      return ( sclkdp );
+   }
+
+   /**
+   Convert TDB seconds past J2000 to encoded SCLK, rounded to the
+   nearest tick.
+   */
+   public double toDiscreteTicks ( double et )
+
+      throws SpiceException
+   {
+      return (  Math.rint( toContinuousTicks( et ) )  );
+   }
+
+   /**
+   Convert an SCLK string, optionally prefixed by a partition number
+   and `/', to encoded SCLK. If the partition is not given, the first
+   partition containing the clock count is used.
+   */
+   public double encode ( String sclkch )
+
+      throws SpiceException
+   {
+      String  count     = sclkch;
+      int     partition = -1;
+      int     slash     = sclkch.indexOf( '/' );
+
+      if ( slash >= 0 )
+      {
+         String prefix = sclkch.substring( 0, slash ).trim();
+
+         try
+         {
+            partition = Integer.parseInt( prefix ) - 1;
+         }
+         catch ( NumberFormatException exc )
+         {
+            partition = -2;
+         }
+
+         if (  ( partition < 0 ) || ( partition >= partitionStart.length )  )
+         {
+            throw error( "SPICE(BADPARTNUMBER)",
+                         "The partition <" + prefix + "> of SCLK string " +
+                         sclkch + " is not in the range 1:"              +
+                         partitionStart.length + "."                        );
+         }
+
+         count = sclkch.substring( slash + 1 );
+      }
+
+      double ticks = parseTicks( count );
+
+      if ( partition < 0 )
+      {
+         partition = 0;
+
+         while (    ( partition < partitionStart.length )
+                 && !inPartition( ticks, partition )       )
+         {
+            ++partition;
+         }
+      }
+
+      if (     ( partition >= partitionStart.length )
+           ||  !inPartition( ticks, partition )       )
+      {
+         throw error( "SPICE(NOTINPART)",
+                      "SCLK string " + sclkch + " is not within the " +
+                      "partition bounds of the clock."                  );
+      }
+
+      double before = ( partition == 0 ) ? 0.0 : partitionTotal[ partition - 1 ];
+
+      return (  before  +  ticks  -  Math.rint( partitionStart[partition] )  );
+   }
+
+   /**
+   Convert encoded SCLK, which is rounded to the nearest tick, to an
+   SCLK string prefixed by the partition number and `/'.
+   */
+   public String decode ( double sclkdp )
+
+      throws SpiceException
+   {
+      double ticks = Math.rint( sclkdp );
+
+      if (  ( ticks < 0.0 ) || ( ticks > getMaximumTicks() )  )
+      {
+         throw error( "SPICE(VALUEOUTOFRANGE)",
+                      "Encoded SCLK " + sclkdp + " is outside of the " +
+                      "range 0:" + getMaximumTicks() + "."               );
+      }
+
+      int partition = 0;
+
+      while ( ticks > partitionTotal[ partition ] )
+      {
+         ++partition;
+      }
+
+      double before = ( partition == 0 ) ? 0.0 : partitionTotal[ partition - 1 ];
+      double count  = ticks - before + Math.rint( partitionStart[partition] );
+
+      StringBuilder result = new StringBuilder( 32 );
+
+      result.append( partition + 1 );
+      result.append( '/' );
+
+      appendFields( result, (long) count );
+
+      return (  result.toString()  );
+   }
+
+   /**
+   Convert a count of ticks, which is rounded to the nearest tick, to
+   an SCLK string without partition number.
+   */
+   public String formatTicks ( double ticks )
+
+      throws SpiceException
+   {
+      double count = Math.rint( ticks );
+
+      if ( count < 0.0 )
+      {
+         throw error( "SPICE(VALUEOUTOFRANGE)",
+                      "Tick count " + ticks + " is negative." );
+      }
+
+      StringBuilder result = new StringBuilder( 32 );
+
+      appendFields( result, (long) count );
+
+      return (  result.toString()  );
+   }
+
+   /**
+   Convert an SCLK string without partition number to a count of
+   ticks. Fields are separated by any of the characters . : - , or
+   blank; fields missing from the end of the string are zero.
+   */
+   public double parseTicks ( String clkstr )
+
+      throws SpiceException
+   {
+      int  n     = clkstr.length();
+      int  pos   = skipBlanks( clkstr, 0 );
+      int  field = 0;
+      long ticks = 0L;
+
+      if ( pos == n )
+      {
+         throw error( "SPICE(INVALIDSCLKSTRING)",
+                      "The SCLK string is blank." );
+      }
+
+      while ( pos < n )
+      {
+         if ( field == moduli.length )
+         {
+            throw error( "SPICE(INVALIDSCLKSTRING)",
+                         "SCLK string <" + clkstr + "> has more than " +
+                         moduli.length + " fields."                      );
+         }
+
+         int start = pos;
+
+         while (  ( pos < n ) && Character.isDigit( clkstr.charAt( pos ) )  )
+         {
+            ++pos;
+         }
+
+         if ( pos == start )
+         {
+            throw error( "SPICE(INVALIDSCLKSTRING)",
+                         "Field " + ( field + 1 ) + " of SCLK string <" +
+                         clkstr + "> is not an unsigned integer."         );
+         }
+
+         long value;
+
+         try
+         {
+            value = Long.parseLong( clkstr.substring( start, pos ) );
+         }
+         catch ( NumberFormatException exc )
+         {
+            throw error( "SPICE(INVALIDSCLKSTRING)",
+                         "Field " + ( field + 1 ) + " of SCLK string <" +
+                         clkstr + "> is too large."                       );
+         }
+
+         if ( value < offsets[field] )
+         {
+            throw error( "SPICE(INVALIDSCLKSTRING)",
+                         "Field " + ( field + 1 ) + " of SCLK string <" +
+                         clkstr + "> is less than the field offset "     +
+                         offsets[field] + "."                               );
+         }
+
+         ticks += ( value - offsets[field] ) * weights[field];
+
+         ++field;
+
+         //
+         // Consume one delimiter and any surrounding blanks.
+         //
+         pos = skipBlanks( clkstr, pos );
+
+         if (  ( pos < n ) && ( DELIMITERS.indexOf( clkstr.charAt( pos ) ) >= 0 )  )
+         {
+            pos = skipBlanks( clkstr, pos + 1 );
+
+            if ( pos == n )
+            {
+               throw error( "SPICE(INVALIDSCLKSTRING)",
+                            "SCLK string <" + clkstr + "> ends with a " +
+                            "delimiter."                                  );
+            }
+         }
+      }
+
+      return ( (double) ticks );
+   }
+
+   /**
+   Convert TDB seconds past J2000 to an SCLK string prefixed by the
+   partition number, as CSPICE.sce2s does.
+   */
+   public String toSCLKString ( double et )
+
+      throws SpiceException
+   {
+      return (  decode( toDiscreteTicks( et ) )  );
+   }
+
+
+
+   //
+   // Private methods
+   //
+
+   private boolean inPartition ( double  ticks,
+                                 int     partition )
+   {
+      return (     ( ticks >= Math.rint( partitionStart[partition] ) )
+               &&  ( ticks <= Math.rint( partitionEnd  [partition] ) )  );
+   }
+
+
+   private void appendFields ( StringBuilder  result,
+                               long           count  )
+   {
+      for ( int i = 0;  i < moduli.length;  i++ )
+      {
+         long value = ( i == 0 ) ? count / weights[0]
+                                 : ( count / weights[i] ) % moduli[i];
+
+         if ( i > 0 )
+         {
+            result.append( delimiter );
+         }
+
+         String digits = Long.toString( value + offsets[i] );
+
+         for ( int j = digits.length();  j < widths[i];  j++ )
+         {
+            result.append( '0' );
+         }
+
+         result.append( digits );
+      }
+   }
+
+
+   private double tdtToTDB ( double tdtSeconds )
+   {
+      double m = m0 + m1 * tdtSeconds;
+
+      return (  tdtSeconds  +  k * Math.sin( m + eb * Math.sin( m ) )  );
+   }
+
+
+   /**
+   Invert tdtToTDB by fixed point iteration; the correction changes
+   by less than 1.e-19 s between the second and third iterations.
+   */
+   private double tdbToTDT ( double tdbSeconds )
+   {
+      double tdtSeconds = tdbSeconds;
+
+      for ( int i = 0;  i < 3;  i++ )
+      {
+         double m = m0 + m1 * tdtSeconds;
+
+         tdtSeconds = tdbSeconds  -  k * Math.sin( m + eb * Math.sin( m ) );
+      }
+
+      return ( tdtSeconds );
+   }
+
+
+   private SpiceErrorException error ( String  shortMsg,
+                                       String  problem   )
+   {
+      return (  SpiceErrorException.create(
+
+                   "SCLKConverter",
+
+                   shortMsg,
+
+                   "Clock " + clock.getIDCode() + ": " + problem  )  );
+   }
+
+
+
+   //
+   // Private static methods
+   //
+
+   /**
+   Return the index of the last element of `values', which is sorted
+   in increasing order, that is less than or equal to `x'; return 0
+   if there is none.
+   */
+   private static int search ( double[]  values,
+                               double    x      )
+   {
+      int lo = 0;
+      int hi = values.length - 1;
+
+      while ( lo < hi )
+      {
+         int mid = ( lo + hi + 1 ) >>> 1;
+
+         if ( values[mid] <= x )
+         {
+            lo = mid;
+         }
+         else
+         {
+            hi = mid - 1;
+         }
+      }
+
+      return ( lo );
+   }
+
+
+   private static int skipBlanks ( String  s,
+                                   int     pos )
+   {
+      while (  ( pos < s.length() ) && ( s.charAt( pos ) == ' ' )  )
+      {
+         ++pos;
+      }
+
+      return ( pos );
+   }
+}
@@ -6,6 +6,15 @@ Class SCLKDuration measures time intervals in
 units of SCLK ticks, where the ticks are associated
 with a specified clock.
 
+<p> An SCLKDuration created from an {@link SCLKConverter} converts
+ticks to and from TDB seconds and formats strings with that
+converter, without calls to CSPICE. SCLKDurations derived from it
+by arithmetic use the same converter.
+
+<p> Version 1.1.0 18-OCT-2026
+
+<p> Added constructors taking an SCLKConverter. Conversions made by
+CSPICE go through {@link CSPICEProfiler}.
 
 <p> Version 1.0.0 27-DEC-2009 (NJB)
 */
@@ -16,6 +25,7 @@ public class SCLKDuration extends Duration
    //
    private SCLK                 clockID;
    private double               measure;
+   private SCLKConverter        converter;
 
 
    //
@@ -56,13 +66,41 @@ public class SCLKDuration extends Duration
    }
 
 
+   /**
+   Construct a SCLKDuration from a tick count, using an SCLKConverter.
+   */
+   public SCLKDuration ( SCLKConverter  converter,
+                         double         ticks      )
+   {
+      this.clockID   = converter.getSCLK();
+      this.converter = converter;
+      measure        = ticks;
+   }
+
+
+   /**
+   Construct a SCLKDuration from an SCLK duration string, using an
+   SCLKConverter.
+   */
+   public SCLKDuration ( SCLKConverter  converter,
+                         String         clkstr     )
+
+      throws SpiceException
+   {
+      this.clockID   = converter.getSCLK();
+      this.converter = converter;
+      measure        = converter.parseTicks( clkstr );
+   }
+
+
    /**
    Copy constructor.
    */
    public SCLKDuration( SCLKDuration d )
    {
-      clockID = d.clockID;
-      measure = d.measure;
+      clockID   = d.clockID;
+      measure   = d.measure;
+      converter = d.converter;
    }
 
 
@@ -108,8 +146,8 @@ public class SCLKDuration extends Duration
 
          int    sc              = clock.getIDCode();
 
-         double startTicks      = CSPICE.sce2c( sc, startTDBSeconds );
-         double stopTicks       = CSPICE.sce2c( sc, stopTDBSeconds  );
+         double startTicks      = sce2c( sc, startTDBSeconds );
+         double stopTicks       = sce2c( sc, stopTDBSeconds  );
 
          this.measure           = stopTicks - startTicks;
          this.clockID           = clock;
@@ -157,9 +195,22 @@ public class SCLKDuration extends Duration
 
       int    sc          = clockID.getIDCode();
 
-      double startTicks  = CSPICE.sce2c( sc, startTDBSeconds );
-      double endTicks    = startTicks + this.measure;
-      double endTDB      = CSPICE.sct2e( sc, endTicks );
+      double startTicks;
+      double endTicks;
+      double endTDB;
+
+      if ( converter != null )
+      {
+         startTicks = converter.toContinuousTicks( startTDBSeconds );
+         endTicks   = startTicks + this.measure;
+         endTDB     = converter.toTDBSeconds( endTicks );
+      }
+      else
+      {
+         startTicks = sce2c( sc, startTDBSeconds );
+         endTicks   = startTicks + this.measure;
+         endTDB     = sct2e( sc, endTicks );
+      }
       double diff        = endTDB - startTDBSeconds;
 
       return ( diff );
@@ -187,7 +238,7 @@ public class SCLKDuration extends Duration
 
       double sum = this.measure + d.measure;
 
-      return (  new SCLKDuration( this.clockID, sum) );
+      return (  derive( sum )  );
    }
 
 
@@ -212,7 +263,7 @@ public class SCLKDuration extends Duration
 
       double diff = this.measure - d.measure;
 
-      return (  new SCLKDuration( this.clockID, diff) );
+      return (  derive( diff )  );
    }
 
 
@@ -221,7 +272,7 @@ public class SCLKDuration extends Duration
    */
    public SCLKDuration negate()
    {
-      return (  new SCLKDuration( this.clockID, -this.measure ) );
+      return (  derive( -this.measure )  );
    }
 
 
@@ -230,7 +281,7 @@ public class SCLKDuration extends Duration
    */
    public SCLKDuration scale ( double s )
    {
-      return (  new SCLKDuration( this.clockID,  s * this.measure )  );
+      return (  derive( s * this.measure )  );
    }
 
 
@@ -249,10 +300,86 @@ public class SCLKDuration extends Duration
 
       throws SpiceException
    {
+      if ( d.converter != null )
+      {
+         return (  d.converter.formatTicks( d.getMeasure() )  );
+      }
+
       String result = CSPICE.scfmt( d.clockID.getIDCode(), d.getMeasure() );
 
       return( result );
    }
 
 
+   //
+   // Private methods
+   //
+
+   /**
+   Create a SCLKDuration for this instance's clock and converter.
+   */
+   private SCLKDuration derive ( double ticks )
+   {
+      SCLKDuration result = new SCLKDuration( this.clockID, ticks );
+
+      result.converter = this.converter;
+
+      return ( result );
+   }
+
+
+   /**
+   Convert TDB seconds to continuous ticks of clock `sc' by CSPICE,
+   through {@link CSPICEProfiler} when profiling is enabled.
+   */
+   private static double sce2c ( int     sc,
+                                 double  et )
+
+      throws SpiceException
+   {
+      if ( !CSPICEProfiler.isEnabled() )
+      {
+         return (  CSPICE.sce2c( sc, et )  );
+      }
+
+      return ( CSPICEProfiler.call ( "sce2c",
+
+         new NativeExecutor.Task<Double>()
+         {
+            public Double call()
+
+               throws SpiceException
+            {
+               return (  CSPICE.sce2c( sc, et )  );
+            }
+         } ) );
+   }
+
+
+   /**
+   Convert ticks of clock `sc' to TDB seconds by CSPICE, through
+   {@link CSPICEProfiler} when profiling is enabled.
+   */
+   private static double sct2e ( int     sc,
+                                 double  ticks )
+
+      throws SpiceException
+   {
+      if ( !CSPICEProfiler.isEnabled() )
+      {
+         return (  CSPICE.sct2e( sc, ticks )  );
+      }
+
+      return ( CSPICEProfiler.call ( "sct2e",
+
+         new NativeExecutor.Task<Double>()
+         {
+            public Double call()
+
+               throws SpiceException
+            {
+               return (  CSPICE.sct2e( sc, ticks )  );
+            }
+         } ) );
+   }
 }
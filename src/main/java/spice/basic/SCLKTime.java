@@ -13,6 +13,14 @@ clocks.
 and encoded SCLK; it also supports conversion between
 encoded SCLK and other {@link spice.basic.Time} classes.
 
+<p> An SCLKTime created from an {@link SCLKConverter} performs
+these conversions with that converter, without calls to CSPICE.
+SCLKTimes derived from it by arithmetic use the same converter.
+
+<p> Version 1.1.0 18-OCT-2026
+
+<p> Added constructors taking an SCLKConverter.
+
 <p> Version 1.0.0 15-DEC-2009 (NJB)
 */
 
@@ -22,8 +30,9 @@ public class SCLKTime extends Time {
    /*
    Instance variables
    */
-   private             SCLK    clockID;
-   private             double  ticks;
+   private             SCLK             clockID;
+   private             double           ticks;
+   private             SCLKConverter    converter;
 
 
    /*
@@ -38,8 +47,9 @@ public class SCLKTime extends Time {
    */
    public SCLKTime ( SCLKTime t )
    {
-      this.clockID = new SCLK( t.clockID );
-      this.ticks   = t.ticks;
+      this.clockID   = new SCLK( t.clockID );
+      this.ticks     = t.ticks;
+      this.converter = t.converter;
    }
 
    /**
@@ -53,7 +63,24 @@ public class SCLKTime extends Time {
    {
       clockID = new SCLK ( clock );
 
-      ticks   = CSPICE.scencd ( clock.getIDCode(),  sclkch  );
+      if ( CSPICEProfiler.isEnabled() )
+      {
+         ticks   = CSPICEProfiler.call ( "scencd",
+
+            new NativeExecutor.Task<Double>()
+            {
+               public Double call()
+
+                  throws SpiceException
+               {
+                  return (  CSPICE.scencd ( clock.getIDCode(),  sclkch  )  );
+               }
+            } );
+      }
+      else
+      {
+         ticks   = CSPICE.scencd ( clock.getIDCode(),  sclkch  );
+      }
    }
 
 
@@ -86,8 +113,26 @@ public class SCLKTime extends Time {
          // Convert the input time to TDB seconds and then
          // to ticks for the input SCLK,
          //
-         ticks   = CSPICE.sce2c ( clock.getIDCode(),
-                                  time.getTDBSeconds () );
+         double et = time.getTDBSeconds();
+
+         if ( CSPICEProfiler.isEnabled() )
+         {
+            ticks   = CSPICEProfiler.call ( "sce2c",
+
+               new NativeExecutor.Task<Double>()
+               {
+                  public Double call()
+
+                     throws SpiceException
+                  {
+                     return (  CSPICE.sce2c ( clock.getIDCode(), et )  );
+                  }
+               } );
+         }
+         else
+         {
+            ticks   = CSPICE.sce2c ( clock.getIDCode(), et );
+         }
       }
    }
 
@@ -121,6 +166,62 @@ public class SCLKTime extends Time {
    }
 
 
+   /**
+   Construct an SCLKTime from an SCLK string, using an SCLKConverter.
+   */
+   public SCLKTime ( SCLKConverter  converter,
+                     String         sclkch     )
+
+      throws SpiceException
+
+   {
+      clockID        = converter.getSCLK();
+      ticks          = converter.encode( sclkch );
+      this.converter = converter;
+   }
+
+
+   /**
+   Construct an SCLKTime from a Time, using an SCLKConverter.
+   */
+   public SCLKTime ( SCLKConverter  converter,
+                     Time           time       )
+
+      throws SpiceException
+
+   {
+      clockID        = converter.getSCLK();
+      this.converter = converter;
+
+      if (    ( time   instanceof   SCLKTime )
+           && ( clockID.getIDCode() == ((SCLKTime)time).getSCLK().getIDCode() ) )
+      {
+         this.ticks = ((SCLKTime)time).ticks;
+      }
+      else
+      {
+         ticks = converter.toContinuousTicks( time.getTDBSeconds() );
+      }
+   }
+
+
+   /**
+   Construct an SCLKTime from double precision ticks, using an
+   SCLKConverter.
+   */
+   public SCLKTime ( SCLKConverter  converter,
+                     double         ticks      )
+
+      throws SpiceException
+
+   {
+      this ( converter.getSCLK(), ticks );
+
+      this.converter = converter;
+   }
+
+
+
    /*
    Instance methods
    */
@@ -148,7 +249,29 @@ public class SCLKTime extends Time {
    {
       int clock = clockID.getIDCode();
 
-      return (  CSPICE.sct2e( clock, ticks )  );
+      if ( converter != null )
+      {
+         return (  converter.toTDBSeconds( ticks )  );
+      }
+
+      if ( CSPICEProfiler.isEnabled() )
+      {
+         return ( CSPICEProfiler.call ( "sct2e",
+
+            new NativeExecutor.Task<Double>()
+            {
+               public Double call()
+
+                  throws SpiceException
+               {
+                  return (  CSPICE.sct2e( clock, ticks )  );
+               }
+            } ) );
+      }
+      else
+      {
+         return (  CSPICE.sct2e( clock, ticks )  );
+      }
    }
 
 
@@ -164,7 +287,29 @@ public class SCLKTime extends Time {
    {
       int clock = clockID.getIDCode();
 
-      return new String (  CSPICE.scdecd ( clock, ticks )  );
+      if ( converter != null )
+      {
+         return (  converter.decode( ticks )  );
+      }
+
+      if ( CSPICEProfiler.isEnabled() )
+      {
+         return ( CSPICEProfiler.call ( "scdecd",
+
+            new NativeExecutor.Task<String>()
+            {
+               public String call()
+
+                  throws SpiceException
+               {
+                  return (  CSPICE.scdecd ( clock, ticks )  );
+               }
+            } ) );
+      }
+      else
+      {
+         return (  CSPICE.scdecd ( clock, ticks )  );
+      }
    }
 
 
@@ -235,7 +380,7 @@ public class SCLKTime extends Time {
          // perform the subtraction.
          //
 
-         SCLKTime ticks2 = new SCLKTime( clockID, t );
+         SCLKTime ticks2 = derive( t );
 
          diff            = this.ticks - ticks2.getContinuousTicks();
       }
@@ -271,7 +416,7 @@ public class SCLKTime extends Time {
          //
          tickSum = this.ticks + ((SCLKDuration)d).getMeasure();
 
-         result  = new SCLKTime ( clockID, tickSum  );
+         result  = derive( tickSum );
       }
       else
       {
@@ -281,7 +426,7 @@ public class SCLKTime extends Time {
 
          secSum = this.getTDBSeconds() + d.getTDBSeconds(this);
 
-         result = new SCLKTime ( clockID, new TDBTime(secSum)  );
+         result = derive( new TDBTime(secSum) );
       }
 
       return ( result );
@@ -312,7 +457,7 @@ public class SCLKTime extends Time {
          //
          tickDiff = this.ticks - ((SCLKDuration)d).getMeasure();
 
-         result   = new SCLKTime ( clockID, tickDiff  );
+         result   = derive( tickDiff );
       }
       else
       {
@@ -322,10 +467,47 @@ public class SCLKTime extends Time {
 
          secDiff   = this.getTDBSeconds() - d.getTDBSeconds(this);
 
-         result = new SCLKTime ( clockID, new TDBTime(secDiff)  );
+         result = derive( new TDBTime(secDiff) );
       }
 
       return ( result );
    }
 
+
+   /*
+   Private methods
+   */
+
+   /**
+   Create an SCLKTime for this instance's clock and converter from
+   a tick count.
+   */
+   private SCLKTime derive ( double ticks )
+
+      throws SpiceException
+   {
+      if ( converter != null )
+      {
+         return (  new SCLKTime( converter, ticks )  );
+      }
+
+      return (  new SCLKTime( clockID, ticks )  );
+   }
+
+
+   /**
+   Create an SCLKTime for this instance's clock and converter from
+   a Time.
+   */
+   private SCLKTime derive ( Time time )
+
+      throws SpiceException
+   {
+      if ( converter != null )
+      {
+         return (  new SCLKTime( converter, time )  );
+      }
+
+      return (  new SCLKTime( clockID, time )  );
+   }
 }
@@ -2,6 +2,8 @@
 
 package spice.basic;
 
+import java.util.TreeSet;
+
 /**
 Class SPK provides methods for writing, summarizing,
 and conducting low-level read operations on SPK files.
@@ -17,6 +19,12 @@ of the classes {@link spice.basic.StateVector}, {@link
 spice.basic.StateRecord}, {@link spice.basic.PositionVector},
 or {@link spice.basic.PositionRecord}.
 
+<p> Version 1.1.0 18-OCT-2026
+
+<p> For files open for read access, body sets and coverage are
+    obtained from the {@link CoverageCache#getDefault() default
+    coverage cache} instead of by scanning the file through CSPICE.
+
 <p> Version 1.0.0 04-JAN-2010 (NJB)
 
 */
@@ -126,6 +134,11 @@ public class SPK extends DAF
 
       throws SpiceException
    {
+      if ( isCached() )
+      {
+         return (  getCachedCoverage().getIDs()  );
+      }
+
       int   size       = this.countSegments();
 
       int[] initialSet = new int[0];
@@ -147,6 +160,31 @@ public class SPK extends DAF
 
       throws SpiceException
    {
+      if ( isCached() )
+      {
+         TreeSet<Integer> bodies = new TreeSet<Integer>();
+
+         for ( int body : initialSet )
+         {
+            bodies.add( body );
+         }
+
+         for ( int body : getCachedCoverage().getIDs() )
+         {
+            bodies.add( body );
+         }
+
+         int[] objectSet = new int[ bodies.size() ];
+         int   i         = 0;
+
+         for ( Integer body : bodies )
+         {
+            objectSet[i++] = body;
+         }
+
+         return ( objectSet );
+      }
+
       int   size      = this.countSegments();
 
       int[] objectSet = CSPICE.spkobj( fileName, size + initialSet.length,
@@ -168,6 +206,11 @@ public class SPK extends DAF
 
       throws SpiceException
    {
+      if ( isCached() )
+      {
+         return (  new SpiceWindow( getCachedCoverage().getCoverage( body ) )  );
+      }
+
       int size = 2 * this.countSegments();
 
       double[] initialWindowArray = new double[0];
@@ -193,6 +236,12 @@ public class SPK extends DAF
                                    SpiceWindow  cover )
       throws SpiceException
    {
+      if ( isCached() )
+      {
+         return (  cover.union(
+                      new SpiceWindow( getCachedCoverage().getCoverage( body ) ) )  );
+      }
+
       int size = 2 * ( this.countSegments() + cover.card() );
 
       double[] resultArray = CSPICE.spkcov( fileName, body, size,
@@ -464,4 +513,27 @@ public class SPK extends DAF
    }
 
 
+
+   //
+   // Private methods
+   //
+
+   /**
+   Indicate whether coverage of this file may be taken from the
+   coverage cache: that is, whether the file is open for read access
+   only.
+   */
+   private boolean isCached()
+   {
+      return ( readable && !writable );
+   }
+
+
+   private KernelCoverage getCachedCoverage()
+
+      throws SpiceException
+   {
+      return (  CoverageCache.getDefault().getCoverage( fileName )  );
+   }
+
 }
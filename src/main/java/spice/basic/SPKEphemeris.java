@@ -0,0 +1,470 @@
+package spice.basic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+Class SPKEphemeris computes geometric states from a set of SPK files
+read through {@link MappedSPK}, without calls to CSPICE.
+
+<p>
+Files are searched as CSPICE searches loaded SPKs: the file loaded
+last is searched first, and within a file, segments are searched
+from last to first. States are found by chaining segments from the
+target and from the observer to a common center, as is done by the
+SPICELIB routine SPKGEO. No aberration corrections are applied.
+
+<p>
+Segments are found through a {@link SegmentIndex}, in time
+logarithmic in the number of segments for a body. The index is
+immutable and is replaced when files are loaded or unloaded; only
+the entries of the bodies in the affected file are rebuilt. State
+lookups read the current index without locking, so any number of
+threads may compute states while files are loaded or unloaded by
+another thread; a lookup uses the set of files that was loaded when
+it started.
+
+<p>
+Segments whose frames differ from the requested frame are
+transformed by the {@link FrameTransformer} given to this instance.
+Without a transformer, all segments used by a lookup must have the
+requested frame.
+
+<h3>Version 1.1.0 18-OCT-2026</h3>
+
+<p> Added {@link #getStates(int, double[], int, int, double[],
+double[], double[], double[], double[], double[])}, which computes
+many states with one set of work arrays.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+
+public class SPKEphemeris extends Object
+{
+   //
+   // Public constants
+   //
+
+   /**
+   Maximum number of segments chained from the target or from the
+   observer. This is the value of CHLEN used by SPKGEO.
+   */
+   public static final int                      MAXCHN = 100;
+
+   //
+   // Fields
+   //
+   private final FrameTransformer               transformer;
+   private final List<MappedSPK>                files;
+   private volatile SegmentIndex<SPKSegment>    index;
+
+   //
+   // ID codes and time bounds of SPK segments.
+   //
+   private static final SegmentIndex.Bounds<SPKSegment> BOUNDS =
+
+      new SegmentIndex.Bounds<SPKSegment>()
+      {
+         public int getID ( SPKSegment segment )
+         {
+            return ( segment.getBody() );
+         }
+
+         public double getStart ( SPKSegment segment )
+         {
+            return ( segment.getStart() );
+         }
+
+         public double getStop ( SPKSegment segment )
+         {
+            return ( segment.getStop() );
+         }
+      };
+
+
+
+   //
+   // Constructors
+   //
+
+   /**
+   Construct an SPKEphemeris without a frame transformer.
+   */
+   public SPKEphemeris()
+   {
+      this( null );
+   }
+
+   /**
+   Construct an SPKEphemeris using `transformer' to rotate
+   segment states into requested frames. `transformer' may be null.
+   */
+   public SPKEphemeris ( FrameTransformer transformer )
+   {
+      this.transformer = transformer;
+      this.files       = new ArrayList<MappedSPK>();
+      this.index       = SegmentIndex.create( BOUNDS );
+   }
+
+
+
+   //
+   // Instance Methods
+   //
+
+   /**
+   Map an SPK file and add it to the files searched by this
+   instance. The file has the highest priority.
+   */
+   public MappedSPK load ( String fileName )
+
+      throws SpiceException
+   {
+      MappedSPK spk = MappedSPK.openForRead( fileName );
+
+      load( spk );
+
+      return ( spk );
+   }
+
+   /**
+   Add an opened SPK to the files searched by this instance. The
+   file has the highest priority.
+   */
+   public synchronized void load ( MappedSPK spk )
+   {
+      files.remove( spk );
+      files.add   ( spk );
+
+      index = index.load( spk, spk.getSegments() );
+   }
+
+   /**
+   Remove an SPK from the files searched by this instance. The
+   file is not closed: lookups started before the call may still
+   be reading it.
+   */
+   public synchronized void unload ( MappedSPK spk )
+   {
+      if ( files.remove( spk ) )
+      {
+         index = index.unload( spk );
+      }
+   }
+
+   /**
+   Get the files searched by this instance, in load order.
+   */
+   public synchronized List<MappedSPK> getFiles()
+   {
+      return (  new ArrayList<MappedSPK>( files )  );
+   }
+
+   /**
+   Get the current segment index. Its statistics include the lookups
+   made by all indexes of this instance.
+   */
+   public SegmentIndex<SPKSegment> getSegmentIndex()
+   {
+      return ( index );
+   }
+
+   /**
+   Find the highest priority segment for `body' that covers the
+   TDB epoch `et'. Return null if there is none.
+   */
+   public SPKSegment findSegment ( int     body,
+                                   double  et   )
+   {
+      return (  index.find( body, et )  );
+   }
+
+   /**
+   Compute the geometric state of `target' relative to `observer'
+   in the frame `frame' at the TDB epoch `et'. Bodies and frames
+   are identified by ID code. The state is stored in the first six
+   elements of `state'.
+   */
+   public void getState ( int       target,
+                          double    et,
+                          int       frame,
+                          int       observer,
+                          double[]  state    )
+
+      throws SpiceException
+   {
+      getState( index, target, et, frame, observer, state, new Workspace() );
+   }
+
+
+   /**
+   Compute the geometric states of `target' relative to `observer'
+   in the frame `frame' at each of the TDB epochs `ets'. The
+   components of the i'th state are stored in element i of `x', `y',
+   `z', `vx', `vy' and `vz'.
+
+   <p>
+   All states are computed from the set of files loaded when this
+   method is called, using one set of work arrays, so that tables
+   of many states are computed without garbage.
+   */
+   public void getStates ( int       target,
+                           double[]  ets,
+                           int       frame,
+                           int       observer,
+                           double[]  x,
+                           double[]  y,
+                           double[]  z,
+                           double[]  vx,
+                           double[]  vy,
+                           double[]  vz       )
+
+      throws SpiceException
+   {
+      SegmentIndex<SPKSegment> current = index;
+      Workspace                work    = new Workspace();
+      double[]                 state   = work.state;
+
+      for ( int i = 0;  i < ets.length;  i++ )
+      {
+         getState( current, target, ets[i], frame, observer, state, work );
+
+         x [i] = state[0];
+         y [i] = state[1];
+         z [i] = state[2];
+         vx[i] = state[3];
+         vy[i] = state[4];
+         vz[i] = state[5];
+      }
+   }
+
+   /**
+   Return the geometric state of `target' relative to `observer'
+   in the frame `frame' at the TDB epoch `et' as a StateVector.
+   */
+   public StateVector getState ( int     target,
+                                 double  et,
+                                 int     frame,
+                                 int     observer )
+
+      throws SpiceException
+   {
+      double[] state = new double[6];
+
+      getState( target, et, frame, observer, state );
+
+      return (  new StateVector( new Vector6( state ) )  );
+   }
+
+
+
+   //
+   // Private Methods
+   //
+
+   /**
+   Compute a state as described by the public getState method,
+   using the segments of `current' and the work arrays of `work'.
+   */
+   private void getState ( SegmentIndex<SPKSegment>  current,
+                           int                       target,
+                           double                    et,
+                           int                       frame,
+                           int                       observer,
+                           double[]                  state,
+                           Workspace                 work     )
+
+      throws SpiceException
+   {
+      //
+      // Chain from the observer first. obsNodes[i] is the i'th
+      // center reached; obsStates holds the state of the observer
+      // relative to obsNodes[i] in elements 6*i to 6*i+5.
+      //
+      int[]     obsNodes  = work.obsNodes;
+      double[]  obsStates = work.obsStates;
+      double[]  segState  = work.segState;
+
+      obsNodes[0]  = observer;
+      int nobs     = 1;
+
+      //
+      // A segment that cannot be mapped into `frame' ends the
+      // observer's chain. The error is reported only if the target's
+      // chain does not meet the observer's below that segment.
+      //
+      SpiceException chainError = null;
+
+      while ( nobs <= MAXCHN )
+      {
+         SPKSegment segment = current.find( obsNodes[nobs-1], et );
+         if ( segment == null )
+         {
+            break;
+         }
+
+         try
+         {
+            getFrameState( segment, et, frame, segState, work );
+         }
+         catch ( SpiceException exc )
+         {
+            chainError = exc;
+            break;
+         }
+
+         obsNodes[nobs] = segment.getCenter();
+
+         for ( int i = 0;  i < 6;  i++ )
+         {
+            obsStates[6*nobs + i] = obsStates[6*(nobs-1) + i] + segState[i];
+         }
+
+         ++nobs;
+      }
+
+      //
+      // Now chain from the target until a node of the observer's
+      // chain is reached.
+      //
+      double[] trgState = work.trgState;
+      int      node     = target;
+
+      Arrays.fill( trgState, 0.0 );
+
+      for ( int depth = 0;  depth <= MAXCHN;  depth++ )
+      {
+         for ( int j = 0;  j < nobs;  j++ )
+         {
+            if ( obsNodes[j] == node )
+            {
+               for ( int i = 0;  i < 6;  i++ )
+               {
+                  state[i] = trgState[i] - obsStates[6*j + i];
+               }
+
+               return;
+            }
+         }
+
+         if ( depth == MAXCHN )
+         {
+            break;
+         }
+
+         SPKSegment segment = current.find( node, et );
+
+         if ( segment == null )
+         {
+            break;
+         }
+
+         getFrameState( segment, et, frame, segState, work );
+
+         for ( int i = 0;  i < 6;  i++ )
+         {
+            trgState[i] += segState[i];
+         }
+
+         node = segment.getCenter();
+      }
+
+      if ( chainError != null )
+      {
+         throw ( chainError );
+      }
+
+      SpiceErrorException exc = SpiceErrorException.create(
+
+         "SPKEphemeris.getState",
+
+         "SPICE(SPKINSUFFDATA)",
+
+         "Insufficient ephemeris data have been loaded to compute " +
+         "the state of " + target + " relative to " + observer      +
+         " at the ephemeris epoch " + et + "."                       );
+
+      throw ( exc );
+   }
+
+
+   /**
+   Evaluate `segment' at `et' and, if needed, transform the result
+   into `frame', using the work arrays of `work'.
+   */
+   private void getFrameState ( SPKSegment  segment,
+                                double      et,
+                                int         frame,
+                                double[]    state,
+                                Workspace   work    )
+
+      throws SpiceException
+   {
+      segment.getState( et, state, work.segment );
+
+      int segFrame = segment.getFrame();
+
+      if ( segFrame == frame )
+      {
+         return;
+      }
+
+      if ( transformer == null )
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            "SPKEphemeris.getState",
+
+            "SPICE(FRAMEDATANOTFOUND)",
+
+            "Segment <" + segment.getSegmentID() + "> of "  +
+            segment.getFileName() + " has frame " + segFrame +
+            "; no frame transformer is available to map its " +
+            "states to frame " + frame + "."                    );
+
+         throw ( exc );
+      }
+
+      double[] xform = work.xform;
+      double[] input = work.input;
+
+      transformer.getStateTransformation( segFrame, frame, et, xform );
+
+      System.arraycopy( state, 0, input, 0, 6 );
+
+      for ( int i = 0;  i < 6;  i++ )
+      {
+         double sum = 0.0;
+
+         for ( int j = 0;  j < 6;  j++ )
+         {
+            sum += xform[6*i + j] * input[j];
+         }
+
+         state[i] = sum;
+      }
+   }
+
+
+
+   //
+   // Private classes
+   //
+
+   /**
+   Work arrays of a state computation. A workspace is used by one
+   thread at a time.
+   */
+   private static class Workspace extends Object
+   {
+      private final int[]                       obsNodes  = new int   [ MAXCHN + 1 ];
+      private final double[]                    obsStates = new double[ 6 * (MAXCHN + 1) ];
+      private final double[]                    segState  = new double[6];
+      private final double[]                    trgState  = new double[6];
+      private final double[]                    state     = new double[6];
+      private final double[]                    input     = new double[6];
+      private final double[]                    xform     = new double[36];
+      private final SPKSegment.Work             segment   = new SPKSegment.Work();
+   }
+}
@@ -0,0 +1,678 @@
+package spice.basic;
+
+/**
+Class SPKSegment evaluates a single SPK segment read through a
+{@link MappedDAF}, without calls to CSPICE.
+
+<p>
+Supported data types are:
+
+<pre>
+   2    Chebyshev polynomials, position only
+   3    Chebyshev polynomials, position and velocity
+   8    Lagrange interpolation, equally spaced states
+   9    Lagrange interpolation, unequally spaced states
+   12   Hermite interpolation, equally spaced states
+   13   Hermite interpolation, unequally spaced states
+</pre>
+
+<p>
+States are computed as they are by the corresponding SPKE routines
+of SPICELIB. For types 2 and 3 the record covering the epoch is
+selected as in SPKR02 and SPKR03. For types 8, 9, 12 and 13 the
+interpolation window is centered on the request epoch as well as
+the segment boundaries allow: for an odd window size the window
+is centered on the nearest state; for an even size, half of the
+window precedes the epoch. Types 8 and 9 interpolate each of the
+six state components separately; types 12 and 13 interpolate
+position using velocity as its derivative, and take velocity from
+the derivative of the interpolating polynomial.
+
+<p>
+Instances are immutable. {@link #getState(double, double[])}
+allocates only small work arrays and reads the mapped file with
+absolute gets, so any number of threads may evaluate a segment at
+once.
+
+<h3>Version 1.1.0 18-OCT-2026</h3>
+
+<p> Chebyshev segments are evaluated without allocating work arrays.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+
+public class SPKSegment extends Object
+{
+   //
+   // Fields
+   //
+   private final MappedDAF         daf;
+   private final String            segmentID;
+   private final int               body;
+   private final int               center;
+   private final int               frame;
+   private final int               type;
+   private final double            start;
+   private final double            stop;
+   private final int               begin;
+   private final int               end;
+
+   //
+   // Type dependent parameters, read from the segment trailer.
+   // For the Chebyshev types: the initial epoch, interval length,
+   // record size and record count. For the interpolation types:
+   // the first epoch and step (equally spaced types only), the
+   // window size and the state count.
+   //
+   private final double            initialEpoch;
+   private final double            step;
+   private final int               recordSize;
+   private final int               windowSize;
+   private final int               n;
+
+
+
+   //
+   // Constructors
+   //
+
+   /**
+   Construct an SPKSegment for the array at which a search of
+   `daf' is positioned.
+   */
+   public SPKSegment ( MappedDAF daf )
+
+      throws SpiceException
+   {
+      double[]   dc = daf.getDoubleSummaryComponent();
+      int[]      ic = daf.getIntegerSummaryComponent();
+
+      this.daf       = daf;
+      this.segmentID = daf.getArrayName();
+      this.body      = ic[0];
+      this.center    = ic[1];
+      this.frame     = ic[2];
+      this.type      = ic[3];
+      this.begin     = ic[4];
+      this.end       = ic[5];
+      this.start     = dc[0];
+      this.stop      = dc[1];
+
+      if (  ( begin < 1 ) || ( end < begin )
+         || ( end >= daf.getFreeAddress() ) )
+      {
+         throw badSegment( "has addresses " + begin + ":" + end +
+                           ", which are not in the file."         );
+      }
+
+      if ( ( type == 2 ) || ( type == 3 ) )
+      {
+         initialEpoch = daf.getDouble( end - 3 );
+         step         = daf.getDouble( end - 2 );
+         recordSize   = (int) daf.getDouble( end - 1 );
+         n            = (int) daf.getDouble( end     );
+         windowSize   = 0;
+
+         int ncomp    = ( type == 2 ) ? 3 : 6;
+
+         if (  ( n < 1 ) || ( recordSize < 2 + ncomp )
+            || ( ( recordSize - 2 ) % ncomp != 0 )
+            || ( (long)n * recordSize + 4 != end - begin + 1 ) )
+         {
+            throw badSegment( "has an inconsistent type " + type +
+                              " trailer."                          );
+         }
+      }
+
+      else if ( ( type == 8 ) || ( type == 12 ) )
+      {
+         initialEpoch = daf.getDouble( end - 3 );
+         step         = daf.getDouble( end - 2 );
+         windowSize   = (int) daf.getDouble( end - 1 ) + 1;
+         n            = (int) daf.getDouble( end     );
+         recordSize   = 6;
+
+         if (  ( n < 1 ) || ( windowSize < 1 ) || ( windowSize > n )
+            || ( 6L * n + 4 != end - begin + 1 ) )
+         {
+            throw badSegment( "has an inconsistent type " + type +
+                              " trailer."                          );
+         }
+      }
+
+      else if ( ( type == 9 ) || ( type == 13 ) )
+      {
+         windowSize   = (int) daf.getDouble( end - 1 ) + 1;
+         n            = (int) daf.getDouble( end     );
+         initialEpoch = 0.0;
+         step         = 0.0;
+         recordSize   = 6;
+
+         //
+         // States, epochs, an epoch directory holding every 100th
+         // epoch, and the two element trailer.
+         //
+         if (  ( n < 1 ) || ( windowSize < 1 ) || ( windowSize > n )
+            || ( 7L * n + (n-1)/100 + 2 != end - begin + 1 ) )
+         {
+            throw badSegment( "has an inconsistent type " + type +
+                              " trailer."                          );
+         }
+      }
+
+      else
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            "SPKSegment.SPKSegment",
+
+            "SPICE(SPKTYPENOTSUPP)",
+
+            "Segment <" + segmentID + "> of " + daf.getFileName() +
+            " has data type " + type + ". Only types 2, 3, 8, 9, " +
+            "12 and 13 are supported."                               );
+
+         throw ( exc );
+      }
+   }
+
+
+
+   //
+   // Instance Methods
+   //
+
+   public int getBody()
+   {
+      return ( body );
+   }
+
+   public int getCenter()
+   {
+      return ( center );
+   }
+
+   /**
+   Get the frame ID code of the segment's states.
+   */
+   public int getFrame()
+   {
+      return ( frame );
+   }
+
+   public int getType()
+   {
+      return ( type );
+   }
+
+   /**
+   Get the segment's start time, as TDB seconds past J2000.
+   */
+   public double getStart()
+   {
+      return ( start );
+   }
+
+   /**
+   Get the segment's stop time, as TDB seconds past J2000.
+   */
+   public double getStop()
+   {
+      return ( stop );
+   }
+
+   public String getSegmentID()
+   {
+      return ( segmentID );
+   }
+
+   public String getFileName()
+   {
+      return ( daf.getFileName() );
+   }
+
+   /**
+   Indicate whether the segment covers the TDB epoch `et'.
+   */
+   public boolean covers ( double et )
+   {
+      return (  ( et >= start ) && ( et <= stop )  );
+   }
+
+
+   /**
+   Compute the state of the segment's body relative to its
+   center, in the segment's frame, at the TDB epoch `et'. The
+   state is stored in the first six elements of `state'.
+   */
+   public void getState ( double    et,
+                          double[]  state )
+
+      throws SpiceException
+   {
+      getState( et, state, null );
+   }
+
+
+   /**
+   Compute the state of the segment's body as described by
+   {@link #getState(double, double[])}, using the work arrays of
+   `work', which may be null. A Work instance may be used for any
+   number of segments, by one thread at a time.
+   */
+   void getState ( double    et,
+                   double[]  state,
+                   Work      work  )
+
+      throws SpiceException
+   {
+      if ( !covers( et ) )
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            "SPKSegment.getState",
+
+            "SPICE(SPKINSUFFDATA)",
+
+            "Segment <" + segmentID + "> of " + daf.getFileName() +
+            " covers " + start + " to " + stop + "; it does not " +
+            "cover " + et + "."                                      );
+
+         throw ( exc );
+      }
+
+      switch ( type )
+      {
+         case 2:
+         case 3:
+
+            getChebyshevState( et, state );
+            break;
+
+         case 8:
+         case 9:
+
+            getLagrangeState( et, state, getWork( work ) );
+            break;
+
+         default:
+
+            getHermiteState( et, state, getWork( work ) );
+      }
+   }
+
+
+
+   //
+   // Private Methods
+   //
+
+   /**
+   Types 2 and 3. The Chebyshev expansions are evaluated by the
+   Clenshaw recurrence, as by the SPICELIB routine CHBINT, so no
+   work arrays are needed.
+   */
+   private void getChebyshevState ( double    et,
+                                    double[]  state )
+   {
+      int       ncomp  = ( type == 2 ) ? 3 : 6;
+      int       ncoeff = ( recordSize - 2 ) / ncomp;
+
+      //
+      // Select the record covering `et'; epochs after the last
+      // interval use the last record.
+      //
+      int recno = (int) Math.floor( ( et - initialEpoch ) / step );
+
+      recno      = Math.max( 0, Math.min( recno, n - 1 ) );
+
+      int    rec    = begin + recno * recordSize;
+      double mid    = daf.getDouble( rec     );
+      double radius = daf.getDouble( rec + 1 );
+      double s      = ( et - mid ) / radius;
+      double s2     = 2.0 * s;
+
+      for ( int i = 0;  i < ncomp;  i++ )
+      {
+         int    base = rec + 2 + i * ncoeff;
+
+         //
+         // w0, w1, w2 are the last three terms of the recurrence
+         // for the value; dw0, dw1, dw2 those for the derivative.
+         //
+         double w0   = 0.0;
+         double w1   = 0.0;
+         double w2;
+         double dw0  = 0.0;
+         double dw1  = 0.0;
+         double dw2;
+
+         for ( int k = ncoeff - 1;  k > 0;  k-- )
+         {
+            w2  = w1;
+            w1  = w0;
+            w0  = daf.getDouble( base + k )  +  ( s2 * w1  -  w2 );
+
+            dw2 = dw1;
+            dw1 = dw0;
+            dw0 = 2.0 * w1  +  s2 * dw1  -  dw2;
+         }
+
+         state[i] = daf.getDouble( base )  +  ( s * w0  -  w1 );
+
+         //
+         // Type 2 velocity is the derivative of the position
+         // polynomial, scaled from s to seconds.
+         //
+         if ( type == 2 )
+         {
+            state[i+3] = ( w0  +  s * dw0  -  dw1 ) / radius;
+         }
+      }
+   }
+
+
+   /**
+   Types 8 and 9.
+   */
+   private void getLagrangeState ( double    et,
+                                   double[]  state,
+                                   Work      work  )
+   {
+      int       first  = getWindowStart( et );
+      double[]  epochs = work.epochs;
+      double[]  values = work.values;
+
+      for ( int j = 0;  j < windowSize;  j++ )
+      {
+         epochs[j] = getEpoch( first + j );
+      }
+
+      for ( int i = 0;  i < 6;  i++ )
+      {
+         for ( int j = 0;  j < windowSize;  j++ )
+         {
+            values[j] = daf.getDouble( begin + 6*(first + j) + i );
+         }
+
+         state[i] = lagrange( epochs, values, windowSize, et, work.work );
+      }
+   }
+
+
+   /**
+   Types 12 and 13.
+   */
+   private void getHermiteState ( double    et,
+                                  double[]  state,
+                                  Work      work  )
+   {
+      int       first   = getWindowStart( et );
+      double[]  epochs  = work.epochs;
+      double[]  values  = work.values;
+      double[]  derivs  = work.derivs;
+      double[]  result  = work.result;
+
+      for ( int j = 0;  j < windowSize;  j++ )
+      {
+         epochs[j] = getEpoch( first + j );
+      }
+
+      for ( int i = 0;  i < 3;  i++ )
+      {
+         for ( int j = 0;  j < windowSize;  j++ )
+         {
+            values[j] = daf.getDouble( begin + 6*(first + j) + i     );
+            derivs[j] = daf.getDouble( begin + 6*(first + j) + i + 3 );
+         }
+
+         hermite( epochs, values, derivs, windowSize, et, work.work, result );
+
+         state[i]   = result[0];
+         state[i+3] = result[1];
+      }
+   }
+
+
+   /**
+   Index of the first state of the interpolation window for `et'.
+   */
+   private int getWindowStart ( double et )
+   {
+      int first;
+
+      if ( windowSize % 2 == 1 )
+      {
+         first = getNearestEpoch( et )  -  ( windowSize - 1 ) / 2;
+      }
+      else
+      {
+         first = getLastEpochBefore( et )  -  windowSize / 2  +  1;
+      }
+
+      return (  Math.max( 0, Math.min( first, n - windowSize ) )  );
+   }
+
+
+   /**
+   Index of the last epoch less than or equal to `et', or -1 if
+   there is none.
+   */
+   private int getLastEpochBefore ( double et )
+   {
+      if ( ( type == 8 ) || ( type == 12 ) )
+      {
+         return (  (int) Math.max( -1.0,
+                                   Math.min( Math.floor( (et - initialEpoch)
+                                                         / step ),
+                                             n - 1 )                     )  );
+      }
+
+      //
+      // Binary search of the epochs of a type 9 or 13 segment.
+      //
+      int low  = -1;
+      int high = n;
+
+      while ( high - low > 1 )
+      {
+         int mid = ( low + high ) >>> 1;
+
+         if ( getEpoch( mid ) <= et )
+         {
+            low  = mid;
+         }
+         else
+         {
+            high = mid;
+         }
+      }
+
+      return ( low );
+   }
+
+
+   /**
+   Index of the epoch nearest to `et'.
+   */
+   private int getNearestEpoch ( double et )
+   {
+      int last = getLastEpochBefore( et );
+
+      if ( last < 0 )
+      {
+         return ( 0 );
+      }
+
+      if (  ( last < n - 1 )
+         && ( getEpoch( last + 1 ) - et  <  et - getEpoch( last ) )  )
+      {
+         return ( last + 1 );
+      }
+
+      return ( last );
+   }
+
+
+   private double getEpoch ( int index )
+   {
+      if ( ( type == 8 ) || ( type == 12 ) )
+      {
+         return (  initialEpoch  +  index * step  );
+      }
+
+      return (  daf.getDouble( begin + 6*n + index )  );
+   }
+
+
+   /**
+   Lagrange interpolation of the first `size' values `y' at abscissas
+   `x' by Neville's algorithm, as done by SPICELIB's LGRINT. `p' must
+   hold `size' elements.
+   */
+   static double lagrange ( double[]  x,
+                            double[]  y,
+                            int       size,
+                            double    t,
+                            double[]  p  )
+   {
+      System.arraycopy( y, 0, p, 0, size );
+
+      for ( int j = 1;  j < size;  j++ )
+      {
+         for ( int i = 0;  i < size - j;  i++ )
+         {
+            double c1 = t        -  x[i + j];
+            double c2 = x[i]     -  t;
+            double d  = x[i]     -  x[i + j];
+
+            p[i] = ( c1 * p[i]  +  c2 * p[i+1] ) / d;
+         }
+      }
+
+      return ( p[0] );
+   }
+
+
+   /**
+   Hermite interpolation of the first `size' values `f' and
+   derivatives `df' at abscissas `x', as done by SPICELIB's HRMINT.
+   The interpolating polynomial's value and derivative at `t' are
+   returned in result[0] and result[1]. `work' must hold 4*size
+   elements.
+   */
+   static void hermite ( double[]  x,
+                         double[]  f,
+                         double[]  df,
+                         int       size,
+                         double    t,
+                         double[]  work,
+                         double[]  result )
+   {
+      int nodes = 2 * size;
+
+      //
+      // work[0:nodes-1] holds interpolant values, work[nodes:] their
+      // derivatives. The abscissas are the x values, each repeated
+      // twice: node k is x[k/2].
+      //
+      for ( int i = 0;  i < size;  i++ )
+      {
+         //
+         // Degree one interpolant on a repeated node.
+         //
+         work[2*i]         = f[i]  +  df[i] * ( t - x[i] );
+         work[nodes + 2*i] = df[i];
+
+         //
+         // Degree one interpolant on adjacent distinct nodes.
+         //
+         if ( i < size - 1 )
+         {
+            double d = x[i] - x[i+1];
+
+            work[2*i + 1]         = (  ( t - x[i+1] ) * f[i]
+                                     - ( t - x[i]   ) * f[i+1] ) / d;
+
+            work[nodes + 2*i + 1] = ( f[i] - f[i+1] ) / d;
+         }
+      }
+
+      for ( int j = 2;  j < nodes;  j++ )
+      {
+         for ( int k = 0;  k < nodes - j;  k++ )
+         {
+            double xk  = x[ k      / 2 ];
+            double xkj = x[ (k+j)  / 2 ];
+            double d   = xk - xkj;
+
+            double p0  = work[k];
+            double p1  = work[k+1];
+            double d0  = work[nodes + k];
+            double d1  = work[nodes + k + 1];
+
+            work[k]         = (  ( t - xkj ) * p0  -  ( t - xk ) * p1  ) / d;
+
+            work[nodes + k] = (  ( t - xkj ) * d0  +  p0
+                               - ( t - xk  ) * d1  -  p1  ) / d;
+         }
+      }
+
+      result[0] = work[0];
+      result[1] = work[nodes];
+   }
+
+
+   /**
+   Return `work', or a new Work if it is null, with arrays large
+   enough for this segment's interpolation window.
+   */
+   private Work getWork ( Work work )
+   {
+      if ( work == null )
+      {
+         work = new Work();
+      }
+
+      if ( work.epochs.length < windowSize )
+      {
+         work.epochs = new double[windowSize];
+         work.values = new double[windowSize];
+         work.derivs = new double[windowSize];
+         work.work   = new double[4 * windowSize];
+      }
+
+      return ( work );
+   }
+
+
+   private SpiceErrorException badSegment ( String problem )
+   {
+      return (  SpiceErrorException.create(
+
+                   "SPKSegment.SPKSegment",
+
+                   "SPICE(BADSPKSEGMENT)",
+
+                   "Segment <" + segmentID + "> of " + daf.getFileName() +
+                   " " + problem                                          )  );
+   }
+
+
+
+   //
+   // Package classes
+   //
+
+   /**
+   Work arrays for the interpolation of segment states.
+   */
+   static final class Work extends Object
+   {
+      private double[]                          epochs = new double[0];
+      private double[]                          values = new double[0];
+      private double[]                          derivs = new double[0];
+      private double[]                          work   = new double[0];
+      private final double[]                    result = new double[2];
+   }
+}
@@ -0,0 +1,848 @@
+package spice.basic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+Class SegmentIndex is an immutable index of the segments of a set of
+loaded files, such as the SPK segments used by {@link SPKEphemeris}
+and the CK segments used by {@link CKPointing}, that finds the
+highest priority segment for an ID code at a given time in time
+logarithmic in the number of segments for that ID.
+
+<p>
+Priority follows the rules used by CSPICE to search loaded files:
+segments of the file loaded last have the highest priority, and
+within a file, later segments have priority over earlier ones. The
+ID code and time bounds of a segment are obtained through a
+{@link Bounds} supplied when the index is created; a segment's
+bounds include its start and stop times.
+
+<p>
+For each ID code the index holds:
+
+<ul>
+<li>A coverage map: the sorted, distinct start and stop times of the
+segments, and, for each of these times and for each open interval
+between them, the highest priority segment covering it. A lookup is
+a binary search of the map.</li>
+
+<li>An interval tree over the segments sorted by start time, in
+which each node records the greatest stop time of its subtree. The
+tree finds all segments whose bounds meet a time interval, as is
+needed for lookups with a tolerance and for segments that may not
+have data throughout their bounds.</li>
+</ul>
+
+<p>
+Loading or unloading a file creates a new index that shares the
+structures of all ID codes not present in the file; only those of
+the file's ID codes are rebuilt. Instances are immutable apart from
+their lookup statistics and may be shared by any number of threads.
+
+<p>
+Lookup statistics are shared by an index and all indexes derived from
+it by loading and unloading files. Every lookup is counted; latency
+is measured on one lookup in {@link #SAMPLE_INTERVAL}, chosen at
+random, so that timing does not dominate the cost of a lookup.
+
+<h3>Version 1.1.0 18-OCT-2026</h3>
+
+<p> Lookups by ID code no longer allocate.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+
+public final class SegmentIndex<S> extends Object
+{
+   //
+   // Public constants
+   //
+
+   /**
+   Number of lookups per latency measurement.
+   */
+   public static final int                  SAMPLE_INTERVAL = 64;
+
+   //
+   // Fields
+   //
+   private final Bounds<S>                  bounds;
+   private final List<Entry>                entries;
+   private final Map<Integer, Tree>         trees;
+   private final int[]                      treeIDs;
+   private final Tree[]                     treeList;
+   private final Counters                   counters;
+   private final int                        segmentCount;
+
+
+
+   //
+   // Nested types
+   //
+
+   /**
+   Interface Bounds supplies the ID code and time bounds of a
+   segment.
+   */
+   public interface Bounds<S>
+   {
+      int     getID    ( S segment );
+      double  getStart ( S segment );
+      double  getStop  ( S segment );
+   }
+
+
+   /**
+   One loaded file: its segments grouped by ID code, in file order.
+   */
+   private static final class Entry
+   {
+      final Object                       file;
+      final Map<Integer, Object[]>       byID;
+      final int                          count;
+
+      Entry ( Object                  file,
+              Map<Integer, Object[]>  byID,
+              int                     count )
+      {
+         this.file  = file;
+         this.byID  = byID;
+         this.count = count;
+      }
+   }
+
+
+   /**
+   Index structures of one ID code. `segments' holds the segments in
+   decreasing order of priority; the priority rank of a segment is
+   its position in that array.
+
+   <p>
+   `starts', `stops' and `ranks' describe the segments sorted by
+   start time; maxStop[mid] is the greatest stop time of the subtree
+   rooted at mid of the implicit binary tree over the sorted arrays,
+   in which the root of the range [l, r) is (l+r)/2.
+
+   <p>
+   Coverage slot 2i+1 is the time breaks[i]; slot 2i is the open
+   interval preceding it, and the last slot follows the last break.
+   winners[slot] is the rank of the highest priority segment
+   covering the slot, or -1.
+   */
+   private static final class Tree
+   {
+      final Object[]    segments;
+      final double[]    starts;
+      final double[]    stops;
+      final double[]    maxStop;
+      final int[]       ranks;
+      final double[]    breaks;
+      final int[]       winners;
+      final int         maxOverlap;
+
+      Tree ( Object[]  segments,
+             double[]  starts,
+             double[]  stops,
+             double[]  maxStop,
+             int[]     ranks,
+             double[]  breaks,
+             int[]     winners,
+             int       maxOverlap )
+      {
+         this.segments   = segments;
+         this.starts     = starts;
+         this.stops      = stops;
+         this.maxStop    = maxStop;
+         this.ranks      = ranks;
+         this.breaks     = breaks;
+         this.winners    = winners;
+         this.maxOverlap = maxOverlap;
+      }
+   }
+
+
+   /**
+   Lookup statistics.
+   */
+   private static final class Counters
+   {
+      final LongAdder   lookups = new LongAdder();
+      final LongAdder   sampled = new LongAdder();
+      final LongAdder   nanos   = new LongAdder();
+   }
+
+
+
+   //
+   // Constructors
+   //
+   private SegmentIndex ( Bounds<S>           bounds,
+                          List<Entry>         entries,
+                          Map<Integer, Tree>  trees,
+                          Counters            counters )
+   {
+      int count = 0;
+
+      for ( Entry entry : entries )
+      {
+         count += entry.count;
+      }
+
+      this.bounds       = bounds;
+      this.entries      = entries;
+      this.trees        = trees;
+      this.counters     = counters;
+      this.segmentCount = count;
+
+      //
+      // Lookups by ID code search a sorted copy of the keys of `trees',
+      // so that they do not box the ID code.
+      //
+      this.treeIDs      = new int [ trees.size() ];
+      this.treeList     = new Tree[ trees.size() ];
+
+      int i = 0;
+
+      for ( Integer id : trees.keySet() )
+      {
+         treeIDs[i++] = id;
+      }
+
+      Arrays.sort( treeIDs );
+
+      for ( i = 0;  i < treeIDs.length;  i++ )
+      {
+         treeList[i] = trees.get( treeIDs[i] );
+      }
+   }
+
+
+
+   //
+   // Static Methods
+   //
+
+   /**
+   Create an empty index for segments whose ID codes and time bounds
+   are given by `bounds'.
+   */
+   public static <S> SegmentIndex<S> create ( Bounds<S> bounds )
+   {
+      return (  new SegmentIndex<S>( bounds,
+                                     Collections.<Entry>emptyList(),
+                                     Collections.<Integer, Tree>emptyMap(),
+                                     new Counters()                        )  );
+   }
+
+
+
+   //
+   // Instance Methods
+   //
+
+   /**
+   Return an index in which the segments `segments', given in file
+   order, of the file `file' have the highest priority. If `file' is
+   already indexed, its segments are replaced.
+   */
+   public SegmentIndex<S> load ( Object             file,
+                                 List<? extends S>  segments )
+   {
+      HashMap<Integer, ArrayList<Object>> lists =
+
+         new HashMap<Integer, ArrayList<Object>>();
+
+      for ( S segment : segments )
+      {
+         Integer           id   = bounds.getID( segment );
+         ArrayList<Object> list = lists.get( id );
+
+         if ( list == null )
+         {
+            list = new ArrayList<Object>();
+
+            lists.put( id, list );
+         }
+
+         list.add( segment );
+      }
+
+      HashMap<Integer, Object[]> byID = new HashMap<Integer, Object[]>();
+
+      for ( Map.Entry<Integer, ArrayList<Object>> e : lists.entrySet() )
+      {
+         byID.put( e.getKey(), e.getValue().toArray() );
+      }
+
+      ArrayList<Entry> newEntries = new ArrayList<Entry>( entries.size() + 1 );
+      Set<Integer>     changed    = new HashSet<Integer>( byID.keySet() );
+
+      for ( Entry entry : entries )
+      {
+         if ( entry.file.equals( file ) )
+         {
+            changed.addAll( entry.byID.keySet() );
+         }
+         else
+         {
+            newEntries.add( entry );
+         }
+      }
+
+      newEntries.add(  new Entry( file,
+                                  Collections.unmodifiableMap( byID ),
+                                  segments.size()                      )  );
+
+      return (  update( newEntries, changed )  );
+   }
+
+
+   /**
+   Return an index without the segments of the file `file'. If
+   `file' is not indexed, this index is returned.
+   */
+   public SegmentIndex<S> unload ( Object file )
+   {
+      ArrayList<Entry> newEntries = new ArrayList<Entry>( entries.size() );
+      Set<Integer>     changed    = null;
+
+      for ( Entry entry : entries )
+      {
+         if ( entry.file.equals( file ) )
+         {
+            changed = entry.byID.keySet();
+         }
+         else
+         {
+            newEntries.add( entry );
+         }
+      }
+
+      if ( changed == null )
+      {
+         return ( this );
+      }
+
+      return (  update( newEntries, changed )  );
+   }
+
+
+   /**
+   Find the highest priority segment for `id' whose bounds include
+   the time `t'. Return null if there is none.
+   */
+   public S find ( int     id,
+                   double  t  )
+   {
+      long t0 = startLookup();
+
+      S    result = null;
+      Tree tree   = getTree( id );
+
+      if ( tree != null )
+      {
+         int i    = Arrays.binarySearch( tree.breaks, t );
+         int slot = ( i >= 0 ) ? ( 2*i + 1 ) : ( -2*(i + 1) );
+         int rank = tree.winners[slot];
+
+         if ( rank >= 0 )
+         {
+            result = segment( tree, rank );
+         }
+      }
+
+      endLookup( t0 );
+
+      return ( result );
+   }
+
+
+   /**
+   Get the segments for `id' whose bounds meet the closed interval
+   [lo, hi], in decreasing order of priority.
+   */
+   public List<S> getCandidates ( int     id,
+                                  double  lo,
+                                  double  hi )
+   {
+      long t0   = startLookup();
+
+      Tree tree = getTree( id );
+
+      if ( tree == null )
+      {
+         endLookup( t0 );
+
+         return (  Collections.<S>emptyList()  );
+      }
+
+      int[] found = new int[ tree.ranks.length ];
+      int   n     = collect( tree, 0, tree.ranks.length, lo, hi, found, 0 );
+
+      Arrays.sort( found, 0, n );
+
+      ArrayList<S> result = new ArrayList<S>( n );
+
+      for ( int i = 0;  i < n;  i++ )
+      {
+         result.add(  segment( tree, found[i] )  );
+      }
+
+      endLookup( t0 );
+
+      return ( result );
+   }
+
+
+   /**
+   Get all segments for `id', in decreasing order of priority.
+   */
+   public List<S> getSegments ( int id )
+   {
+      Tree tree = getTree( id );
+
+      if ( tree == null )
+      {
+         return (  Collections.<S>emptyList()  );
+      }
+
+      ArrayList<S> result = new ArrayList<S>( tree.segments.length );
+
+      for ( int i = 0;  i < tree.segments.length;  i++ )
+      {
+         result.add(  segment( tree, i )  );
+      }
+
+      return ( result );
+   }
+
+
+   /**
+   Get the ID codes for which segments are indexed, in increasing
+   order.
+   */
+   public int[] getIDs()
+   {
+      return ( treeIDs.clone() );
+   }
+
+
+   /**
+   Get the number of indexed files.
+   */
+   public int getFileCount()
+   {
+      return ( entries.size() );
+   }
+
+
+   /**
+   Get the number of indexed segments.
+   */
+   public int getSegmentCount()
+   {
+      return ( segmentCount );
+   }
+
+
+   /**
+   Get the greatest depth of the interval trees of all ID codes; a
+   tree holding n segments has depth floor(log2(n)) + 1.
+   */
+   public int getMaxDepth()
+   {
+      int depth = 0;
+
+      for ( Tree tree : trees.values() )
+      {
+         depth = Math.max(  depth,
+                            32 - Integer.numberOfLeadingZeros(
+                                    tree.segments.length )       );
+      }
+
+      return ( depth );
+   }
+
+
+   /**
+   Get the greatest number of segments for one ID code covering a
+   single time.
+   */
+   public int getMaxOverlap()
+   {
+      int overlap = 0;
+
+      for ( Tree tree : trees.values() )
+      {
+         overlap = Math.max( overlap, tree.maxOverlap );
+      }
+
+      return ( overlap );
+   }
+
+
+   /**
+   Get the number of lookups made through this index and all indexes
+   sharing its statistics.
+   */
+   public long getLookupCount()
+   {
+      return (  counters.lookups.sum()  );
+   }
+
+
+   /**
+   Get the mean latency of sampled lookups, in nanoseconds, or zero
+   if no lookup has been sampled.
+   */
+   public double getMeanLookupNanos()
+   {
+      long sampled = counters.sampled.sum();
+
+      if ( sampled == 0 )
+      {
+         return ( 0.0 );
+      }
+
+      return (  (double) counters.nanos.sum() / sampled  );
+   }
+
+
+   /**
+   Reset the lookup statistics.
+   */
+   public void resetStatistics()
+   {
+      counters.lookups.reset();
+      counters.sampled.reset();
+      counters.nanos  .reset();
+   }
+
+
+   public String toString()
+   {
+      return (  "SegmentIndex: "    + entries.size()      + " files, "
+                + segmentCount      + " segments, "
+                + trees.size()      + " IDs, max depth "
+                + getMaxDepth()     + ", max overlap "
+                + getMaxOverlap()   + ", "
+                + getLookupCount()  + " lookups, mean latency "
+                + getMeanLookupNanos() + " ns"                     );
+   }
+
+
+
+   //
+   // Private Methods
+   //
+
+   @SuppressWarnings( "unchecked" )
+   private S segment ( Tree  tree,
+                       int   rank )
+   {
+      return (  (S) tree.segments[rank]  );
+   }
+
+
+   /**
+   Count a lookup and, for one lookup in SAMPLE_INTERVAL chosen at
+   random, return its start time; otherwise return -1.
+   */
+   private long startLookup()
+   {
+      counters.lookups.increment();
+
+      if ( ThreadLocalRandom.current().nextInt( SAMPLE_INTERVAL ) == 0 )
+      {
+         return (  System.nanoTime()  );
+      }
+
+      return ( -1L );
+   }
+
+
+   private void endLookup ( long t0 )
+   {
+      if ( t0 != -1L )
+      {
+         counters.nanos  .add( System.nanoTime() - t0 );
+         counters.sampled.increment();
+      }
+   }
+
+
+   /**
+   Get the tree of `id', or null if `id' has no segments.
+   */
+   private Tree getTree ( int id )
+   {
+      int i = Arrays.binarySearch( treeIDs, id );
+
+      return (  ( i >= 0 ) ? treeList[i] : null  );
+   }
+
+
+   /**
+   Build an index having `newEntries', in load order, rebuilding the
+   trees of the ID codes `changed' and sharing the others.
+   */
+   private SegmentIndex<S> update ( List<Entry>   newEntries,
+                                    Set<Integer>  changed    )
+   {
+      HashMap<Integer, Tree> newTrees = new HashMap<Integer, Tree>( trees );
+
+      for ( Integer id : changed )
+      {
+         ArrayList<Object> segments = new ArrayList<Object>();
+
+         for ( int i = newEntries.size() - 1;  i >= 0;  i-- )
+         {
+            Object[] fileSegments = newEntries.get( i ).byID.get( id );
+
+            if ( fileSegments != null )
+            {
+               for ( int j = fileSegments.length - 1;  j >= 0;  j-- )
+               {
+                  segments.add( fileSegments[j] );
+               }
+            }
+         }
+
+         if ( segments.isEmpty() )
+         {
+            newTrees.remove( id );
+         }
+         else
+         {
+            newTrees.put(  id,  buildTree( segments.toArray() )  );
+         }
+      }
+
+      return (  new SegmentIndex<S>( bounds,
+                                     Collections.unmodifiableList( newEntries ),
+                                     Collections.unmodifiableMap ( newTrees   ),
+                                     counters                                  )  );
+   }
+
+
+   /**
+   Build the structures of one ID code from `segments', which are in
+   decreasing order of priority.
+   */
+   @SuppressWarnings( "unchecked" )
+   private Tree buildTree ( Object[] segments )
+   {
+      int              n      = segments.length;
+      final double[]   start  = new double[n];
+      double[]         stop   = new double[n];
+      Integer[]        order  = new Integer[n];
+
+      for ( int i = 0;  i < n;  i++ )
+      {
+         start[i] = bounds.getStart( (S) segments[i] );
+         stop [i] = bounds.getStop ( (S) segments[i] );
+         order[i] = i;
+      }
+
+      //
+      // Interval tree arrays.
+      //
+      Arrays.sort(  order,
+
+                    new Comparator<Integer>()
+                    {
+                       public int compare ( Integer a, Integer b )
+                       {
+                          return (  Double.compare( start[a], start[b] )  );
+                       }
+                    }  );
+
+      double[] starts  = new double[n];
+      double[] stops   = new double[n];
+      double[] maxStop = new double[n];
+      int[]    ranks   = new int   [n];
+
+      for ( int i = 0;  i < n;  i++ )
+      {
+         starts[i] = start[ order[i] ];
+         stops [i] = stop [ order[i] ];
+         ranks [i] = order[i];
+      }
+
+      fillMaxStop( stops, maxStop, 0, n );
+
+      //
+      // Coverage map. Each segment, in decreasing order of priority,
+      // claims the slots from its start to its stop not yet claimed
+      // by a segment of higher priority. next[s] leads to the first
+      // unclaimed slot at or after s.
+      //
+      double[] times = new double[ 2*n ];
+
+      for ( int i = 0;  i < n;  i++ )
+      {
+         times[2*i]     = start[i];
+         times[2*i + 1] = stop [i];
+      }
+
+      Arrays.sort( times );
+
+      int nbreaks = 0;
+
+      for ( int i = 0;  i < times.length;  i++ )
+      {
+         if (  ( nbreaks == 0 ) || ( times[i] != times[nbreaks - 1] )  )
+         {
+            times[nbreaks++] = times[i];
+         }
+      }
+
+      double[] breaks  = Arrays.copyOf( times, nbreaks );
+      int      nslots  = 2*nbreaks + 1;
+      int[]    winners = new int[nslots];
+      int[]    next    = new int[ nslots + 1 ];
+      int[]    depth   = new int[ nslots + 1 ];
+
+      Arrays.fill( winners, -1 );
+
+      for ( int s = 0;  s <= nslots;  s++ )
+      {
+         next[s] = s;
+      }
+
+      for ( int i = 0;  i < n;  i++ )
+      {
+         if ( start[i] > stop[i] )
+         {
+            continue;
+         }
+
+         int first = 2 * Arrays.binarySearch( breaks, start[i] ) + 1;
+         int last  = 2 * Arrays.binarySearch( breaks, stop [i] ) + 1;
+
+         ++depth[first];
+         --depth[last + 1];
+
+         for ( int s = findNext( next, first );  s <= last;  s = findNext( next, s ) )
+         {
+            winners[s] = i;
+            next   [s] = s + 1;
+         }
+      }
+
+      int maxOverlap = 0;
+      int overlap    = 0;
+
+      for ( int s = 0;  s < nslots;  s++ )
+      {
+         overlap   += depth[s];
+         maxOverlap = Math.max( maxOverlap, overlap );
+      }
+
+      return (  new Tree( segments, starts,  stops,   maxStop,
+                          ranks,    breaks,  winners, maxOverlap )  );
+   }
+
+
+
+   //
+   // Static Methods
+   //
+
+   /**
+   Find the first unclaimed slot at or after `s', compressing the
+   path followed.
+   */
+   private static int findNext ( int[]  next,
+                                 int    s    )
+   {
+      int root = s;
+
+      while ( next[root] != root )
+      {
+         root = next[root];
+      }
+
+      while ( next[s] != root )
+      {
+         int t   = next[s];
+         next[s] = root;
+         s       = t;
+      }
+
+      return ( root );
+   }
+
+
+   /**
+   Fill maxStop for the subtree over [l, r); return the greatest stop
+   time of that range.
+   */
+   private static double fillMaxStop ( double[]  stops,
+                                       double[]  maxStop,
+                                       int       l,
+                                       int       r       )
+   {
+      if ( l >= r )
+      {
+         return ( Double.NEGATIVE_INFINITY );
+      }
+
+      int    mid = ( l + r ) >>> 1;
+
+      double max = Math.max(  stops[mid],
+                              Math.max( fillMaxStop( stops, maxStop, l,       mid ),
+                                        fillMaxStop( stops, maxStop, mid + 1, r   ) )  );
+      maxStop[mid] = max;
+
+      return ( max );
+   }
+
+
+   /**
+   Store in found[n:] the ranks of the segments of the subtree over
+   [l, r) whose bounds meet [lo, hi]; return the new count.
+   */
+   private static int collect ( Tree      tree,
+                                int       l,
+                                int       r,
+                                double    lo,
+                                double    hi,
+                                int[]     found,
+                                int       n     )
+   {
+      if (  ( l >= r ) || ( tree.maxStop[ ( l + r ) >>> 1 ] < lo )  )
+      {
+         return ( n );
+      }
+
+      int mid = ( l + r ) >>> 1;
+
+      n = collect( tree, l, mid, lo, hi, found, n );
+
+      //
+      // Segments to the right of mid start no earlier than it does.
+      //
+      if ( tree.starts[mid] > hi )
+      {
+         return ( n );
+      }
+
+      if ( tree.stops[mid] >= lo )
+      {
+         found[n++] = tree.ranks[mid];
+      }
+
+      return (  collect( tree, mid + 1, r, lo, hi, found, n )  );
+   }
+}
@@ -7,6 +7,16 @@ The SpiceErrorException class is used to signal errors
 encountered within the JNISpice system.
 
 
+<p> Version 1.1.0 18-OCT-2026
+
+<p> The toolkit version string is now supplied by the static
+initializer of class CSPICE. Previously it was fetched here, which
+forced initialization of CSPICE, and so required the JNISpice
+library, whenever an exception was created. Classes that read
+kernels without CSPICE, such as MappedDAF, can now signal errors
+in programs that never load the library. Until the version is
+supplied, as in such programs, messages are not prefixed with one.
+
 <p> Version 1.0.0 11-NOV-2009 (NJB)
 */
 
@@ -15,20 +25,11 @@ public class SpiceErrorException extends SpiceException
    //
    // Constants
    //
-   private static String VERSION;
-
-   static
-   {
-      try
-      {
-         VERSION = CSPICE.tkvrsn( "TOOLKIT" );
-
-      }
-      catch( SpiceException exc )
-      {
-         VERSION = "<ERROR: Could not obtain SPICE Toolkit version>";
-      }
-   }
+   //
+   // The toolkit version string, or null until it is supplied by
+   // class CSPICE.
+   //
+   private static volatile String VERSION = null;
 
    //
    // Instance variables
@@ -56,6 +57,32 @@ public class SpiceErrorException extends SpiceException
    // Methods
    //
 
+   /**
+   Set the toolkit version string prefixed to error messages. This
+   is called by the static initializer of class CSPICE.
+   */
+   static void setToolkitVersion ( String version )
+   {
+      VERSION = version;
+   }
+
+
+   /**
+   Form the compound message of an exception from a caller name,
+   short message and long message, prefixed with the toolkit version
+   string if it has been supplied.
+   */
+   static String compoundMessage ( String caller,
+                                   String shortMsg,
+                                   String longMsg  )
+   {
+      String version = VERSION;
+      String message = caller + ": " + shortMsg + ": " + longMsg;
+
+      return (  ( version == null ) ? message : version + ": " + message  );
+   }
+
+
    /**
    Create a SpiceErrorException using a caller name, short message,
    and long message.
@@ -64,8 +91,7 @@ public class SpiceErrorException extends SpiceException
                                               String shortMsg,
                                               String longMsg  )
    {
-      String compoundMsg = VERSION  + ": " + caller + ": " +
-                           shortMsg + ": " + longMsg;
+      String compoundMsg = compoundMessage( caller, shortMsg, longMsg );
 
       return( new SpiceErrorException(compoundMsg) );
    }
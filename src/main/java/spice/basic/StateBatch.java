@@ -0,0 +1,222 @@
+package spice.basic;
+
+/**
+Class StateBatch computes the states of a target relative to an
+observer at many epochs per call, storing them as arrays of
+components rather than as objects.
+
+<p>
+Tables built by constructing a {@link StateRecord} per epoch allocate
+several objects and strings per sample, and take the CSPICE monitor
+once per sample. The methods of this class resolve the names of the
+target, observer, frame and aberration correction once, fill arrays
+supplied by the caller, and take the monitor of class {@link CSPICE}
+once per block of {@link #BLOCK_SIZE} epochs; between blocks, other
+threads may call CSPICE.
+
+<p>
+Geometric states may instead be computed without CSPICE, by an
+{@link SPKEphemeris} holding the required SPK files. Light times are
+then computed from the geometric positions, as CSPICE does for
+uncorrected states.
+
+<p>
+For each method, the arrays `x', `y', `z', `vx', `vy', `vz' and `lt'
+receive, in element i, the components of the state and the one-way
+light time at the TDB epoch `ets[i]'; they must be at least as long
+as `ets'. Positions are in km, velocities in km/s, and light times in
+seconds.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+
+public class StateBatch extends Object
+{
+   //
+   // Public constants
+   //
+
+   /**
+   Number of states computed per acquisition of the CSPICE monitor.
+   */
+   public static final int                   BLOCK_SIZE = 1024;
+
+   //
+   // Private constants
+   //
+
+   //
+   // Speed of light in vacuum, km/s, as returned by CSPICE.clight.
+   //
+   private static final double               CLIGHT     = 299792.458;
+
+
+
+   //
+   // Constructors
+   //
+
+   private StateBatch()
+   {
+   }
+
+
+
+   //
+   // Static Methods
+   //
+
+   /**
+   Compute the aberration-corrected states of `target' relative to
+   `observer' in the frame `ref' at the TDB epochs `ets', using
+   CSPICE.
+   */
+   public static void getStates ( Body                  target,
+                                  double[]              ets,
+                                  ReferenceFrame        ref,
+                                  AberrationCorrection  abcorr,
+                                  Body                  observer,
+                                  double[]              x,
+                                  double[]              y,
+                                  double[]              z,
+                                  double[]              vx,
+                                  double[]              vy,
+                                  double[]              vz,
+                                  double[]              lt        )
+
+      throws SpiceException
+   {
+      checkSizes( ets, x, y, z, vx, vy, vz, lt );
+
+      String   targ   = target.getName();
+      String   frame  = ref.getName();
+      String   corr   = abcorr.getName();
+      String   obs    = observer.getName();
+
+      double[] state  = new double[6];
+      double[] lt1    = new double[1];
+
+      for ( int begin = 0;  begin < ets.length;  begin += BLOCK_SIZE )
+      {
+         int end = Math.min( begin + BLOCK_SIZE, ets.length );
+
+         //
+         // The calls of spkezr reenter the monitor taken here.
+         //
+         synchronized ( CSPICE.class )
+         {
+            for ( int i = begin;  i < end;  i++ )
+            {
+               CSPICE.spkezr ( targ, ets[i], frame, corr, obs, state, lt1 );
+
+               x [i] = state[0];
+               y [i] = state[1];
+               z [i] = state[2];
+               vx[i] = state[3];
+               vy[i] = state[4];
+               vz[i] = state[5];
+               lt[i] = lt1[0];
+            }
+         }
+      }
+   }
+
+
+   /**
+   Compute the aberration-corrected states of `target' relative to
+   `observer' in the frame `ref' at the TDB epochs `ets'. Geometric
+   states are computed by `ephemeris', if it is not null; others are
+   computed by CSPICE.
+   */
+   public static void getStates ( SPKEphemeris          ephemeris,
+                                  Body                  target,
+                                  double[]              ets,
+                                  ReferenceFrame        ref,
+                                  AberrationCorrection  abcorr,
+                                  Body                  observer,
+                                  double[]              x,
+                                  double[]              y,
+                                  double[]              z,
+                                  double[]              vx,
+                                  double[]              vy,
+                                  double[]              vz,
+                                  double[]              lt        )
+
+      throws SpiceException
+   {
+      if (  ( ephemeris == null ) || !abcorr.isGeometric()  )
+      {
+         getStates( target, ets, ref, abcorr, observer,
+                    x, y, z, vx, vy, vz, lt             );
+      }
+      else
+      {
+         getStates( ephemeris,
+                    target.getIDCode(),  ets,  ref.getIDCode(),
+                    observer.getIDCode(),
+                    x, y, z, vx, vy, vz, lt                     );
+      }
+   }
+
+
+   /**
+   Compute the geometric states of `target' relative to `observer' in
+   the frame `frame' at the TDB epochs `ets', using `ephemeris'.
+   Bodies and frames are identified by ID code. No calls to CSPICE
+   are made.
+   */
+   public static void getStates ( SPKEphemeris  ephemeris,
+                                  int           target,
+                                  double[]      ets,
+                                  int           frame,
+                                  int           observer,
+                                  double[]      x,
+                                  double[]      y,
+                                  double[]      z,
+                                  double[]      vx,
+                                  double[]      vy,
+                                  double[]      vz,
+                                  double[]      lt        )
+
+      throws SpiceException
+   {
+      checkSizes( ets, x, y, z, vx, vy, vz, lt );
+
+      ephemeris.getStates( target, ets, frame, observer, x, y, z, vx, vy, vz );
+
+      for ( int i = 0;  i < ets.length;  i++ )
+      {
+         lt[i] = Math.sqrt( x[i]*x[i] + y[i]*y[i] + z[i]*z[i] ) / CLIGHT;
+      }
+   }
+
+
+
+   //
+   // Private Methods
+   //
+
+   private static void checkSizes ( double[]     ets,
+                                    double[]...  arrays )
+
+      throws SpiceException
+   {
+      for ( double[] array : arrays )
+      {
+         if ( array.length < ets.length )
+         {
+            SpiceErrorException exc = SpiceErrorException.create(
+
+               "StateBatch.getStates",
+
+               "SPICE(ARRAYTOOSMALL)",
+
+               "Output arrays must hold " + ets.length + " elements, " +
+               "the number of epochs, but an array of length "         +
+               array.length + " was supplied."                           );
+
+            throw ( exc );
+         }
+      }
+   }
+}
@@ -191,7 +191,26 @@ public class StateRecord extends StateVector
       double[] v        = new double[6];
       double[] lt       = new double[1];
 
-      CSPICE.spkezr ( targ, et, frame, corr, obs, v, lt );
+      if ( CSPICEProfiler.isEnabled() )
+      {
+         CSPICEProfiler.call ( "spkezr",
+
+            new NativeExecutor.Task<Object>()
+            {
+               public Object call()
+
+                  throws SpiceException
+               {
+                  CSPICE.spkezr ( targ, et, frame, corr, obs, v, lt );
+
+                  return ( null );
+               }
+            } );
+      }
+      else
+      {
+         CSPICE.spkezr ( targ, et, frame, corr, obs, v, lt );
+      }
 
       super.assign( v );
 
@@ -229,8 +248,28 @@ public class StateRecord extends StateVector
       double[] v        = new double[6];
       double[] lt       = new double[1];
 
-      CSPICE.spkcpo ( targ, et, outfrm, refloc, corr, 
-                      obsvec,   obscen, obsfrm, v,      lt );
+      if ( CSPICEProfiler.isEnabled() )
+      {
+         CSPICEProfiler.call ( "spkcpo",
+
+            new NativeExecutor.Task<Object>()
+            {
+               public Object call()
+
+                  throws SpiceException
+               {
+                  CSPICE.spkcpo ( targ, et, outfrm, refloc, corr,
+                                  obsvec,   obscen, obsfrm, v,      lt );
+
+                  return ( null );
+               }
+            } );
+      }
+      else
+      {
+         CSPICE.spkcpo ( targ, et, outfrm, refloc, corr,
+                         obsvec,   obscen, obsfrm, v,      lt );
+      }
 
       super.assign( v );
 
@@ -269,8 +308,28 @@ public class StateRecord extends StateVector
       double[] v        = new double[6];
       double[] lt       = new double[1];
 
-      CSPICE.spkcvo ( targ,  et,    outfrm, refloc, corr, 
-                      obspv, obset, obscen, obsfrm, v,    lt );
+      if ( CSPICEProfiler.isEnabled() )
+      {
+         CSPICEProfiler.call ( "spkcvo",
+
+            new NativeExecutor.Task<Object>()
+            {
+               public Object call()
+
+                  throws SpiceException
+               {
+                  CSPICE.spkcvo ( targ,  et,    outfrm, refloc, corr,
+                                  obspv, obset, obscen, obsfrm, v,    lt );
+
+                  return ( null );
+               }
+            } );
+      }
+      else
+      {
+         CSPICE.spkcvo ( targ,  et,    outfrm, refloc, corr,
+                         obspv, obset, obscen, obsfrm, v,    lt );
+      }
 
       super.assign( v );
 
@@ -307,8 +366,28 @@ public class StateRecord extends StateVector
       double[] v        = new double[6];
       double[] lt       = new double[1];
 
-      CSPICE.spkcpt ( trgvec, trgcen, trgfrm, et, outfrm,  
-                      refloc, corr,   obs,    v,  lt      );
+      if ( CSPICEProfiler.isEnabled() )
+      {
+         CSPICEProfiler.call ( "spkcpt",
+
+            new NativeExecutor.Task<Object>()
+            {
+               public Object call()
+
+                  throws SpiceException
+               {
+                  CSPICE.spkcpt ( trgvec, trgcen, trgfrm, et, outfrm,
+                                  refloc, corr,   obs,    v,  lt      );
+
+                  return ( null );
+               }
+            } );
+      }
+      else
+      {
+         CSPICE.spkcpt ( trgvec, trgcen, trgfrm, et, outfrm,
+                         refloc, corr,   obs,    v,  lt      );
+      }
 
       super.assign( v );
 
@@ -347,8 +426,28 @@ public class StateRecord extends StateVector
       double[] v        = new double[6];
       double[] lt       = new double[1];
 
-      CSPICE.spkcvt ( trgpv,  trget, trgcen, trgfrm, et, outfrm,  
-                      refloc, corr,  obs,    v,      lt          );
+      if ( CSPICEProfiler.isEnabled() )
+      {
+         CSPICEProfiler.call ( "spkcvt",
+
+            new NativeExecutor.Task<Object>()
+            {
+               public Object call()
+
+                  throws SpiceException
+               {
+                  CSPICE.spkcvt ( trgpv,  trget, trgcen, trgfrm, et, outfrm,
+                                  refloc, corr,  obs,    v,      lt          );
+
+                  return ( null );
+               }
+            } );
+      }
+      else
+      {
+         CSPICE.spkcvt ( trgpv,  trget, trgcen, trgfrm, et, outfrm,
+                         refloc, corr,  obs,    v,      lt          );
+      }
 
       super.assign( v );
 
@@ -12,6 +12,10 @@ a Body.
 this class directly; they should use the class
 {@link spice.basic.Surface} instead.
 
+<p> Version 1.1.0 18-OCT-2026
+
+<p> getIDCode obtains the code from {@link IDCache}.
+
 <p> Version 1.0.0 26-DEC-2016 (NJB)
 */
 public class SurfaceName extends SurfaceIDMap
@@ -47,12 +51,11 @@ public class SurfaceName extends SurfaceIDMap
 
       throws SpiceException
    {
-      boolean[]  foundArray = new boolean[1];
       int[]      codeArray  = new int[1];
 
       int bodyid = body.getIDCode();
 
-      CSPICE.srfscc( surfaceName, bodyid, codeArray, foundArray );
+      IDCache.getSurfaceCode( surfaceName, bodyid, codeArray );
 
       return ( codeArray[0] );
    }
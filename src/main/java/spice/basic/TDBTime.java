@@ -33,6 +33,14 @@ API and is subject to change.  Currently the implementation
 uses double precision numbers to represent epochs; the implementation
 may later be enhanced to provide higher precision.
 
+<p> A TDBTime created from a {@link TimeConverter} parses and formats
+time strings with that converter, without calls to CSPICE. TDBTimes
+derived from it by arithmetic use the same converter.
+
+<p> Version 1.1.0 18-OCT-2026
+
+<p> Added constructors taking a TimeConverter.
+
 <p> Version 1.0.0 21-DEC-2009 (NJB)
 */
 
@@ -44,7 +52,8 @@ public class TDBTime extends Time
    /*
    Instance variables
    */
-   private             double secPastJ2000TDB;
+   private             double           secPastJ2000TDB;
+   private             TimeConverter    converter;
 
 
 
@@ -75,6 +84,7 @@ public class TDBTime extends Time
    public TDBTime ( TDBTime t )
    {
       this.secPastJ2000TDB = t.secPastJ2000TDB;
+      this.converter       = t.converter;
    }
 
 
@@ -625,7 +635,52 @@ public class TDBTime extends Time
       throws SpiceErrorException
 
    {
-      secPastJ2000TDB = CSPICE.str2et ( timeString );
+      if ( CSPICEProfiler.isEnabled() )
+      {
+         secPastJ2000TDB = CSPICEProfiler.callNative ( "str2et",
+
+            new NativeExecutor.Task<Double>()
+            {
+               public Double call()
+
+                  throws SpiceException
+               {
+                  return (  CSPICE.str2et ( timeString )  );
+               }
+            } );
+      }
+      else
+      {
+         secPastJ2000TDB = CSPICE.str2et ( timeString );
+      }
+   }
+
+
+   /**
+   Construct a TDBTime from a double precision count of seconds past
+   J2000 TDB, using a TimeConverter to format it.
+   */
+   public TDBTime ( TimeConverter  converter,
+                    double         secondsPastJ2000TDB )
+   {
+      this.secPastJ2000TDB = secondsPastJ2000TDB;
+      this.converter       = converter;
+   }
+
+
+   /**
+   Construct a TDBTime from a time string, using a TimeConverter.
+   The formats accepted are listed in the {@link TimeConverter}
+   class description.
+   */
+   public TDBTime ( TimeConverter  converter,
+                    String         timeString )
+
+      throws SpiceException
+
+   {
+      secPastJ2000TDB = converter.parse( timeString );
+      this.converter  = converter;
    }
 
 
@@ -669,7 +724,7 @@ public class TDBTime extends Time
 
       double seconds = offset + this.secPastJ2000TDB;
 
-      return ( new TDBTime(seconds) );
+      return (  new TDBTime( converter, seconds )  );
    }
 
 
@@ -688,7 +743,7 @@ public class TDBTime extends Time
 
       double seconds = this.secPastJ2000TDB - offset;
 
-      return ( new TDBTime(seconds) );
+      return (  new TDBTime( converter, seconds )  );
    }
 
 
@@ -733,7 +788,29 @@ public class TDBTime extends Time
       throws SpiceErrorException
 
    {
-      return (  CSPICE.timout ( secPastJ2000TDB, picture )  );
+      if ( converter != null )
+      {
+         return (  converter.format( secPastJ2000TDB, picture )  );
+      }
+
+      if ( CSPICEProfiler.isEnabled() )
+      {
+         return ( CSPICEProfiler.callNative ( "timout",
+
+            new NativeExecutor.Task<String>()
+            {
+               public String call()
+
+                  throws SpiceException
+               {
+                  return (  CSPICE.timout ( secPastJ2000TDB, picture )  );
+               }
+            } ) );
+      }
+      else
+      {
+         return (  CSPICE.timout ( secPastJ2000TDB, picture )  );
+      }
    }
 
 
@@ -747,7 +824,29 @@ public class TDBTime extends Time
       throws SpiceErrorException
 
    {
-      return (  CSPICE.et2utc ( secPastJ2000TDB, format, precision )  );
+      if ( converter != null )
+      {
+         return (  converter.toUTCString( secPastJ2000TDB, format, precision )  );
+      }
+
+      if ( CSPICEProfiler.isEnabled() )
+      {
+         return ( CSPICEProfiler.callNative ( "et2utc",
+
+            new NativeExecutor.Task<String>()
+            {
+               public String call()
+
+                  throws SpiceException
+               {
+                  return (  CSPICE.et2utc ( secPastJ2000TDB, format, precision )  );
+               }
+            } ) );
+      }
+      else
+      {
+         return (  CSPICE.et2utc ( secPastJ2000TDB, format, precision )  );
+      }
    }
 
 
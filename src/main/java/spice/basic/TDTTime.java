@@ -19,6 +19,15 @@ number representing seconds past J2000 TDT.
 <p> Class TDTTime also provides a convenient way to
 perform arithmetic using TDT time values.
 
+<p> A TDTTime created from a {@link TimeConverter} performs conversions
+between TDT and TDB, and parses and formats time strings, with that
+converter, without calls to CSPICE. TDTTimes derived from it by
+arithmetic use the same converter.
+
+<p> Version 1.1.0 18-OCT-2026
+
+<p> Added constructors taking a TimeConverter.
+
 <p> Version 1.0.0 05-DEC-2009 (NJB)
 */
 
@@ -28,7 +37,8 @@ public class TDTTime extends Time
    /*
    Instance variables
    */
-   private             double secPastJ2000TDT;
+   private             double           secPastJ2000TDT;
+   private             TimeConverter    converter;
 
 
 
@@ -57,9 +67,45 @@ public class TDTTime extends Time
       throws SpiceException
 
    {
-     double  secPastJ2000TDB = CSPICE.str2et ( timeString );
+      double secPastJ2000TDB;
+
+      if ( CSPICEProfiler.isEnabled() )
+      {
+         secPastJ2000TDB = CSPICEProfiler.call ( "str2et",
+
+            new NativeExecutor.Task<Double>()
+            {
+               public Double call()
+
+                  throws SpiceException
+               {
+                  return (  CSPICE.str2et ( timeString )  );
+               }
+            } );
+      }
+      else
+      {
+         secPastJ2000TDB = CSPICE.str2et ( timeString );
+      }
 
-     secPastJ2000TDT         = CSPICE.unitim ( secPastJ2000TDB, "TDB", "TDT" );
+      if ( CSPICEProfiler.isEnabled() )
+      {
+         secPastJ2000TDT = CSPICEProfiler.call ( "unitim",
+
+            new NativeExecutor.Task<Double>()
+            {
+               public Double call()
+
+                  throws SpiceException
+               {
+                  return (  CSPICE.unitim ( secPastJ2000TDB, "TDB", "TDT" )  );
+               }
+            } );
+      }
+      else
+      {
+         secPastJ2000TDT = CSPICE.unitim ( secPastJ2000TDB, "TDB", "TDT" );
+      }
    }
 
 
@@ -69,6 +115,7 @@ public class TDTTime extends Time
    public TDTTime ( TDTTime t )
    {
       this.secPastJ2000TDT = t.secPastJ2000TDT;
+      this.converter       = t.converter;
    }
 
 
@@ -85,7 +132,70 @@ public class TDTTime extends Time
    {
       double inputTDB      = t.getTDBSeconds();
 
-      this.secPastJ2000TDT =  CSPICE.unitim ( inputTDB, "TDB", "TDT" );
+      if ( CSPICEProfiler.isEnabled() )
+      {
+         this.secPastJ2000TDT = CSPICEProfiler.call ( "unitim",
+
+            new NativeExecutor.Task<Double>()
+            {
+               public Double call()
+
+                  throws SpiceException
+               {
+                  return (  CSPICE.unitim ( inputTDB, "TDB", "TDT" )  );
+               }
+            } );
+      }
+      else
+      {
+         this.secPastJ2000TDT = CSPICE.unitim ( inputTDB, "TDB", "TDT" );
+      }
+   }
+
+
+   /**
+   Construct a TDTTime from a double precision count of seconds past
+   J2000 TDT, using a TimeConverter.
+   */
+   public TDTTime ( TimeConverter  converter,
+                    double         TDTsecondsPastJ2000 )
+   {
+      this.secPastJ2000TDT = TDTsecondsPastJ2000;
+      this.converter       = converter;
+   }
+
+
+   /**
+   Create a TDTTime instance from a time string, using a TimeConverter.
+   The formats accepted are listed in the {@link TimeConverter} class
+   description.
+   */
+   public TDTTime ( TimeConverter  converter,
+                    String         timeString )
+
+      throws SpiceException
+
+   {
+      double  secPastJ2000TDB = converter.parse ( timeString );
+
+      this.secPastJ2000TDT    = converter.convert ( secPastJ2000TDB, "TDB", "TDT" );
+      this.converter          = converter;
+   }
+
+
+   /**
+   Create a TDTTime from any {@link spice.basic.Time} instance, using
+   a TimeConverter.
+   */
+   public TDTTime ( TimeConverter  converter,
+                    Time           t          )
+
+      throws SpiceException
+   {
+      double inputTDB      = t.getTDBSeconds();
+
+      this.secPastJ2000TDT = converter.convert ( inputTDB, "TDB", "TDT" );
+      this.converter       = converter;
    }
 
 
@@ -113,7 +223,8 @@ public class TDTTime extends Time
 
       throws SpiceException
    {
-      TDTTime input = new TDTTime( t );
+      TDTTime input = ( converter != null ) ? new TDTTime( converter, t )
+                                            : new TDTTime( t );
 
       double diff   = secPastJ2000TDT - input.secPastJ2000TDT;
 
@@ -129,6 +240,24 @@ public class TDTTime extends Time
 
       throws SpiceException
    {
+      if (  ( converter != null ) && ( d instanceof TDTDuration )  )
+      {
+         return (  new TDTTime( converter,
+                                secPastJ2000TDT + d.getMeasure() )  );
+      }
+
+      if ( converter != null )
+      {
+         //
+         // Find the end of the duration in TDB and convert it to TDT
+         // with this instance's converter.
+         //
+         double endTDB = this.getTDBSeconds() + d.getTDBSeconds( this );
+
+         return (  new TDTTime( converter,
+                                converter.convert( endTDB, "TDB", "TDT" ) )  );
+      }
+
       //
       // Convert the input duration to an offset from this
       // epoch, measured in TDT seconds.
@@ -137,7 +266,7 @@ public class TDTTime extends Time
 
       double TDTseconds     =  secPastJ2000TDT + TDTOffset.getMeasure();
 
-      return ( new TDTTime(TDTseconds) );
+      return (  new TDTTime( converter, TDTseconds )  );
    }
 
 
@@ -197,7 +326,7 @@ public class TDTTime extends Time
       throws SpiceException
 
    {
-      return (  ( new TDBTime(this) ).toString(picture)  );
+      return (  toTDBTime().toString(picture)  );
    }
 
 
@@ -210,7 +339,7 @@ public class TDTTime extends Time
       throws SpiceException
 
    {
-      return (  ( new TDBTime(this) ).toUTCString(format, precision)  );
+      return (  toTDBTime().toUTCString(format, precision)  );
    }
 
 
@@ -247,11 +376,57 @@ public class TDTTime extends Time
 
       throws SpiceException
    {
-      double secPastJ2000TDB = CSPICE.unitim ( secPastJ2000TDT, "TDT", "TDB" );
+      if ( converter != null )
+      {
+         return (  converter.convert ( secPastJ2000TDT, "TDT", "TDB" )  );
+      }
+
+      double secPastJ2000TDB;
+
+      if ( CSPICEProfiler.isEnabled() )
+      {
+         secPastJ2000TDB = CSPICEProfiler.call ( "unitim",
+
+            new NativeExecutor.Task<Double>()
+            {
+               public Double call()
+
+                  throws SpiceException
+               {
+                  return (  CSPICE.unitim ( secPastJ2000TDT, "TDT", "TDB" )  );
+               }
+            } );
+      }
+      else
+      {
+         secPastJ2000TDB = CSPICE.unitim ( secPastJ2000TDT, "TDT", "TDB" );
+      }
 
       return ( secPastJ2000TDB );
    }
 
+
+
+   /*
+   Private methods
+   */
+
+   /**
+   Convert this TDTTime to a TDBTime that formats with the same
+   converter, if any.
+   */
+   private TDBTime toTDBTime()
+
+      throws SpiceException
+   {
+      if ( converter != null )
+      {
+         return (  new TDBTime( converter, getTDBSeconds() )  );
+      }
+
+      return (  new TDBTime(this)  );
+   }
+
 }
 
 
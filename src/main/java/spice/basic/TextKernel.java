@@ -0,0 +1,620 @@
+package spice.basic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+Class TextKernel holds the variable assignments of a SPICE text
+kernel (FK, IK, text PCK, SCLK, LSK or meta-kernel), parsed without
+calls to CSPICE.
+
+<p>
+The syntax accepted is that of the SPICE kernel required reading:
+
+<ul>
+<li>Assignments appear only in data blocks, which are opened by a
+line holding only \begindata and closed by a line holding only
+\begintext.</li>
+
+<li>An assignment has the form NAME = value or NAME += value, where
+the value is either a single item or a list of items enclosed in
+parentheses. Lists may span lines; items are separated by blanks
+or commas.</li>
+
+<li>Items are numbers, which may use D as exponent character;
+strings enclosed in single quotes, with embedded quotes doubled;
+or dates prefixed by @, which are stored as seconds past J2000 on
+the UTC calendar, without leap seconds.</li>
+</ul>
+
+<p>
+Instances are immutable. Apply them to a {@link TextKernelPool} to
+make their variables available.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+
+public final class TextKernel extends Object
+{
+   //
+   // Private constants
+   //
+   private static final String     BEGIN_DATA = "\\begindata";
+   private static final String     BEGIN_TEXT = "\\begintext";
+
+   //
+   // Fields
+   //
+   private final String            name;
+   private final List<Assignment>  assignments;
+
+
+
+   //
+   // Nested classes
+   //
+
+   /**
+   One assignment. Exactly one of `numbers' and `strings' is non-null.
+   */
+   static final class Assignment
+   {
+      final String       name;
+      final boolean      append;
+      final double[]     numbers;
+      final String[]     strings;
+
+      Assignment ( String    name,
+                   boolean   append,
+                   double[]  numbers,
+                   String[]  strings  )
+      {
+         this.name    = name;
+         this.append  = append;
+         this.numbers = numbers;
+         this.strings = strings;
+      }
+   }
+
+
+
+   //
+   // Constructors
+   //
+   private TextKernel ( String            name,
+                        List<Assignment>  assignments )
+   {
+      this.name        = name;
+      this.assignments = Collections.unmodifiableList( assignments );
+   }
+
+
+
+   //
+   // Static Methods
+   //
+
+   /**
+   Read and parse the text kernel `fileName'.
+   */
+   public static TextKernel read ( String fileName )
+
+      throws SpiceException
+   {
+      TextReader         reader = new TextReader( fileName );
+      ArrayList<String>  lines  = new ArrayList<String>();
+
+      String line = reader.getLine();
+
+      while ( line != null )
+      {
+         lines.add( line );
+
+         line = reader.getLine();
+      }
+
+      return (  parse( fileName, lines.toArray( new String[0] ), false )  );
+   }
+
+   /**
+   Parse the lines of a text kernel. `name' identifies the kernel in
+   error messages and in {@link TextKernelPool#unload(String)}. If
+   `dataOnly' is true, every line is treated as part of a data block,
+   as CSPICE.lmpool treats its buffer.
+   */
+   public static TextKernel parse ( String    name,
+                                    String[]  lines,
+                                    boolean   dataOnly )
+
+      throws SpiceException
+   {
+      Parser parser = new Parser( name );
+
+      boolean inData = dataOnly;
+
+      for ( int i = 0;  i < lines.length;  i++ )
+      {
+         String line    = lines[i];
+         String trimmed = line.trim();
+
+         if ( !dataOnly )
+         {
+            if ( trimmed.equals( BEGIN_DATA ) )
+            {
+               inData = true;
+               continue;
+            }
+            else if ( trimmed.equals( BEGIN_TEXT ) )
+            {
+               parser.checkComplete( i + 1 );
+
+               inData = false;
+               continue;
+            }
+         }
+
+         if ( inData )
+         {
+            parser.parseLine( line, i + 1 );
+         }
+      }
+
+      parser.checkComplete( lines.length );
+
+      return (  new TextKernel( name, parser.assignments )  );
+   }
+
+
+
+   //
+   // Instance Methods
+   //
+
+   /**
+   Get the name of the kernel: its file name, or the name given to
+   {@link #parse}.
+   */
+   public String getName()
+   {
+      return ( name );
+   }
+
+   /**
+   Get the number of assignments in the kernel.
+   */
+   public int getAssignmentCount()
+   {
+      return ( assignments.size() );
+   }
+
+   /**
+   Get the names of the variables assigned by the kernel, in the
+   order of their first assignments.
+   */
+   public String[] getVariableNames()
+   {
+      ArrayList<String> names = new ArrayList<String>();
+
+      for ( Assignment a : assignments )
+      {
+         if ( !names.contains( a.name ) )
+         {
+            names.add( a.name );
+         }
+      }
+
+      return (  names.toArray( new String[0] )  );
+   }
+
+   List<Assignment> getAssignments()
+   {
+      return ( assignments );
+   }
+
+
+
+   //
+   // Package-private static methods
+   //
+
+   /**
+   Convert a calendar date such as 1972-JAN-1, 2017-07-28/15:31:15.19,
+   2012-08-08-16:34:14 or 2012-219T12:00:00 to seconds past J2000 on
+   the UTC calendar, without leap seconds. Return NaN if the date is not
+   recognized. Dates are parsed by {@link TimeConverter}.
+   */
+   static double parseCalendarDate ( String date )
+   {
+      return (  TimeConverter.parseFormalSeconds( date )  );
+   }
+
+
+
+   /**
+   Parser state carried across the lines of a kernel.
+   */
+   private static final class Parser
+   {
+      private final String               kernel;
+      private final ArrayList<Assignment> assignments;
+
+      //
+      // The assignment in progress, if any. `open' indicates that a
+      // parenthesized list has been started and not yet closed;
+      // `expectValue' that the assignment operator has been read and
+      // the value has not yet begun.
+      //
+      private String                     varName;
+      private boolean                    append;
+      private boolean                    open;
+      private boolean                    expectValue;
+      private int                        startLine;
+      private ArrayList<Double>          numbers;
+      private ArrayList<String>          strings;
+
+
+      Parser ( String kernel )
+      {
+         this.kernel      = kernel;
+         this.assignments = new ArrayList<Assignment>();
+         this.numbers     = new ArrayList<Double>();
+         this.strings     = new ArrayList<String>();
+      }
+
+
+      void parseLine ( String  line,
+                       int     lineNumber )
+
+         throws SpiceException
+      {
+         int pos = skipBlanks( line, 0 );
+
+         while ( pos < line.length() )
+         {
+            if ( varName == null )
+            {
+               pos = parseName( line, pos, lineNumber );
+            }
+            else if ( expectValue )
+            {
+               if ( line.charAt( pos ) == '(' )
+               {
+                  open        = true;
+                  expectValue = false;
+                  ++pos;
+               }
+               else
+               {
+                  pos = parseItem( line, pos, lineNumber );
+
+                  expectValue = false;
+
+                  finish( lineNumber );
+               }
+            }
+            else
+            {
+               char c = line.charAt( pos );
+
+               if ( c == ')' )
+               {
+                  open = false;
+                  ++pos;
+
+                  finish( lineNumber );
+               }
+               else if ( c == ',' )
+               {
+                  ++pos;
+               }
+               else
+               {
+                  pos = parseItem( line, pos, lineNumber );
+               }
+            }
+
+            pos = skipBlanks( line, pos );
+         }
+      }
+
+
+      /**
+      Signal an error if an assignment is incomplete at the end of a
+      data block.
+      */
+      void checkComplete ( int lineNumber )
+
+         throws SpiceException
+      {
+         if ( varName != null )
+         {
+            throw error( open ? "SPICE(UNBALANCEDPAREN)"
+                              : "SPICE(BADVARASSIGN)",
+                         startLine,
+                         "The assignment to " + varName + " is not "  +
+                         "complete at the end of the data block at "  +
+                         "line " + lineNumber + "."                      );
+         }
+      }
+
+
+      private int parseName ( String  line,
+                              int     pos,
+                              int     lineNumber )
+
+         throws SpiceException
+      {
+         int end = pos;
+
+         while (  ( end < line.length() )
+               && !isBlank( line.charAt( end ) )
+               && ( line.charAt( end ) != '=' )
+               && !line.startsWith( "+=", end ) )
+         {
+            ++end;
+         }
+
+         int op = skipBlanks( line, end );
+
+         if ( end == pos )
+         {
+            throw error( "SPICE(BADVARNAME)", lineNumber,
+                         "A variable name is missing."      );
+         }
+
+         if ( line.startsWith( "+=", op ) )
+         {
+            append = true;
+            op    += 2;
+         }
+         else if (  ( op < line.length() ) && ( line.charAt( op ) == '=' )  )
+         {
+            append = false;
+            op    += 1;
+         }
+         else
+         {
+            throw error( "SPICE(BADVARASSIGN)", lineNumber,
+                         "The name " + line.substring( pos, end ) +
+                         " is not followed by = or +=."             );
+         }
+
+         varName     = line.substring( pos, end );
+         expectValue = true;
+         open        = false;
+         startLine   = lineNumber;
+
+         numbers.clear();
+         strings.clear();
+
+         return ( op );
+      }
+
+
+      /**
+      Parse one item: a quoted string, a date or a number.
+      */
+      private int parseItem ( String  line,
+                              int     pos,
+                              int     lineNumber )
+
+         throws SpiceException
+      {
+         char c = line.charAt( pos );
+
+         if ( c == '\'' )
+         {
+            StringBuilder value = new StringBuilder();
+            int           i     = pos + 1;
+
+            while ( true )
+            {
+               if ( i >= line.length() )
+               {
+                  throw error( "SPICE(UNBALANCEDQUOTE)", lineNumber,
+                               "A string value assigned to " + varName +
+                               " is not terminated."                     );
+               }
+
+               char d = line.charAt( i );
+
+               if ( d == '\'' )
+               {
+                  if (  ( i + 1 < line.length() )
+                     && ( line.charAt( i + 1 ) == '\'' ) )
+                  {
+                     value.append( '\'' );
+                     i += 2;
+                     continue;
+                  }
+
+                  break;
+               }
+
+               value.append( d );
+               ++i;
+            }
+
+            addString( value.toString(), lineNumber );
+
+            return ( i + 1 );
+         }
+
+         int end = pos;
+
+         while (  ( end < line.length() )
+               && !isBlank( line.charAt( end ) )
+               && ( line.charAt( end ) != ','  )
+               && ( line.charAt( end ) != ')'  ) )
+         {
+            ++end;
+         }
+
+         String token = line.substring( pos, end );
+         double value;
+
+         if ( c == '@' )
+         {
+            value = parseCalendarDate( token.substring( 1 ) );
+
+            if ( Double.isNaN( value ) )
+            {
+               throw error( "SPICE(BADTIMESPEC)", lineNumber,
+                            "The date " + token + " assigned to " +
+                            varName + " could not be parsed."        );
+            }
+         }
+         else
+         {
+            value = parseNumber( token, lineNumber );
+         }
+
+         addNumber( value, lineNumber );
+
+         return ( end );
+      }
+
+
+      private double parseNumber ( String  token,
+                                   int     lineNumber )
+
+         throws SpiceException
+      {
+         boolean digit = false;
+
+         for ( int i = 0;  i < token.length();  i++ )
+         {
+            char c = token.charAt( i );
+
+            if ( Character.isDigit( c ) )
+            {
+               digit = true;
+            }
+            else if ( "+-.eEdD".indexOf( c ) < 0 )
+            {
+               digit = false;
+               break;
+            }
+         }
+
+         if ( digit )
+         {
+            try
+            {
+               return (  Double.parseDouble( token.replace( 'D', 'E' )
+                                                  .replace( 'd', 'E' ) )  );
+            }
+            catch ( NumberFormatException exc )
+            {
+            }
+         }
+
+         throw error( "SPICE(BADVARASSIGN)", lineNumber,
+                      "The value " + token + " assigned to " + varName +
+                      " is not a number, string or date."                );
+      }
+
+
+      private void addNumber ( double  value,
+                               int     lineNumber )
+
+         throws SpiceException
+      {
+         if ( !strings.isEmpty() )
+         {
+            throw mixedTypes( lineNumber );
+         }
+
+         numbers.add( value );
+      }
+
+
+      private void addString ( String  value,
+                               int     lineNumber )
+
+         throws SpiceException
+      {
+         if ( !numbers.isEmpty() )
+         {
+            throw mixedTypes( lineNumber );
+         }
+
+         strings.add( value );
+      }
+
+
+      private void finish ( int lineNumber )
+
+         throws SpiceException
+      {
+         if (  numbers.isEmpty() && strings.isEmpty()  )
+         {
+            throw error( "SPICE(BADVARASSIGN)", lineNumber,
+                         "No values are assigned to " + varName + "." );
+         }
+
+         double[] dvals = null;
+         String[] cvals = null;
+
+         if ( strings.isEmpty() )
+         {
+            dvals = new double[ numbers.size() ];
+
+            for ( int i = 0;  i < dvals.length;  i++ )
+            {
+               dvals[i] = numbers.get( i );
+            }
+         }
+         else
+         {
+            cvals = strings.toArray( new String[0] );
+         }
+
+         assignments.add( new Assignment( varName, append, dvals, cvals ) );
+
+         varName = null;
+      }
+
+
+      private SpiceErrorException mixedTypes ( int lineNumber )
+      {
+         return (  error( "SPICE(TYPEMISMATCH)", lineNumber,
+                          "Numeric and string values are both " +
+                          "assigned to " + varName + "."           )  );
+      }
+
+
+      private SpiceErrorException error ( String  shortMsg,
+                                          int     lineNumber,
+                                          String  problem     )
+      {
+         return (  SpiceErrorException.create(
+
+                      "TextKernel.parse",
+
+                      shortMsg,
+
+                      problem + " The error is at line " + lineNumber +
+                      " of " + kernel + "."                             )  );
+      }
+
+
+      private static boolean isBlank ( char c )
+      {
+         return (  ( c == ' ' ) || ( c == '\t' )  );
+      }
+
+
+      private static int skipBlanks ( String  line,
+                                      int     pos   )
+      {
+         while (  ( pos < line.length() ) && isBlank( line.charAt( pos ) )  )
+         {
+            ++pos;
+         }
+
+         return ( pos );
+      }
+   }
+}
@@ -0,0 +1,583 @@
+package spice.basic;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+Class TextKernelPool is a kernel pool of variables read from text
+kernels by {@link TextKernel}, maintained without calls to CSPICE.
+
+<p>
+The contents of the pool are published as immutable
+{@link KernelPoolSnapshot} instances. Readers obtain the current
+snapshot from {@link #getSnapshot()} and may use it for as long as
+they like, from any number of threads, without locking; loading or
+unloading kernels creates a new snapshot and never changes one that
+has been published.
+
+<p>
+Loading a kernel follows the rules of CSPICE.furnsh and
+CSPICE.lmpool:
+
+<ul>
+<li>Kernels are applied in load order. An assignment made with =
+replaces any earlier value of the variable; one made with += appends
+to it.</li>
+
+<li>A kernel assigning KERNELS_TO_LOAD is a meta-kernel. The text
+kernels it lists are loaded after it, and are unloaded with it.
+PATH_SYMBOLS and PATH_VALUES substitutions and the + continuation
+convention are applied to the file names. Binary kernels listed in a
+meta-kernel are skipped.</li>
+
+<li>Unloading a kernel rebuilds the pool from the kernels that
+remain, as CSPICE.unload does.</li>
+</ul>
+
+<p>
+This class is independent of the CSPICE kernel pool accessed through
+{@link KernelPool}: kernels loaded here are not visible to CSPICE,
+and vice versa.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+
+public class TextKernelPool extends Object
+{
+   //
+   // Public constants
+   //
+   public static final String               KERNELS_TO_LOAD = "KERNELS_TO_LOAD";
+   public static final String               PATH_SYMBOLS    = "PATH_SYMBOLS";
+   public static final String               PATH_VALUES     = "PATH_VALUES";
+
+   //
+   // Private constants
+   //
+   private static final String[]            BINARY_IDWORDS  = { "DAF/",
+                                                                "DAS/",
+                                                                "NAIF/DAF" };
+
+   //
+   // Fields
+   //
+   private final List<Entry>                kernels;
+   private long                             generation;
+   private volatile KernelPoolSnapshot      snapshot;
+
+
+
+   //
+   // Nested classes
+   //
+
+   /**
+   A loaded kernel, with the name of the meta-kernel that loaded it,
+   or null.
+   */
+   private static final class Entry
+   {
+      final TextKernel   kernel;
+      final String       owner;
+
+      Entry ( TextKernel  kernel,
+              String      owner  )
+      {
+         this.kernel = kernel;
+         this.owner  = owner;
+      }
+   }
+
+
+
+   //
+   // Constructors
+   //
+   public TextKernelPool()
+   {
+      this.kernels    = new ArrayList<Entry>();
+      this.generation = 0L;
+      this.snapshot   = new KernelPoolSnapshot(
+                                   0L, new LinkedHashMap<String, Object>() );
+   }
+
+
+
+   //
+   // Instance Methods
+   //
+
+   /**
+   Read a text kernel and load it. If the kernel is a meta-kernel, the
+   text kernels it lists are read and loaded as well. The kernel read
+   from `fileName' is returned.
+
+   <p>
+   Files are read before the pool is locked; if any file cannot be
+   read or parsed, the pool is left unchanged.
+   */
+   public TextKernel load ( String fileName )
+
+      throws SpiceException
+   {
+      if ( isBinary( fileName ) )
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            "TextKernelPool.load",
+
+            "SPICE(NOTATEXTFILE)",
+
+            "The file " + fileName + " is a binary kernel."  );
+
+         throw ( exc );
+      }
+
+      TextKernel           kernel = TextKernel.read( fileName );
+      ArrayList<Entry>     added  = new ArrayList<Entry>();
+
+      added.add(  new Entry( kernel, null )  );
+
+      for ( String name : getKernelsToLoad( kernel ) )
+      {
+         if ( !isBinary( name ) )
+         {
+            added.add(  new Entry( TextKernel.read( name ), fileName )  );
+         }
+      }
+
+      apply( added );
+
+      return ( kernel );
+   }
+
+   /**
+   Load a parsed text kernel. Meta-kernel variables of a kernel
+   loaded this way are ordinary variables: no further kernels are
+   loaded.
+   */
+   public void load ( TextKernel kernel )
+
+      throws SpiceException
+   {
+      ArrayList<Entry> added = new ArrayList<Entry>();
+
+      added.add(  new Entry( kernel, null )  );
+
+      apply( added );
+   }
+
+   /**
+   Load variables from a buffer of assignments, as CSPICE.lmpool
+   does. Every line of the buffer is treated as part of a data block.
+   The variables are loaded as a kernel named `name', which may be
+   passed to {@link #unload(String)}.
+   */
+   public TextKernel loadFromBuffer ( String    name,
+                                      String[]  buffer )
+
+      throws SpiceException
+   {
+      TextKernel kernel = TextKernel.parse( name, buffer, true );
+
+      load( kernel );
+
+      return ( kernel );
+   }
+
+   /**
+   Unload the kernel named `name' and, if it is a meta-kernel, the
+   kernels it loaded. Return false if no such kernel is loaded.
+   */
+   public synchronized boolean unload ( String name )
+   {
+      ArrayList<Entry> remaining = new ArrayList<Entry>();
+
+      for ( Entry entry : kernels )
+      {
+         if (     !entry.kernel.getName().equals( name )
+              &&  !name.equals( entry.owner )            )
+         {
+            remaining.add( entry );
+         }
+      }
+
+      if ( remaining.size() == kernels.size() )
+      {
+         return ( false );
+      }
+
+      //
+      // A remaining kernel may append to a variable whose type was
+      // set by a removed kernel. Such a kernel can no longer be
+      // applied, and is dropped.
+      //
+      LinkedHashMap<String, Object> variables =
+                                        new LinkedHashMap<String, Object>();
+      ArrayList<Entry>              kept      = new ArrayList<Entry>();
+
+      for ( Entry entry : remaining )
+      {
+         LinkedHashMap<String, Object> trial =
+
+            new LinkedHashMap<String, Object>( variables );
+
+         try
+         {
+            replay( entry.kernel, trial );
+
+            variables = trial;
+
+            kept.add( entry );
+         }
+         catch ( SpiceErrorException exc )
+         {
+         }
+      }
+
+      kernels.clear();
+      kernels.addAll( kept );
+
+      publish( variables );
+
+      return ( true );
+   }
+
+   /**
+   Unload all kernels.
+   */
+   public synchronized void clear()
+   {
+      kernels.clear();
+
+      publish(  new LinkedHashMap<String, Object>()  );
+   }
+
+   /**
+   Get the current snapshot of the pool.
+   */
+   public KernelPoolSnapshot getSnapshot()
+   {
+      return ( snapshot );
+   }
+
+   /**
+   Get the names of the loaded kernels, in load order.
+   */
+   public synchronized String[] getLoadedKernels()
+   {
+      String[] names = new String[ kernels.size() ];
+
+      for ( int i = 0;  i < names.length;  i++ )
+      {
+         names[i] = kernels.get( i ).kernel.getName();
+      }
+
+      return ( names );
+   }
+
+
+
+   //
+   // Private methods
+   //
+
+   /**
+   Append `added' to the loaded kernels and publish the resulting
+   pool. If the kernels can't be applied, the pool is unchanged.
+   */
+   private synchronized void apply ( List<Entry> added )
+
+      throws SpiceException
+   {
+      LinkedHashMap<String, Object> variables =
+                                        new LinkedHashMap<String, Object>();
+
+      for ( Entry entry : kernels )
+      {
+         replay( entry.kernel, variables );
+      }
+
+      for ( Entry entry : added )
+      {
+         replay( entry.kernel, variables );
+      }
+
+      kernels.addAll( added );
+
+      publish( variables );
+   }
+
+
+   private void publish ( LinkedHashMap<String, Object> variables )
+   {
+      ++generation;
+
+      snapshot = new KernelPoolSnapshot( generation, variables );
+   }
+
+
+
+   //
+   // Private static methods
+   //
+
+   /**
+   Apply the assignments of `kernel' to `variables', whose values are
+   double[] or String[] arrays.
+   */
+   private static void replay ( TextKernel                     kernel,
+                                LinkedHashMap<String, Object>  variables )
+
+      throws SpiceErrorException
+   {
+      for ( TextKernel.Assignment a : kernel.getAssignments() )
+      {
+         Object value = ( a.numbers != null ) ? a.numbers : a.strings;
+         Object old   = variables.get( a.name );
+
+         if (  !a.append  ||  ( old == null )  )
+         {
+            //
+            // Remove first so that a replaced variable moves to the
+            // end of the iteration order, as a new variable would.
+            //
+            variables.remove( a.name );
+            variables.put   ( a.name, value );
+         }
+         else if (  ( old instanceof double[] ) && ( a.numbers != null )  )
+         {
+            double[] prev   = (double[]) old;
+            double[] result = new double[ prev.length + a.numbers.length ];
+
+            System.arraycopy( prev,      0, result, 0,           prev.length );
+            System.arraycopy( a.numbers, 0, result, prev.length,
+                                                           a.numbers.length );
+            variables.put( a.name, result );
+         }
+         else if (  ( old instanceof String[] ) && ( a.strings != null )  )
+         {
+            String[] prev   = (String[]) old;
+            String[] result = new String[ prev.length + a.strings.length ];
+
+            System.arraycopy( prev,      0, result, 0,           prev.length );
+            System.arraycopy( a.strings, 0, result, prev.length,
+                                                           a.strings.length );
+            variables.put( a.name, result );
+         }
+         else
+         {
+            SpiceErrorException exc = SpiceErrorException.create(
+
+               "TextKernelPool.load",
+
+               "SPICE(TYPEMISMATCH)",
+
+               "Kernel " + kernel.getName() + " appends "               +
+               ( ( a.numbers != null ) ? "numeric" : "character" )       +
+               " values to the variable " + a.name + ", which has "      +
+               ( ( old instanceof double[] ) ? "numeric" : "character" ) +
+               " type."                                                    );
+
+            throw ( exc );
+         }
+      }
+   }
+
+
+   /**
+   Return the file names listed by KERNELS_TO_LOAD in `kernel', after
+   joining continued names and substituting path symbols.
+   */
+   private static List<String> getKernelsToLoad ( TextKernel kernel )
+
+      throws SpiceException
+   {
+      LinkedHashMap<String, Object> variables =
+                                        new LinkedHashMap<String, Object>();
+
+      replay( kernel, variables );
+
+      ArrayList<String> result = new ArrayList<String>();
+      Object            value  = variables.get( KERNELS_TO_LOAD );
+
+      if ( value == null )
+      {
+         return ( result );
+      }
+
+      Object symbols = variables.get( PATH_SYMBOLS );
+      Object values  = variables.get( PATH_VALUES  );
+
+      if (     !( value instanceof String[] )
+           ||  ( ( symbols != null ) && !( symbols instanceof String[] ) )
+           ||  ( ( values  != null ) && !( values  instanceof String[] ) )
+           ||  (    ( symbols == null ? 0 : ((String[]) symbols).length )
+                 != ( values  == null ? 0 : ((String[]) values ).length ) )  )
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            "TextKernelPool.load",
+
+            "SPICE(BADVARASSIGN)",
+
+            "The meta-kernel " + kernel.getName() + " must assign "    +
+            "strings to " + KERNELS_TO_LOAD + ", and equal numbers of " +
+            "strings to " + PATH_SYMBOLS + " and " + PATH_VALUES + "."   );
+
+         throw ( exc );
+      }
+
+      StringBuilder name = new StringBuilder();
+
+      for ( String s : (String[]) value )
+      {
+         String item = s.trim();
+
+         if ( item.endsWith( "+" ) )
+         {
+            name.append( item, 0, item.length() - 1 );
+            continue;
+         }
+
+         name.append( item );
+
+         result.add(  substitute( name.toString(),
+                                  (String[]) symbols,
+                                  (String[]) values   )  );
+         name.setLength( 0 );
+      }
+
+      if ( name.length() > 0 )
+      {
+         result.add(  substitute( name.toString(),
+                                  (String[]) symbols,
+                                  (String[]) values   )  );
+      }
+
+      return ( result );
+   }
+
+
+   /**
+   Replace each occurrence of $SYMBOL in `name' by its value. Symbols
+   that are not defined are left in place.
+   */
+   private static String substitute ( String    name,
+                                      String[]  symbols,
+                                      String[]  values   )
+   {
+      if (  ( symbols == null ) || ( name.indexOf( '$' ) < 0 )  )
+      {
+         return ( name );
+      }
+
+      StringBuilder result = new StringBuilder();
+      int           pos    = 0;
+
+      while ( pos < name.length() )
+      {
+         char c = name.charAt( pos );
+
+         if ( c == '$' )
+         {
+            int end = pos + 1;
+
+            while (  ( end < name.length() )
+                  && (    Character.isLetterOrDigit( name.charAt( end ) )
+                       || ( name.charAt( end ) == '_' )                  )  )
+            {
+               ++end;
+            }
+
+            String symbol = name.substring( pos + 1, end );
+            int    i      = 0;
+
+            while (  ( i < symbols.length ) && !symbols[i].equals( symbol )  )
+            {
+               ++i;
+            }
+
+            if ( i < symbols.length )
+            {
+               result.append( values[i] );
+
+               pos = end;
+               continue;
+            }
+         }
+
+         result.append( c );
+         ++pos;
+      }
+
+      return (  result.toString()  );
+   }
+
+
+   /**
+   Indicate whether `fileName' begins with the ID word of a binary
+   kernel.
+   */
+   private static boolean isBinary ( String fileName )
+
+      throws SpiceException
+   {
+      byte[] head = new byte[8];
+      int    n    = 0;
+
+      try
+      {
+         InputStream in = new FileInputStream( fileName );
+
+         try
+         {
+            while ( n < head.length )
+            {
+               int count = in.read( head, n, head.length - n );
+
+               if ( count < 0 )
+               {
+                  break;
+               }
+
+               n += count;
+            }
+         }
+         finally
+         {
+            in.close();
+         }
+      }
+      catch ( IOException ioexc )
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            "TextKernelPool.load",
+
+            "SPICE(FILENOTFOUND)",
+
+            "The kernel " + fileName + " could not be read: " +
+            ioexc.getMessage()                                   );
+
+         throw ( exc );
+      }
+
+      String idword = new String( head, 0, n, StandardCharsets.US_ASCII );
+
+      for ( String id : BINARY_IDWORDS )
+      {
+         if ( idword.startsWith( id ) )
+         {
+            return ( true );
+         }
+      }
+
+      return ( false );
+   }
+}
@@ -0,0 +1,670 @@
+package spice.basic;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+Class TextPCKRotation evaluates the orientation models of text PCKs,
+such as those of IAU_MARS and IAU_EARTH, without calls to CSPICE.
+
+<p>
+The orientation of a body is given by the right ascension and
+declination of its north pole and by the prime meridian angle, read
+from the kernel variables
+<pre>
+   BODY&lt;ID&gt;_POLE_RA
+   BODY&lt;ID&gt;_POLE_DEC
+   BODY&lt;ID&gt;_PM
+</pre>
+as polynomials in Julian centuries (pole) and days (prime meridian)
+past the model epoch, plus the optional nutation and precession terms
+BODY&lt;ID&gt;_NUT_PREC_RA, _DEC and _PM. These are coefficients of
+the sines (RA, PM) and cosines (DEC) of the angles
+BODY&lt;BARY&gt;_NUT_PREC_ANGLES of the body's barycenter, which are
+polynomials in Julian centuries of degree
+BODY&lt;BARY&gt;_MAX_PHASE_DEGREE, 1 by default. As in the SPICELIB
+routine BODEUL, the variables BODY&lt;ID&gt;_CONSTANTS_REF_FRAME and
+BODY&lt;ID&gt;_CONSTANTS_JED_EPOCH, or those of the barycenter, give
+the inertial frame and epoch of the model; the defaults are J2000.
+
+<p>
+The methods of this class correspond to CSPICE routines as follows:
+
+<pre>
+   {@link #getBodyRotation(int, double, double[])}              tipbod
+   {@link #getBodyStateTransformation(int, double, double[])}   tisbod
+</pre>
+
+<p>
+The batch methods {@link #getBodyRotations(int, double[], double[])}
+and {@link #getBodyStateTransformations(int, double[], double[])} fill
+primitive arrays for a vector of epochs, evaluating the model of the
+body once per epoch.
+
+<p>
+As a {@link FrameRotationProvider}, an instance supplies the
+orientation of PCK frames to a {@link FrameTree}; the frame class ID
+of a PCK frame is the ID code of its body, and its base frame is the
+inertial frame of the model. Bodies lacking a BODY&lt;ID&gt;_PM
+variable have no data.
+
+<p>
+Models are read from the kernel pool snapshot on first use of each
+body and kept for the life of the instance. Instances may be shared
+by any number of threads.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+
+public final class TextPCKRotation extends Object implements FrameRotationProvider
+{
+   //
+   // Private constants
+   //
+   private static final double     RPD        = Math.PI / 180.0;
+   private static final double     HALFPI     = Math.PI / 2.0;
+
+   //
+   // Seconds per Julian century.
+   //
+   private static final double     SPC        = 36525.0 * TimeConverter.SPD;
+
+   //
+   // Marker for bodies having no model.
+   //
+   private static final Model      NONE       = new Model();
+
+   //
+   // Fields
+   //
+   private final KernelPoolSnapshot                    pool;
+   private final ConcurrentHashMap<Integer, Model>     models;
+
+
+
+   //
+   // Nested classes
+   //
+
+   /**
+   The orientation model of one body. Polynomial coefficients are
+   in degrees; angles[i] holds the coefficients of nutation and
+   precession angle i, of which nutRA, nutDec and nutPM hold the
+   coefficients of the sines or cosines.
+   */
+   private static final class Model
+   {
+      int          frame;
+      double       epoch;
+      double[]     ra;
+      double[]     dec;
+      double[]     pm;
+      double[]     nutRA;
+      double[]     nutDec;
+      double[]     nutPM;
+      double[][]   angles;
+   }
+
+
+
+   //
+   // Constructors
+   //
+   private TextPCKRotation ( KernelPoolSnapshot pool )
+   {
+      this.pool   = pool;
+      this.models = new ConcurrentHashMap<Integer, Model>();
+   }
+
+
+
+   //
+   // Static Methods
+   //
+
+   /**
+   Create an evaluator for the orientation models in `pool'.
+   */
+   public static TextPCKRotation create ( KernelPoolSnapshot pool )
+   {
+      return (  new TextPCKRotation( pool )  );
+   }
+
+
+
+   //
+   // Instance Methods
+   //
+
+   /**
+   Indicate whether the kernel pool holds an orientation model for
+   `body'.
+   */
+   public boolean hasModel ( int body )
+
+      throws SpiceException
+   {
+      return (  getModel( body ) != NONE  );
+   }
+
+
+   /**
+   Get the ID code of the inertial frame relative to which the
+   orientation of `body' is given.
+   */
+   public int getReferenceFrame ( int body )
+
+      throws SpiceException
+   {
+      return (  requireModel( body ).frame  );
+   }
+
+
+   /**
+   Fill the 9-element array `tipm' with the rotation matrix, in row
+   major order, that maps vectors relative to the inertial frame of
+   the model of `body' to vectors relative to the body-fixed frame
+   at the TDB epoch `et'. This is the computation performed by the
+   SPICELIB routine TIPBOD when the inertial frame is J2000.
+   */
+   public void getBodyRotation ( int       body,
+                                 double    et,
+                                 double[]  tipm )
+
+      throws SpiceException
+   {
+      evaluate( requireModel( body ), et, tipm, 0, null, 0 );
+   }
+
+
+   /**
+   Fill the 36-element array `tsipm' with the 6x6 state
+   transformation matrix, in row major order, that maps states
+   relative to the inertial frame of the model of `body' to states
+   relative to the body-fixed frame at the TDB epoch `et'. This is
+   the computation performed by the SPICELIB routine TISBOD when the
+   inertial frame is J2000.
+   */
+   public void getBodyStateTransformation ( int       body,
+                                            double    et,
+                                            double[]  tsipm )
+
+      throws SpiceException
+   {
+      getBodyStateTransformations( body, new double[] { et }, tsipm );
+   }
+
+
+   /**
+   Batch form of {@link #getBodyRotation(int, double, double[])}:
+   fill `tipm' with one 9-element rotation matrix for each element of
+   `et', in the order of the epochs. `tipm' must have at least
+   9*et.length elements.
+   */
+   public void getBodyRotations ( int       body,
+                                  double[]  et,
+                                  double[]  tipm )
+
+      throws SpiceException
+   {
+      Model model = requireModel( body );
+
+      for ( int i = 0;  i < et.length;  i++ )
+      {
+         evaluate( model, et[i], tipm, 9*i, null, 0 );
+      }
+   }
+
+
+   /**
+   Batch form of
+   {@link #getBodyStateTransformation(int, double, double[])}: fill
+   `tsipm' with one 36-element state transformation matrix for each
+   element of `et', in the order of the epochs. `tsipm' must have
+   at least 36*et.length elements.
+   */
+   public void getBodyStateTransformations ( int       body,
+                                             double[]  et,
+                                             double[]  tsipm )
+
+      throws SpiceException
+   {
+      Model    model = requireModel( body );
+
+      double[] r     = new double[9];
+      double[] dr    = new double[9];
+
+      for ( int n = 0;  n < et.length;  n++ )
+      {
+         evaluate( model, et[n], r, 0, dr, 0 );
+
+         int base = 36 * n;
+
+         for ( int i = 0;  i < 3;  i++ )
+         {
+            for ( int j = 0;  j < 3;  j++ )
+            {
+               tsipm[ base + 6*i       + j     ] = r [ 3*i + j ];
+               tsipm[ base + 6*i       + j + 3 ] = 0.0;
+               tsipm[ base + 6*(i + 3) + j     ] = dr[ 3*i + j ];
+               tsipm[ base + 6*(i + 3) + j + 3 ] = r [ 3*i + j ];
+            }
+         }
+      }
+   }
+
+
+   /**
+   Fill `rotate' with the rotation from the PCK frame `frame' to the
+   inertial frame of its body's model at `et'; return the ID code of
+   that frame, or zero if the body has no model.
+   */
+   public int getRotation ( FrameInfo  frame,
+                            double     et,
+                            double[]   rotate )
+
+      throws SpiceException
+   {
+      Model model = getModel( frame.getFrameClassID() );
+
+      if ( model == NONE )
+      {
+         return ( 0 );
+      }
+
+      double[] r = new double[9];
+
+      evaluate( model, et, r, 0, null, 0 );
+
+      for ( int i = 0;  i < 3;  i++ )
+      {
+         for ( int j = 0;  j < 3;  j++ )
+         {
+            rotate[ 3*i + j ] = r[ 3*j + i ];
+         }
+      }
+
+      return ( model.frame );
+   }
+
+
+   /**
+   Fill `xform' with the state transformation from the PCK frame
+   `frame' to the inertial frame of its body's model at `et'; return
+   the ID code of that frame, or zero if the body has no model.
+   */
+   public int getStateTransformation ( FrameInfo  frame,
+                                       double     et,
+                                       double[]   xform )
+
+      throws SpiceException
+   {
+      Model model = getModel( frame.getFrameClassID() );
+
+      if ( model == NONE )
+      {
+         return ( 0 );
+      }
+
+      double[] r  = new double[9];
+      double[] dr = new double[9];
+
+      evaluate( model, et, r, 0, dr, 0 );
+
+      //
+      // The inverse of a state transformation having rotation R and
+      // derivative block dR has rotation R' and derivative block dR'.
+      //
+      for ( int i = 0;  i < 3;  i++ )
+      {
+         for ( int j = 0;  j < 3;  j++ )
+         {
+            xform[ 6*i       + j     ] = r [ 3*j + i ];
+            xform[ 6*i       + j + 3 ] = 0.0;
+            xform[ 6*(i + 3) + j     ] = dr[ 3*j + i ];
+            xform[ 6*(i + 3) + j + 3 ] = r [ 3*j + i ];
+         }
+      }
+
+      return ( model.frame );
+   }
+
+
+
+   //
+   // Private Methods
+   //
+
+   /**
+   Evaluate `model' at `et', storing the rotation from the inertial
+   frame to the body-fixed frame in r[roff:roff+8] and, if `dr' is
+   non-null, its derivative in dr[doff:doff+8].
+   */
+   private static void evaluate ( Model     model,
+                                  double    et,
+                                  double[]  r,
+                                  int       roff,
+                                  double[]  dr,
+                                  int       doff  )
+   {
+      double d    = ( et - model.epoch ) / TimeConverter.SPD;
+      double t    = d / 36525.0;
+
+      //
+      // Angles in degrees and their rates in degrees/second.
+      //
+      double ra   = model.ra [0] + t * ( model.ra [1] + t * model.ra [2] );
+      double dec  = model.dec[0] + t * ( model.dec[1] + t * model.dec[2] );
+      double w    = model.pm [0] + d * ( model.pm [1] + d * model.pm [2] );
+
+      double dra  = ( model.ra [1] + 2.0 * t * model.ra [2] ) / SPC;
+      double ddec = ( model.dec[1] + 2.0 * t * model.dec[2] ) / SPC;
+      double dw   = ( model.pm [1] + 2.0 * d * model.pm [2] ) / TimeConverter.SPD;
+
+      for ( int i = 0;  i < model.angles.length;  i++ )
+      {
+         double[] c      = model.angles[i];
+         double   theta  = 0.0;
+         double   dtheta = 0.0;
+
+         for ( int k = c.length - 1;  k >= 0;  k-- )
+         {
+            theta = theta * t + c[k];
+
+            if ( k > 0 )
+            {
+               dtheta = dtheta * t + k * c[k];
+            }
+         }
+
+         //
+         // dtheta is the rate in radians/second.
+         //
+         theta      *= RPD;
+         dtheta     *= RPD / SPC;
+
+         double sin  = Math.sin( theta );
+         double cos  = Math.cos( theta );
+
+         ra         += model.nutRA [i] * sin;
+         dec        += model.nutDec[i] * cos;
+         w          += model.nutPM [i] * sin;
+
+         dra        += model.nutRA [i] * cos * dtheta;
+         ddec       -= model.nutDec[i] * sin * dtheta;
+         dw         += model.nutPM [i] * cos * dtheta;
+      }
+
+      w = w % 360.0;
+
+      //
+      // The rotation is
+      //
+      //    [w]  [pi/2 - dec]  [pi/2 + ra]
+      //       3             1            3
+      //
+      double phi  = HALFPI - dec * RPD;
+      double lam  = HALFPI + ra  * RPD;
+
+      w          *= RPD;
+
+      double cw   = Math.cos( w   );
+      double sw   = Math.sin( w   );
+      double cp   = Math.cos( phi );
+      double sp   = Math.sin( phi );
+      double cl   = Math.cos( lam );
+      double sl   = Math.sin( lam );
+
+      //
+      // m = [pi/2 - dec]  [pi/2 + ra]
+      //                 1            3
+      //
+      double m00 =       cl;
+      double m01 =       sl;
+      double m02 =       0.0;
+      double m10 = -cp * sl;
+      double m11 =  cp * cl;
+      double m12 =  sp;
+      double m20 =  sp * sl;
+      double m21 = -sp * cl;
+      double m22 =  cp;
+
+      r[ roff     ] =  cw * m00 + sw * m10;
+      r[ roff + 1 ] =  cw * m01 + sw * m11;
+      r[ roff + 2 ] =  cw * m02 + sw * m12;
+      r[ roff + 3 ] = -sw * m00 + cw * m10;
+      r[ roff + 4 ] = -sw * m01 + cw * m11;
+      r[ roff + 5 ] = -sw * m02 + cw * m12;
+      r[ roff + 6 ] =  m20;
+      r[ roff + 7 ] =  m21;
+      r[ roff + 8 ] =  m22;
+
+      if ( dr == null )
+      {
+         return;
+      }
+
+      double dphi = -ddec * RPD;
+      double dlam =  dra  * RPD;
+
+      dw         *=  RPD;
+
+      //
+      // Derivative of m.
+      //
+      double n00 = -sl * dlam;
+      double n01 =  cl * dlam;
+      double n02 =  0.0;
+      double n10 =  sp * sl * dphi  -  cp * cl * dlam;
+      double n11 = -sp * cl * dphi  -  cp * sl * dlam;
+      double n12 =  cp * dphi;
+      double n20 =  cp * sl * dphi  +  sp * cl * dlam;
+      double n21 = -cp * cl * dphi  +  sp * sl * dlam;
+      double n22 = -sp * dphi;
+
+      dr[ doff     ] = dw * ( -sw * m00 + cw * m10 )  +  cw * n00 + sw * n10;
+      dr[ doff + 1 ] = dw * ( -sw * m01 + cw * m11 )  +  cw * n01 + sw * n11;
+      dr[ doff + 2 ] = dw * ( -sw * m02 + cw * m12 )  +  cw * n02 + sw * n12;
+      dr[ doff + 3 ] = dw * ( -cw * m00 - sw * m10 )  -  sw * n00 + cw * n10;
+      dr[ doff + 4 ] = dw * ( -cw * m01 - sw * m11 )  -  sw * n01 + cw * n11;
+      dr[ doff + 5 ] = dw * ( -cw * m02 - sw * m12 )  -  sw * n02 + cw * n12;
+      dr[ doff + 6 ] = n20;
+      dr[ doff + 7 ] = n21;
+      dr[ doff + 8 ] = n22;
+   }
+
+
+   /**
+   Get the model of `body', reading it on first use. Return NONE if
+   the body has no model.
+   */
+   private Model getModel ( int body )
+
+      throws SpiceException
+   {
+      Model model = models.get( body );
+
+      if ( model == null )
+      {
+         model = readModel( body );
+
+         Model prior = models.putIfAbsent( body, model );
+
+         if ( prior != null )
+         {
+            model = prior;
+         }
+      }
+
+      return ( model );
+   }
+
+
+   private Model requireModel ( int body )
+
+      throws SpiceException
+   {
+      Model model = getModel( body );
+
+      if ( model == NONE )
+      {
+         KernelVarNotFoundException exc = KernelVarNotFoundException.create(
+
+            "TextPCKRotation",
+            "The orientation model of body " + body + " was not found; " +
+            "the variable BODY" + body + "_PM is not in the kernel pool." );
+
+         throw ( exc );
+      }
+
+      return ( model );
+   }
+
+
+   private Model readModel ( int body )
+
+      throws SpiceException
+   {
+      String prefix = "BODY" + body + "_";
+
+      if ( !pool.exists( prefix + "PM" ) )
+      {
+         return ( NONE );
+      }
+
+      Model  model   = new Model();
+
+      String bary    = "BODY" + ( body / 100 ) + "_";
+
+      model.ra       = getPolynomial( body, prefix + "POLE_RA"  );
+      model.dec      = getPolynomial( body, prefix + "POLE_DEC" );
+      model.pm       = getPolynomial( body, prefix + "PM"       );
+
+      //
+      // The inertial frame and epoch of the model are those of the
+      // body or, failing that, of its barycenter.
+      //
+      model.frame    = FrameTree.J2000;
+      model.epoch    = 0.0;
+
+      for ( String p : new String[] { bary, prefix } )
+      {
+         if ( pool.exists( p + "CONSTANTS_REF_FRAME" ) )
+         {
+            model.frame = pool.getInteger( p + "CONSTANTS_REF_FRAME", 0 );
+         }
+
+         if ( pool.exists( p + "CONSTANTS_JED_EPOCH" ) )
+         {
+            model.epoch =   ( pool.getDouble( p + "CONSTANTS_JED_EPOCH", 0 )
+                              - TimeConverter.J2000 )
+                          * TimeConverter.SPD;
+         }
+      }
+
+      //
+      // Nutation and precession terms.
+      //
+      double[] nutRA  = getOptional( prefix + "NUT_PREC_RA"  );
+      double[] nutDec = getOptional( prefix + "NUT_PREC_DEC" );
+      double[] nutPM  = getOptional( prefix + "NUT_PREC_PM"  );
+
+      int      nterms = Math.max(  nutRA.length,
+                                   Math.max( nutDec.length, nutPM.length )  );
+
+      model.nutRA    = new double  [nterms];
+      model.nutDec   = new double  [nterms];
+      model.nutPM    = new double  [nterms];
+      model.angles   = new double  [nterms][];
+
+      if ( nterms > 0 )
+      {
+         int degree = 1;
+
+         if ( pool.exists( bary + "MAX_PHASE_DEGREE" ) )
+         {
+            degree = pool.getInteger( bary + "MAX_PHASE_DEGREE", 0 );
+         }
+
+         double[] values  = getOptional( bary + "NUT_PREC_ANGLES" );
+
+         int      nangles = values.length / ( degree + 1 );
+
+         if (  ( degree < 1 ) || ( nterms > nangles )  )
+         {
+            SpiceErrorException exc = SpiceErrorException.create(
+
+               "TextPCKRotation",
+
+               "SPICE(INSUFFICIENTANGLES)",
+
+               "The orientation model of body " + body + " has "  +
+               nterms + " nutation and precession terms, but "     +
+               nangles + " angles of degree " + degree + " are "   +
+               "given by " + bary + "NUT_PREC_ANGLES."              );
+
+            throw ( exc );
+         }
+
+         System.arraycopy( nutRA,  0, model.nutRA,  0, nutRA.length  );
+         System.arraycopy( nutDec, 0, model.nutDec, 0, nutDec.length );
+         System.arraycopy( nutPM,  0, model.nutPM,  0, nutPM.length  );
+
+         for ( int i = 0;  i < nterms;  i++ )
+         {
+            model.angles[i] = new double[ degree + 1 ];
+
+            System.arraycopy( values, i * ( degree + 1 ),
+                              model.angles[i], 0, degree + 1 );
+         }
+      }
+
+      return ( model );
+   }
+
+
+   /**
+   Get the coefficients of a polynomial of degree at most 2, padded
+   with zeros to three coefficients.
+   */
+   private double[] getPolynomial ( int     body,
+                                    String  name )
+
+      throws SpiceException
+   {
+      double[] values = pool.getDouble( name );
+
+      if (  ( values.length == 0 ) || ( values.length > 3 )  )
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            "TextPCKRotation",
+
+            "SPICE(INVALIDCOUNT)",
+
+            "The orientation model of body " + body + " has " +
+            values.length + " values of " + name + "; 1 to 3 " +
+            "values are required."                                );
+
+         throw ( exc );
+      }
+
+      double[] coeffs = new double[3];
+
+      System.arraycopy( values, 0, coeffs, 0, values.length );
+
+      return ( coeffs );
+   }
+
+
+   private double[] getOptional ( String name )
+
+      throws SpiceException
+   {
+      if ( !pool.exists( name ) )
+      {
+         return ( new double[0] );
+      }
+
+      return (  pool.getDouble( name )  );
+   }
+}
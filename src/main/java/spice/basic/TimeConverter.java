@@ -0,0 +1,1397 @@
+package spice.basic;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+Class TimeConverter parses, formats and converts times in the UTC,
+TDT (TT), TAI and TDB systems without calls to CSPICE, using the
+DELTET variables of a leapseconds kernel held in a
+{@link KernelPoolSnapshot}.
+
+<p>
+The methods of this class correspond to CSPICE routines as follows:
+
+<pre>
+   {@link #parse(String)}                     str2et
+   {@link #format(double, String)}            timout
+   {@link #toUTCString(double, String, int)}  et2utc
+   {@link #convert(double, String, String)}   unitim
+</pre>
+
+<p>
+{@link #parse(String)} accepts the forms written by telemetry and
+user interfaces, rather than every form accepted by str2et:
+
+<ul>
+<li>ISO calendar and day of year formats, such as
+2016-09-30T15:32:32.184Z and 2016-274T15:32:32.</li>
+
+<li>Numeric dates in year-month-day or month-day-year order,
+separated by `-' or `/', such as 2016-09-30 or 09/30/2016.</li>
+
+<li>Dates with month names, such as 2016 SEP 30, 30 Sep 2016 and
+September 30, 2016.</li>
+
+<li>Julian dates, such as JD 2457662.147.</li>
+</ul>
+
+<p>
+The time of day, written as hours, minutes and optional seconds
+separated by colons, may follow the date after blanks, `T', `/', `~'
+or `-'. A time system label UTC, TDB, TDT or TT, or a trailing Z,
+may be appended; times are UTC by default. Years must be written
+with at least three digits. Leap seconds are accepted as second 60
+of the last minute of a UTC day.
+
+<p>
+{@link #format(double, String)} supports the picture tokens YYYY, YR,
+MON, Mon, MONTH, Month, MM, DD, DOY, HR, MN, SC and JULIAND, the
+markers ::UTC, ::TDB, ::TDT, ::RND and ::TRNC, and fractional digits,
+written as `.' followed by `#' characters, after SC and JULIAND.
+Other characters are copied to the output.
+
+<p>
+Instances are immutable and may be shared by any number of threads.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+
+public final class TimeConverter extends Object
+{
+   //
+   // Package constants: the Julian date of J2000 and the count of
+   // seconds per day, as returned by CSPICE.j2000 and CSPICE.spd.
+   //
+   static final double             J2000      = 2451545.0;
+   static final double             SPD        = 86400.0;
+
+   //
+   // Private constants
+   //
+
+   //
+   // Days from 1970-01-01 to 2000-01-01.
+   //
+   private static final long       J2000_DAY  = 10957L;
+
+   private static final int        UTC        = 0;
+   private static final int        TDB        = 1;
+   private static final int        TDT        = 2;
+
+   private static final String[]   MONTHS     = { "JANUARY",   "FEBRUARY",
+                                                  "MARCH",     "APRIL",
+                                                  "MAY",       "JUNE",
+                                                  "JULY",      "AUGUST",
+                                                  "SEPTEMBER", "OCTOBER",
+                                                  "NOVEMBER",  "DECEMBER" };
+
+   private static final String[]   PICTURE_TOKENS = { "JULIAND", "MONTH",
+                                                      "Month",   "YYYY",
+                                                      "DOY",     "MON",
+                                                      "Mon",     "YR",
+                                                      "MM",      "DD",
+                                                      "HR",      "MN",
+                                                      "SC"              };
+
+   //
+   // Indices of the picture tokens.
+   //
+   private static final int        JULIAND        = 0;
+   private static final int        MONTH_UPPER    = 1;
+   private static final int        MONTH_MIXED    = 2;
+   private static final int        YYYY           = 3;
+   private static final int        DOY            = 4;
+   private static final int        MON_UPPER      = 5;
+   private static final int        MON_MIXED      = 6;
+   private static final int        YR             = 7;
+   private static final int        MM             = 8;
+   private static final int        DD             = 9;
+   private static final int        HR             = 10;
+   private static final int        MN             = 11;
+   private static final int        SC             = 12;
+
+   private static final int        MAX_DIGITS     = 9;
+   private static final int        MAX_PICTURES   = 64;
+
+   private static final long[]     POWERS_OF_TEN  = { 1L,
+                                                      10L,
+                                                      100L,
+                                                      1000L,
+                                                      10000L,
+                                                      100000L,
+                                                      1000000L,
+                                                      10000000L,
+                                                      100000000L,
+                                                      1000000000L };
+
+   //
+   // Fields
+   //
+   private final double            deltaTA;
+   private final double            k;
+   private final double            eb;
+   private final double            m0;
+   private final double            m1;
+
+   //
+   // Leapsecond table: formal UTC epochs (the starts of days) and
+   // the values of TAI-UTC from each epoch on.
+   //
+   private final double[]          leapEpochs;
+   private final double[]          deltaAT;
+
+   //
+   // Compiled format pictures. The cache holds no state that affects
+   // results, so it's safe to share and to clear.
+   //
+   private final ConcurrentHashMap<String, Picture>  pictures;
+
+
+
+   //
+   // Nested classes
+   //
+
+   /**
+   A parsed time string. `day' counts days from 2000-01-01 and
+   `seconds' is the time of day, which may exceed 86400 during a
+   leapsecond. For Julian dates, `julian' is true and `jd' holds the
+   date.
+   */
+   private static final class Fields
+   {
+      int        system  = UTC;
+      boolean    julian  = false;
+      double     jd;
+      long       day;
+      double     seconds;
+   }
+
+
+   /**
+   A compiled format picture. Each item is either a literal String or
+   an Integer index into PICTURE_TOKENS. `digits' is the number of
+   fractional digits of SC or JULIAND; `unit' is the number of
+   seconds in the least significant component of the time of day.
+   */
+   private static final class Picture
+   {
+      final ArrayList<Object>  items   = new ArrayList<Object>();
+      int                      system  = UTC;
+      boolean                  round   = false;
+      int                      digits  = 0;
+      int                      extra   = 0;
+      long                     unit    = 86400L;
+   }
+
+
+
+   //
+   // Constructors
+   //
+   private TimeConverter ( KernelPoolSnapshot pool )
+
+      throws SpiceException
+   {
+      deltaTA = pool.getDouble( "DELTET/DELTA_T_A", 0 );
+      k       = pool.getDouble( "DELTET/K",         0 );
+      eb      = pool.getDouble( "DELTET/EB",        0 );
+      m0      = pool.getDouble( "DELTET/M",         0 );
+      m1      = pool.getDouble( "DELTET/M",         1 );
+
+      double[] values = pool.getDouble( "DELTET/DELTA_AT" );
+
+      if (  ( values.length == 0 ) || ( values.length % 2 != 0 )  )
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            "TimeConverter",
+
+            "SPICE(INVALIDCOUNT)",
+
+            "DELTET/DELTA_AT has " + values.length + " values; a " +
+            "positive multiple of 2 is required."                    );
+
+         throw ( exc );
+      }
+
+      leapEpochs = new double[ values.length / 2 ];
+      deltaAT    = new double[ values.length / 2 ];
+
+      for ( int i = 0;  i < leapEpochs.length;  i++ )
+      {
+         deltaAT   [i] = values[ 2*i     ];
+         leapEpochs[i] = values[ 2*i + 1 ];
+      }
+
+      pictures = new ConcurrentHashMap<String, Picture>();
+   }
+
+
+
+   //
+   // Static Methods
+   //
+
+   /**
+   Create a converter from the leapseconds kernel variables in `pool'.
+   */
+   public static TimeConverter create ( KernelPoolSnapshot pool )
+
+      throws SpiceException
+   {
+      return (  new TimeConverter( pool )  );
+   }
+
+
+   /**
+   Convert a time string to seconds past J2000 on its own calendar,
+   without leapseconds, ignoring any time system label. Return NaN if
+   the string can't be parsed. This is the conversion applied to
+   dates prefixed by @ in text kernels.
+   */
+   static double parseFormalSeconds ( String timeString )
+   {
+      try
+      {
+         Fields fields = parseFields( timeString );
+
+         if ( fields.julian )
+         {
+            return (  ( fields.jd - J2000 ) * SPD  );
+         }
+
+         return (  formal( fields.day, fields.seconds )  );
+      }
+      catch ( SpiceErrorException exc )
+      {
+         return ( Double.NaN );
+      }
+   }
+
+
+
+   /**
+   Convert a Julian ephemeris date to TDB seconds past J2000.
+   */
+   static double jedToTDB ( double jed )
+   {
+      return (  SPD * ( jed - J2000 )  );
+   }
+
+
+   /**
+   Convert TDB seconds past J2000 to a Julian ephemeris date.
+   */
+   static double tdbToJED ( double tdbSeconds )
+   {
+      return (  J2000 + tdbSeconds / SPD  );
+   }
+
+
+
+   //
+   // Instance Methods
+   //
+
+   /**
+   Convert a time string to TDB seconds past J2000.
+   */
+   public double parse ( String timeString )
+
+      throws SpiceException
+   {
+      Fields fields = parseFields( timeString );
+
+      if ( fields.julian )
+      {
+         double seconds = ( fields.jd - J2000 ) * SPD;
+
+         if ( fields.system == UTC )
+         {
+            return (  utcToTDB( seconds )  );
+         }
+
+         return (  ( fields.system == TDT ) ? tdtToTDB( seconds ) : seconds  );
+      }
+
+      if ( fields.system == UTC )
+      {
+         //
+         // TAI-UTC is that of the start of the day, so that a
+         // leapsecond counts as part of the day it ends.
+         //
+         double start = formal( fields.day, 0.0 );
+         double tai   = formal( fields.day, fields.seconds ) + getDeltaAT( start );
+
+         return (  tdtToTDB( tai + deltaTA )  );
+      }
+
+      double seconds = formal( fields.day, fields.seconds );
+
+      return (  ( fields.system == TDT ) ? tdtToTDB( seconds ) : seconds  );
+   }
+
+   /**
+   Convert UTC seconds past J2000, counted on a calendar without
+   leapseconds, to TDB seconds past J2000.
+   */
+   public double utcToTDB ( double utcSeconds )
+   {
+      double tai = utcSeconds + getDeltaAT( utcSeconds );
+
+      return (  tdtToTDB( tai + deltaTA )  );
+   }
+
+   /**
+   Convert a time value from one of the systems TAI, TDT, TT, TDB, ET,
+   JDTDB, JDTDT or JED to another, as CSPICE.unitim does.
+   */
+   public double convert ( double  value,
+                           String  input,
+                           String  output )
+
+      throws SpiceException
+   {
+      String in  = input .trim().toUpperCase();
+      String out = output.trim().toUpperCase();
+      double tdb;
+
+      if ( in.equals( "TAI" ) )
+      {
+         tdb = tdtToTDB( value + deltaTA );
+      }
+      else if ( in.equals( "TDT" ) || in.equals( "TT" ) )
+      {
+         tdb = tdtToTDB( value );
+      }
+      else if ( in.equals( "TDB" ) || in.equals( "ET" ) )
+      {
+         tdb = value;
+      }
+      else if ( in.equals( "JDTDB" ) || in.equals( "JED" ) )
+      {
+         tdb = jedToTDB( value );
+      }
+      else if ( in.equals( "JDTDT" ) )
+      {
+         tdb = tdtToTDB(  ( value - J2000 ) * SPD  );
+      }
+      else
+      {
+         throw badTimeType( input );
+      }
+
+      if ( out.equals( "TAI" ) )
+      {
+         return (  tdbToTDT( tdb ) - deltaTA  );
+      }
+      else if ( out.equals( "TDT" ) || out.equals( "TT" ) )
+      {
+         return (  tdbToTDT( tdb )  );
+      }
+      else if ( out.equals( "TDB" ) || out.equals( "ET" ) )
+      {
+         return ( tdb );
+      }
+      else if ( out.equals( "JDTDB" ) || out.equals( "JED" ) )
+      {
+         return (  tdbToJED( tdb )  );
+      }
+      else if ( out.equals( "JDTDT" ) )
+      {
+         return (  J2000 + tdbToTDT( tdb ) / SPD  );
+      }
+
+      throw badTimeType( output );
+   }
+
+   /**
+   Format TDB seconds past J2000 using a picture, as CSPICE.timout
+   does; see the class description for the picture tokens supported.
+   */
+   public String format ( double  et,
+                          String  picture )
+   {
+      Picture p = pictures.get( picture );
+
+      if ( p == null )
+      {
+         p = compile( picture );
+
+         if ( pictures.size() >= MAX_PICTURES )
+         {
+            pictures.clear();
+         }
+
+         pictures.put( picture, p );
+      }
+
+      //
+      // Find the day and time of day in the picture's time system.
+      //
+      // The time is rounded or truncated to a whole count of the least
+      // significant unit of the picture, counted from J2000, before
+      // it's broken into days and time of day, so that results agree
+      // with rounding of the full time value.
+      //
+      long   scale = POWERS_OF_TEN[ p.digits ];
+      double half  = ( p.round ) ? 0.5 : 0.0;
+      double time  = ( p.system == TDB ) ? et : tdbToTDT( et );
+
+      double formalSeconds = time;
+      long   day;
+      long   count;
+
+      int    i     = 0;
+      double tai   = 0.0;
+
+      if ( p.system == UTC )
+      {
+         tai           = time - deltaTA;
+         i             = searchTAI( tai );
+         formalSeconds = tai - deltaAT[i];
+      }
+
+      if (     ( p.system == UTC )
+           &&  ( i + 1 < leapEpochs.length )
+           &&  ( tai >= leapEpochs[i+1] + deltaAT[i] ) )
+      {
+         //
+         // `tai' falls in the leapsecond at the end of the day before
+         // leapEpochs[i+1]. Formal UTC seconds, used for Julian
+         // dates, stand still during the leapsecond.
+         //
+         double seconds = SPD + ( tai - leapEpochs[i+1] - deltaAT[i] );
+
+         day           = dayOf( leapEpochs[i+1] ) - 1;
+         count         = (long) Math.floor( seconds * scale / p.unit + half );
+         formalSeconds = leapEpochs[i+1];
+
+         //
+         // Minutes and hours don't include the leapsecond.
+         //
+         if (     ( count * p.unit  >=  86401L * scale )
+              ||  (  ( p.unit > 1L ) && ( count * p.unit  >=  86400L * scale )  ) )
+         {
+            day   = day + 1;
+            count = 0;
+         }
+      }
+      else if (     ( p.unit == 86400L )
+                ||  ( Math.abs( formalSeconds ) * scale / p.unit  >  1.e17 ) )
+      {
+         //
+         // Whole days, or times too far from J2000 for a count of
+         // units: round the time of day.
+         //
+         day = dayOf( formalSeconds );
+
+         double seconds = formalSeconds - formal( day, 0.0 );
+
+         count = (long) Math.floor( seconds * scale / p.unit + half );
+
+         if ( count * p.unit  >=  86400L * scale )
+         {
+            day   = day + 1;
+            count = 0;
+         }
+      }
+      else
+      {
+         long perDay = 86400L * scale / p.unit;
+         long units  = (long) Math.floor( formalSeconds * scale / p.unit + half )
+                       + 43200L * scale / p.unit;
+
+         day   = Math.floorDiv( units, perDay );
+         count = Math.floorMod( units, perDay );
+
+         if (     ( p.system == UTC ) && ( p.unit == 1L ) && ( count == 0 )
+              &&  ( day > dayOf( formalSeconds ) )
+              &&  ( dayLength( day - 1 ) > 86400L ) )
+         {
+            //
+            // The time rounds up into the leapsecond that ends the
+            // previous day.
+            //
+            day   = day - 1;
+            count = perDay;
+         }
+      }
+
+      long whole    = count * p.unit / scale;
+      long fraction = count * p.unit % scale;
+
+      int hour;
+      int minute;
+      int second;
+
+      if ( whole >= 86400L )
+      {
+         hour   = 23;
+         minute = 59;
+         second = (int) ( whole - 86340L );
+      }
+      else
+      {
+         hour   = (int) ( whole / 3600L );
+         minute = (int) ( whole % 3600L / 60L );
+         second = (int) ( whole % 60L );
+      }
+
+      long[] civil = civilFromDays( day + J2000_DAY );
+
+      //
+      // Write the picture.
+      //
+      StringBuilder result = new StringBuilder( 2 * picture.length() );
+
+      for ( Object item : p.items )
+      {
+         if ( item instanceof String )
+         {
+            result.append( (String) item );
+            continue;
+         }
+
+         String month = MONTHS[ (int) civil[1] - 1 ];
+
+         switch ( (Integer) item )
+         {
+            case YYYY:
+
+               pad( result, civil[0], 4 );
+               break;
+
+            case YR:
+
+               pad( result, Math.floorMod( civil[0], 100L ), 2 );
+               break;
+
+            case MON_UPPER:
+
+               result.append( month, 0, 3 );
+               break;
+
+            case MON_MIXED:
+
+               result.append( capitalize( month ), 0, 3 );
+               break;
+
+            case MONTH_UPPER:
+
+               result.append( month );
+               break;
+
+            case MONTH_MIXED:
+
+               result.append( capitalize( month ) );
+               break;
+
+            case MM:
+
+               pad( result, civil[1], 2 );
+               break;
+
+            case DD:
+
+               pad( result, civil[2], 2 );
+               break;
+
+            case DOY:
+
+               pad( result, day + J2000_DAY - daysFromCivil( civil[0], 1, 1 ) + 1, 3 );
+               break;
+
+            case HR:
+
+               pad( result, hour, 2 );
+               break;
+
+            case MN:
+
+               pad( result, minute, 2 );
+               break;
+
+            case SC:
+
+               pad( result, second, 2 );
+               appendFraction( result, fraction, p );
+               break;
+
+            default:
+
+               appendJulianDate( result, formalSeconds, p );
+         }
+      }
+
+      return (  result.toString()  );
+   }
+
+   /**
+   Format TDB seconds past J2000 as a UTC string, as CSPICE.et2utc
+   does. `format' is one of C (calendar), D (day of year), J (Julian
+   date), ISOC (ISO calendar) or ISOD (ISO day of year); `precision'
+   is the number of fractional digits of the seconds, or of the days
+   of a Julian date.
+   */
+   public String toUTCString ( double  et,
+                               String  format,
+                               int     precision )
+
+      throws SpiceErrorException
+   {
+      String code     = format.trim().toUpperCase();
+      int    digits   = Math.max( 0, Math.min( 14, precision ) );
+
+      StringBuilder fraction = new StringBuilder();
+
+      if ( digits > 0 )
+      {
+         fraction.append( '.' );
+
+         for ( int i = 0;  i < digits;  i++ )
+         {
+            fraction.append( '#' );
+         }
+      }
+
+      String picture;
+
+      if ( code.equals( "C" ) )
+      {
+         picture = "YYYY MON DD HR:MN:SC" + fraction;
+      }
+      else if ( code.equals( "D" ) )
+      {
+         picture = "YYYY-DOY // HR:MN:SC" + fraction;
+      }
+      else if ( code.equals( "J" ) )
+      {
+         picture = "JD JULIAND" + fraction;
+      }
+      else if ( code.equals( "ISOC" ) )
+      {
+         picture = "YYYY-MM-DDTHR:MN:SC" + fraction;
+      }
+      else if ( code.equals( "ISOD" ) )
+      {
+         picture = "YYYY-DOYTHR:MN:SC" + fraction;
+      }
+      else
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            "TimeConverter.toUTCString",
+
+            "SPICE(INVALIDTIMEFORMAT)",
+
+            "The format <" + format + "> is not one of C, D, J, " +
+            "ISOC or ISOD."                                         );
+
+         throw ( exc );
+      }
+
+      return (  format( et, picture + "::RND" )  );
+   }
+
+
+
+   //
+   // Private methods
+   //
+
+   private double tdtToTDB ( double tdtSeconds )
+   {
+      double m = m0 + m1 * tdtSeconds;
+
+      return (  tdtSeconds  +  k * Math.sin( m + eb * Math.sin( m ) )  );
+   }
+
+
+   /**
+   Invert tdtToTDB by fixed point iteration; the correction changes
+   by less than 1.e-19 s between the second and third iterations.
+   */
+   private double tdbToTDT ( double tdbSeconds )
+   {
+      double tdtSeconds = tdbSeconds;
+
+      for ( int i = 0;  i < 3;  i++ )
+      {
+         double m = m0 + m1 * tdtSeconds;
+
+         tdtSeconds = tdbSeconds  -  k * Math.sin( m + eb * Math.sin( m ) );
+      }
+
+      return ( tdtSeconds );
+   }
+
+
+   /**
+   Return TAI-UTC at the formal UTC time `utcSeconds'. Times before
+   the first epoch of the table use its first value.
+   */
+   private double getDeltaAT ( double utcSeconds )
+   {
+      int lo = 0;
+      int hi = leapEpochs.length - 1;
+
+      while ( lo < hi )
+      {
+         int mid = ( lo + hi + 1 ) >>> 1;
+
+         if ( leapEpochs[mid] <= utcSeconds )
+         {
+            lo = mid;
+         }
+         else
+         {
+            hi = mid - 1;
+         }
+      }
+
+      return ( deltaAT[lo] );
+   }
+
+
+   /**
+   Return the index of the last table entry in effect at TAI time
+   `tai', or 0.
+   */
+   private int searchTAI ( double tai )
+   {
+      int lo = 0;
+      int hi = leapEpochs.length - 1;
+
+      while ( lo < hi )
+      {
+         int mid = ( lo + hi + 1 ) >>> 1;
+
+         if ( leapEpochs[mid] + deltaAT[mid] <= tai )
+         {
+            lo = mid;
+         }
+         else
+         {
+            hi = mid - 1;
+         }
+      }
+
+      return ( lo );
+   }
+
+
+   /**
+   Return the length in seconds of UTC day `day', counted from
+   2000-01-01: 86401 if the day ends with a leapsecond.
+   */
+   private long dayLength ( long day )
+   {
+      double start = formal( day,     0.0 );
+      double end   = formal( day + 1, 0.0 );
+
+      return (  86400L + Math.round( getDeltaAT( end ) - getDeltaAT( start ) )  );
+   }
+
+
+   private void appendJulianDate ( StringBuilder  result,
+                                   double         formalSeconds,
+                                   Picture        p              )
+   {
+      double jd    = J2000 + formalSeconds / SPD;
+      long   scale = POWERS_OF_TEN[ p.digits ];
+      long   count = (long) Math.floor( jd * scale + ( p.round ? 0.5 : 0.0 ) );
+
+      result.append( count / scale );
+
+      appendFraction( result, count % scale, p );
+   }
+
+
+   private static void appendFraction ( StringBuilder  result,
+                                        long           fraction,
+                                        Picture        p        )
+   {
+      if (  ( p.digits == 0 ) && ( p.extra == 0 )  )
+      {
+         return;
+      }
+
+      result.append( '.' );
+
+      if ( p.digits > 0 )
+      {
+         pad( result, fraction, p.digits );
+      }
+
+      for ( int i = 0;  i < p.extra;  i++ )
+      {
+         result.append( '0' );
+      }
+   }
+
+
+
+   //
+   // Private static methods
+   //
+
+   /**
+   Compile a format picture.
+   */
+   private static Picture compile ( String picture )
+   {
+      Picture       p       = new Picture();
+      StringBuilder literal = new StringBuilder();
+      int           pos     = 0;
+      int           n       = picture.length();
+
+      while ( pos < n )
+      {
+         if ( picture.startsWith( "::", pos ) )
+         {
+            String marker = null;
+
+            for ( String m : new String[] { "UTC", "TDB", "TDT", "RND", "TRNC" } )
+            {
+               if ( picture.startsWith( m, pos + 2 ) )
+               {
+                  marker = m;
+                  break;
+               }
+            }
+
+            if ( marker != null )
+            {
+               if      ( marker.equals( "UTC" ) )  p.system = UTC;
+               else if ( marker.equals( "TDB" ) )  p.system = TDB;
+               else if ( marker.equals( "TDT" ) )  p.system = TDT;
+               else if ( marker.equals( "RND" ) )  p.round  = true;
+               else                                p.round  = false;
+
+               pos += 2 + marker.length();
+               continue;
+            }
+         }
+
+         int token = -1;
+
+         for ( int i = 0;  i < PICTURE_TOKENS.length;  i++ )
+         {
+            if ( picture.startsWith( PICTURE_TOKENS[i], pos ) )
+            {
+               token = i;
+               break;
+            }
+         }
+
+         if ( token < 0 )
+         {
+            literal.append( picture.charAt( pos ) );
+            ++pos;
+            continue;
+         }
+
+         if ( literal.length() > 0 )
+         {
+            p.items.add( literal.toString() );
+            literal.setLength( 0 );
+         }
+
+         p.items.add( token );
+
+         pos += PICTURE_TOKENS[ token ].length();
+
+         if      ( token == SC )  p.unit = 1L;
+         else if ( token == MN )  p.unit = Math.min( p.unit, 60L   );
+         else if ( token == HR )  p.unit = Math.min( p.unit, 3600L );
+
+         //
+         // Fractional digits.
+         //
+         if (     ( token == SC || token == JULIAND )
+              &&  picture.startsWith( ".#", pos )                      )
+         {
+            int digits = 0;
+
+            ++pos;
+
+            while (  ( pos < n ) && ( picture.charAt( pos ) == '#' )  )
+            {
+               ++digits;
+               ++pos;
+            }
+
+            p.digits = Math.min( digits, MAX_DIGITS );
+            p.extra  = digits - p.digits;
+         }
+      }
+
+      if ( literal.length() > 0 )
+      {
+         p.items.add( literal.toString() );
+      }
+
+      return ( p );
+   }
+
+
+   /**
+   Parse a time string into its date, time of day and time system.
+   */
+   private static Fields parseFields ( String timeString )
+
+      throws SpiceErrorException
+   {
+      String s = timeString.trim().toUpperCase();
+      int    n = s.length();
+
+      Fields              fields    = new Fields();
+      ArrayList<String>   dateNums  = new ArrayList<String>();
+      ArrayList<String>   timeNums  = new ArrayList<String>();
+      int                 month     = 0;
+      int                 monthPos  = -1;
+      boolean             labeled   = false;
+      int                 pos       = 0;
+
+      while ( pos < n )
+      {
+         char c = s.charAt( pos );
+
+         if (     Character.isDigit( c )
+              || (    ( c == '.' ) && ( pos + 1 < n )
+                   && Character.isDigit( s.charAt( pos + 1 ) ) )  )
+         {
+            int start = pos;
+
+            while (     ( pos < n )
+                    && (    Character.isDigit( s.charAt( pos ) )
+                         || ( s.charAt( pos ) == '.' )          )  )
+            {
+               ++pos;
+            }
+
+            String  token = s.substring( start, pos );
+            boolean colon =    (  ( start > 0 ) && ( s.charAt( start - 1 ) == ':' )  )
+                            || (  ( pos   < n ) && ( s.charAt( pos )       == ':' )  );
+            if ( colon )
+            {
+               timeNums.add( token );
+            }
+            else
+            {
+               if ( month > 0 && monthPos < 0 )
+               {
+                  monthPos = dateNums.size();
+               }
+
+               dateNums.add( token );
+            }
+         }
+         else if ( Character.isLetter( c ) )
+         {
+            int start = pos;
+
+            while (  ( pos < n ) && Character.isLetter( s.charAt( pos ) )  )
+            {
+               ++pos;
+            }
+
+            String word = s.substring( start, pos );
+
+            if ( word.equals( "T" ) )
+            {
+               //
+               // The ISO date/time separator must lie between digits.
+               //
+               if (     ( start == 0 ) || ( pos == n )
+                    ||  !Character.isDigit( s.charAt( start - 1 ) )
+                    ||  !Character.isDigit( s.charAt( pos )       )  )
+               {
+                  throw unparsed( timeString );
+               }
+            }
+            else if (    word.equals( "UTC" ) || word.equals( "Z"   )
+                      || word.equals( "TDB" ) || word.equals( "TDT" )
+                      || word.equals( "TT"  )                         )
+            {
+               int system = ( word.equals( "TDB" ) ) ? TDB
+                          : ( word.equals( "TDT" ) || word.equals( "TT" ) ) ? TDT
+                          :   UTC;
+
+               if (  labeled  &&  ( system != fields.system )  )
+               {
+                  SpiceErrorException exc = SpiceErrorException.create(
+
+                     "TimeConverter.parse",
+
+                     "SPICE(TIMECONFLICT)",
+
+                     "The time string <" + timeString + "> has more " +
+                     "than one time system label."                     );
+
+                  throw ( exc );
+               }
+
+               fields.system = system;
+               labeled       = true;
+            }
+            else if ( word.equals( "JD" ) )
+            {
+               fields.julian = true;
+            }
+            else
+            {
+               int m = parseMonth( word );
+
+               if (  ( m == 0 ) || ( month != 0 )  )
+               {
+                  throw unparsed( timeString );
+               }
+
+               month    = m;
+               monthPos = -1;
+
+               if ( !dateNums.isEmpty() )
+               {
+                  monthPos = dateNums.size();
+               }
+            }
+         }
+         else if ( " \t-/,:~()".indexOf( c ) >= 0 )
+         {
+            ++pos;
+         }
+         else
+         {
+            throw unparsed( timeString );
+         }
+      }
+
+      //
+      // Julian dates.
+      //
+      if ( fields.julian )
+      {
+         if (  ( dateNums.size() != 1 ) || !timeNums.isEmpty() || ( month != 0 )  )
+         {
+            throw unparsed( timeString );
+         }
+
+         fields.jd = parseNumber( dateNums.get( 0 ), timeString );
+
+         return ( fields );
+      }
+
+      //
+      // Dates.
+      //
+      long year;
+      long mon;
+      long day;
+      long doy = 0;
+
+      for ( String num : dateNums )
+      {
+         if ( num.indexOf( '.' ) >= 0 )
+         {
+            throw unparsed( timeString );
+         }
+      }
+
+      if ( month > 0 )
+      {
+         if ( dateNums.size() != 2 )
+         {
+            throw unparsed( timeString );
+         }
+
+         mon = month;
+
+         String first  = dateNums.get( 0 );
+         String second = dateNums.get( 1 );
+
+         if (  ( monthPos == 1 ) && ( first.length() >= 3 )  )
+         {
+            //
+            // 2016 SEP 30
+            //
+            year = parseLong( first  );
+            day  = parseLong( second );
+         }
+         else if ( second.length() >= 3 )
+         {
+            //
+            // 30 SEP 2016 or SEP 30 2016
+            //
+            year = parseLong( second );
+            day  = parseLong( first  );
+         }
+         else
+         {
+            throw unparsed( timeString );
+         }
+      }
+      else if (  ( dateNums.size() == 3 ) && ( dateNums.get(0).length() >= 3 )  )
+      {
+         year = parseLong( dateNums.get( 0 ) );
+         mon  = parseLong( dateNums.get( 1 ) );
+         day  = parseLong( dateNums.get( 2 ) );
+      }
+      else if (  ( dateNums.size() == 3 ) && ( dateNums.get(2).length() >= 3 )  )
+      {
+         year = parseLong( dateNums.get( 2 ) );
+         mon  = parseLong( dateNums.get( 0 ) );
+         day  = parseLong( dateNums.get( 1 ) );
+      }
+      else if (  ( dateNums.size() == 2 ) && ( dateNums.get(0).length() >= 3 )  )
+      {
+         year = parseLong( dateNums.get( 0 ) );
+         doy  = parseLong( dateNums.get( 1 ) );
+         mon  = 1;
+         day  = 1;
+      }
+      else
+      {
+         throw unparsed( timeString );
+      }
+
+      //
+      // Time of day.
+      //
+      if ( timeNums.size() > 3 )
+      {
+         throw unparsed( timeString );
+      }
+
+      for ( int i = 0;  i < timeNums.size() - 1;  i++ )
+      {
+         if ( timeNums.get( i ).indexOf( '.' ) >= 0 )
+         {
+            throw unparsed( timeString );
+         }
+      }
+
+      double hour   = ( timeNums.size() > 0 ) ? parseNumber( timeNums.get(0), timeString ) : 0.0;
+      double minute = ( timeNums.size() > 1 ) ? parseNumber( timeNums.get(1), timeString ) : 0.0;
+      double second = ( timeNums.size() > 2 ) ? parseNumber( timeNums.get(2), timeString ) : 0.0;
+
+      //
+      // Check ranges.
+      //
+      boolean leap      = isLeapYear( year );
+      int[]   monthDays = { 31, leap ? 29 : 28, 31, 30, 31, 30,
+                            31, 31,             30, 31, 30, 31 };
+      String  problem   = null;
+
+      if ( ( mon < 1 ) || ( mon > 12 ) )
+      {
+         problem = "month " + mon;
+      }
+      else if ( doy == 0  &&  ( ( day < 1 ) || ( day > monthDays[ (int) mon - 1 ] ) ) )
+      {
+         problem = "day " + day;
+      }
+      else if ( doy != 0  &&  ( ( doy < 1 ) || ( doy > ( leap ? 366 : 365 ) ) ) )
+      {
+         problem = "day of year " + doy;
+      }
+      else if (  ( hour < 0.0 ) || ( hour >= 24.0 )  )
+      {
+         problem = "hour " + timeNums.get( 0 );
+      }
+      else if (  ( minute < 0.0 ) || ( minute >= 60.0 )  )
+      {
+         problem = "minute " + timeNums.get( 1 );
+      }
+      else if (     ( second < 0.0 )
+                ||  (    ( second >= 60.0 )
+                      && !(    ( fields.system == UTC ) && ( second < 61.0 )
+                            && ( hour == 23.0 ) && ( minute == 59.0 ) ) )  )
+      {
+         problem = "second " + timeNums.get( 2 );
+      }
+
+      if ( problem != null )
+      {
+         SpiceErrorException exc = SpiceErrorException.create(
+
+            "TimeConverter.parse",
+
+            "SPICE(BADTIMESTRING)",
+
+            "The " + problem + " of time string <" + timeString +
+            "> is out of range."                                    );
+
+         throw ( exc );
+      }
+
+      fields.day     = daysFromCivil( year, mon, day ) - J2000_DAY
+                       + ( ( doy == 0 ) ? 0 : doy - 1 );
+
+      fields.seconds = 3600.0 * hour  +  60.0 * minute  +  second;
+
+      return ( fields );
+   }
+
+
+   /**
+   Return the month number of a month name or a prefix of at least
+   three letters, or 0.
+   */
+   private static int parseMonth ( String word )
+   {
+      if ( word.length() < 3 )
+      {
+         return ( 0 );
+      }
+
+      for ( int i = 0;  i < MONTHS.length;  i++ )
+      {
+         if ( MONTHS[i].startsWith( word ) )
+         {
+            return ( i + 1 );
+         }
+      }
+
+      return ( 0 );
+   }
+
+
+   private static long parseLong ( String token )
+   {
+      return (  Long.parseLong( token )  );
+   }
+
+
+   private static double parseNumber ( String  token,
+                                       String  timeString )
+
+      throws SpiceErrorException
+   {
+      try
+      {
+         return (  Double.parseDouble( token )  );
+      }
+      catch ( NumberFormatException exc )
+      {
+         throw unparsed( timeString );
+      }
+   }
+
+
+   private static SpiceErrorException unparsed ( String timeString )
+   {
+      return (  SpiceErrorException.create(
+
+                   "TimeConverter.parse",
+
+                   "SPICE(UNPARSEDTIME)",
+
+                   "The time string <" + timeString + "> could not " +
+                   "be parsed."                                        )  );
+   }
+
+
+   private static SpiceErrorException badTimeType ( String type )
+   {
+      return (  SpiceErrorException.create(
+
+                   "TimeConverter.convert",
+
+                   "SPICE(BADTIMETYPE)",
+
+                   "The time system <" + type + "> is not one of TAI, " +
+                   "TDT, TT, TDB, ET, JDTDB, JDTDT or JED."               )  );
+   }
+
+
+   /**
+   Return seconds past J2000 of time of day `seconds' on day `day'
+   counted from 2000-01-01, on a calendar without leapseconds.
+   */
+   private static double formal ( long    day,
+                                  double  seconds )
+   {
+      return (  day * SPD  +  seconds  -  43200.0  );
+   }
+
+
+   /**
+   Return the day, counted from 2000-01-01, containing the formal
+   time `seconds' past J2000.
+   */
+   private static long dayOf ( double seconds )
+   {
+      return (  (long) Math.floor( ( seconds + 43200.0 ) / SPD )  );
+   }
+
+
+   private static boolean isLeapYear ( long year )
+   {
+      return (    ( year % 4 == 0 )
+               && (  ( year % 100 != 0 ) || ( year % 400 == 0 )  )  );
+   }
+
+
+   /**
+   Days from 1970-01-01 to the given Gregorian date.
+   */
+   private static long daysFromCivil ( long  year,
+                                       long  month,
+                                       long  day   )
+   {
+      long y   = ( month <= 2 ) ? year - 1 : year;
+      long era = Math.floorDiv( y, 400 );
+      long yoe = y - era * 400;
+      long mp  = ( month + 9 ) % 12;
+      long doy = ( 153 * mp + 2 ) / 5 + day - 1;
+      long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+
+      return (  era * 146097  +  doe  -  719468  );
+   }
+
+
+   /**
+   Return the Gregorian year, month and day of the day `days' after
+   1970-01-01.
+   */
+   private static long[] civilFromDays ( long days )
+   {
+      long z   = days + 719468;
+      long era = Math.floorDiv( z, 146097 );
+      long doe = z - era * 146097;
+      long yoe = ( doe - doe / 1460 + doe / 36524 - doe / 146096 ) / 365;
+      long doy = doe - ( 365 * yoe + yoe / 4 - yoe / 100 );
+      long mp  = ( 5 * doy + 2 ) / 153;
+      long day = doy - ( 153 * mp + 2 ) / 5 + 1;
+      long mon = ( mp < 10 ) ? mp + 3 : mp - 9;
+
+      return (  new long[] { yoe + era * 400 + ( ( mon <= 2 ) ? 1 : 0 ),
+                             mon,
+                             day                                         }  );
+   }
+
+
+   private static String capitalize ( String name )
+   {
+      return (  name.charAt( 0 ) + name.substring( 1 ).toLowerCase()  );
+   }
+
+
+   private static void pad ( StringBuilder  result,
+                             long           value,
+                             int            width  )
+   {
+      String digits = Long.toString( value );
+
+      for ( int i = digits.length();  i < width;  i++ )
+      {
+         result.append( '0' );
+      }
+
+      result.append( digits );
+   }
+}
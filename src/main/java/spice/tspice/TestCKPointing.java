@@ -0,0 +1,450 @@
+package spice.tspice;
+
+
+import java.io.*;
+import spice.basic.*;
+import spice.testutils.JNITestutils;
+import spice.testutils.Testutils;
+
+
+/**
+Class TestCKPointing provides methods that implement test families
+for the classes CKPointing, MappedCK and CKSegment.
+
+<p>
+These classes look up pointing without CSPICE; these tests compare
+their pointing against that found by CSPICE.ckgpav in the same
+files.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+public class TestCKPointing extends Object
+{
+
+   //
+   // Class constants
+   //
+
+
+   //
+   // Class variables
+   //
+
+
+   //
+   // Methods
+   //
+
+   /**
+   Test CKPointing and associated classes.
+   */
+   public static boolean f_CKPointing()
+
+      throws SpiceException
+   {
+      //
+      // Constants
+      //
+      final String                      CK0       = "test_ckpnt0.bc";
+      final String                      CK1       = "test_ckpnt1.bc";
+      final String                      SCLKKER   = "test_ckpnt.tsc";
+
+      final double                      TIGHT_TOL = 1.e-12;
+
+      final int                         CLKID     = -9;
+      final int                         INST      = -9999;
+      final int                         NREC      = 1000;
+
+      //
+      // Local variables
+      //
+      CK                                ck0;
+
+      CKPointing                        pointing;
+
+      CKSegment                         segment;
+
+      Matrix33                          r;
+
+      MappedCK                          mck0;
+      MappedCK                          mck1;
+
+      SCLK                              clock9    = new SCLK( CLKID );
+
+      SCLKTime[]                        startArray;
+      SCLKTime[]                        timeArray;
+
+      SpiceQuaternion[]                 quatArray;
+
+      String                            ref;
+
+      Vector3[]                         avArray;
+      Vector3                           axis;
+
+      boolean[]                         found     = new boolean[1];
+      boolean                           ok;
+
+      double[]                          av        = new double[3];
+      double[][]                        cmat      = new double[3][3];
+      double[]                          clkout    = new double[1];
+      double                            delta;
+      double                            sclkdp;
+      double                            tol;
+      double[]                          tols      = { 0.0, 1.0, 4.0, 100.0 };
+      double[]                          xAv       = new double[3];
+      double[][]                        xCmat     = new double[3][3];
+      double[]                          xClkout   = new double[1];
+
+      int                               i;
+      int[]                             instruments;
+      int                               j;
+      int                               k;
+
+      //
+      //  We enclose all tests in a try/catch block in order to
+      //  facilitate handling unexpected exceptions.  Unexpected
+      //  exceptions are trapped by the catch block at the end of
+      //  the routine; expected exceptions are handled locally by
+      //  catch blocks associated with error handling test cases.
+      //
+      //  Therefore, JNISpice calls that are expected to succeed don't
+      //  have any subsequent "chckxc" type calls following them, nor
+      //  are they wrapped in in try/catch blocks.
+      //
+      //  Expected exceptions that are *not* thrown are tested
+      //  via a call to {@link spice.testutils.Testutils#dogDidNotBark}.
+      //
+
+      try
+      {
+
+         JNITestutils.topen ( "f_CKPointing" );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Setup: create kernels." );
+
+
+         //
+         // Clear the KernelDatabase system.
+         //
+         KernelDatabase.clear();
+
+         JNITestutils.tstlsk();
+
+         //
+         // Create the generic CK and load the corresponding SCLK
+         // kernel; don't load the CK.
+         //
+         ( new File ( CK1 ) ).delete();
+
+         JNITestutils.tstck3( CK1, SCLKKER, false, true, true );
+
+         //
+         // CK0 holds one segment for INST, having angular velocity
+         // and three interpolation intervals separated by gaps of
+         // 10 ticks.
+         //
+         ( new File ( CK0 ) ).delete();
+
+         ck0        = CK.openNew( CK0, "Type 3 test CK", 0 );
+
+         axis       = new Vector3( 1.0, 2.0, 3.0 );
+         delta      = Math.PI / NREC;
+
+         quatArray  = new SpiceQuaternion[NREC];
+         avArray    = new Vector3        [NREC];
+         timeArray  = new SCLKTime       [NREC];
+
+         for ( i = 0;  i < NREC;  i++ )
+         {
+            r            = new Matrix33( axis, i * delta * 1.5 );
+
+            quatArray[i] = new SpiceQuaternion( r );
+
+            avArray[i]   = axis.hat().scale( i * delta );
+
+            timeArray[i] = new SCLKTime( clock9,  10 * i );
+         }
+
+         startArray    = new SCLKTime[3];
+
+         startArray[0] = timeArray[0];
+         startArray[1] = timeArray[200];
+         startArray[2] = timeArray[600];
+
+         ck0.writeType03Segment( timeArray[0],       timeArray[NREC-1],
+                                 new Instrument( INST ),
+                                 new ReferenceFrame( "J2000" ),
+                                 true,
+                                 "Type 3 with gaps",
+                                 timeArray,  quatArray,  avArray,
+                                 startArray                            );
+         ck0.close();
+
+
+
+         // ***********************************************************
+         //
+         //    Error cases
+         //
+         // ***********************************************************
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: open a file that is not a CK."  );
+
+         try
+         {
+            mck0 = MappedCK.openForRead( SCLKKER );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(NOTADAFFILE)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(NOTADAFFILE)", ex );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: get a C-matrix outside of the " +
+                               "coverage of the CK."                   );
+
+         pointing = new CKPointing();
+
+         mck0     = pointing.load( CK0 );
+
+         try
+         {
+            pointing.getCMatrix( INST, -1.e6, 0.0, 1 );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(POINTINGNOTFOUND)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(POINTINGNOTFOUND)", ex );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: get a C-matrix relative to a " +
+                               "frame other than that of the segment." );
+
+         try
+         {
+            pointing.getCMatrix( INST, 0.0, 0.0, 17 );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(FRAMEDATANOTFOUND)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(FRAMEDATANOTFOUND)", ex );
+         }
+
+
+
+         // ***********************************************************
+         //
+         //    Normal cases
+         //
+         // ***********************************************************
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Check the segment of CK0." );
+
+         ok = JNITestutils.chcksi ( "segment count",
+                                    mck0.getSegments().size(), "=", 1, 0 );
+
+         segment = mck0.getSegments().get(0);
+
+         ok = JNITestutils.chcksi ( "instrument", segment.getInstrument(),
+                                    "=",          INST,                 0 );
+         ok = JNITestutils.chcksi ( "frame",      segment.getReferenceFrame(),
+                                    "=",          1,                    0 );
+         ok = JNITestutils.chcksi ( "type",       segment.getType(),
+                                    "=",          3,                    0 );
+         ok = JNITestutils.chcksl ( "av",         segment.hasAngularVelocity(),
+                                                  true                      );
+         ok = JNITestutils.chcksi ( "records",    segment.getRecordCount(),
+                                    "=",          NREC,                 0 );
+         ok = JNITestutils.chcksi ( "intervals",  segment.getIntervalCount(),
+                                    "=",          3,                    0 );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Compare pointing from CK0 with that from " +
+                              "ckgpav, at times in intervals, in gaps "   +
+                              "and outside of the segment."                 );
+
+         KernelDatabase.load( CK0 );
+
+         for ( i = -20;  i < 10 * NREC + 20;  i++ )
+         {
+            for ( k = 0;  k < tols.length;  k++ )
+            {
+               sclkdp = i + 0.25;
+               tol    = tols[k];
+
+               found[0] = false;
+
+               CSPICE.ckgpav ( INST,  sclkdp, tol,     "J2000",
+                               xCmat, xAv,    xClkout, found    );
+
+               segment = pointing.getPointing( INST, sclkdp, tol, true,
+                                               cmat, av,     clkout     );
+
+               ok = JNITestutils.chcksl ( "found at " + sclkdp + " tol " +
+                                          tol,
+                                          segment != null,
+                                          found[0]                         );
+
+               if ( found[0] && ( segment != null ) )
+               {
+                  for ( j = 0;  j < 3;  j++ )
+                  {
+                     ok = JNITestutils.chckad ( "cmat row " + j,
+                                                cmat[j], "~",
+                                                xCmat[j], TIGHT_TOL );
+                  }
+
+                  ok = JNITestutils.chckad ( "av", av, "~", xAv, TIGHT_TOL );
+
+                  ok = JNITestutils.chcksd ( "clkout", clkout[0], "~",
+                                             xClkout[0], TIGHT_TOL      );
+               }
+            }
+         }
+
+         KernelDatabase.unload( CK0 );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Compare pointing from the generic CK with " +
+                              "that from ckgpav."                            );
+
+         KernelDatabase.load( CK1 );
+
+         pointing.unload( mck0 );
+
+         mck1        = pointing.load( CK1 );
+
+         instruments = mck1.getInstruments();
+
+         for ( int inst : instruments )
+         {
+            for ( CKSegment seg : mck1.getSegments() )
+            {
+               if ( seg.getInstrument() != inst )
+               {
+                  continue;
+               }
+
+               for ( i = 0;  i <= 100;  i++ )
+               {
+                  sclkdp = seg.getStart()  +
+                           i * ( seg.getStop() - seg.getStart() ) / 100.0;
+
+                  segment = pointing.getPointing( inst, sclkdp, 0.0, true,
+                                                  cmat, av,     clkout     );
+
+                  if ( segment == null )
+                  {
+                     continue;
+                  }
+
+                  ref = CSPICE.frmnam( segment.getReferenceFrame() );
+
+                  CSPICE.ckgpav ( inst,  sclkdp, 0.0,     ref,
+                                  xCmat, xAv,    xClkout, found );
+
+                  ok = JNITestutils.chcksl ( "found", found[0], true );
+
+                  for ( j = 0;  j < 3;  j++ )
+                  {
+                     ok = JNITestutils.chckad ( "cmat row " + j,
+                                                cmat[j], "~",
+                                                xCmat[j], TIGHT_TOL );
+                  }
+
+                  ok = JNITestutils.chckad ( "av", av, "~", xAv, TIGHT_TOL );
+               }
+            }
+         }
+
+         mck0.close();
+         mck1.close();
+      }
+      catch ( SpiceException ex )
+      {
+         //
+         //  Getting here means we've encountered an unexpected
+         //  SPICE exception.  This is analogous to encountering
+         //  an unexpected SPICE error in CSPICE.
+         //
+
+         ex.printStackTrace();
+
+         ok = JNITestutils.chckth ( false, "", ex );
+      }
+
+      finally
+      {
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Clean up." );
+
+         //
+         // Get rid of the CK and SCLK files.
+         //
+         KernelDatabase.clear();
+
+         ( new File ( CK0     ) ).delete();
+         ( new File ( CK1     ) ).delete();
+         ( new File ( SCLKKER ) ).delete();
+      }
+
+      //
+      // Retrieve the current test status.
+      //
+      ok = JNITestutils.tsuccess();
+
+      return ( ok );
+   }
+
+}
@@ -0,0 +1,389 @@
+package spice.tspice;
+
+
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import spice.basic.*;
+import spice.testutils.JNITestutils;
+import spice.testutils.Testutils;
+
+
+/**
+Class TestCSPICEProfiler provides methods that implement test families
+for the class CSPICEProfiler.
+
+<h3>Version 1.1.0 18-OCT-2026</h3>
+
+<p> Added cases for calls made through wrapper classes.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+public class TestCSPICEProfiler extends Object
+{
+
+   //
+   // Class constants
+   //
+
+   private static final String          TIME      = "2000 Jan 1 12:00:00 TDB";
+
+
+   //
+   // Class variables
+   //
+
+
+   //
+   // Methods
+   //
+
+   /**
+   Test CSPICEProfiler.
+   */
+   public static boolean f_CSPICEProfiler()
+
+      throws SpiceException
+   {
+      //
+      // Constants
+      //
+      final int                         NCALLS    = 100;
+
+      //
+      // Local variables
+      //
+      MBeanServer                       server;
+
+      NativeExecutor                    executor  = null;
+
+      ObjectName                        name;
+
+      String                            report;
+
+      boolean                           ok;
+
+      double                            et;
+      double                            xet;
+
+      int                               i;
+
+      //
+      //  We enclose all tests in a try/catch block in order to
+      //  facilitate handling unexpected exceptions.  Unexpected
+      //  exceptions are trapped by the catch block at the end of
+      //  the routine; expected exceptions are handled locally by
+      //  catch blocks associated with error handling test cases.
+      //
+      //  Expected exceptions that are *not* thrown are tested
+      //  via a call to {@link spice.testutils.Testutils#dogDidNotBark}.
+      //
+
+      try
+      {
+
+         JNITestutils.topen ( "f_CSPICEProfiler" );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Setup: load a leapseconds kernel." );
+
+         KernelDatabase.clear();
+
+         JNITestutils.tstlsk();
+
+         CSPICEProfiler.reset();
+
+
+
+         // ***********************************************************
+         //
+         //    Error cases
+         //
+         // ***********************************************************
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: profiled call throws an exception." );
+
+         CSPICEProfiler.setEnabled( true );
+
+         try
+         {
+            CSPICEProfiler.call ( "spkezr",
+
+               new NativeExecutor.Task<Object>()
+               {
+                  public Object call()
+
+                     throws SpiceException
+                  {
+                     CSPICE.spkezr ( "XYZZY", 0.0, "J2000", "NONE", "EARTH",
+                                     new double[6],  new double[1]             );
+
+                     return ( null );
+                  }
+               } );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(IDCODENOTFOUND)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(IDCODENOTFOUND)", ex );
+         }
+
+         ok = JNITestutils.chcksl ( "calls",
+                                    CSPICEProfiler.getCallCount( "spkezr" ) == 1L,
+                                    true                                          );
+
+         ok = JNITestutils.chcksl ( "errors",
+                                    CSPICEProfiler.getErrorCount( "spkezr" ) == 1L,
+                                    true                                           );
+
+
+
+         // ***********************************************************
+         //
+         //    Normal cases
+         //
+         // ***********************************************************
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Profile calls of str2et." );
+
+         xet = CSPICE.str2et( TIME );
+
+         for ( i = 0;  i < NCALLS;  i++ )
+         {
+            et = CSPICEProfiler.call( "str2et", str2et() ).doubleValue();
+
+            if ( i == 0 )
+            {
+               ok = JNITestutils.chcksd ( "et", et, "=", xet, 0.0 );
+            }
+         }
+
+         ok = JNITestutils.chcksl ( "calls",
+                                    CSPICEProfiler.getCallCount( "str2et" ) == NCALLS,
+                                    true                                             );
+
+         ok = JNITestutils.chcksl ( "errors",
+                                    CSPICEProfiler.getErrorCount( "str2et" ) == 0L,
+                                    true                                           );
+
+         ok = JNITestutils.chcksl ( "hold",
+                                    CSPICEProfiler.getHoldNanos( "str2et" ) > 0L,
+                                    true                                          );
+
+         ok = JNITestutils.chcksl ( "wait",
+                                    CSPICEProfiler.getWaitNanos( "str2et" ) >= 0L,
+                                    true                                           );
+
+         ok = JNITestutils.chcksl ( "percentiles",
+                                       CSPICEProfiler.getPercentileNanos( "str2et",
+                                                                          50.0 )
+                                    <= CSPICEProfiler.getPercentileNanos( "str2et",
+                                                                          99.0 ),
+                                    true                                           );
+
+         ok = JNITestutils.chcksi ( "methods",
+                                    CSPICEProfiler.getMethodNames().length,
+                                    "=",  2,                              0 );
+
+         report = CSPICEProfiler.getReport( 1 );
+
+         ok = JNITestutils.chcksi ( "report lines",
+                                    report.split( "\n" ).length,
+                                    "=",  2,                      0 );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Calls are not recorded while profiling " +
+                              "is disabled."                            );
+
+         CSPICEProfiler.setEnabled( false );
+
+         CSPICEProfiler.call( "str2et", str2et() );
+
+         ok = JNITestutils.chcksl ( "calls",
+                                    CSPICEProfiler.getCallCount( "str2et" ) == NCALLS,
+                                    true                                             );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Profile tasks submitted to a NativeExecutor." );
+
+         CSPICEProfiler.setEnabled( true );
+
+         executor = new NativeExecutor();
+
+         for ( i = 0;  i < NCALLS;  i++ )
+         {
+            executor.submit( "str2et", str2et() );
+         }
+
+         executor.submit( str2et() ).join();
+
+         ok = JNITestutils.chcksl ( "calls",
+                                    CSPICEProfiler.getCallCount( "str2et" ) == 2 * NCALLS,
+                                    true                                                  );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Read statistics over JMX." );
+
+         CSPICEProfiler.registerMBean();
+         CSPICEProfiler.registerMBean();
+
+         server = ManagementFactory.getPlatformMBeanServer();
+         name   = new ObjectName( CSPICEProfiler.OBJECT_NAME );
+
+         ok = JNITestutils.chcksl ( "total calls",
+                                    ( (Long) server.getAttribute(
+                                          name, "TotalCallCount" ) ).longValue()
+                                    == 2 * NCALLS + 1,
+                                    true                                        );
+
+         CSPICEProfiler.unregisterMBean();
+
+         ok = JNITestutils.chcksl ( "unregistered", server.isRegistered( name ),
+                                    false                                      );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Calls made through wrapper classes are " +
+                              "profiled."                                  );
+
+         CSPICEProfiler.reset();
+
+         xet = ( new TDBTime( TIME ) ).getTDBSeconds();
+
+         ( new TDBTime( xet ) ).toString( "YYYY MON DD HR:MN:SC" );
+
+         ( new ReferenceFrame( "J2000" ) ).getPositionTransformation(
+                                   new ReferenceFrame( "ECLIPJ2000" ),
+                                   new TDBTime( xet )                  );
+
+         ok = JNITestutils.chcksl ( "str2et",
+                                    CSPICEProfiler.getCallCount( "str2et" ) == 1L,
+                                    true                                          );
+
+         ok = JNITestutils.chcksl ( "timout",
+                                    CSPICEProfiler.getCallCount( "timout" ) == 1L,
+                                    true                                          );
+
+         ok = JNITestutils.chcksl ( "pxform",
+                                    CSPICEProfiler.getCallCount( "pxform" ) == 1L,
+                                    true                                          );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Calls made through wrapper classes are " +
+                              "not profiled while profiling is off."      );
+
+         CSPICEProfiler.setEnabled( false );
+         CSPICEProfiler.reset();
+
+         xet = ( new TDBTime( TIME ) ).getTDBSeconds();
+
+         ( new TDBTime( xet ) ).toString( "YYYY MON DD HR:MN:SC" );
+
+         ok = JNITestutils.chcksi ( "methods",
+                                    CSPICEProfiler.getMethodNames().length,
+                                    "=",  0,                              0 );
+
+         CSPICEProfiler.setEnabled( true );
+      }
+      catch ( SpiceException ex )
+      {
+         //
+         //  Getting here means we've encountered an unexpected
+         //  SPICE exception.  This is analogous to encountering
+         //  an unexpected SPICE error in CSPICE.
+         //
+
+         ex.printStackTrace();
+
+         ok = JNITestutils.chckth ( false, "", ex );
+      }
+      catch ( Exception ex )
+      {
+         ex.printStackTrace();
+
+         ok = JNITestutils.chcksl ( ex.toString(), true, false );
+      }
+
+      finally
+      {
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Clean up." );
+
+         if ( executor != null )
+         {
+            executor.close();
+         }
+
+         CSPICEProfiler.setEnabled( false );
+         CSPICEProfiler.reset();
+
+         KernelDatabase.clear();
+      }
+
+      //
+      // Retrieve the current test status.
+      //
+      ok = JNITestutils.tsuccess();
+
+      return ( ok );
+   }
+
+
+   /**
+   Make a task that converts TIME to ephemeris time.
+   */
+   private static NativeExecutor.Task<Double> str2et()
+   {
+      return (  new NativeExecutor.Task<Double>()
+                {
+                   public Double call()
+
+                      throws SpiceException
+                   {
+                      return (  Double.valueOf( CSPICE.str2et( TIME ) )  );
+                   }
+                }  );
+   }
+
+}
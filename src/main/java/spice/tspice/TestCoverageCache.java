@@ -0,0 +1,509 @@
+package spice.tspice;
+
+
+import java.io.*;
+import java.util.List;
+import spice.basic.*;
+import spice.testutils.JNITestutils;
+import spice.testutils.Testutils;
+
+
+/**
+Class TestCoverageCache provides methods that implement test families
+for the classes CoverageCache and KernelCoverage.
+
+<p>
+KernelCoverage computes SPK and CK coverage without CSPICE; these
+tests compare its windows against those of CSPICE.spkcov and
+CSPICE.ckcov for the generic test kernels, and check that coverage
+persisted to sidecar files is reused only while it matches its file.
+
+<h3>Version 1.1.0 18-OCT-2026</h3>
+
+<p> Added a case for a file rewritten without a change of size or
+modification time.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+public class TestCoverageCache extends Object
+{
+
+   //
+   // Class constants
+   //
+
+
+   //
+   // Class variables
+   //
+
+
+   //
+   // Methods
+   //
+
+   /**
+   Test CoverageCache and associated classes.
+   */
+   public static boolean f_CoverageCache()
+
+      throws SpiceException
+   {
+      //
+      // Constants
+      //
+      final String                      CACHEDIR  = "test_covcache";
+      final String                      CK        = "test_covcache.bc";
+      final String                      SCLKKER   = "test_covcache.tsc";
+      final String                      SPK       = "test_covcache.bsp";
+      final String                      TEXTFILE  = "test_covcache_text.bsp";
+
+      final double                      TIGHT_TOL = 1.e-12;
+
+      final int                         MAXWIN    = 1000;
+
+      final int[]                       INSTS     = { -9999, -10000, -10001 };
+
+      final double[]                    TOLS      = { 0.0, 1.0e4, 1.0e9 };
+
+      final String[]                    LEVELS    = { "SEGMENT", "INTERVAL" };
+
+      //
+      // Local variables
+      //
+      CoverageCache                     cache;
+
+      File                              cacheDir;
+
+      File                              kernel;
+
+      KernelCoverage                    ckCoverage;
+
+      KernelCoverage                    coverage;
+
+      KernelCoverage                    spkCoverage;
+
+      List<KernelCoverage>              indexed;
+
+      PrintWriter                       writer;
+
+      RandomAccessFile                  file;
+
+      boolean                           ok;
+
+      double[]                          xWindow;
+
+      int[]                             bodies;
+
+      int                               i;
+      int                               j;
+      int                               k;
+      int                               m;
+
+      long                              modified;
+
+      //
+      //  We enclose all tests in a try/catch block in order to
+      //  facilitate handling unexpected exceptions.  Unexpected
+      //  exceptions are trapped by the catch block at the end of
+      //  the routine; expected exceptions are handled locally by
+      //  catch blocks associated with error handling test cases.
+      //
+      //  Therefore, JNISpice calls that are expected to succeed don't
+      //  have any subsequent "chckxc" type calls following them, nor
+      //  are they wrapped in in try/catch blocks.
+      //
+      //  Expected exceptions that are *not* thrown are tested
+      //  via a call to {@link spice.testutils.Testutils#dogDidNotBark}.
+      //
+
+      cacheDir = new File( CACHEDIR );
+
+      try
+      {
+
+         JNITestutils.topen ( "f_CoverageCache" );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Setup: create kernels." );
+
+
+         //
+         // Clear the KernelDatabase system.
+         //
+         KernelDatabase.clear();
+
+         JNITestutils.tstlsk();
+
+         ( new File ( CK       ) ).delete();
+         ( new File ( SCLKKER  ) ).delete();
+         ( new File ( SPK      ) ).delete();
+
+         deleteDirectory( cacheDir );
+
+         JNITestutils.tstck3( CK, SCLKKER, false, true, false );
+
+         JNITestutils.tstspk( SPK, false );
+
+         //
+         // A file named as an SPK but holding text is skipped when a
+         // directory is indexed.
+         //
+         writer = new PrintWriter( new FileWriter( TEXTFILE ) );
+
+         writer.println( "This is not an SPK." );
+
+         writer.close();
+
+         cache = new CoverageCache( CACHEDIR );
+
+
+
+         // ***********************************************************
+         //
+         //    Error cases
+         //
+         // ***********************************************************
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: get CK coverage at an unknown " +
+                               "level."                                 );
+
+         try
+         {
+            cache.getCoverage( CK ).getCoverage( -9999, false, "RECORD", 0.0 );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(INVALIDLEVEL)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(INVALIDLEVEL)", ex );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: get the coverage of a file that " +
+                               "is not a DAF."                            );
+
+         try
+         {
+            cache.getCoverage( TEXTFILE );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(NOTADAFFILE)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(NOTADAFFILE)", ex );
+         }
+
+
+
+         // ***********************************************************
+         //
+         //    Normal cases
+         //
+         // ***********************************************************
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Compare SPK bodies and coverage with " +
+                              "spkobj and spkcov."                     );
+
+         spkCoverage = cache.getCoverage( SPK );
+
+         ok = JNITestutils.chcksc ( "file type", spkCoverage.getFileType(),
+                                    "=",         KernelCoverage.SPK         );
+
+         bodies = CSPICE.spkobj( SPK, MAXWIN, new int[0] );
+
+         ok = JNITestutils.chckai ( "bodies", spkCoverage.getIDs(),
+                                    "=",      bodies                 );
+
+         for ( i = 0;  i < bodies.length;  i++ )
+         {
+            xWindow = CSPICE.spkcov( SPK, bodies[i], 2*MAXWIN, new double[0] );
+
+            ok = JNITestutils.chckad ( "SPK coverage " + bodies[i],
+                                       spkCoverage.getCoverage( bodies[i] ),
+                                       "~~/",  xWindow,  TIGHT_TOL           );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Compare CK instruments and coverage with " +
+                              "ckobj and ckcov."                            );
+
+         ckCoverage = cache.getCoverage( CK );
+
+         ok = JNITestutils.chckai ( "instruments", ckCoverage.getIDs(),
+                                    "=",
+                                    CSPICE.ckobj( CK, MAXWIN, new int[0] ) );
+
+         for ( i = 0;  i < INSTS.length;  i++ )
+         {
+            for ( j = 0;  j < LEVELS.length;  j++ )
+            {
+               for ( k = 0;  k < TOLS.length;  k++ )
+               {
+                  for ( m = 0;  m < 2;  m++ )
+                  {
+                     xWindow = CSPICE.ckcov( CK,         INSTS[i], ( m == 1 ),
+                                             LEVELS[j],  TOLS[k],  "SCLK",
+                                             2*MAXWIN,   new double[0]         );
+
+                     ok = JNITestutils.chckad (
+
+                        "CK coverage " + INSTS[i] + " " + LEVELS[j] +
+                        " tol " + TOLS[k] + " needav " + ( m == 1 ),
+
+                        ckCoverage.getCoverage( INSTS[i], ( m == 1 ),
+                                                LEVELS[j], TOLS[k]    ),
+                        "~~/",  xWindow,  TIGHT_TOL                     );
+                  }
+               }
+            }
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Read coverage from sidecar files." );
+
+         cache    = new CoverageCache( CACHEDIR );
+
+         coverage = cache.getCoverage( CK );
+
+         ok = JNITestutils.chcksl ( "checksum",
+                                    coverage.getChecksum() ==
+                                    ckCoverage.getChecksum(),
+                                    true                      );
+
+         ok = JNITestutils.chckai ( "instruments", coverage.getIDs(),
+                                    "=",           ckCoverage.getIDs() );
+
+         ok = JNITestutils.chckad ( "interval coverage",
+                                    coverage  .getCoverage( -9999, false,
+                                                            "INTERVAL", 0.0 ),
+                                    "=",
+                                    ckCoverage.getCoverage( -9999, false,
+                                                            "INTERVAL", 0.0 ),
+                                    0.0                                         );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Reuse coverage of a touched file." );
+
+         kernel   = new File( CK );
+         modified = kernel.lastModified();
+
+         kernel.setLastModified( modified + 10000L );
+
+         cache    = new CoverageCache( CACHEDIR );
+
+         coverage = cache.getCoverage( CK );
+
+         ok = JNITestutils.chcksl ( "modified",
+                                    coverage.getLastModified() ==
+                                    kernel.lastModified(),
+                                    true                         );
+
+         ok = JNITestutils.chcksl ( "checksum",
+                                    coverage.getChecksum() ==
+                                    ckCoverage.getChecksum(),
+                                    true                      );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Recompute coverage of a file rewritten " +
+                              "without a change of size or modification " +
+                              "time."                                        );
+
+         //
+         // Flip a byte of the unused tail of the file record, then
+         // restore the modification time, as a rewrite within one
+         // tick of a coarse file system clock would leave it.
+         //
+         modified = kernel.lastModified();
+
+         file     = new RandomAccessFile( kernel, "rw" );
+
+         file.seek( 1020L );
+
+         k        = file.read();
+
+         file.seek( 1020L );
+         file.write( k ^ 0xFF );
+         file.close();
+
+         kernel.setLastModified( modified );
+
+         coverage = cache.getCoverage( CK );
+
+         ok = JNITestutils.chcksl ( "checksum",
+                                    coverage.getChecksum() ==
+                                    KernelCoverage.checksum( CK ),
+                                    true                           );
+
+         ok = JNITestutils.chcksl ( "changed",
+                                    coverage.getChecksum() !=
+                                    ckCoverage.getChecksum(),
+                                    true                      );
+
+         ok = JNITestutils.chckai ( "instruments", coverage.getIDs(),
+                                    "=",           ckCoverage.getIDs() );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Index the current directory." );
+
+         cache   = new CoverageCache( CACHEDIR );
+
+         indexed = cache.indexDirectory( ".", 4 );
+
+         ok = JNITestutils.chcksl ( "CK indexed",
+                                    contains( indexed, CK ),    true );
+
+         ok = JNITestutils.chcksl ( "SPK indexed",
+                                    contains( indexed, SPK ),   true );
+
+         ok = JNITestutils.chcksl ( "text skipped",
+                                    contains( indexed, TEXTFILE ), false );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Compare SPK.getCoverage using the " +
+                              "default cache with spkcov."           );
+
+         CoverageCache.setDefault( cache );
+
+         xWindow = CSPICE.spkcov( SPK, bodies[0], 2*MAXWIN, new double[0] );
+
+         ok = JNITestutils.chckad ( "SPK coverage",
+                                    spice.basic.SPK.openForRead( SPK ).
+                                    getCoverage( bodies[0] ).toArray(),
+                                    "~~/",  xWindow,  TIGHT_TOL          );
+      }
+      catch ( SpiceException ex )
+      {
+         //
+         //  Getting here means we've encountered an unexpected
+         //  SPICE exception.  This is analogous to encountering
+         //  an unexpected SPICE error in CSPICE.
+         //
+
+         ex.printStackTrace();
+
+         ok = JNITestutils.chckth ( false, "", ex );
+      }
+      catch ( IOException ex )
+      {
+         ex.printStackTrace();
+
+         ok = JNITestutils.chcksl ( "IOException", true, false );
+      }
+
+      finally
+      {
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Clean up." );
+
+         CoverageCache.setDefault( new CoverageCache( null ) );
+
+         KernelDatabase.clear();
+
+         ( new File ( CK       ) ).delete();
+         ( new File ( SCLKKER  ) ).delete();
+         ( new File ( SPK      ) ).delete();
+         ( new File ( TEXTFILE ) ).delete();
+
+         deleteDirectory( cacheDir );
+      }
+
+      //
+      // Retrieve the current test status.
+      //
+      ok = JNITestutils.tsuccess();
+
+      return ( ok );
+   }
+
+
+   /**
+   Indicate whether `coverage' includes that of the file `name'.
+   */
+   private static boolean contains ( List<KernelCoverage>  coverage,
+                                     String                name      )
+   {
+      for ( KernelCoverage c : coverage )
+      {
+         if (  new File( c.getFileName() ).getName().equals( name )  )
+         {
+            return ( true );
+         }
+      }
+
+      return ( false );
+   }
+
+
+   /**
+   Delete the directory `dir' and the files in it.
+   */
+   private static void deleteDirectory ( File dir )
+   {
+      File[] files = dir.listFiles();
+
+      if ( files != null )
+      {
+         for ( File f : files )
+         {
+            f.delete();
+         }
+      }
+
+      dir.delete();
+   }
+
+}
@@ -0,0 +1,623 @@
+package spice.tspice;
+
+
+import java.io.*;
+import spice.basic.*;
+import spice.testutils.JNITestutils;
+import spice.testutils.Testutils;
+
+
+/**
+Class TestFrameTree provides methods that implement test families
+for the class FrameTree and its frame providers.
+
+<p>
+FrameTree composes frame transformations without CSPICE; these tests
+compare its results against those of CSPICE.pxform and CSPICE.sxform
+for a chain of TK frames defined relative to a CK frame, and for TK
+frames defined relative to a PCK frame.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+public class TestFrameTree extends Object
+{
+
+   //
+   // Class constants
+   //
+
+
+   //
+   // Class variables
+   //
+
+
+   //
+   // Methods
+   //
+
+   /**
+   Test FrameTree and associated classes.
+   */
+   public static boolean f_FrameTree()
+
+      throws SpiceException
+   {
+      //
+      // Constants
+      //
+      final String                      CK        = "test_frmtree.bc";
+      final String                      PCK       = "test_frmtree.tpc";
+      final String                      SCLKKER   = "test_frmtree.tsc";
+
+      final String[]                    FRAMES    = { "TEST_CK",
+                                                      "TEST_TK1",
+                                                      "TEST_TK2",
+                                                      "TEST_TK3",
+                                                      "TEST_TOPO",
+                                                      "TEST_LEVEL",
+                                                      "IAU_MARS",
+                                                      "ECLIPJ2000",
+                                                      "J2000"       };
+
+      final double                      TIGHT_TOL = 1.e-12;
+
+      final int                         NSAMP     = 100;
+      final int                         NTHREAD   = 4;
+
+      //
+      // The fictional object -10001 of the CK created by tstck3 has
+      // J2000 as its reference frame. The frames below define a
+      // chain of TK frames above a CK frame for that object, keyed
+      // by frame ID and by frame name, and a topocentric frame
+      // relative to IAU_MARS.
+      //
+      final String[]                    FK        = {
+
+         "FRAME_TEST_CK               = -10001",
+         "FRAME_-10001_NAME           = 'TEST_CK'",
+         "FRAME_-10001_CLASS          = 3",
+         "FRAME_-10001_CLASS_ID       = -10001",
+         "FRAME_-10001_CENTER         = -10",
+         "CK_-10001_SCLK              = -9",
+
+         "FRAME_TEST_TK1              = -10002",
+         "FRAME_-10002_NAME           = 'TEST_TK1'",
+         "FRAME_-10002_CLASS          = 4",
+         "FRAME_-10002_CLASS_ID       = -10002",
+         "FRAME_-10002_CENTER         = -10",
+         "TKFRAME_-10002_RELATIVE     = 'TEST_CK'",
+         "TKFRAME_-10002_SPEC         = 'ANGLES'",
+         "TKFRAME_-10002_UNITS        = 'DEGREES'",
+         "TKFRAME_-10002_AXES         = ( 3, 1, 2 )",
+         "TKFRAME_-10002_ANGLES       = ( -24.5, 10.0, 0.065 )",
+
+         "FRAME_TEST_TK2              = -10003",
+         "FRAME_-10003_NAME           = 'TEST_TK2'",
+         "FRAME_-10003_CLASS          = 4",
+         "FRAME_-10003_CLASS_ID       = -10003",
+         "FRAME_-10003_CENTER         = -10",
+         "TKFRAME_-10003_RELATIVE     = 'TEST_TK1'",
+         "TKFRAME_-10003_SPEC         = 'MATRIX'",
+         "TKFRAME_-10003_MATRIX       = ( 0.48  0.60  0.64",
+         "                               -0.80  0.00  0.60",
+         "                                0.36 -0.80  0.48 )",
+
+         "FRAME_TEST_TK3              = -10004",
+         "FRAME_-10004_NAME           = 'TEST_TK3'",
+         "FRAME_-10004_CLASS          = 4",
+         "FRAME_-10004_CLASS_ID       = -10004",
+         "FRAME_-10004_CENTER         = -10",
+         "TKFRAME_TEST_TK3_RELATIVE   = 'TEST_TK2'",
+         "TKFRAME_TEST_TK3_SPEC       = 'QUATERNION'",
+         "TKFRAME_TEST_TK3_Q          = ( 0.5 -0.5 0.5 0.5 )",
+
+         "FRAME_TEST_TOPO             = -10005",
+         "FRAME_-10005_NAME           = 'TEST_TOPO'",
+         "FRAME_-10005_CLASS          = 4",
+         "FRAME_-10005_CLASS_ID       = -10005",
+         "FRAME_-10005_CENTER         = 499",
+         "TKFRAME_-10005_RELATIVE     = 'IAU_MARS'",
+         "TKFRAME_-10005_SPEC         = 'ANGLES'",
+         "TKFRAME_-10005_UNITS        = 'DEGREES'",
+         "TKFRAME_-10005_AXES         = ( 3, 2, 3 )",
+         "TKFRAME_-10005_ANGLES       = ( -137.4417, -94.643851, 180.0 )",
+
+         "FRAME_TEST_LEVEL            = -10006",
+         "FRAME_-10006_NAME           = 'TEST_LEVEL'",
+         "FRAME_-10006_CLASS          = 4",
+         "FRAME_-10006_CLASS_ID       = -10006",
+         "FRAME_-10006_CENTER         = 499",
+         "TKFRAME_-10006_RELATIVE     = 'TEST_TOPO'",
+         "TKFRAME_-10006_SPEC         = 'ANGLES'",
+         "TKFRAME_-10006_UNITS        = 'ARCSECONDS'",
+         "TKFRAME_-10006_AXES         = ( 1, 2, 3 )",
+         "TKFRAME_-10006_ANGLES       = ( 648000.0, 36.0, -7200.0 )",
+
+         "FRAME_TEST_BAD              = -10007",
+         "FRAME_-10007_NAME           = 'TEST_BAD'",
+         "FRAME_-10007_CLASS          = 4",
+         "FRAME_-10007_CLASS_ID       = -10007",
+         "FRAME_-10007_CENTER         = -10",
+         "TKFRAME_-10007_RELATIVE     = 'J2000'",
+         "TKFRAME_-10007_SPEC         = 'ANGLES'",
+         "TKFRAME_-10007_UNITS        = 'FURLONGS'",
+         "TKFRAME_-10007_AXES         = ( 1, 2, 3 )",
+         "TKFRAME_-10007_ANGLES       = ( 1.0, 2.0, 3.0 )"                };
+
+      //
+      // Local variables
+      //
+      final FrameTree                   tree;
+
+      final double[][]                  xRotations;
+
+      CKPointing                        pointing;
+
+      FrameTree                         tkOnly;
+
+      KernelPoolSnapshot                snapshot;
+
+      Matrix33                          m33;
+
+      Matrix66                          m66;
+
+      TextKernelPool                    pool;
+
+      Thread[]                          threads;
+
+      boolean                           ok;
+
+      final double[]                    maxDiff   = new double[NTHREAD];
+      double[]                          rotate    = new double[9];
+      double[]                          xform     = new double[36];
+      double[][]                        xRotate;
+      double[]                          xXform;
+      final double[]                    epochs    = new double[NSAMP];
+
+      int                               i;
+      int                               j;
+      int                               col;
+      int                               k;
+      int                               row;
+
+      //
+      //  We enclose all tests in a try/catch block in order to
+      //  facilitate handling unexpected exceptions.  Unexpected
+      //  exceptions are trapped by the catch block at the end of
+      //  the routine; expected exceptions are handled locally by
+      //  catch blocks associated with error handling test cases.
+      //
+      //  Therefore, JNISpice calls that are expected to succeed don't
+      //  have any subsequent "chckxc" type calls following them, nor
+      //  are they wrapped in in try/catch blocks.
+      //
+      //  Expected exceptions that are *not* thrown are tested
+      //  via a call to {@link spice.testutils.Testutils#dogDidNotBark}.
+      //
+
+      try
+      {
+
+         JNITestutils.topen ( "f_FrameTree" );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Setup: create kernels." );
+
+
+         //
+         // Clear the KernelDatabase system.
+         //
+         KernelDatabase.clear();
+
+         JNITestutils.tstlsk();
+
+         //
+         // Create and load the generic CK, SCLK kernel and PCK. Keep
+         // the SCLK kernel for the Java kernel pool.
+         //
+         ( new File ( CK      ) ).delete();
+         ( new File ( PCK     ) ).delete();
+         ( new File ( SCLKKER ) ).delete();
+
+         JNITestutils.tstck3( CK, SCLKKER, true, true, true );
+
+         JNITestutils.tstpck( PCK, true, false );
+
+         KernelPool.loadFromBuffer( FK );
+
+         //
+         // The leapseconds kernel created by tstlsk is deleted once
+         // loaded; the test clock is based on TDB, so the Java pool
+         // needs only the SCLK kernel and the frame definitions.
+         //
+         pool = new TextKernelPool();
+
+         pool.load          ( SCLKKER );
+         pool.loadFromBuffer( "frames", FK );
+
+         snapshot = pool.getSnapshot();
+
+         pointing = new CKPointing();
+
+         pointing.load( CK );
+
+         tree   = FrameTree.create( snapshot,
+                                    new CKFrameProvider( pointing, snapshot ),
+                                    new CSPICEFrameProvider()                  );
+
+         tkOnly = FrameTree.create( snapshot );
+
+         //
+         // Epochs span the coverage of the CK.
+         //
+         for ( i = 0;  i < NSAMP;  i++ )
+         {
+            epochs[i] = CSPICE.str2et( "1980 JAN 2" ) + i * 9.9e6;
+         }
+
+
+
+         // ***********************************************************
+         //
+         //    Error cases
+         //
+         // ***********************************************************
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: look up an unknown frame name."  );
+
+         try
+         {
+            tree.getFrameID( "TEST_NONE" );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(UNKNOWNFRAME)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(UNKNOWNFRAME)", ex );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: transform between frames that " +
+                               "are connected only through a CK frame, " +
+                               "without a CK provider."                   );
+
+         try
+         {
+            tkOnly.getRotation( -10004, FrameTree.J2000, 0.0, rotate );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(NOFRAMECONNECT)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(NOFRAMECONNECT)", ex );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: transform from an unsupported " +
+                               "inertial frame."                         );
+
+         try
+         {
+            tree.getRotation( tree.getFrameID( "B1950" ), FrameTree.J2000,
+                              0.0,                        rotate           );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(NOTSUPPORTED)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(NOTSUPPORTED)", ex );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: transform from a TK frame having " +
+                               "unrecognized angular units."               );
+
+         try
+         {
+            tree.getRotation( -10007, FrameTree.J2000, 0.0, rotate );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(UNITSNOTREC)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(UNITSNOTREC)", ex );
+         }
+
+
+
+         // ***********************************************************
+         //
+         //    Normal cases
+         //
+         // ***********************************************************
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Check frame names, IDs and parameters." );
+
+         ok = JNITestutils.chcksi ( "TEST_TK3 ID", tree.getFrameID( "test_tk3 " ),
+                                    "=",           -10004,                    0 );
+
+         ok = JNITestutils.chcksc ( "IAU_MARS name", tree.getFrameName( 10014 ),
+                                    "=",             "IAU_MARS"                  );
+
+         ok = JNITestutils.chcksi ( "TEST_CK class",
+                                    tree.getFrameInfo( -10001 ).getFrameClass(),
+                                    "=",  FrameTree.CK,                       0 );
+
+         ok = JNITestutils.chcksi ( "IAU_MARS class ID",
+                                    tree.getFrameInfo( 10014 ).getFrameClassID(),
+                                    "=",  499,                                 0 );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Compare constant TK chains with pxform, " +
+                              "without frame providers."                   );
+
+         tkOnly.getRotation( -10004, -10001, 0.0, rotate );
+
+         xRotate = CSPICE.pxform( "TEST_TK3", "TEST_CK", 0.0 );
+
+         for ( row = 0;  row < 3;  row++ )
+         {
+            for ( j = 0;  j < 3;  j++ )
+            {
+               ok = JNITestutils.chcksd ( "TEST_TK3 to TEST_CK",
+                                          rotate[ 3*row + j ], "~",
+                                          xRotate[row][j],     TIGHT_TOL );
+            }
+         }
+
+         tkOnly.getRotation( -10006, -10005, 0.0, rotate );
+
+         xRotate = CSPICE.pxform( "TEST_LEVEL", "TEST_TOPO", 0.0 );
+
+         for ( row = 0;  row < 3;  row++ )
+         {
+            for ( j = 0;  j < 3;  j++ )
+            {
+               ok = JNITestutils.chcksd ( "TEST_LEVEL to TEST_TOPO",
+                                          rotate[ 3*row + j ], "~",
+                                          xRotate[row][j],     TIGHT_TOL );
+            }
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Compare rotations and state " +
+                              "transformations between all pairs of " +
+                              "test frames with pxform and sxform."     );
+
+         for ( i = 0;  i < NSAMP;  i += 7 )
+         {
+            for ( j = 0;  j < FRAMES.length;  j++ )
+            {
+               for ( k = 0;  k < FRAMES.length;  k++ )
+               {
+                  tree.getRotation( tree.getFrameID( FRAMES[j] ),
+                                    tree.getFrameID( FRAMES[k] ),
+                                    epochs[i],                    rotate );
+
+                  xRotate = CSPICE.pxform( FRAMES[j], FRAMES[k], epochs[i] );
+
+                  for ( row = 0;  row < 3;  row++ )
+                  {
+                     for ( col = 0;  col < 3;  col++ )
+                     {
+                        ok = JNITestutils.chcksd ( FRAMES[j] + " to " +
+                                                   FRAMES[k],
+                                                   rotate[ 3*row + col ], "~",
+                                                   xRotate[row][col],
+                                                   TIGHT_TOL                  );
+                     }
+                  }
+
+                  tree.getStateTransformation( tree.getFrameID( FRAMES[j] ),
+                                               tree.getFrameID( FRAMES[k] ),
+                                               epochs[i],                    xform );
+
+                  xXform = CSPICE.sxform( FRAMES[j], FRAMES[k], epochs[i] );
+
+                  ok = JNITestutils.chckad ( FRAMES[j] + " to " +
+                                             FRAMES[k] + " xform",
+                                             xform,  "~~",  xXform,  TIGHT_TOL );
+               }
+            }
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Compare Matrix33 and Matrix66 outputs " +
+                              "with those of ReferenceFrame."           );
+
+         for ( i = 0;  i < NSAMP;  i += 11 )
+         {
+            m33 = tree.getPositionTransformation( "TEST_TK3", "TEST_LEVEL",
+                                                  epochs[i]                 );
+
+            ok  = JNITestutils.chckad ( "Matrix33",
+                                        m33.toArray1D(), "~~",
+                                        ( new ReferenceFrame( "TEST_TK3" ) ).
+                                        getPositionTransformation(
+                                           new ReferenceFrame( "TEST_LEVEL" ),
+                                           new TDBTime( epochs[i] )         ).
+                                        toArray1D(),
+                                        TIGHT_TOL                            );
+
+            m66 = tree.getStateTransformation( "TEST_TK3", "TEST_LEVEL",
+                                               epochs[i]                 );
+
+            ok  = JNITestutils.chckad ( "Matrix66",
+                                        m66.toArray1D(), "~~",
+                                        ( new ReferenceFrame( "TEST_TK3" ) ).
+                                        getStateTransformation(
+                                           new ReferenceFrame( "TEST_LEVEL" ),
+                                           new TDBTime( epochs[i] )         ).
+                                        toArray1D(),
+                                        TIGHT_TOL                            );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Compute state transformations from " +
+                              "concurrent threads."                   );
+
+         //
+         // Find the expected rotations before starting the threads;
+         // the threads use only the CK provider.
+         //
+         xRotations = new double[NSAMP][];
+
+         for ( i = 0;  i < NSAMP;  i++ )
+         {
+            xRotations[i] = CSPICE.sxform( "TEST_TK3", "J2000", epochs[i] );
+         }
+
+         threads = new Thread[NTHREAD];
+
+         for ( i = 0;  i < NTHREAD;  i++ )
+         {
+            final int index = i;
+
+            threads[i] = new Thread(
+
+               new Runnable()
+               {
+                  public void run()
+                  {
+                     double[] x = new double[36];
+
+                     try
+                     {
+                        for ( int n = 0;  n < 50 * NSAMP;  n++ )
+                        {
+                           int s = ( n + index ) % NSAMP;
+
+                           tree.getStateTransformation( -10004, FrameTree.J2000,
+                                                        epochs[s],  x          );
+
+                           for ( int e = 0;  e < 36;  e++ )
+                           {
+                              maxDiff[index] = Math.max( maxDiff[index],
+                                               Math.abs( x[e] - xRotations[s][e] ) );
+                           }
+                        }
+                     }
+                     catch ( SpiceException exc )
+                     {
+                        maxDiff[index] = Double.POSITIVE_INFINITY;
+                     }
+                  }
+               } );
+
+            threads[i].start();
+         }
+
+         for ( i = 0;  i < NTHREAD;  i++ )
+         {
+            try
+            {
+               threads[i].join();
+            }
+            catch ( InterruptedException exc )
+            {
+               Thread.currentThread().interrupt();
+            }
+
+            ok = JNITestutils.chcksd ( "maxDiff[" + i + "]", maxDiff[i],
+                                       "<",                  TIGHT_TOL, 0.0 );
+         }
+      }
+      catch ( SpiceException ex )
+      {
+         //
+         //  Getting here means we've encountered an unexpected
+         //  SPICE exception.  This is analogous to encountering
+         //  an unexpected SPICE error in CSPICE.
+         //
+
+         ex.printStackTrace();
+
+         ok = JNITestutils.chckth ( false, "", ex );
+      }
+
+      finally
+      {
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Clean up." );
+
+         //
+         // Get rid of the CK, PCK and SCLK files.
+         //
+         KernelDatabase.clear();
+
+         ( new File ( CK      ) ).delete();
+         ( new File ( PCK     ) ).delete();
+         ( new File ( SCLKKER ) ).delete();
+      }
+
+      //
+      // Retrieve the current test status.
+      //
+      ok = JNITestutils.tsuccess();
+
+      return ( ok );
+   }
+
+}
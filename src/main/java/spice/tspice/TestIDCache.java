@@ -0,0 +1,266 @@
+package spice.tspice;
+
+
+import java.util.HashMap;
+import spice.basic.*;
+import spice.testutils.JNITestutils;
+import spice.testutils.Testutils;
+
+
+/**
+Class TestIDCache provides methods that implement test families
+for the class IDCache.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+public class TestIDCache extends Object
+{
+
+   //
+   // Class constants
+   //
+
+
+   //
+   // Class variables
+   //
+
+
+   //
+   // Methods
+   //
+
+   /**
+   Test IDCache.
+   */
+   public static boolean f_IDCache()
+
+      throws SpiceException
+   {
+      //
+      // Constants
+      //
+      final String                      NAME      = "IDCACHE_TEST_BODY";
+
+      //
+      // Local variables
+      //
+      Body                              body;
+
+      HashMap<Body, String>             bodies;
+      HashMap<ReferenceFrame, String>   frames;
+
+      boolean                           ok;
+
+      //
+      //  We enclose all tests in a try/catch block in order to
+      //  facilitate handling unexpected exceptions.  Unexpected
+      //  exceptions are trapped by the catch block at the end of
+      //  the routine; expected exceptions are handled locally by
+      //  catch blocks associated with error handling test cases.
+      //
+      //  Expected exceptions that are *not* thrown are tested
+      //  via a call to {@link spice.testutils.Testutils#dogDidNotBark}.
+      //
+
+      try
+      {
+
+         JNITestutils.topen ( "f_IDCache" );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Setup: clear the kernel database." );
+
+         KernelDatabase.clear();
+
+         ok = JNITestutils.chcksi ( "size", IDCache.size(), "=", 0, 0 );
+
+
+
+         // ***********************************************************
+         //
+         //    Error cases
+         //
+         // ***********************************************************
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: unknown body names are not " +
+                               "cached."                              );
+
+         try
+         {
+            ( new Body( NAME ) ).getIDCode();
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(IDCODENOTFOUND)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(IDCODENOTFOUND)", ex );
+         }
+
+
+
+         // ***********************************************************
+         //
+         //    Normal cases
+         //
+         // ***********************************************************
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Bodies created by name and by code are " +
+                              "equal and share hash codes."               );
+
+         ok = JNITestutils.chcksl ( "equals",
+                                    new Body( "Earth" ).equals( new Body( 399 ) ),
+                                    true                                          );
+
+         ok = JNITestutils.chcksi ( "hashCode",
+                                    new Body( "Earth" ).hashCode(), "=",
+                                    new Body( 399     ).hashCode(),  0  );
+
+         ok = JNITestutils.chcksc ( "name", new Body( 399 ).getName(),
+                                    "=",    "EARTH"                     );
+
+         bodies = new HashMap<Body, String>();
+
+         bodies.put( new Body( "Moon" ), "Moon" );
+
+         ok = JNITestutils.chcksc ( "lookup",
+                                    bodies.get( new Body( 301 ) ),
+                                    "=",  "Moon"                   );
+
+         ok = JNITestutils.chcksl ( "size", IDCache.size() > 0, true );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Reference frames created by name and by " +
+                              "code are equal."                            );
+
+         frames = new HashMap<ReferenceFrame, String>();
+
+         frames.put( new ReferenceFrame( "J2000" ), "J2000" );
+
+         ok = JNITestutils.chcksc ( "lookup",
+                                    frames.get( new ReferenceFrame( 1 ) ),
+                                    "=",  "J2000"                          );
+
+         ok = JNITestutils.chcksc ( "name",
+                                    new ReferenceFrame( "j2000" ).getName(),
+                                    "=",  "J2000"                            );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "A name defined through the kernel pool " +
+                              "is found, and redefinitions are seen."     );
+
+         KernelPool.putCharacter( "NAIF_BODY_NAME", new String[] { NAME } );
+         KernelPool.putInteger  ( "NAIF_BODY_CODE", new int[]    { -999 } );
+
+         body = new Body( NAME );
+
+         ok = JNITestutils.chcksi ( "code", body.getIDCode(), "=", -999, 0 );
+
+         ok = JNITestutils.chcksl ( "equals", body.equals( new Body( -999 ) ),
+                                    true                                       );
+
+         KernelPool.putInteger  ( "NAIF_BODY_CODE", new int[]    { -998 } );
+
+         ok = JNITestutils.chcksi ( "code", body.getIDCode(), "=", -998, 0 );
+
+         ok = JNITestutils.chcksc ( "name", new Body( -998 ).getName(),
+                                    "=",    NAME                         );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Changes made by calling CSPICE directly " +
+                              "are seen after invalidate."                 );
+
+         CSPICE.pipool( "NAIF_BODY_CODE", new int[] { -997 } );
+
+         IDCache.invalidate();
+
+         ok = JNITestutils.chcksi ( "size", IDCache.size(), "=", 0, 0 );
+
+         ok = JNITestutils.chcksi ( "code", body.getIDCode(), "=", -997, 0 );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Clearing the kernel database empties the " +
+                              "cache and removes the name."                 );
+
+         KernelDatabase.clear();
+
+         ok = JNITestutils.chcksi ( "size", IDCache.size(), "=", 0, 0 );
+
+         try
+         {
+            body.getIDCode();
+
+            Testutils.dogDidNotBark (  "SPICE(IDCODENOTFOUND)" );
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(IDCODENOTFOUND)", ex );
+         }
+      }
+      catch ( SpiceException ex )
+      {
+         //
+         //  Getting here means we've encountered an unexpected
+         //  SPICE exception.  This is analogous to encountering
+         //  an unexpected SPICE error in CSPICE.
+         //
+
+         ex.printStackTrace();
+
+         ok = JNITestutils.chckth ( false, "", ex );
+      }
+
+      finally
+      {
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Clean up." );
+
+         KernelDatabase.clear();
+      }
+
+      //
+      // Retrieve the current test status.
+      //
+      ok = JNITestutils.tsuccess();
+
+      return ( ok );
+   }
+
+}
@@ -0,0 +1,650 @@
+package spice.tspice;
+
+
+import java.io.*;
+import java.nio.ByteOrder;
+import spice.basic.*;
+import spice.testutils.JNITestutils;
+import spice.testutils.Testutils;
+
+
+/**
+Class TestMappedDAF provides methods that implement test families for
+the class MappedDAF.
+
+<p>
+MappedDAF reads DAFs without CSPICE; these tests compare what it
+reads against what class DAF and CSPICE.dafgda read from the same
+file.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+public class TestMappedDAF extends Object
+{
+
+   //
+   // Class constants
+   //
+
+
+   //
+   // Class variables
+   //
+
+
+   //
+   // Methods
+   //
+
+   /**
+   Test MappedDAF and associated classes.
+   */
+   public static boolean f_MappedDAF()
+
+      throws SpiceException
+   {
+      //
+      // Constants
+      //
+      final String                      SPK       = "test_mapped.daf";
+      final String                      NOTDAF    = "test_mapped.txt";
+
+      final double                      TIGHT_TOL = 1.e-12;
+
+      final int                         MAX_LINE_LENGTH = 1000;
+
+      //
+      // Local variables
+      //
+      DAF                               daf;
+
+      MappedDAF                         mdaf0;
+      MappedDAF                         mdaf1;
+
+      PrintWriter                       writer;
+
+      String[]                          comments;
+      String                            segid;
+      String[]                          xComments;
+      String                            xSegid;
+
+      boolean                           found;
+      boolean                           ok;
+      boolean                           xFound;
+
+      double[]                          data;
+      double[]                          dpComp;
+      double[]                          xData;
+      double[]                          xDpComp;
+
+      int                               handle0 = 0;
+      int                               i;
+      int[]                             intComp;
+      int[]                             xIntComp;
+      int                               n;
+      int                               nSegments;
+      int                               xSegments;
+
+      //
+      //  We enclose all tests in a try/catch block in order to
+      //  facilitate handling unexpected exceptions.  Unexpected
+      //  exceptions are trapped by the catch block at the end of
+      //  the routine; expected exceptions are handled locally by
+      //  catch blocks associated with error handling test cases.
+      //
+      //  Therefore, JNISpice calls that are expected to succeed don't
+      //  have any subsequent "chckxc" type calls following them, nor
+      //  are they wrapped in in try/catch blocks.
+      //
+      //  Expected exceptions that are *not* thrown are tested
+      //  via a call to {@link spice.testutils.Testutils#dogDidNotBark}.
+      //
+
+      try
+      {
+
+         JNITestutils.topen ( "f_MappedDAF" );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Setup: create kernels." );
+
+
+         //
+         // Clear the KernelDatabase system.
+         //
+         KernelDatabase.clear();
+
+         JNITestutils.tstlsk();
+
+
+         //
+         // Delete SPK if it exists. Create and but don't load a new
+         // version of the file.
+         //
+         ( new File ( SPK ) ).delete();
+
+         handle0 = JNITestutils.tstspk( SPK, false );
+
+         //
+         // Create a text file that is not a DAF.
+         //
+         ( new File ( NOTDAF ) ).delete();
+
+         try
+         {
+            writer = new PrintWriter( NOTDAF );
+
+            for ( i = 0;  i < 100;  i++ )
+            {
+               writer.println( "This is line " + i + " of a text file." );
+            }
+
+            writer.close();
+         }
+         catch ( IOException exc )
+         {
+            exc.printStackTrace();
+         }
+
+
+
+         // ***********************************************************
+         //
+         //    Error cases
+         //
+         // ***********************************************************
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: map a file that does not exist."  );
+
+         try
+         {
+            mdaf0 = MappedDAF.openForRead( "test_mapped_missing.daf" );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(FILEOPENFAILED)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(FILEOPENFAILED)", ex );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: map a file that is not a DAF."  );
+
+         try
+         {
+            mdaf0 = MappedDAF.openForRead( NOTDAF );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(NOTADAFFILE)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(NOTADAFFILE)", ex );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: find next array before starting " +
+                               "a search."                                );
+
+         mdaf0 = MappedDAF.openForRead( SPK );
+
+         try
+         {
+            found = mdaf0.findNextArray();
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(DAFNOSEARCH)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(DAFNOSEARCH)", ex );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: get the array name after the " +
+                               "search has run off the end of the list." );
+
+         mdaf0.beginForwardSearch();
+
+         found = mdaf0.findNextArray();
+
+         while ( found )
+         {
+            found = mdaf0.findNextArray();
+         }
+
+         try
+         {
+            segid = mdaf0.getArrayName();
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(NOCURRENTARRAY)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(NOCURRENTARRAY)", ex );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: read data at a non-positive " +
+                               "address."                              );
+
+         try
+         {
+            data = mdaf0.readDoubles( 0, 10 );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(DAFNEGADDR)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(DAFNEGADDR)", ex );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: read data with begin > end." );
+
+         try
+         {
+            data = mdaf0.readDoubles( 11, 10 );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(DAFBEGGTEND)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(DAFBEGGTEND)", ex );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: read data past the end of the " +
+                               "file."                                  );
+
+         try
+         {
+            data = mdaf0.readDoubles( 1, Integer.MAX_VALUE / 8 );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(DAFRANGEERROR)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(DAFRANGEERROR)", ex );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: begin a forward search on a " +
+                               "closed MappedDAF."  );
+
+         mdaf0.close();
+
+         try
+         {
+            mdaf0.beginForwardSearch();
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(DAFNOTREADABLE)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(DAFNOTREADABLE)", ex );
+         }
+
+
+
+         // ***********************************************************
+         //
+         //    Normal cases
+         //
+         // ***********************************************************
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Map the SPK and compare the file record " +
+                              "with that read by DAF."                     );
+
+         daf   = DAF.openForRead( SPK );
+         mdaf0 = MappedDAF.openForRead( SPK );
+
+         ok = JNITestutils.chcksc ( "file name",
+                                    mdaf0.getFileName(), "=", SPK );
+
+         ok = JNITestutils.chcksc ( "file type",
+                                    mdaf0.getFileType(), "=", "DAF/SPK" );
+
+         ok = JNITestutils.chcksc ( "internal file name",
+                                    mdaf0.getInternalFileName(),
+                                    "=",
+                                    daf.getInternalFileName()     );
+
+         ok = JNITestutils.chcksi ( "ND", mdaf0.getND(), "=", daf.getND(), 0 );
+         ok = JNITestutils.chcksi ( "NI", mdaf0.getNI(), "=", daf.getNI(), 0 );
+
+         ok = JNITestutils.chcksl ( "readable", mdaf0.isReadable(), true );
+
+         //
+         // The test SPK is written in the native format of this platform.
+         //
+         ok = JNITestutils.chcksl ( "byte order",
+                                    mdaf0.getByteOrder() ==
+                                    ByteOrder.nativeOrder(),
+                                    true                      );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Search the SPK in the forward direction; " +
+                              "compare summaries, names and data with "   +
+                              "those read by DAF."                          );
+
+         nSegments = 0;
+
+         daf.beginForwardSearch();
+         mdaf0.beginForwardSearch();
+
+         xFound = daf.findNextArray();
+         found  = mdaf0.findNextArray();
+
+         ok     = JNITestutils.chcksl ( "found", found, xFound );
+
+         while ( found && xFound )
+         {
+            ++nSegments;
+
+            xDpComp  = daf.getDoubleSummaryComponent();
+            dpComp   = mdaf0.getDoubleSummaryComponent();
+
+            ok       = JNITestutils.chckad ( "dpComp", dpComp, "=",
+                                                       xDpComp, 0.0 );
+
+            xIntComp = daf.getIntegerSummaryComponent();
+            intComp  = mdaf0.getIntegerSummaryComponent();
+
+            ok       = JNITestutils.chckai ( "intComp", intComp, "=",
+                                                        xIntComp      );
+
+            xSegid   = daf.getArrayName();
+            segid    = mdaf0.getArrayName();
+
+            ok       = JNITestutils.chcksc ( "segid", segid, "=", xSegid );
+
+            //
+            // Compare the segment data.
+            //
+            xData    = CSPICE.dafgda ( daf.getHandle(),
+                                       xIntComp[4],
+                                       xIntComp[5]    );
+
+            data     = mdaf0.readDoubles( intComp[4], intComp[5] );
+
+            ok       = JNITestutils.chckad ( "data", data, "=", xData, 0.0 );
+
+            xFound   = daf.findNextArray();
+            found    = mdaf0.findNextArray();
+
+            ok       = JNITestutils.chcksl ( "found", found, xFound );
+         }
+
+         xSegments = daf.countSegments();
+
+         ok = JNITestutils.chcksi ( "segment count",
+                                    nSegments, "=", xSegments, 0 );
+
+         ok = JNITestutils.chcksi ( "countSegments",
+                                    mdaf0.countSegments(), "=", xSegments, 0 );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Search the SPK in the backward direction; " +
+                              "compare summaries with those read by DAF."    );
+
+         daf.beginBackwardSearch();
+         mdaf0.beginBackwardSearch();
+
+         xFound = daf.findPreviousArray();
+         found  = mdaf0.findPreviousArray();
+
+         n      = 0;
+
+         while ( found && xFound )
+         {
+            ++n;
+
+            ok     = JNITestutils.chckad ( "dpComp",
+                                           mdaf0.getDoubleSummaryComponent(),
+                                           "=",
+                                           daf.getDoubleSummaryComponent(),
+                                           0.0                                );
+
+            ok     = JNITestutils.chckai ( "intComp",
+                                           mdaf0.getIntegerSummaryComponent(),
+                                           "=",
+                                           daf.getIntegerSummaryComponent()   );
+
+            xFound = daf.findPreviousArray();
+            found  = mdaf0.findPreviousArray();
+         }
+
+         ok = JNITestutils.chcksl ( "found", found, xFound );
+
+         ok = JNITestutils.chcksi ( "backward count", n, "=", xSegments, 0 );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Interleave searches on a duplicate." );
+
+         mdaf1 = mdaf0.duplicate();
+
+         mdaf0.beginForwardSearch();
+         mdaf1.beginBackwardSearch();
+
+         found = mdaf0.findNextArray();
+         found = mdaf1.findPreviousArray();
+
+         //
+         // The first array of one search is the last of the other
+         // only if there is a single array, so check that the cursors
+         // are independent by comparing against fresh searches.
+         //
+         daf.beginForwardSearch();
+         xFound = daf.findNextArray();
+
+         ok = JNITestutils.chckai ( "forward intComp",
+                                    mdaf0.getIntegerSummaryComponent(),
+                                    "=",
+                                    daf.getIntegerSummaryComponent()   );
+
+         daf.beginBackwardSearch();
+         xFound = daf.findPreviousArray();
+
+         ok = JNITestutils.chckai ( "backward intComp",
+                                    mdaf1.getIntegerSummaryComponent(),
+                                    "=",
+                                    daf.getIntegerSummaryComponent()   );
+
+         mdaf1.close();
+
+         //
+         // Closing the duplicate leaves the original readable.
+         //
+         ok = JNITestutils.chcksl ( "readable", mdaf0.isReadable(), true );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Read data into a caller's array." );
+
+         daf.beginForwardSearch();
+         xFound   = daf.findNextArray();
+         xIntComp = daf.getIntegerSummaryComponent();
+
+         n        = xIntComp[5] - xIntComp[4] + 1;
+         data     = new double[ n + 2 ];
+
+         mdaf0.readDoubles( xIntComp[4], xIntComp[5], data, 2 );
+
+         xData    = CSPICE.dafgda ( daf.getHandle(),
+                                    xIntComp[4],
+                                    xIntComp[5]    );
+
+         for ( i = 0;  i < n;  i++ )
+         {
+            ok = JNITestutils.chcksd ( "data[" + i + "]",
+                                       data[i+2], "=", xData[i], 0.0 );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Add comments to the SPK; compare the " +
+                              "comments read by MappedDAF with those "  +
+                              "read by DAF."                              );
+
+         mdaf0.close();
+         daf.close();
+
+         daf       = DAF.openForWrite( SPK );
+
+         n         = 25;
+         xComments = new String[n];
+
+         for ( i = 0;  i < n;  i++ )
+         {
+            xComments[i] = "This is line " + i + " of the comments.";
+         }
+
+         daf.addComments( xComments );
+         daf.close();
+
+         mdaf0    = MappedDAF.openForRead( SPK );
+
+         comments = mdaf0.readComments( MAX_LINE_LENGTH );
+
+         ok       = JNITestutils.chcksi( "n lines", comments.length, "=",
+                                                                       n, 0 );
+         for ( i = 0;  i < n;  i++ )
+         {
+            ok    = JNITestutils.chcksc( "comment line " + i,
+                                         comments[i], "=", xComments[i] );
+         }
+
+         mdaf0.close();
+
+      }
+
+      catch ( SpiceException ex )
+      {
+         //
+         //  Getting here means we've encountered an unexpected
+         //  SPICE exception.  This is analogous to encountering
+         //  an unexpected SPICE error in CSPICE.
+         //
+
+         ex.printStackTrace();
+
+         ok = JNITestutils.chckth ( false, "", ex );
+      }
+
+      finally
+      {
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Clean up." );
+
+         //
+         // Get rid of the SPK and text files.
+         //
+         CSPICE.spkuef( handle0 );
+
+         ( new File ( SPK    ) ).delete();
+         ( new File ( NOTDAF ) ).delete();
+      }
+
+      //
+      // Retrieve the current test status.
+      //
+      ok = JNITestutils.tsuccess();
+
+      return ( ok );
+   }
+
+}
@@ -0,0 +1,391 @@
+package spice.tspice;
+
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import spice.basic.*;
+import spice.testutils.JNITestutils;
+import spice.testutils.Testutils;
+
+
+/**
+Class TestNativeExecutor provides methods that implement test families
+for the class NativeExecutor.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+public class TestNativeExecutor extends Object
+{
+
+   //
+   // Class constants
+   //
+
+
+   //
+   // Class variables
+   //
+
+
+   //
+   // Methods
+   //
+
+   /**
+   Test NativeExecutor.
+   */
+   public static boolean f_NativeExecutor()
+
+      throws SpiceException
+   {
+      //
+      // Constants
+      //
+      final String[]                    TIMES     = {
+
+                                           "2000 Jan 1 12:00:00 TDB",
+                                           "2010 Jun 15 06:30:00 UTC",
+                                           "2026 Oct 18 00:00:00 TDB"  };
+
+      final int                         NTASKS    = 500;
+
+      //
+      // Local variables
+      //
+      ArrayList<CompletableFuture<Double>>  futures;
+
+      CompletableFuture<Boolean>        held;
+      CompletableFuture<Object>         blocker;
+      CompletableFuture<Object>         future;
+
+      final CountDownLatch              latch     = new CountDownLatch( 1 );
+
+      NativeExecutor                    executor  = null;
+
+      SpiceException                    exc;
+
+      boolean                           ok;
+
+      int                               i;
+      int                               nbad;
+
+      //
+      //  We enclose all tests in a try/catch block in order to
+      //  facilitate handling unexpected exceptions.  Unexpected
+      //  exceptions are trapped by the catch block at the end of
+      //  the routine; expected exceptions are handled locally by
+      //  catch blocks associated with error handling test cases.
+      //
+      //  Expected exceptions that are *not* thrown are tested
+      //  via a call to {@link spice.testutils.Testutils#dogDidNotBark}.
+      //
+
+      try
+      {
+
+         JNITestutils.topen ( "f_NativeExecutor" );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Setup: load a leapseconds kernel." );
+
+         KernelDatabase.clear();
+
+         JNITestutils.tstlsk();
+
+         executor = new NativeExecutor( 4, 64 );
+
+
+
+         // ***********************************************************
+         //
+         //    Error cases
+         //
+         // ***********************************************************
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: CSPICE error in a task." );
+
+         future = executor.submit(
+
+            new NativeExecutor.Task<Object>()
+            {
+               public Object call()
+
+                  throws SpiceException
+               {
+                  CSPICE.spkezr ( "XYZZY", 0.0, "J2000", "NONE", "EARTH",
+                                  new double[6],  new double[1]             );
+
+                  return ( null );
+               }
+            } );
+
+         exc = getFailure( future );
+
+         if ( exc == null )
+         {
+            Testutils.dogDidNotBark (  "SPICE(IDCODENOTFOUND)" );
+         }
+         else
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(IDCODENOTFOUND)", exc );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: submit a task while the queue " +
+                               "is full."                               );
+
+         //
+         // Hold the owner thread until the queue has been filled.
+         //
+         blocker = executor.submit(
+
+            new NativeExecutor.Task<Object>()
+            {
+               public Object call()
+               {
+                  try
+                  {
+                     latch.await();
+                  }
+                  catch ( InterruptedException ie )
+                  {
+                     Thread.currentThread().interrupt();
+                  }
+
+                  return ( null );
+               }
+            } );
+
+         while ( executor.getQueueDepth() > 0 )
+         {
+            Thread.yield();
+         }
+
+         futures = new ArrayList<CompletableFuture<Double>>();
+
+         for ( i = 0;  i < 5;  i++ )
+         {
+            futures.add(  executor.submit( str2et( TIMES[0] ) )  );
+         }
+
+         latch.countDown();
+
+         exc = getFailure( futures.get(4) );
+
+         if ( exc == null )
+         {
+            Testutils.dogDidNotBark (  "SPICE(QUEUEFULL)" );
+         }
+         else
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(QUEUEFULL)", exc );
+         }
+
+         ok = JNITestutils.chcksl ( "blocker", getFailure( blocker ) == null,
+                                    true                                    );
+
+         for ( i = 0;  i < 4;  i++ )
+         {
+            ok = JNITestutils.chcksl ( "queued " + i,
+                                       getFailure( futures.get(i) ) == null,
+                                       true                                  );
+         }
+
+         ok = JNITestutils.chcksl ( "rejected",
+                                    executor.getRejectedCount() == 1L,
+                                    true                               );
+
+         ok = JNITestutils.chcksi ( "max depth", executor.getMaxQueueDepth(),
+                                    "=",         4,                          0 );
+
+
+
+         // ***********************************************************
+         //
+         //    Normal cases
+         //
+         // ***********************************************************
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Compare results of tasks with direct " +
+                              "calls."                                  );
+
+         executor.close();
+
+         executor = new NativeExecutor();
+
+         futures  = new ArrayList<CompletableFuture<Double>>();
+
+         for ( i = 0;  i < NTASKS;  i++ )
+         {
+            futures.add(  executor.submit( str2et( TIMES[ i % TIMES.length ] ) )  );
+         }
+
+         nbad = 0;
+
+         for ( i = 0;  i < NTASKS;  i++ )
+         {
+            if (    futures.get(i).join().doubleValue()
+                 != CSPICE.str2et( TIMES[ i % TIMES.length ] )  )
+            {
+               ++nbad;
+            }
+         }
+
+         ok = JNITestutils.chcksi ( "mismatches", nbad, "=", 0, 0 );
+
+         ok = JNITestutils.chcksl ( "completed",
+                                    executor.getCompletedCount() == NTASKS,
+                                    true                                   );
+
+         ok = JNITestutils.chcksl ( "batch size",
+                                    executor.getMeanBatchSize() >= 1.0,
+                                    true                               );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Check that tasks run in the owner thread " +
+                              "holding the CSPICE monitor."               );
+
+         held = executor.submit(
+
+            new NativeExecutor.Task<Boolean>()
+            {
+               public Boolean call()
+               {
+                  return (  Boolean.valueOf(
+
+                               Thread.currentThread().getName().equals(
+                                                      "NativeExecutor" )
+                               && Thread.holdsLock( CSPICE.class )       )  );
+               }
+            } );
+
+         ok = JNITestutils.chcksl ( "held", held.join().booleanValue(), true );
+
+         ok = JNITestutils.chcksl ( "caller is owner", executor.isOwnerThread(),
+                                    false                                      );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Submit a task to a closed executor." );
+
+         executor.close();
+
+         exc = getFailure(  executor.submit( str2et( TIMES[0] ) )  );
+
+         ok = JNITestutils.chcksl ( "failed", exc != null, true );
+
+         if ( exc != null )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(EXECUTORCLOSED)", exc );
+         }
+      }
+      catch ( SpiceException ex )
+      {
+         //
+         //  Getting here means we've encountered an unexpected
+         //  SPICE exception.  This is analogous to encountering
+         //  an unexpected SPICE error in CSPICE.
+         //
+
+         ex.printStackTrace();
+
+         ok = JNITestutils.chckth ( false, "", ex );
+      }
+
+      finally
+      {
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Clean up." );
+
+         if ( executor != null )
+         {
+            executor.close();
+         }
+
+         KernelDatabase.clear();
+      }
+
+      //
+      // Retrieve the current test status.
+      //
+      ok = JNITestutils.tsuccess();
+
+      return ( ok );
+   }
+
+
+   /**
+   Make a task that converts `time' to ephemeris time.
+   */
+   private static NativeExecutor.Task<Double> str2et ( final String time )
+   {
+      return (  new NativeExecutor.Task<Double>()
+                {
+                   public Double call()
+
+                      throws SpiceException
+                   {
+                      return (  Double.valueOf( CSPICE.str2et( time ) )  );
+                   }
+                }  );
+   }
+
+
+   /**
+   Wait for `future', returning the SpiceException with which it
+   failed, or null if it succeeded.
+   */
+   private static SpiceException getFailure ( CompletableFuture<?> future )
+
+      throws SpiceException
+   {
+      try
+      {
+         future.get();
+
+         return ( null );
+      }
+      catch ( ExecutionException ex )
+      {
+         if ( ex.getCause() instanceof SpiceException )
+         {
+            return (  (SpiceException) ex.getCause()  );
+         }
+
+         throw (  new SpiceException( ex.getCause().toString() )  );
+      }
+      catch ( InterruptedException ex )
+      {
+         throw (  new SpiceException( ex.toString() )  );
+      }
+   }
+
+}
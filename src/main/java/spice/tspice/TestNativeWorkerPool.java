@@ -0,0 +1,442 @@
+package spice.tspice;
+
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.concurrent.Future;
+import spice.basic.*;
+import spice.testutils.JNITestutils;
+import spice.testutils.Testutils;
+
+
+/**
+Class TestNativeWorkerPool provides methods that implement test
+families for the class NativeWorkerPool.
+
+<p>
+Calls evaluated by worker processes are compared with the same calls
+made in this process, with the same kernels loaded.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+public class TestNativeWorkerPool extends Object
+{
+
+   //
+   // Class constants
+   //
+
+
+   //
+   // Class variables
+   //
+
+
+   //
+   // Methods
+   //
+
+   /**
+   Test NativeWorkerPool and associated classes.
+   */
+   public static boolean f_NativeWorkerPool()
+
+      throws SpiceException
+   {
+      //
+      // Constants
+      //
+      final String                      SPK       = "test_workers.bsp";
+
+      final double                      GF_TOL    = 1.e-5;
+      final double                      STEP      = 30000.0;
+
+      final int                         NCALLS    = 1000;
+      final int                         NINTVL    = 1000;
+      final int                         NWORKERS  = 3;
+
+      //
+      // Local variables
+      //
+      Future<Object>                    future;
+
+      NativeWorkerPool                  pool      = null;
+
+      Object[][]                        calls;
+
+      boolean                           ok;
+
+      double[]                          cnfine;
+      double[]                          lt;
+      double[]                          result;
+      double[]                          state;
+      double[]                          xlt;
+      double[]                          xresult;
+      double[]                          xstate;
+
+      double                            et;
+      double                            et0;
+      double                            et1;
+
+      int                               handle    = 0;
+      int                               i;
+      int                               nbad;
+
+      //
+      //  We enclose all tests in a try/catch block in order to
+      //  facilitate handling unexpected exceptions.  Unexpected
+      //  exceptions are trapped by the catch block at the end of
+      //  the routine; expected exceptions are handled locally by
+      //  catch blocks associated with error handling test cases.
+      //
+      //  Therefore, JNISpice calls that are expected to succeed don't
+      //  have any subsequent "chckxc" type calls following them, nor
+      //  are they wrapped in in try/catch blocks.
+      //
+      //  Expected exceptions that are *not* thrown are tested
+      //  via a call to {@link spice.testutils.Testutils#dogDidNotBark}.
+      //
+
+      try
+      {
+
+         JNITestutils.topen ( "f_NativeWorkerPool" );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Setup: create an SPK and start workers." );
+
+
+         //
+         // Clear the KernelDatabase system.
+         //
+         KernelDatabase.clear();
+
+         JNITestutils.tstlsk();
+
+         ( new File ( SPK ) ).delete();
+
+         handle = JNITestutils.tstspk( SPK, true );
+
+         pool   = new NativeWorkerPool( NWORKERS );
+
+         pool.load( SPK );
+
+         et0    = CSPICE.str2et( "2000 Jan 1 00:00:00 TDB" );
+         et1    = CSPICE.str2et( "2000 Mar 1 00:00:00 TDB" );
+
+
+
+         // ***********************************************************
+         //
+         //    Error cases
+         //
+         // ***********************************************************
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: start a pool of no workers." );
+
+         try
+         {
+            new NativeWorkerPool( 0 );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(INVALIDCOUNT)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(INVALIDCOUNT)", ex );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: load a file that does not exist." );
+
+         try
+         {
+            pool.load( "test_workers_none.bsp" );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(NOSUCHFILE)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(NOSUCHFILE)", ex );
+         }
+
+         ok = JNITestutils.chcksi ( "kernels", pool.getKernels().length,
+                                    "=",       1,                       0 );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: call a method CSPICE does not have." );
+
+         try
+         {
+            pool.invoke( "spkezr", "MOON", 0.0 );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(NOSUCHMETHOD)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(NOSUCHMETHOD)", ex );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: pass an argument of an unsupported " +
+                               "type."                                       );
+
+         try
+         {
+            pool.invoke( "str2et", new TDBTime( 0.0 ) );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(UNSUPPORTEDTYPE)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(UNSUPPORTEDTYPE)", ex );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: CSPICE error in a worker." );
+
+         try
+         {
+            pool.invoke( "spkezr", "XYZZY", 0.0, "J2000", "NONE", "EARTH",
+                         new double[6],  new double[1]                      );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(IDCODENOTFOUND)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(IDCODENOTFOUND)", ex );
+         }
+
+
+
+         // ***********************************************************
+         //
+         //    Normal cases
+         //
+         // ***********************************************************
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Compare a state computed by a worker with " +
+                              "one computed by spkezr."                     );
+
+         state  = new double[6];
+         lt     = new double[1];
+         xstate = new double[6];
+         xlt    = new double[1];
+
+         et     = et0 + 1.0e6;
+
+         pool.invoke ( "spkezr", "MOON", et, "J2000", "LT+S", "EARTH",
+                       state,    lt                                   );
+
+         CSPICE.spkezr ( "MOON", et, "J2000", "LT+S", "EARTH", xstate, xlt );
+
+         ok = JNITestutils.chckad ( "state", state, "=", xstate, 0.0 );
+
+         ok = JNITestutils.chcksd ( "lt",    lt[0], "=", xlt[0], 0.0 );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Compare states computed by workers selected " +
+                              "by key and by submitted calls."                );
+
+         state  = new double[6];
+         lt     = new double[1];
+
+         pool.invokeByKey ( "MOON",
+                            "spkezr", "MOON", et, "J2000", "LT+S", "EARTH",
+                            state,    lt                                   );
+
+         ok = JNITestutils.chckad ( "state by key", state, "=", xstate, 0.0 );
+
+         state  = new double[6];
+
+         future = pool.submit ( null,
+                                "spkezr", "MOON", et, "J2000", "LT+S", "EARTH",
+                                state,    lt                                   );
+         try
+         {
+            future.get();
+         }
+         catch ( Exception ex )
+         {
+            ok = JNITestutils.chcksl ( "submit", false, true );
+         }
+
+         ok = JNITestutils.chckad ( "submitted state", state, "=", xstate, 0.0 );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Compare a batch of states computed by the " +
+                              "workers with those computed by spkezr."      );
+
+         calls = new Object[NCALLS][];
+
+         for ( i = 0;  i < NCALLS;  i++ )
+         {
+            calls[i] = new Object[] { "MOON", et0 + i * 3600.0, "J2000",
+                                      "NONE", "EARTH",
+                                      new double[6], new double[1]       };
+         }
+
+         pool.invokeAll( "spkezr", calls );
+
+         nbad = 0;
+
+         for ( i = 0;  i < NCALLS;  i++ )
+         {
+            CSPICE.spkezr ( "MOON",  et0 + i * 3600.0, "J2000", "NONE",
+                            "EARTH", xstate,           xlt               );
+
+            if (  !Arrays.equals( (double[]) calls[i][5], xstate )  )
+            {
+               ++nbad;
+            }
+         }
+
+         ok = JNITestutils.chcksi ( "mismatches", nbad, "=", 0, 0 );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Compare a GF distance search divided among " +
+                              "the workers with gfdist."                     );
+
+         cnfine  = CSPICE.wninsd( et0, et1, new double[0] );
+
+         xresult = CSPICE.gfdist ( "MOON", "NONE",  "EARTH", ">",
+                                   3.8e5,  0.0,     STEP,    NINTVL,  cnfine );
+
+         result  = pool.invokeSplit(
+
+                      "gfdist",
+
+                      new Object[] { "MOON", "NONE",  "EARTH", ">",
+                                     3.8e5,  0.0,     STEP,    NINTVL,  cnfine },
+
+                      8                                                          );
+
+         ok = JNITestutils.chcksi ( "result size", result.length,
+                                    "=",           xresult.length,  0 );
+
+         if ( ok )
+         {
+            ok = JNITestutils.chckad ( "result", result, "~~", xresult, GF_TOL );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Unload kernels from the workers." );
+
+         pool.unload( SPK );
+
+         ok = JNITestutils.chcksi ( "kernels", pool.getKernels().length,
+                                    "=",       0,                       0 );
+
+         pool.load( SPK );
+         pool.clear();
+
+         ok = JNITestutils.chcksi ( "cleared", pool.getKernels().length,
+                                    "=",       0,                       0 );
+      }
+      catch ( SpiceException ex )
+      {
+         //
+         //  Getting here means we've encountered an unexpected
+         //  SPICE exception.  This is analogous to encountering
+         //  an unexpected SPICE error in CSPICE.
+         //
+
+         ex.printStackTrace();
+
+         ok = JNITestutils.chckth ( false, "", ex );
+      }
+
+      finally
+      {
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Clean up." );
+
+         if ( pool != null )
+         {
+            pool.close();
+         }
+
+         CSPICE.spkuef( handle );
+
+         KernelDatabase.clear();
+
+         ( new File ( SPK ) ).delete();
+      }
+
+      //
+      // Retrieve the current test status.
+      //
+      ok = JNITestutils.tsuccess();
+
+      return ( ok );
+   }
+
+}
@@ -0,0 +1,407 @@
+package spice.tspice;
+
+
+import java.io.*;
+import spice.basic.*;
+import spice.testutils.JNITestutils;
+import spice.testutils.Testutils;
+
+
+/**
+Class TestSCLKConverter provides methods that implement test families
+for the class SCLKConverter, and for SCLKTime and SCLKDuration
+instances created from it.
+
+<p>
+SCLKConverter converts SCLK without CSPICE; these tests compare its
+results against those of the corresponding CSPICE routines, using
+the same SCLK kernel.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+public class TestSCLKConverter extends Object
+{
+
+   //
+   // Class constants
+   //
+
+
+   //
+   // Class variables
+   //
+
+
+   //
+   // Methods
+   //
+
+   /**
+   Test SCLKConverter and associated classes.
+   */
+   public static boolean f_SCLKConverter()
+
+      throws SpiceException
+   {
+      //
+      // Constants
+      //
+      final String                      CK        = "test_sclkcnv.bc";
+      final String                      SCLKKER   = "test_sclkcnv.tsc";
+
+      final double                      TIGHT_TOL = 1.e-12;
+
+      final int                         CLKID     = -9;
+      final int                         NSAMP     = 1000;
+
+      //
+      // Local variables
+      //
+      KernelPoolSnapshot                snapshot;
+
+      SCLK                              clock     = new SCLK( CLKID );
+
+      SCLKConverter                     converter;
+
+      SCLKDuration                      duration;
+
+      SCLKTime                          time;
+
+      String                            sclkch;
+      String                            xSclkch;
+      String[]                          buffer;
+
+      TextKernelPool                    pool;
+
+      boolean                           ok;
+
+      double                            et;
+      double                            maxTicks;
+      double                            sclkdp;
+      double                            xEt;
+      double                            xSclkdp;
+
+      int                               i;
+
+      //
+      //  We enclose all tests in a try/catch block in order to
+      //  facilitate handling unexpected exceptions.  Unexpected
+      //  exceptions are trapped by the catch block at the end of
+      //  the routine; expected exceptions are handled locally by
+      //  catch blocks associated with error handling test cases.
+      //
+      //  Therefore, JNISpice calls that are expected to succeed don't
+      //  have any subsequent "chckxc" type calls following them, nor
+      //  are they wrapped in in try/catch blocks.
+      //
+      //  Expected exceptions that are *not* thrown are tested
+      //  via a call to {@link spice.testutils.Testutils#dogDidNotBark}.
+      //
+
+      try
+      {
+
+         JNITestutils.topen ( "f_SCLKConverter" );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Setup: create kernels." );
+
+
+         //
+         // Clear the KernelDatabase system.
+         //
+         KernelDatabase.clear();
+
+         JNITestutils.tstlsk();
+
+         //
+         // Create the generic CK and keep the corresponding SCLK
+         // kernel, which is loaded into CSPICE as well.
+         //
+         ( new File ( CK      ) ).delete();
+         ( new File ( SCLKKER ) ).delete();
+
+         JNITestutils.tstck3( CK, SCLKKER, false, true, true );
+
+         //
+         // The leapseconds kernel created by tstlsk is deleted once
+         // loaded; copy the variables needed by the converter from
+         // the CSPICE kernel pool.
+         //
+         buffer = new String[] {
+
+            "DELTET/K  = " + KernelPool.getDouble( "DELTET/K"  )[0],
+            "DELTET/EB = " + KernelPool.getDouble( "DELTET/EB" )[0],
+            "DELTET/M  = ( " + KernelPool.getDouble( "DELTET/M" )[0] +
+                       " "   + KernelPool.getDouble( "DELTET/M" )[1] + " )" };
+
+         pool = new TextKernelPool();
+
+         pool.loadFromBuffer( "leapseconds", buffer );
+         pool.load          ( SCLKKER );
+
+         snapshot  = pool.getSnapshot();
+
+         converter = SCLKConverter.create( snapshot, clock );
+
+         maxTicks  = converter.getMaximumTicks();
+
+
+
+         // ***********************************************************
+         //
+         //    Error cases
+         //
+         // ***********************************************************
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: create a converter for a clock " +
+                               "having no kernel data."                   );
+
+         try
+         {
+            SCLKConverter.create( snapshot, new SCLK( -10 ) );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(KERNELVARNOTFOUND)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(KERNELVARNOTFOUND)", ex );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: encode an SCLK string having a " +
+                               "bad partition number."                    );
+
+         try
+         {
+            converter.encode( ( converter.getPartitionCount() + 1 ) + "/1" );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(BADPARTNUMBER)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(BADPARTNUMBER)", ex );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: parse an SCLK string having a " +
+                               "non-numeric field."                      );
+
+         try
+         {
+            converter.parseTicks( "1:x" );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(INVALIDSCLKSTRING)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(INVALIDSCLKSTRING)", ex );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: decode encoded SCLK beyond the " +
+                               "last partition."                          );
+
+         try
+         {
+            converter.decode( maxTicks + 10.0 );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(VALUEOUTOFRANGE)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(VALUEOUTOFRANGE)", ex );
+         }
+
+
+
+         // ***********************************************************
+         //
+         //    Normal cases
+         //
+         // ***********************************************************
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Compare decoding, encoding and conversion " +
+                              "to TDB with scdecd, scencd and sct2e."       );
+
+         for ( i = 0;  i <= NSAMP;  i++ )
+         {
+            sclkdp  = Math.rint( i * ( maxTicks / NSAMP ) );
+
+            xSclkch = CSPICE.scdecd ( CLKID, sclkdp );
+            sclkch  = converter.decode( sclkdp );
+
+            ok = JNITestutils.chcksc ( "sclkch", sclkch, "=", xSclkch );
+
+            xSclkdp = CSPICE.scencd ( CLKID, xSclkch );
+
+            ok = JNITestutils.chcksd ( "encoded", converter.encode( sclkch ),
+                                       "=",       xSclkdp,               0.0 );
+
+            xEt = CSPICE.sct2e ( CLKID, sclkdp );
+
+            ok = JNITestutils.chcksd ( "et", converter.toTDBSeconds( sclkdp ),
+                                       "~/", xEt,                TIGHT_TOL    );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Compare conversion from TDB with sce2c and " +
+                              "sce2s."                                        );
+
+         for ( i = 0;  i <= NSAMP;  i++ )
+         {
+            et      = CSPICE.sct2e( CLKID, i * ( maxTicks / NSAMP ) );
+
+            xSclkdp = CSPICE.sce2c( CLKID, et );
+
+            ok = JNITestutils.chcksd ( "ticks",
+                                       converter.toContinuousTicks( et ),
+                                       "~/", xSclkdp,        TIGHT_TOL );
+
+            ok = JNITestutils.chcksc ( "sce2s",
+                                       converter.toSCLKString( et ), "=",
+                                       CSPICE.sce2s( CLKID, et )          );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Compare tick strings with scfmt and sctiks." );
+
+         for ( i = 0;  i <= NSAMP;  i++ )
+         {
+            sclkdp  = Math.rint( i * ( maxTicks / NSAMP ) );
+
+            xSclkch = CSPICE.scfmt ( CLKID, sclkdp );
+
+            ok = JNITestutils.chcksc ( "scfmt", converter.formatTicks( sclkdp ),
+                                       "=",     xSclkch                          );
+
+            ok = JNITestutils.chcksd ( "sctiks", converter.parseTicks( xSclkch ),
+                                       "=",      CSPICE.sctiks( CLKID, xSclkch ),
+                                       0.0                                       );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Use SCLKTime and SCLKDuration instances " +
+                              "created from the converter."               );
+
+         sclkch   = converter.decode( Math.rint( maxTicks / 3 ) );
+
+         time     = new SCLKTime    ( converter, sclkch );
+         duration = new SCLKDuration( converter, "1" );
+
+         ok = JNITestutils.chcksc ( "time", time.getString(), "=",
+                                    ( new SCLKTime( clock, sclkch ) ).getString() );
+
+         ok = JNITestutils.chcksd ( "TDB", time.getTDBSeconds(), "~/",
+                                    CSPICE.sct2e( CLKID,
+                                                  time.getContinuousTicks() ),
+                                    TIGHT_TOL                                    );
+
+         ok = JNITestutils.chcksd ( "duration", duration.getMeasure(), "=",
+                                    CSPICE.sctiks( CLKID, "1" ),      0.0  );
+
+         ok = JNITestutils.chcksc ( "sum", time.add( duration ).getString(),
+                                    "=",
+                                    CSPICE.scdecd( CLKID,
+                                                     time.getContinuousTicks()
+                                                   + duration.getMeasure()    ) );
+
+         ok = JNITestutils.chcksc ( "format",
+                                    SCLKDuration.format( duration.scale(3.0) ),
+                                    "=",
+                                    CSPICE.scfmt( CLKID,
+                                                  3.0 * duration.getMeasure() ) );
+      }
+      catch ( SpiceException ex )
+      {
+         //
+         //  Getting here means we've encountered an unexpected
+         //  SPICE exception.  This is analogous to encountering
+         //  an unexpected SPICE error in CSPICE.
+         //
+
+         ex.printStackTrace();
+
+         ok = JNITestutils.chckth ( false, "", ex );
+      }
+
+      finally
+      {
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Clean up." );
+
+         //
+         // Get rid of the CK and SCLK files.
+         //
+         KernelDatabase.clear();
+
+         ( new File ( CK      ) ).delete();
+         ( new File ( SCLKKER ) ).delete();
+      }
+
+      //
+      // Retrieve the current test status.
+      //
+      ok = JNITestutils.tsuccess();
+
+      return ( ok );
+   }
+
+}
@@ -0,0 +1,617 @@
+package spice.tspice;
+
+
+import java.io.*;
+import spice.basic.*;
+import spice.testutils.JNITestutils;
+import spice.testutils.Testutils;
+
+
+/**
+Class TestSPKEphemeris provides methods that implement test families
+for the classes SPKEphemeris, MappedSPK and SPKSegment.
+
+<p>
+These classes compute states without CSPICE; these tests compare
+their states against those computed by CSPICE.spkezr from the same
+files.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+public class TestSPKEphemeris extends Object
+{
+
+   //
+   // Class constants
+   //
+
+
+   //
+   // Class variables
+   //
+
+
+   //
+   // Methods
+   //
+
+   /**
+   Test SPKEphemeris and associated classes.
+   */
+   public static boolean f_SPKEphemeris()
+
+      throws SpiceException
+   {
+      //
+      // Constants
+      //
+      final String                      SPK0      = "test_spkeph0.bsp";
+      final String                      SPK1      = "test_spkeph1.bsp";
+      final String                      NOTDAF    = "test_spkeph.txt";
+
+      final double                      TIGHT_TOL = 1.e-12;
+      final double                      MED_TOL   = 1.e-9;
+
+      final int                         BODY0     = 1000;
+      final int                         NCOEFF    = 5;
+      final int                         NREC      = 4;
+      final int                         NSTATES   = 40;
+      final int                         J2000     = 1;
+
+      final double                      INTLEN    = 1.e4;
+      final double                      STEP      = 1.e3;
+
+      //
+      // Local variables
+      //
+      FrameTransformer                  transformer;
+
+      MappedSPK                         mspk0;
+      MappedSPK                         mspk1;
+
+      PrintWriter                       writer;
+
+      ReferenceFrame                    J2000Frame;
+
+      SPK                               spk;
+
+      SPKEphemeris                      eph;
+
+      StateVector[]                     states;
+
+      String                            obsName;
+      String                            trgName;
+
+      TDBTime[]                         epochs;
+
+      boolean                           ok;
+
+      double[]                          lt        = new double[1];
+      double[][][]                      coeffs2;
+      double[][][]                      coeffs3;
+      double                            et;
+      double                            first;
+      double                            last;
+      double[]                          state     = new double[6];
+      double                            t;
+      double[]                          xState    = new double[6];
+
+      int                               i;
+      int                               j;
+      int                               k;
+      int                               obs;
+      int                               trg;
+
+      //
+      //  We enclose all tests in a try/catch block in order to
+      //  facilitate handling unexpected exceptions.  Unexpected
+      //  exceptions are trapped by the catch block at the end of
+      //  the routine; expected exceptions are handled locally by
+      //  catch blocks associated with error handling test cases.
+      //
+      //  Therefore, JNISpice calls that are expected to succeed don't
+      //  have any subsequent "chckxc" type calls following them, nor
+      //  are they wrapped in in try/catch blocks.
+      //
+      //  Expected exceptions that are *not* thrown are tested
+      //  via a call to {@link spice.testutils.Testutils#dogDidNotBark}.
+      //
+
+      try
+      {
+
+         JNITestutils.topen ( "f_SPKEphemeris" );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Setup: create kernels." );
+
+
+         //
+         // Clear the KernelDatabase system.
+         //
+         KernelDatabase.clear();
+
+         JNITestutils.tstlsk();
+
+         J2000Frame = new ReferenceFrame( "J2000" );
+
+         first      = 0.0;
+         last       = NREC * INTLEN;
+
+         //
+         // SPK0 holds a chain of segments, one of each supported
+         // type written by class SPK:
+         //
+         //    1001 relative to 1000, type 2
+         //    1002 relative to 1001, type 3
+         //    1003 relative to 1002, type 9
+         //    1004 relative to 1003, type 13
+         //
+         ( new File ( SPK0 ) ).delete();
+
+         spk     = SPK.openNew( SPK0, "Type 2, 3, 9 and 13 test SPK", 0 );
+
+         coeffs2 = new double[NREC][3][NCOEFF];
+         coeffs3 = new double[NREC][6][NCOEFF];
+
+         for ( i = 0;  i < NREC;  i++ )
+         {
+            for ( j = 0;  j < 6;  j++ )
+            {
+               for ( k = 0;  k < NCOEFF;  k++ )
+               {
+                  coeffs3[i][j][k] = 1.e3 * (i+1) / ( (j+1) * (k+1) );
+
+                  if ( j < 3 )
+                  {
+                     coeffs2[i][j][k] = -coeffs3[i][j][k];
+                  }
+               }
+            }
+         }
+
+         spk.writeType02Segment ( new Body( BODY0 + 1 ),
+                                  new Body( BODY0     ),
+                                  J2000Frame,
+                                  new TDBTime( first ),
+                                  new TDBTime( last  ),
+                                  "Type 2",
+                                  new TDBDuration( INTLEN ),
+                                  NREC,
+                                  NCOEFF - 1,
+                                  coeffs2,
+                                  new TDBTime( first )     );
+
+         spk.writeType03Segment ( new Body( BODY0 + 2 ),
+                                  new Body( BODY0 + 1 ),
+                                  J2000Frame,
+                                  new TDBTime( first ),
+                                  new TDBTime( last  ),
+                                  "Type 3",
+                                  new TDBDuration( INTLEN ),
+                                  NREC,
+                                  NCOEFF - 1,
+                                  coeffs3,
+                                  new TDBTime( first )     );
+
+         //
+         // The type 9 and 13 states are unequally spaced.
+         //
+         states = new StateVector[NSTATES+1];
+         epochs = new TDBTime    [NSTATES+1];
+
+         for ( i = 0;  i <= NSTATES;  i++ )
+         {
+            t         = i * STEP  +  ( (i % 3) - 1 ) * 0.2 * STEP;
+
+            t         = Math.max( first, Math.min( t, last ) );
+
+            epochs[i] = new TDBTime( t );
+
+            states[i] = new StateVector( new Vector6(
+
+                           1.e4 * Math.cos( t/INTLEN ),
+                           1.e4 * Math.sin( t/INTLEN ),
+                           1.e2 * t / INTLEN,
+                          -Math.sin( t/INTLEN ),
+                           Math.cos( t/INTLEN ),
+                           1.e-2                         )  );
+         }
+
+         spk.writeType09Segment ( new Body( BODY0 + 3 ),
+                                  new Body( BODY0 + 2 ),
+                                  J2000Frame,
+                                  new TDBTime( first ),
+                                  new TDBTime( last  ),
+                                  "Type 9",
+                                  7,
+                                  NSTATES+1,
+                                  states,
+                                  epochs                 );
+
+         spk.writeType13Segment ( new Body( BODY0 + 4 ),
+                                  new Body( BODY0 + 3 ),
+                                  J2000Frame,
+                                  new TDBTime( first ),
+                                  new TDBTime( last  ),
+                                  "Type 13",
+                                  5,
+                                  NSTATES+1,
+                                  states,
+                                  epochs                 );
+         spk.close();
+
+         //
+         // SPK1 holds a type 9 segment for 1001 that overrides the
+         // type 2 segment of SPK0 over part of its coverage.
+         //
+         ( new File ( SPK1 ) ).delete();
+
+         spk     = SPK.openNew( SPK1, "Priority test SPK", 0 );
+
+         spk.writeType09Segment ( new Body( BODY0 + 1 ),
+                                  new Body( BODY0     ),
+                                  J2000Frame,
+                                  new TDBTime( first  ),
+                                  new TDBTime( INTLEN ),
+                                  "Type 9 override",
+                                  3,
+                                  11,
+                                  java.util.Arrays.copyOf( states, 11 ),
+                                  java.util.Arrays.copyOf( epochs, 11 ) );
+         spk.close();
+
+         //
+         // Create a text file that is not a DAF.
+         //
+         ( new File ( NOTDAF ) ).delete();
+
+         try
+         {
+            writer = new PrintWriter( NOTDAF );
+
+            writer.println( "This is not an SPK." );
+
+            writer.close();
+         }
+         catch ( IOException exc )
+         {
+            exc.printStackTrace();
+         }
+
+         KernelDatabase.load( SPK0 );
+
+         eph   = new SPKEphemeris();
+         mspk0 = eph.load( SPK0 );
+
+
+
+         // ***********************************************************
+         //
+         //    Error cases
+         //
+         // ***********************************************************
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: open a file that is not a DAF."  );
+
+         try
+         {
+            mspk1 = MappedSPK.openForRead( NOTDAF );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(NOTADAFFILE)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(NOTADAFFILE)", ex );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: evaluate a segment outside its " +
+                               "coverage."                              );
+
+         try
+         {
+            mspk0.getSegments().get(0).getState( last + 1.0, state );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(SPKINSUFFDATA)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(SPKINSUFFDATA)", ex );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: get a state for which there is " +
+                               "no data."                               );
+
+         try
+         {
+            eph.getState( BODY0 + 4, first, J2000, 399, state );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(SPKINSUFFDATA)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(SPKINSUFFDATA)", ex );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: request a frame other than that " +
+                               "of the data without a transformer."      );
+
+         try
+         {
+            eph.getState( BODY0 + 4, first, 17, BODY0, state );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(FRAMEDATANOTFOUND)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(FRAMEDATANOTFOUND)", ex );
+         }
+
+
+
+         // ***********************************************************
+         //
+         //    Normal cases
+         //
+         // ***********************************************************
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Check the segment list of SPK0." );
+
+         ok = JNITestutils.chcksi ( "segment count",
+                                    mspk0.getSegments().size(), "=", 4, 0 );
+
+         ok = JNITestutils.chckai ( "bodies",
+                                    mspk0.getBodies(),
+                                    "=",
+                                    new int[] { BODY0+1, BODY0+2,
+                                                BODY0+3, BODY0+4 } );
+
+         for ( i = 0;  i < 4;  i++ )
+         {
+            SPKSegment segment = mspk0.getSegments().get(i);
+
+            ok = JNITestutils.chcksi ( "body",   segment.getBody(),   "=",
+                                       BODY0 + i + 1,                 0 );
+            ok = JNITestutils.chcksi ( "center", segment.getCenter(), "=",
+                                       BODY0 + i,                     0 );
+            ok = JNITestutils.chcksi ( "frame",  segment.getFrame(),  "=",
+                                       J2000,                         0 );
+            ok = JNITestutils.chcksi ( "type",   segment.getType(),   "=",
+                                       new int[] { 2, 3, 9, 13 }[i],  0 );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Compare states of each segment with those " +
+                              "from spkezr."                                );
+
+         for ( trg = BODY0 + 1;  trg <= BODY0 + 4;  trg++ )
+         {
+            trgName = String.valueOf( trg     );
+            obsName = String.valueOf( trg - 1 );
+
+            for ( i = 0;  i <= 4 * NSTATES;  i++ )
+            {
+               et = first  +  i * ( last - first ) / ( 4 * NSTATES );
+
+               eph.getState ( trg, et, J2000, trg - 1, state );
+
+               CSPICE.spkezr ( trgName, et, "J2000", "NONE", obsName,
+                               xState,  lt                            );
+
+               ok = JNITestutils.chckad ( "state " + trg + " at " + et,
+                                          state, "~~/", xState, TIGHT_TOL );
+            }
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Compare chained states with those from " +
+                              "spkezr."                                   );
+
+         for ( trg = BODY0;  trg <= BODY0 + 4;  trg++ )
+         {
+            for ( obs = BODY0;  obs <= BODY0 + 4;  obs++ )
+            {
+               trgName = String.valueOf( trg );
+               obsName = String.valueOf( obs );
+
+               for ( i = 0;  i <= NSTATES;  i++ )
+               {
+                  et = first  +  ( i + 0.37 ) * ( last - first ) / NSTATES;
+
+                  et = Math.min( et, last );
+
+                  eph.getState ( trg, et, J2000, obs, state );
+
+                  CSPICE.spkezr ( trgName, et, "J2000", "NONE", obsName,
+                                  xState,  lt                            );
+
+                  ok = JNITestutils.chckad ( "state " + trg + " wrt " +
+                                             obs + " at " + et,
+                                             state, "~~", xState, MED_TOL );
+               }
+            }
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Load SPK1; check that its segment takes " +
+                              "priority, then unload it."                 );
+
+         KernelDatabase.load( SPK1 );
+
+         mspk1 = eph.load( SPK1 );
+
+         for ( i = 0;  i <= NSTATES;  i++ )
+         {
+            et = first  +  i * ( last - first ) / NSTATES;
+
+            eph.getState ( BODY0 + 1, et, J2000, BODY0, state );
+
+            CSPICE.spkezr ( String.valueOf( BODY0 + 1 ), et, "J2000",
+                            "NONE", String.valueOf( BODY0 ), xState, lt );
+
+            ok = JNITestutils.chckad ( "state at " + et,
+                                       state, "~~/", xState, TIGHT_TOL );
+         }
+
+         ok = JNITestutils.chcksc ( "override segment",
+                                    eph.findSegment( BODY0+1, first )
+                                       .getSegmentID(),
+                                    "=",
+                                    "Type 9 override"                   );
+
+         KernelDatabase.unload( SPK1 );
+
+         eph.unload( mspk1 );
+
+         mspk1.close();
+
+         ok = JNITestutils.chcksc ( "restored segment",
+                                    eph.findSegment( BODY0+1, first )
+                                       .getSegmentID(),
+                                    "=",
+                                    "Type 2"                            );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Compare states in ECLIPJ2000, using a " +
+                              "transformer backed by sxform, with "    +
+                              "those from spkezr."                       );
+
+         transformer = new FrameTransformer()
+         {
+            public void getStateTransformation ( int       fromFrame,
+                                                 int       toFrame,
+                                                 double    et,
+                                                 double[]  xform     )
+
+               throws SpiceException
+            {
+               double[] m = CSPICE.sxform( CSPICE.frmnam( fromFrame ),
+                                           CSPICE.frmnam( toFrame   ),
+                                           et                         );
+
+               System.arraycopy( m, 0, xform, 0, 36 );
+            }
+         };
+
+         eph = new SPKEphemeris( transformer );
+
+         eph.load( mspk0 );
+
+         for ( i = 0;  i <= NSTATES;  i++ )
+         {
+            et = first  +  ( i + 0.5 ) * ( last - first ) / NSTATES;
+
+            et = Math.min( et, last );
+
+            eph.getState ( BODY0 + 4, et, 17, BODY0, state );
+
+            CSPICE.spkezr ( String.valueOf( BODY0 + 4 ), et, "ECLIPJ2000",
+                            "NONE", String.valueOf( BODY0 ), xState, lt );
+
+            ok = JNITestutils.chckad ( "state at " + et,
+                                       state, "~~", xState, MED_TOL );
+         }
+
+         mspk0.close();
+      }
+      catch ( SpiceException ex )
+      {
+         //
+         //  Getting here means we've encountered an unexpected
+         //  SPICE exception.  This is analogous to encountering
+         //  an unexpected SPICE error in CSPICE.
+         //
+
+         ex.printStackTrace();
+
+         ok = JNITestutils.chckth ( false, "", ex );
+      }
+
+      finally
+      {
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Clean up." );
+
+         //
+         // Get rid of the SPK and text files.
+         //
+         KernelDatabase.clear();
+
+         ( new File ( SPK0   ) ).delete();
+         ( new File ( SPK1   ) ).delete();
+         ( new File ( NOTDAF ) ).delete();
+      }
+
+      //
+      // Retrieve the current test status.
+      //
+      ok = JNITestutils.tsuccess();
+
+      return ( ok );
+   }
+
+}
@@ -0,0 +1,356 @@
+package spice.tspice;
+
+
+import java.util.*;
+import spice.basic.*;
+import spice.testutils.JNITestutils;
+
+
+/**
+Class TestSegmentIndex provides methods that implement test families
+for the class SegmentIndex.
+
+<p>
+SegmentIndex is independent of the segment type; these tests index
+synthetic segments, each an array holding an ID code and time
+bounds, and compare lookups against a linear search of the loaded
+files in priority order, while files are loaded, reloaded and
+unloaded at random.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+public class TestSegmentIndex extends Object
+{
+
+   //
+   // Class constants
+   //
+
+   //
+   // ID codes and time bounds of synthetic segments.
+   //
+   private static final SegmentIndex.Bounds<double[]> BOUNDS =
+
+      new SegmentIndex.Bounds<double[]>()
+      {
+         public int getID ( double[] segment )
+         {
+            return (  (int) segment[0]  );
+         }
+
+         public double getStart ( double[] segment )
+         {
+            return ( segment[1] );
+         }
+
+         public double getStop ( double[] segment )
+         {
+            return ( segment[2] );
+         }
+      };
+
+
+   //
+   // Class variables
+   //
+
+
+   //
+   // Methods
+   //
+
+   /**
+   Test SegmentIndex.
+   */
+   public static boolean f_SegmentIndex()
+
+      throws SpiceException
+   {
+      //
+      // Constants
+      //
+      final int                         NID       = 4;
+      final int                         NSTEP     = 300;
+      final int                         NQUERY    = 50;
+
+      //
+      // Local variables
+      //
+      ArrayList<Object>                 files;
+
+      HashMap<Object, List<double[]>>   contents;
+
+      List<double[]>                    expected;
+
+      List<double[]>                    segments;
+
+      Object                            file;
+
+      Random                            random;
+
+      SegmentIndex<double[]>            index;
+
+      boolean                           ok;
+
+      double[]                          expFound;
+      double[]                          segment;
+
+      double                            t;
+      double                            tol;
+
+      int                               i;
+      int                               id;
+      int                               j;
+      int                               n;
+      int                               nbad;
+      int                               q;
+      int                               step;
+
+      //
+      //  We enclose all tests in a try/catch block in order to
+      //  facilitate handling unexpected exceptions.  Unexpected
+      //  exceptions are trapped by the catch block at the end of
+      //  the routine; expected exceptions are handled locally by
+      //  catch blocks associated with error handling test cases.
+      //
+
+      try
+      {
+
+         JNITestutils.topen ( "f_SegmentIndex" );
+
+
+
+         // ***********************************************************
+         //
+         //    Normal cases
+         //
+         // ***********************************************************
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Look up segments in an empty index." );
+
+         index = SegmentIndex.create( BOUNDS );
+
+         ok = JNITestutils.chcksl ( "found", index.find( 1, 0.0 ) == null,
+                                    true                                  );
+
+         ok = JNITestutils.chcksi ( "candidates",
+                                    index.getCandidates( 1, 0.0, 1.0 ).size(),
+                                    "=",  0,                                 0 );
+
+         ok = JNITestutils.chcksi ( "depth", index.getMaxDepth(), "=", 0, 0 );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Check priority of overlapping segments, " +
+                              "including shared endpoints."              );
+
+         file     = new Object();
+         segments = new ArrayList<double[]>();
+
+         segments.add( new double[] { 1,  0.0, 10.0 } );
+         segments.add( new double[] { 1,  5.0, 10.0 } );
+         segments.add( new double[] { 1, 10.0, 20.0 } );
+         segments.add( new double[] { 2,  0.0, 20.0 } );
+
+         index = index.load( file, segments );
+
+         ok = JNITestutils.chcksl ( "t = 0",
+                                    index.find( 1, 0.0 ) == segments.get(0),
+                                    true                                     );
+
+         ok = JNITestutils.chcksl ( "t = 7",
+                                    index.find( 1, 7.0 ) == segments.get(1),
+                                    true                                     );
+
+         ok = JNITestutils.chcksl ( "t = 10",
+                                    index.find( 1, 10.0 ) == segments.get(2),
+                                    true                                      );
+
+         ok = JNITestutils.chcksl ( "t = 20.5",
+                                    index.find( 1, 20.5 ) == null,
+                                    true                            );
+
+         ok = JNITestutils.chcksi ( "candidates at 10",
+                                    index.getCandidates( 1, 10.0, 10.0 ).size(),
+                                    "=",  3,                                   0 );
+
+         ok = JNITestutils.chcksi ( "segments", index.getSegmentCount(),
+                                    "=",        4,                      0 );
+
+         ok = JNITestutils.chcksi ( "overlap",  index.getMaxOverlap(),
+                                    "=",        3,                      0 );
+
+         ok = JNITestutils.chcksi ( "depth",    index.getMaxDepth(),
+                                    "=",        2,                      0 );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Compare lookups with a linear search " +
+                              "while loading and unloading files."    );
+
+         random   = new Random( 19 );
+         index    = SegmentIndex.create( BOUNDS );
+         files    = new ArrayList<Object>();
+         contents = new HashMap<Object, List<double[]>>();
+         nbad     = 0;
+
+         for ( step = 0;  step < NSTEP;  step++ )
+         {
+            if (  ( files.size() > 0 ) && ( random.nextInt(4) == 0 )  )
+            {
+               file  = files.remove(  random.nextInt( files.size() )  );
+
+               index = index.unload( file );
+            }
+            else
+            {
+               //
+               // Reload an indexed file a third of the time.
+               //
+               if (  ( files.size() > 0 ) && ( random.nextInt(3) == 0 )  )
+               {
+                  file = files.get(  random.nextInt( files.size() )  );
+               }
+               else
+               {
+                  file = new Object();
+               }
+
+               segments = new ArrayList<double[]>();
+               n        = 1 + random.nextInt( 8 );
+
+               for ( i = 0;  i < n;  i++ )
+               {
+                  t = random.nextInt( 100 );
+
+                  segments.add(  new double[] { random.nextInt( NID ),
+                                                t,
+                                                t + random.nextInt( 30 ) - 3 } );
+               }
+
+               files.remove( file );
+               files.add   ( file );
+
+               contents.put( file, segments );
+
+               index = index.load( file, segments );
+            }
+
+            for ( q = 0;  q < NQUERY;  q++ )
+            {
+               id       = random.nextInt( NID );
+               t        = random.nextInt( 260 ) / 2.0  -  5.0;
+               tol      = random.nextInt( 3 );
+
+               expFound = null;
+               expected = new ArrayList<double[]>();
+
+               for ( i = files.size() - 1;  i >= 0;  i-- )
+               {
+                  segments = contents.get( files.get(i) );
+
+                  for ( j = segments.size() - 1;  j >= 0;  j-- )
+                  {
+                     segment = segments.get(j);
+
+                     if ( (int) segment[0] != id )
+                     {
+                        continue;
+                     }
+
+                     if (    ( expFound == null )
+                          && ( t >= segment[1]  )
+                          && ( t <= segment[2]  )  )
+                     {
+                        expFound = segment;
+                     }
+
+                     if (    ( t + tol >= segment[1] )
+                          && ( t - tol <= segment[2] )  )
+                     {
+                        expected.add( segment );
+                     }
+                  }
+               }
+
+               if ( index.find( id, t ) != expFound )
+               {
+                  ++nbad;
+               }
+
+               if (  !index.getCandidates( id, t - tol, t + tol ).equals( expected )  )
+               {
+                  ++nbad;
+               }
+            }
+         }
+
+         ok = JNITestutils.chcksi ( "mismatches", nbad, "=", 0, 0 );
+
+         ok = JNITestutils.chcksi ( "files", index.getFileCount(),
+                                    "=",     files.size(),        0 );
+
+         n = 0;
+
+         for ( Object f : files )
+         {
+            n += contents.get( f ).size();
+         }
+
+         ok = JNITestutils.chcksi ( "segments", index.getSegmentCount(),
+                                    "=",        n,                      0 );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Check lookup statistics." );
+
+         ok = JNITestutils.chcksl ( "lookups",
+                                    index.getLookupCount() == 2L * NSTEP * NQUERY,
+                                    true                                         );
+
+         ok = JNITestutils.chcksl ( "latency",
+                                    index.getMeanLookupNanos() > 0.0,
+                                    true                              );
+
+         index.resetStatistics();
+
+         ok = JNITestutils.chcksl ( "reset", index.getLookupCount() == 0L,
+                                    true                                 );
+      }
+      catch ( SpiceException ex )
+      {
+         //
+         //  Getting here means we've encountered an unexpected
+         //  SPICE exception.  This is analogous to encountering
+         //  an unexpected SPICE error in CSPICE.
+         //
+
+         ex.printStackTrace();
+
+         ok = JNITestutils.chckth ( false, "", ex );
+      }
+
+      //
+      // Retrieve the current test status.
+      //
+      ok = JNITestutils.tsuccess();
+
+      return ( ok );
+   }
+
+}
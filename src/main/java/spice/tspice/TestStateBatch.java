@@ -0,0 +1,400 @@
+package spice.tspice;
+
+
+import java.io.*;
+import spice.basic.*;
+import spice.testutils.JNITestutils;
+import spice.testutils.Testutils;
+
+
+/**
+Class TestStateBatch provides methods that implement test families
+for the class StateBatch.
+
+<p>
+States computed in batches are compared against those computed by
+CSPICE.spkezr one epoch at a time.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+public class TestStateBatch extends Object
+{
+
+   //
+   // Class constants
+   //
+
+
+   //
+   // Class variables
+   //
+
+
+   //
+   // Methods
+   //
+
+   /**
+   Test StateBatch.
+   */
+   public static boolean f_StateBatch()
+
+      throws SpiceException
+   {
+      //
+      // Constants
+      //
+      final String                      SPK0      = "test_stbat0.bsp";
+      final String                      SPK1      = "test_stbat1.bsp";
+
+      final double                      TIGHT_TOL = 1.e-12;
+
+      final int                         BODY0     = 1000;
+      final int                         NCOEFF    = 5;
+      final int                         NREC      = 4;
+      final int                         J2000     = 1;
+
+      final double                      INTLEN    = 1.e4;
+
+      //
+      // The number of epochs spans more than one block.
+      //
+      final int                         N         = StateBatch.BLOCK_SIZE + 17;
+
+      //
+      // Local variables
+      //
+      AberrationCorrection              abcorr;
+
+      Body                              moon;
+      Body                              earth;
+
+      MappedSPK                         mspk;
+
+      ReferenceFrame                    J2000Frame;
+
+      SPK                               spk;
+
+      SPKEphemeris                      eph;
+
+      boolean                           ok;
+
+      double[][][]                      coeffs;
+      double[]                          ets       = new double[N];
+      double                            first;
+      double                            last;
+      double[]                          lt        = new double[N];
+      double[]                          short1    = new double[N-1];
+      double[]                          state     = new double[6];
+      double[]                          vx        = new double[N];
+      double[]                          vy        = new double[N];
+      double[]                          vz        = new double[N];
+      double[]                          x         = new double[N];
+      double[]                          xlt       = new double[1];
+      double[]                          xState    = new double[6];
+      double[]                          y         = new double[N];
+      double[]                          z         = new double[N];
+
+      int                               i;
+      int                               j;
+      int                               k;
+
+      //
+      //  We enclose all tests in a try/catch block in order to
+      //  facilitate handling unexpected exceptions.  Unexpected
+      //  exceptions are trapped by the catch block at the end of
+      //  the routine; expected exceptions are handled locally by
+      //  catch blocks associated with error handling test cases.
+      //
+      //  Expected exceptions that are *not* thrown are tested
+      //  via a call to {@link spice.testutils.Testutils#dogDidNotBark}.
+      //
+
+      mspk = null;
+
+      try
+      {
+
+         JNITestutils.topen ( "f_StateBatch" );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Setup: create and load kernels." );
+
+         KernelDatabase.clear();
+
+         JNITestutils.tstlsk();
+
+         ( new File ( SPK0 ) ).delete();
+
+         JNITestutils.tstspk( SPK0, true );
+
+         J2000Frame = new ReferenceFrame( "J2000" );
+
+         moon       = new Body( "Moon"  );
+         earth      = new Body( "Earth" );
+
+         first      = 0.0;
+         last       = NREC * INTLEN;
+
+         //
+         // SPK1 holds a type 3 segment for 1001 relative to 1000.
+         //
+         ( new File ( SPK1 ) ).delete();
+
+         spk    = SPK.openNew( SPK1, "Type 3 test SPK", 0 );
+
+         coeffs = new double[NREC][6][NCOEFF];
+
+         for ( i = 0;  i < NREC;  i++ )
+         {
+            for ( j = 0;  j < 6;  j++ )
+            {
+               for ( k = 0;  k < NCOEFF;  k++ )
+               {
+                  coeffs[i][j][k] = 1.e3 * (i+1) / ( (j+1) * (k+1) );
+               }
+            }
+         }
+
+         spk.writeType03Segment ( new Body( BODY0 + 1 ),
+                                  new Body( BODY0     ),
+                                  J2000Frame,
+                                  new TDBTime( first ),
+                                  new TDBTime( last  ),
+                                  "Type 3",
+                                  new TDBDuration( INTLEN ),
+                                  NREC,
+                                  NCOEFF - 1,
+                                  coeffs,
+                                  new TDBTime( first )     );
+         spk.close();
+
+         KernelDatabase.load( SPK1 );
+
+         eph  = new SPKEphemeris();
+         mspk = eph.load( SPK1 );
+
+
+
+         // ***********************************************************
+         //
+         //    Error cases
+         //
+         // ***********************************************************
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: output array is too small." );
+
+         try
+         {
+            StateBatch.getStates( moon,  ets,  J2000Frame,
+                                  new AberrationCorrection( "NONE" ),
+                                  earth, x, y, z, vx, vy, short1, lt  );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(ARRAYTOOSMALL)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(ARRAYTOOSMALL)", ex );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: output array is too small; " +
+                               "SPKEphemeris path."                   );
+
+         try
+         {
+            StateBatch.getStates( eph,  BODY0+1,  ets,  J2000,  BODY0,
+                                  x, y, z, vx, vy, vz, short1         );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(ARRAYTOOSMALL)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(ARRAYTOOSMALL)", ex );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: no data for the target." );
+
+         try
+         {
+            StateBatch.getStates( eph,  BODY0+2,  ets,  J2000,  BODY0,
+                                  x, y, z, vx, vy, vz, lt             );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(SPKINSUFFDATA)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(SPKINSUFFDATA)", ex );
+         }
+
+
+
+         // ***********************************************************
+         //
+         //    Normal cases
+         //
+         // ***********************************************************
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Compare aberration-corrected states of " +
+                              "the Moon with those from spkezr."          );
+
+         abcorr = new AberrationCorrection( "LT+S" );
+
+         for ( i = 0;  i < N;  i++ )
+         {
+            ets[i] = -1.e8  +  i * 1.e5;
+         }
+
+         StateBatch.getStates( moon, ets, J2000Frame, abcorr, earth,
+                               x, y, z, vx, vy, vz, lt               );
+
+         for ( i = 0;  i < N;  i++ )
+         {
+            CSPICE.spkezr ( "Moon", ets[i], "J2000", "LT+S", "Earth",
+                            xState, xlt                               );
+
+            state[0] = x [i];
+            state[1] = y [i];
+            state[2] = z [i];
+            state[3] = vx[i];
+            state[4] = vy[i];
+            state[5] = vz[i];
+
+            ok = JNITestutils.chckad ( "state " + i, state, "=", xState,
+                                       0.0                              );
+
+            ok = JNITestutils.chcksd ( "lt " + i, lt[i], "=", xlt[0],
+                                       0.0                            );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Aberration-corrected states are computed " +
+                              "by CSPICE when an ephemeris is given."       );
+
+         StateBatch.getStates( eph, moon, ets, J2000Frame, abcorr, earth,
+                               x, y, z, vx, vy, vz, lt                    );
+
+         CSPICE.spkezr ( "Moon", ets[N-1], "J2000", "LT+S", "Earth",
+                         xState, xlt                                 );
+
+         ok = JNITestutils.chcksd ( "x", x[N-1], "=", xState[0], 0.0 );
+         ok = JNITestutils.chcksd ( "lt", lt[N-1], "=", xlt[0],  0.0 );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Compare geometric states computed by an " +
+                              "SPKEphemeris with those from spkezr."       );
+
+         for ( i = 0;  i < N;  i++ )
+         {
+            ets[i] = first  +  i * ( last - first ) / ( N - 1 );
+         }
+
+         StateBatch.getStates( eph,
+                               new Body( BODY0 + 1 ),  ets,  J2000Frame,
+                               new AberrationCorrection( "NONE" ),
+                               new Body( BODY0     ),
+                               x, y, z, vx, vy, vz, lt                  );
+
+         for ( i = 0;  i < N;  i++ )
+         {
+            CSPICE.spkezr ( String.valueOf( BODY0 + 1 ), ets[i], "J2000",
+                            "NONE", String.valueOf( BODY0 ), xState, xlt );
+
+            state[0] = x [i];
+            state[1] = y [i];
+            state[2] = z [i];
+            state[3] = vx[i];
+            state[4] = vy[i];
+            state[5] = vz[i];
+
+            ok = JNITestutils.chckad ( "state " + i, state, "~~/", xState,
+                                       TIGHT_TOL                          );
+
+            ok = JNITestutils.chcksd ( "lt " + i, lt[i], "~/", xlt[0],
+                                       TIGHT_TOL                       );
+         }
+      }
+      catch ( SpiceException ex )
+      {
+         //
+         //  Getting here means we've encountered an unexpected
+         //  SPICE exception.  This is analogous to encountering
+         //  an unexpected SPICE error in CSPICE.
+         //
+
+         ex.printStackTrace();
+
+         ok = JNITestutils.chckth ( false, "", ex );
+      }
+
+      finally
+      {
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Clean up." );
+
+         KernelDatabase.clear();
+
+         if ( mspk != null )
+         {
+            mspk.close();
+         }
+
+         ( new File ( SPK0 ) ).delete();
+         ( new File ( SPK1 ) ).delete();
+      }
+
+      //
+      // Retrieve the current test status.
+      //
+      ok = JNITestutils.tsuccess();
+
+      return ( ok );
+   }
+
+}
@@ -0,0 +1,488 @@
+package spice.tspice;
+
+
+import java.io.*;
+import spice.basic.*;
+import spice.testutils.JNITestutils;
+import spice.testutils.Testutils;
+
+
+/**
+Class TestTextKernelPool provides methods that implement test families
+for the classes TextKernelPool, TextKernel and KernelPoolSnapshot.
+
+<p>
+These classes parse text kernels without CSPICE; these tests compare
+the variables they find against those loaded into the CSPICE kernel
+pool from the same files.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+public class TestTextKernelPool extends Object
+{
+
+   //
+   // Class constants
+   //
+
+
+   //
+   // Class variables
+   //
+
+
+   //
+   // Methods
+   //
+
+   /**
+   Test TextKernelPool and associated classes.
+   */
+   public static boolean f_TextKernelPool()
+
+      throws SpiceException
+   {
+      //
+      // Constants
+      //
+      final String                      PCK       = "test_txtpool.tpc";
+      final String                      TXT       = "test_txtpool.ker";
+      final String                      META      = "test_txtpool.tm";
+
+      final double                      TIGHT_TOL = 1.e-14;
+
+      //
+      // Local variables
+      //
+      KernelPoolSnapshot                snapshot;
+      KernelPoolSnapshot                snapshot0;
+
+      String[]                          names;
+      String[]                          txt       = {
+
+         "\\begindata",
+         "",
+         "TXT_NUMBERS  = ( 1, 2.5D0, -3.E2 ",
+         "                 4 )",
+         "TXT_STRINGS  = ( 'one', 'It''s two' )",
+         "TXT_DATE     = @2000-JAN-1/12:00:00",
+         "TXT_NUMBERS += 5",
+         "TXT_STRINGS += 'three'",
+         "",
+         "\\begintext",
+         "",
+         "TXT_IGNORED  = 1",
+         "",
+         "\\begindata",
+         "",
+         "TXT_SCALAR   = 7",
+         "",
+         "\\begintext"                                    };
+
+      String[]                          meta      = {
+
+         "\\begindata",
+         "",
+         "PATH_VALUES     = ( '.' )",
+         "PATH_SYMBOLS    = ( 'HERE' )",
+         "KERNELS_TO_LOAD = ( '$HERE/test_txt+',",
+         "                    'pool.ker' )",
+         "",
+         "\\begintext"                                    };
+
+      String[]                          xStrings;
+
+      TextKernelPool                    pool;
+
+      boolean                           ok;
+
+      double[]                          buffer    = new double[3];
+      double[]                          dvals;
+      double[]                          xDvals;
+
+      int                               i;
+      int                               n;
+
+      //
+      //  We enclose all tests in a try/catch block in order to
+      //  facilitate handling unexpected exceptions.  Unexpected
+      //  exceptions are trapped by the catch block at the end of
+      //  the routine; expected exceptions are handled locally by
+      //  catch blocks associated with error handling test cases.
+      //
+      //  Therefore, JNISpice calls that are expected to succeed don't
+      //  have any subsequent "chckxc" type calls following them, nor
+      //  are they wrapped in in try/catch blocks.
+      //
+      //  Expected exceptions that are *not* thrown are tested
+      //  via a call to {@link spice.testutils.Testutils#dogDidNotBark}.
+      //
+
+      try
+      {
+
+         JNITestutils.topen ( "f_TextKernelPool" );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Setup: create kernels." );
+
+
+         //
+         // Clear the KernelDatabase system.
+         //
+         KernelDatabase.clear();
+
+         ( new File ( PCK  ) ).delete();
+         ( new File ( TXT  ) ).delete();
+         ( new File ( META ) ).delete();
+
+         JNITestutils.tstpck( PCK,  false, true );
+
+         JNITestutils.tsttxt( TXT,  txt,  false, true );
+         JNITestutils.tsttxt( META, meta, false, true );
+
+         pool = new TextKernelPool();
+
+
+
+         // ***********************************************************
+         //
+         //    Error cases
+         //
+         // ***********************************************************
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: parse a buffer having an " +
+                               "unbalanced quote."                  );
+
+         try
+         {
+            pool.loadFromBuffer( "bad", new String[] { "X = 'abc" } );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(UNBALANCEDQUOTE)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(UNBALANCEDQUOTE)", ex );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: parse a buffer having an " +
+                               "unbalanced parenthesis."            );
+
+         try
+         {
+            pool.loadFromBuffer( "bad", new String[] { "X = ( 1, 2" } );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(UNBALANCEDPAREN)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(UNBALANCEDPAREN)", ex );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: append strings to a numeric " +
+                               "variable. The pool must not change."  );
+
+         pool.loadFromBuffer( "num", new String[] { "X = 1" } );
+
+         snapshot0 = pool.getSnapshot();
+
+         try
+         {
+            pool.loadFromBuffer( "bad", new String[] { "X += 'a'" } );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(TYPEMISMATCH)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(TYPEMISMATCH)", ex );
+         }
+
+         ok = JNITestutils.chcksl ( "same snapshot",
+                                    pool.getSnapshot() == snapshot0, true );
+
+         ok = JNITestutils.chcksi ( "kernel count",
+                                    pool.getLoadedKernels().length,
+                                    "=", 1, 0                         );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: look up a variable that doesn't " +
+                               "exist, and one of the wrong type."        );
+
+         try
+         {
+            snapshot0.getDouble( "Y" );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(KERNELVARNOTFOUND)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(KERNELVARNOTFOUND)", ex );
+         }
+
+         try
+         {
+            snapshot0.getCharacter( "X" );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(KERNELVARNOTFOUND)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(KERNELVARNOTFOUND)", ex );
+         }
+
+         pool.clear();
+
+
+
+         // ***********************************************************
+         //
+         //    Normal cases
+         //
+         // ***********************************************************
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Compare the variables of the test PCK " +
+                              "with those in the CSPICE kernel pool."    );
+
+         KernelDatabase.load( PCK );
+
+         pool.load( PCK );
+
+         snapshot = pool.getSnapshot();
+
+         names    = KernelPool.getNames( "*" );
+
+         ok = JNITestutils.chcksi ( "variable count",
+                                    snapshot.getVariableCount(), "=",
+                                    names.length,                0    );
+
+         for ( String name : names )
+         {
+            ok = JNITestutils.chcksl ( name + " exists",
+                                       snapshot.exists( name ), true );
+
+            ok = JNITestutils.chcksi ( name + " type",
+                                       snapshot.getDataType( name ), "=",
+                                       KernelPool.getDataType( name ), 0  );
+
+            ok = JNITestutils.chcksi ( name + " size",
+                                       snapshot.getSize( name ), "=",
+                                       KernelPool.getSize( name ), 0  );
+
+            if ( KernelPool.getDataType( name ) == KernelPool.NUMERIC )
+            {
+               ok = JNITestutils.chckad ( name,
+                                          snapshot.getDouble( name ), "~~/",
+                                          KernelPool.getDouble( name ),
+                                          TIGHT_TOL                        );
+            }
+            else
+            {
+               xStrings = KernelPool.getCharacter( name );
+
+               for ( i = 0;  i < xStrings.length;  i++ )
+               {
+                  ok = JNITestutils.chcksc ( name,
+                                             snapshot.getCharacter( name, i ),
+                                             "=",
+                                             xStrings[i]                      );
+               }
+            }
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Check name templates." );
+
+         xStrings = KernelPool.getNames( "BODY399%*" );
+         names    = snapshot.getNames  ( "BODY399%*" );
+
+         ok = JNITestutils.chcksi ( "name count", names.length, "=",
+                                    xStrings.length,            0    );
+
+         java.util.Arrays.sort( names    );
+         java.util.Arrays.sort( xStrings );
+
+         for ( i = 0;  i < names.length;  i++ )
+         {
+            ok = JNITestutils.chcksc ( "name", names[i], "=", xStrings[i] );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Load a text kernel through a meta-kernel, " +
+                              "and compare its variables with those in "   +
+                              "the CSPICE kernel pool."                      );
+
+         KernelDatabase.load( TXT );
+
+         pool.load( META );
+
+         ok = JNITestutils.chcksi ( "kernel count",
+                                    pool.getLoadedKernels().length,
+                                    "=", 3, 0                         );
+
+         snapshot = pool.getSnapshot();
+
+         xDvals   = KernelPool.getDouble( "TXT_NUMBERS" );
+         dvals    = snapshot.getDouble  ( "TXT_NUMBERS" );
+
+         ok = JNITestutils.chckad ( "TXT_NUMBERS", dvals, "=", xDvals, 0.0 );
+
+         xStrings = KernelPool.getCharacter( "TXT_STRINGS" );
+         names    = snapshot.getCharacter  ( "TXT_STRINGS" );
+
+         ok = JNITestutils.chcksi ( "TXT_STRINGS size", names.length, "=",
+                                    xStrings.length,                  0    );
+
+         for ( i = 0;  i < names.length;  i++ )
+         {
+            ok = JNITestutils.chcksc ( "TXT_STRINGS", names[i], "=",
+                                       xStrings[i]                   );
+         }
+
+         ok = JNITestutils.chcksd ( "TXT_DATE",
+                                    snapshot.getDouble( "TXT_DATE", 0 ), "=",
+                                    KernelPool.getDouble( "TXT_DATE" )[0],
+                                    0.0                                      );
+
+         ok = JNITestutils.chcksi ( "TXT_SCALAR",
+                                    snapshot.getInteger( "TXT_SCALAR", 0 ), "=",
+                                    7,                                      0    );
+
+         ok = JNITestutils.chcksl ( "TXT_IGNORED exists",
+                                    snapshot.exists( "TXT_IGNORED" ), false );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Copy numeric values into a buffer." );
+
+         n  = snapshot.getDouble( "TXT_NUMBERS", 3, buffer );
+
+         ok = JNITestutils.chcksi ( "n", n, "=", 2, 0 );
+
+         ok = JNITestutils.chcksd ( "buffer[0]", buffer[0], "=", 4.0, 0.0 );
+         ok = JNITestutils.chcksd ( "buffer[1]", buffer[1], "=", 5.0, 0.0 );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Unload the meta-kernel; make sure the " +
+                              "snapshot in use is unchanged."            );
+
+         ok = JNITestutils.chcksl ( "unloaded", pool.unload( META ), true );
+
+         ok = JNITestutils.chcksi ( "kernel count",
+                                    pool.getLoadedKernels().length,
+                                    "=", 1, 0                         );
+
+         ok = JNITestutils.chcksl ( "TXT_NUMBERS exists",
+                                    pool.getSnapshot().exists( "TXT_NUMBERS" ),
+                                    false                                       );
+
+         ok = JNITestutils.chcksl ( "old TXT_NUMBERS exists",
+                                    snapshot.exists( "TXT_NUMBERS" ), true );
+
+         ok = JNITestutils.chcksl ( "generation increased",
+                                      pool.getSnapshot().getGeneration()
+                                    > snapshot.getGeneration(),          true );
+      }
+      catch ( SpiceException ex )
+      {
+         //
+         //  Getting here means we've encountered an unexpected
+         //  SPICE exception.  This is analogous to encountering
+         //  an unexpected SPICE error in CSPICE.
+         //
+
+         ex.printStackTrace();
+
+         ok = JNITestutils.chckth ( false, "", ex );
+      }
+
+      finally
+      {
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Clean up." );
+
+         //
+         // Get rid of the kernel files.
+         //
+         KernelDatabase.clear();
+
+         ( new File ( PCK  ) ).delete();
+         ( new File ( TXT  ) ).delete();
+         ( new File ( META ) ).delete();
+      }
+
+      //
+      // Retrieve the current test status.
+      //
+      ok = JNITestutils.tsuccess();
+
+      return ( ok );
+   }
+
+}
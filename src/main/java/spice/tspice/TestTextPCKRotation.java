@@ -0,0 +1,400 @@
+package spice.tspice;
+
+
+import java.io.*;
+import spice.basic.*;
+import spice.testutils.JNITestutils;
+import spice.testutils.Testutils;
+
+
+/**
+Class TestTextPCKRotation provides methods that implement test families
+for the class TextPCKRotation.
+
+<p>
+TextPCKRotation evaluates text PCK orientation models without CSPICE;
+these tests compare its results against those of CSPICE.pxform and
+CSPICE.sxform for bodies whose models have and lack nutation and
+precession terms.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+public class TestTextPCKRotation extends Object
+{
+
+   //
+   // Class constants
+   //
+
+
+   //
+   // Class variables
+   //
+
+
+   //
+   // Methods
+   //
+
+   /**
+   Test TextPCKRotation and associated classes.
+   */
+   public static boolean f_TextPCKRotation()
+
+      throws SpiceException
+   {
+      //
+      // Constants
+      //
+      final String                      PCK       = "test_txtpck.tpc";
+
+      final String[]                    FRAMES    = { "IAU_EARTH",
+                                                      "IAU_MOON",
+                                                      "IAU_MARS",
+                                                      "IAU_PHOBOS",
+                                                      "IAU_JUPITER" };
+
+      final int[]                       BODIES    = { 399, 301, 499,
+                                                      401, 599      };
+
+      final double                      TIGHT_TOL = 1.e-12;
+
+      final int                         NSAMP     = 50;
+
+      //
+      // The fictional body 999 has three nutation and precession
+      // terms but its barycenter has only two angles.
+      //
+      final String[]                    BADPCK    = {
+
+         "BODY999_POLE_RA             = ( 10.0  0.1  0.0 )",
+         "BODY999_POLE_DEC            = ( 20.0  0.1  0.0 )",
+         "BODY999_PM                  = ( 30.0  100.0 )",
+         "BODY999_NUT_PREC_PM         = ( 1.0  2.0  3.0 )",
+         "BODY9_NUT_PREC_ANGLES       = ( 10.0  1000.0",
+         "                               20.0  2000.0 )"                  };
+
+      //
+      // Local variables
+      //
+      FrameTree                         tree;
+
+      KernelPoolSnapshot                snapshot;
+
+      TextKernelPool                    pool;
+
+      TextPCKRotation                   bad;
+
+      TextPCKRotation                   pck;
+
+      boolean                           ok;
+
+      double[]                          epochs    = new double[NSAMP];
+      double[]                          rotate    = new double[9];
+      double[]                          rotations = new double[9  * NSAMP];
+      double[]                          xform     = new double[36];
+      double[]                          xforms    = new double[36 * NSAMP];
+      double[][]                        xRotate;
+      double[]                          xXform;
+
+      int                               frameID;
+      int                               i;
+      int                               j;
+      int                               row;
+      int                               col;
+
+      //
+      //  We enclose all tests in a try/catch block in order to
+      //  facilitate handling unexpected exceptions.  Unexpected
+      //  exceptions are trapped by the catch block at the end of
+      //  the routine; expected exceptions are handled locally by
+      //  catch blocks associated with error handling test cases.
+      //
+      //  Therefore, JNISpice calls that are expected to succeed don't
+      //  have any subsequent "chckxc" type calls following them, nor
+      //  are they wrapped in in try/catch blocks.
+      //
+      //  Expected exceptions that are *not* thrown are tested
+      //  via a call to {@link spice.testutils.Testutils#dogDidNotBark}.
+      //
+
+      try
+      {
+
+         JNITestutils.topen ( "f_TextPCKRotation" );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Setup: create kernels." );
+
+
+         //
+         // Clear the KernelDatabase system.
+         //
+         KernelDatabase.clear();
+
+         //
+         // Create and load the generic PCK, keeping it for the Java
+         // kernel pool.
+         //
+         ( new File ( PCK ) ).delete();
+
+         JNITestutils.tstpck( PCK, true, true );
+
+         pool = new TextKernelPool();
+
+         pool.load( PCK );
+
+         snapshot = pool.getSnapshot();
+
+         pck      = TextPCKRotation.create( snapshot );
+
+         tree     = FrameTree.create( snapshot, null, pck );
+
+         pool     = new TextKernelPool();
+
+         pool.loadFromBuffer( "bad", BADPCK );
+
+         bad      = TextPCKRotation.create( pool.getSnapshot() );
+
+         //
+         // Epochs span two centuries about J2000.
+         //
+         for ( i = 0;  i < NSAMP;  i++ )
+         {
+            epochs[i] = -3.15e9 + i * 1.3e8;
+         }
+
+
+
+         // ***********************************************************
+         //
+         //    Error cases
+         //
+         // ***********************************************************
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: get the rotation of a body " +
+                               "having no orientation model."        );
+
+         try
+         {
+            pck.getBodyRotation( 12345, 0.0, rotate );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(KERNELVARNOTFOUND)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(KERNELVARNOTFOUND)", ex );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: get the rotation of a body " +
+                               "having more nutation and precession " +
+                               "terms than angles."                     );
+
+         try
+         {
+            bad.getBodyRotation( 999, 0.0, rotate );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(INSUFFICIENTANGLES)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(INSUFFICIENTANGLES)", ex );
+         }
+
+
+
+         // ***********************************************************
+         //
+         //    Normal cases
+         //
+         // ***********************************************************
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Check model availability and reference " +
+                              "frames."                                  );
+
+         ok = JNITestutils.chcksl ( "499 model",   pck.hasModel( 499 ),
+                                    true                               );
+
+         ok = JNITestutils.chcksl ( "12345 model", pck.hasModel( 12345 ),
+                                    false                                );
+
+         ok = JNITestutils.chcksi ( "499 frame", pck.getReferenceFrame( 499 ),
+                                    "=",         FrameTree.J2000,          0 );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Compare body rotations and state " +
+                              "transformations with pxform and sxform." );
+
+         for ( i = 0;  i < NSAMP;  i += 3 )
+         {
+            for ( j = 0;  j < BODIES.length;  j++ )
+            {
+               pck.getBodyRotation( BODIES[j], epochs[i], rotate );
+
+               xRotate = CSPICE.pxform( "J2000", FRAMES[j], epochs[i] );
+
+               for ( row = 0;  row < 3;  row++ )
+               {
+                  for ( col = 0;  col < 3;  col++ )
+                  {
+                     ok = JNITestutils.chcksd ( FRAMES[j] + " rotation",
+                                                rotate[ 3*row + col ], "~",
+                                                xRotate[row][col],
+                                                TIGHT_TOL                  );
+                  }
+               }
+
+               pck.getBodyStateTransformation( BODIES[j], epochs[i], xform );
+
+               xXform = CSPICE.sxform( "J2000", FRAMES[j], epochs[i] );
+
+               ok = JNITestutils.chckad ( FRAMES[j] + " xform",
+                                          xform,  "~~",  xXform,  TIGHT_TOL );
+            }
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Compare FrameTree transformations using " +
+                              "TextPCKRotation with pxform and sxform."   );
+
+         for ( i = 0;  i < NSAMP;  i += 5 )
+         {
+            for ( j = 0;  j < FRAMES.length;  j++ )
+            {
+               frameID = tree.getFrameID( FRAMES[j] );
+
+               tree.getRotation( frameID,    FrameTree.J2000,
+                                 epochs[i],  rotate          );
+
+               xRotate = CSPICE.pxform( FRAMES[j], "J2000", epochs[i] );
+
+               for ( row = 0;  row < 3;  row++ )
+               {
+                  for ( col = 0;  col < 3;  col++ )
+                  {
+                     ok = JNITestutils.chcksd ( FRAMES[j] + " to J2000",
+                                                rotate[ 3*row + col ], "~",
+                                                xRotate[row][col],
+                                                TIGHT_TOL                  );
+                  }
+               }
+
+               tree.getStateTransformation( frameID,
+                                            tree.getFrameID( FRAMES[0] ),
+                                            epochs[i],  xform            );
+
+               xXform = CSPICE.sxform( FRAMES[j], FRAMES[0], epochs[i] );
+
+               ok = JNITestutils.chckad ( FRAMES[j] + " to " + FRAMES[0],
+                                          xform,  "~~",  xXform,  TIGHT_TOL );
+            }
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Compare batch outputs with those for " +
+                              "single epochs."                          );
+
+         for ( j = 0;  j < BODIES.length;  j++ )
+         {
+            pck.getBodyRotations          ( BODIES[j], epochs, rotations );
+            pck.getBodyStateTransformations( BODIES[j], epochs, xforms    );
+
+            for ( i = 0;  i < NSAMP;  i++ )
+            {
+               pck.getBodyRotation( BODIES[j], epochs[i], rotate );
+
+               for ( row = 0;  row < 9;  row++ )
+               {
+                  ok = JNITestutils.chcksd ( FRAMES[j] + " batch rotation",
+                                             rotations[ 9*i + row ], "=",
+                                             rotate[row],            0.0  );
+               }
+
+               pck.getBodyStateTransformation( BODIES[j], epochs[i], xform );
+
+               for ( row = 0;  row < 36;  row++ )
+               {
+                  ok = JNITestutils.chcksd ( FRAMES[j] + " batch xform",
+                                             xforms[ 36*i + row ], "=",
+                                             xform[row],           0.0  );
+               }
+            }
+         }
+      }
+      catch ( SpiceException ex )
+      {
+         //
+         //  Getting here means we've encountered an unexpected
+         //  SPICE exception.  This is analogous to encountering
+         //  an unexpected SPICE error in CSPICE.
+         //
+
+         ex.printStackTrace();
+
+         ok = JNITestutils.chckth ( false, "", ex );
+      }
+
+      finally
+      {
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Clean up." );
+
+         //
+         // Get rid of the PCK file.
+         //
+         KernelDatabase.clear();
+
+         ( new File ( PCK ) ).delete();
+      }
+
+      //
+      // Retrieve the current test status.
+      //
+      ok = JNITestutils.tsuccess();
+
+      return ( ok );
+   }
+
+}
@@ -0,0 +1,504 @@
+package spice.tspice;
+
+
+import spice.basic.*;
+import spice.testutils.JNITestutils;
+import spice.testutils.Testutils;
+
+
+/**
+Class TestTimeConverter provides methods that implement test families
+for the class TimeConverter, and for TDBTime, TDTTime and JEDTime
+instances created from it.
+
+<p>
+TimeConverter parses, formats and converts times without CSPICE; these
+tests compare its results against those of str2et, timout, et2utc and
+unitim, using the same leapseconds kernel data.
+
+<h3>Version 1.0.0 18-OCT-2026</h3>
+*/
+public class TestTimeConverter extends Object
+{
+
+   //
+   // Class constants
+   //
+
+
+   //
+   // Class variables
+   //
+
+
+   //
+   // Methods
+   //
+
+   /**
+   Test TimeConverter and associated classes.
+   */
+   public static boolean f_TimeConverter()
+
+      throws SpiceException
+   {
+      //
+      // Constants
+      //
+      final double                      TIGHT_TOL = 1.e-12;
+      final double                      TIME_TOL  = 1.e-6;
+
+      final int                         NSAMP     = 500;
+
+      final String[]                    STRINGS   = {
+
+         "2016-09-30T15:32:32.184Z",
+         "2016-274T15:32:32",
+         "2016-09-30 15:32:32.184",
+         "09/30/2016 15:32:32",
+         "2016 SEP 30 15:32",
+         "30 Sep 2016 15:32:32.5",
+         "September 30, 2016 15:32:32 TDB",
+         "2016-09-30T15:32:32 TDT",
+         "2016-12-31T23:59:60.5",
+         "1972-JAN-1",
+         "JD 2457662.147",
+         "JD 2457662.147 TDB"                   };
+
+      final String[]                    PICTURES  = {
+
+         "YYYY MON DD HR:MN:SC.######::TDB::RND TDB",
+         "YYYY-MM-DDTHR:MN:SC.###::RND",
+         "YYYY-DOY // HR:MN:SC.##::TRNC",
+         "Month DD, YYYY HR:MN ::UTC::RND",
+         "Mon DD YR HR:MN:SC ::TDT",
+         "JULIAND.##### ::TDB"                  };
+
+      final String[]                    FORMATS   = { "C", "D", "J",
+                                                      "ISOC", "ISOD" };
+
+      final String[]                    SYSTEMS   = { "TAI",   "TDT",
+                                                      "TDB",   "JDTDB",
+                                                      "JDTDT", "JED"   };
+
+      //
+      // Local variables
+      //
+      JEDTime                           jed;
+
+      KernelPoolSnapshot                snapshot;
+
+      String[]                          buffer;
+      String                            deltaAt;
+
+      TDBTime                           tdb;
+
+      TDTTime                           tdt;
+
+      TextKernelPool                    pool;
+
+      TimeConverter                     converter;
+
+      boolean                           ok;
+
+      double                            et;
+      double[]                          values;
+      double                            x;
+
+      int                               i;
+      int                               j;
+      int                               k;
+
+      //
+      //  We enclose all tests in a try/catch block in order to
+      //  facilitate handling unexpected exceptions.  Unexpected
+      //  exceptions are trapped by the catch block at the end of
+      //  the routine; expected exceptions are handled locally by
+      //  catch blocks associated with error handling test cases.
+      //
+      //  Therefore, JNISpice calls that are expected to succeed don't
+      //  have any subsequent "chckxc" type calls following them, nor
+      //  are they wrapped in in try/catch blocks.
+      //
+      //  Expected exceptions that are *not* thrown are tested
+      //  via a call to {@link spice.testutils.Testutils#dogDidNotBark}.
+      //
+
+      try
+      {
+
+         JNITestutils.topen ( "f_TimeConverter" );
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Setup: load a leapseconds kernel." );
+
+
+         //
+         // Clear the KernelDatabase system.
+         //
+         KernelDatabase.clear();
+
+         JNITestutils.tstlsk();
+
+         //
+         // The leapseconds kernel created by tstlsk is deleted once
+         // loaded; copy the variables needed by the converter from
+         // the CSPICE kernel pool.
+         //
+         values  = KernelPool.getDouble( "DELTET/DELTA_AT" );
+         deltaAt = "DELTET/DELTA_AT = (";
+
+         for ( i = 0;  i < values.length;  i++ )
+         {
+            deltaAt = deltaAt + " " + values[i];
+         }
+
+         buffer = new String[] {
+
+            "DELTET/DELTA_T_A = " + KernelPool.getDouble( "DELTET/DELTA_T_A" )[0],
+            "DELTET/K         = " + KernelPool.getDouble( "DELTET/K"  )[0],
+            "DELTET/EB        = " + KernelPool.getDouble( "DELTET/EB" )[0],
+            "DELTET/M         = ( " + KernelPool.getDouble( "DELTET/M" )[0] +
+                                " "   + KernelPool.getDouble( "DELTET/M" )[1] + " )",
+            deltaAt + " )"                                                         };
+
+         pool = new TextKernelPool();
+
+         pool.loadFromBuffer( "leapseconds", buffer );
+
+         snapshot  = pool.getSnapshot();
+
+         converter = TimeConverter.create( snapshot );
+
+
+
+         // ***********************************************************
+         //
+         //    Error cases
+         //
+         // ***********************************************************
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: create a converter from a pool " +
+                               "having no leapseconds data."              );
+
+         try
+         {
+            TimeConverter.create( ( new TextKernelPool() ).getSnapshot() );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(KERNELVARNOTFOUND)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(KERNELVARNOTFOUND)", ex );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: parse a string having an " +
+                               "unrecognized word."                  );
+
+         try
+         {
+            converter.parse( "2016-09-30 noon" );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(UNPARSEDTIME)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(UNPARSEDTIME)", ex );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: parse a string having a day " +
+                               "out of range."                         );
+
+         try
+         {
+            converter.parse( "2015 FEB 29 12:00:00" );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(BADTIMESTRING)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(BADTIMESTRING)", ex );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: parse a string having two time " +
+                               "system labels."                           );
+
+         try
+         {
+            converter.parse( "2016-09-30 12:00:00 TDB UTC" );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(TIMECONFLICT)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(TIMECONFLICT)", ex );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: format a UTC string with an " +
+                               "unknown format code."                  );
+
+         try
+         {
+            converter.toUTCString( 0.0, "ISOX", 3 );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(INVALIDTIMEFORMAT)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(INVALIDTIMEFORMAT)", ex );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+         JNITestutils.tcase (  "Error: convert to an unknown time " +
+                               "system."                              );
+
+         try
+         {
+            converter.convert( 0.0, "TDB", "GPS" );
+
+            //
+            // If an exception is *not* thrown, we'll hit this call.
+            //
+
+            Testutils.dogDidNotBark (  "SPICE(BADTIMETYPE)" );
+
+         }
+         catch ( SpiceException ex )
+         {
+            ok = JNITestutils.chckth ( true, "SPICE(BADTIMETYPE)", ex );
+         }
+
+
+
+         // ***********************************************************
+         //
+         //    Normal cases
+         //
+         // ***********************************************************
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Compare parsed strings with str2et." );
+
+         for ( i = 0;  i < STRINGS.length;  i++ )
+         {
+            ok = JNITestutils.chcksd ( STRINGS[i],
+                                       converter.parse( STRINGS[i] ),  "~",
+                                       CSPICE.str2et( STRINGS[i] ),   TIME_TOL );
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Compare formatted times with timout." );
+
+         for ( i = 0;  i <= NSAMP;  i++ )
+         {
+            et = -8.e8  +  i * 3.3333331e6  +  0.1234567;
+
+            for ( j = 0;  j < PICTURES.length;  j++ )
+            {
+               ok = JNITestutils.chcksc ( PICTURES[j],
+                                          converter.format( et, PICTURES[j] ),
+                                          "=",
+                                          CSPICE.timout( et, PICTURES[j] )    );
+            }
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Compare UTC strings with et2utc, including " +
+                              "times within a leapsecond."                    );
+
+         for ( i = 0;  i <= NSAMP;  i++ )
+         {
+            if ( i < 20 )
+            {
+               et = CSPICE.str2et( "2016-12-31T23:59:59.6" ) + i * 0.1;
+            }
+            else
+            {
+               et = -8.e8  +  i * 3.3333331e6  +  0.1234567;
+            }
+
+            for ( j = 0;  j < FORMATS.length;  j++ )
+            {
+               for ( k = 0;  k <= 6;  k += 3 )
+               {
+                  ok = JNITestutils.chcksc ( FORMATS[j],
+                                             converter.toUTCString( et,
+                                                                    FORMATS[j],
+                                                                    k          ),
+                                             "=",
+                                             CSPICE.et2utc( et, FORMATS[j], k )  );
+               }
+            }
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Compare time system conversions with unitim." );
+
+         for ( i = 0;  i <= NSAMP;  i++ )
+         {
+            et = -8.e8  +  i * 3.3333331e6;
+
+            for ( j = 0;  j < SYSTEMS.length;  j++ )
+            {
+               x = CSPICE.unitim( et, "TDB", SYSTEMS[j] );
+
+               ok = JNITestutils.chcksd ( SYSTEMS[j],
+                                          converter.convert( et, "TDB", SYSTEMS[j] ),
+                                          "~/", x, TIGHT_TOL                          );
+
+               for ( k = 0;  k < SYSTEMS.length;  k++ )
+               {
+                  ok = JNITestutils.chcksd ( SYSTEMS[k],
+                                             converter.convert( x, SYSTEMS[j],
+                                                                   SYSTEMS[k] ),
+                                             "~/",
+                                             CSPICE.unitim( x, SYSTEMS[j],
+                                                               SYSTEMS[k] ),
+                                             TIGHT_TOL                         );
+               }
+            }
+         }
+
+
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Use TDBTime, TDTTime and JEDTime instances " +
+                              "created from the converter."                   );
+
+         tdb = new TDBTime( converter, STRINGS[0] );
+
+         ok  = JNITestutils.chcksd ( "TDB", tdb.getTDBSeconds(), "~",
+                                     CSPICE.str2et( STRINGS[0] ), TIME_TOL );
+
+         ok  = JNITestutils.chcksc ( "toString", tdb.toString(), "=",
+                                     ( new TDBTime( tdb.getTDBSeconds() ) ).toString() );
+
+         ok  = JNITestutils.chcksc ( "sum",
+                                     tdb.add( new TDBDuration(1.5) ).toUTCString( "ISOC", 3 ),
+                                     "=",
+                                     CSPICE.et2utc( tdb.getTDBSeconds() + 1.5,
+                                                    "ISOC", 3                  ) );
+
+         tdt = new TDTTime( converter, STRINGS[0] );
+
+         ok  = JNITestutils.chcksd ( "TDT", tdt.getTDTSeconds(), "~",
+                                     ( new TDTTime( STRINGS[0] ) ).getTDTSeconds(),
+                                     TIME_TOL                                      );
+
+         ok  = JNITestutils.chcksd ( "TDT to TDB", tdt.getTDBSeconds(), "~",
+                                     tdb.getTDBSeconds(),           TIME_TOL );
+
+         ok  = JNITestutils.chcksc ( "TDT toString", tdt.toString(), "=",
+                                     ( new TDTTime( tdt.getTDTSeconds() ) ).toString() );
+
+         jed = new JEDTime( converter, tdb );
+
+         ok  = JNITestutils.chcksd ( "JED", jed.getDays(), "~/",
+                                     ( new JEDTime( tdb ) ).getDays(), TIGHT_TOL );
+
+         ok  = JNITestutils.chcksc ( "JED UTC", jed.toUTCString( "C", 3 ), "=",
+                                     CSPICE.et2utc( jed.getTDBSeconds(), "C", 3 ) );
+      }
+      catch ( SpiceException ex )
+      {
+         //
+         //  Getting here means we've encountered an unexpected
+         //  SPICE exception.  This is analogous to encountering
+         //  an unexpected SPICE error in CSPICE.
+         //
+
+         ex.printStackTrace();
+
+         ok = JNITestutils.chckth ( false, "", ex );
+      }
+
+      finally
+      {
+         //
+         // --------Case-----------------------------------------------
+         //
+
+         JNITestutils.tcase ( "Clean up." );
+
+         KernelDatabase.clear();
+      }
+
+      //
+      // Retrieve the current test status.
+      //
+      ok = JNITestutils.tsuccess();
+
+      return ( ok );
+   }
+
+}
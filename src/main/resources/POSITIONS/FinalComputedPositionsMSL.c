@@ -28,32 +28,18 @@
 #define SEPARATOR "\n=======================================================================\n"
 #define CURIOSITY -76
 #define CURIOSITY_HGA -76122
+#define STREAM_MODE_FLAG "--stream"
+#define STREAM_READY "READY"
+#define LINE_LEN 256
 
 
-int main(int argc, char** argv){
-	/*--------------------------------------------------------------------------------------------
-	*	Load the required kernels
-	--------------------------------------------------------------------------------------------*/
-	furnsh_c(GENERIC_LSK);
-	furnsh_c(CURIOSITY_SCLK);
-	furnsh_c(CURIOSITY_SCLK_2);
-	furnsh_c(MERGED_MISSION_DATA_SPK);
-	//furnsh_c(SOLAR_SYSTEM_EPHEMERIS_SPK);
-	furnsh_c(CURIOSITY_FRAMES_KERNEL);
-	furnsh_c(CURIOSITY_PCK);
-	furnsh_c(CURIOSITY_CK_KERNEL_1);
-	furnsh_c(CURIOSITY_CK_KERNEL_2);
-	furnsh_c(CURIOSITY_CK_KERNEL_3);
-	furnsh_c(CURIOSITY_CK_KERNEL_4);
-	furnsh_c(CURIOSITY_ROVER_CK_1);
-	furnsh_c(CURIOSITY_ROVER_CK_2);
-	furnsh_c(CURIOSITY_ROVER_CK_3);
-	furnsh_c(CURIOSITY_ROVER_CK_4);
-
+/*--------------------------------------------------------------------------------------------
+*	Computes and prints one CSV row for the given UTC time. Kernels must already be loaded.
+--------------------------------------------------------------------------------------------*/
+static void printPositions(SpiceChar* userUTCTime){
 	/*-------------------------------------------------------------------------------------------
 	* Variable declarations
 	--------------------------------------------------------------------------------------------*/
-	SpiceChar userUTCTime[STR_LEN];                 /* user entered UTC Time           */
         SpiceDouble et,spacecraftTime;                  /* ephemerisTime, spacecraftTime   */
 	SpiceDouble lightTimeMSLEarth;			/* one way light time earth to msl */
 	static SpiceChar sclkch[100];                   /* spacecraftTime String           */
@@ -67,25 +53,6 @@ int main(int argc, char** argv){
 	SpiceDouble bsight[3];
 	SpiceDouble angularSeparation;
 
-        /* Check if arguments have been passed */
-         int i = 0;
-	 int argumentLength = strlen(argv[1]);
-         for(i=0; i < argumentLength; i++)
-	         {
-        	 	if(argv[1][i] == '~')
-                        {
-                                userUTCTime[i] = 32;
-                        }
-                        else
-                        {
-                                userUTCTime[i] = argv[1][i];
-                        }
-                }
-
-         /* Adding /n */
-         userUTCTime[++i] = 92;
-         userUTCTime[++i] = 110;
-
 	/*------------------------------------------------------------------------------------
         * Get the ephemeris time
         ------------------------------------------------------------------------------------*/
@@ -167,8 +134,118 @@ int main(int argc, char** argv){
 	-----------------------------------------------------------------------------------*/
 	sce2s_c   ( -76900, et, STR_LEN, sclkch );
 
+	/* In stream mode the caller reports the error, one line per request */
+	if(failed_c())
+	{
+		return;
+	}
+
 	//et, stC0, stC1, stC2, stC3, stC4, stC5, ltCE, stE0, stE1, stE2, stE3, stE4, stE5, ltEC, posEC0, posEC1, posEC2, ltEC, angularSeparation
 	printf("%f,%16.3f,%16.3f,%16.3f,%16.3f,%16.3f,%16.3f,%16.3f,%16.3f,%16.3f,%16.3f,%16.3f,%16.3f, %16.3f, %16.3f, %16.3f,%16.3f,%16.3f, %16.3f, %16.3f, %s\n", et, stateCuriosity[0], stateCuriosity[1], stateCuriosity[2], stateCuriosity[3], stateCuriosity[4], stateCuriosity[5], lightTimeMSLEarth, stateEarth[0], stateEarth[1], stateEarth[2], stateEarth[3], stateEarth[4], stateEarth[5], lightTimeEarthMSL_state, posEarthCuriosity[0], posEarthCuriosity[1], posEarthCuriosity[2], lightTimeEarthMSL, angularSeparation, sclkch);
 
+}
+
+/* Main Call
+	argv[0] -> name of the program
+	argv[1] -> user entered UTC time, or --stream to keep the kernels loaded and read one UTC time
+	           per line on stdin, writing one CSV row per line on stdout.
+*/
+int main(int argc, char** argv){
+	/*--------------------------------------------------------------------------------------------
+	*	Load the required kernels
+	--------------------------------------------------------------------------------------------*/
+	furnsh_c(GENERIC_LSK);
+	furnsh_c(CURIOSITY_SCLK);
+	furnsh_c(CURIOSITY_SCLK_2);
+	furnsh_c(MERGED_MISSION_DATA_SPK);
+	//furnsh_c(SOLAR_SYSTEM_EPHEMERIS_SPK);
+	furnsh_c(CURIOSITY_FRAMES_KERNEL);
+	furnsh_c(CURIOSITY_PCK);
+	furnsh_c(CURIOSITY_CK_KERNEL_1);
+	furnsh_c(CURIOSITY_CK_KERNEL_2);
+	furnsh_c(CURIOSITY_CK_KERNEL_3);
+	furnsh_c(CURIOSITY_CK_KERNEL_4);
+	furnsh_c(CURIOSITY_ROVER_CK_1);
+	furnsh_c(CURIOSITY_ROVER_CK_2);
+	furnsh_c(CURIOSITY_ROVER_CK_3);
+	furnsh_c(CURIOSITY_ROVER_CK_4);
+
+	SpiceChar userUTCTime[LINE_LEN];
+	int i = 0;
+
+	if(argc > 1 && strcmp(argv[1], STREAM_MODE_FLAG) != 0)
+	{
+		/* Single shot mode - replace '~' with blanks */
+		strncpy(userUTCTime, argv[1], LINE_LEN - 1);
+		userUTCTime[LINE_LEN - 1] = '\0';
+		for(i=0; userUTCTime[i] != '\0'; i++)
+		{
+			if(userUTCTime[i] == '~')
+			{
+				userUTCTime[i] = ' ';
+			}
+		}
+		printPositions(userUTCTime);
+		return 0;
+	}
+
+	/*-------------------------------------------------------------------------------------------
+	* Stream mode - SPICE errors are reported per line instead of aborting the worker. Every input
+	* line gets exactly one output line, so the caller never loses its place. READY tells the
+	* caller that the kernels are loaded and that this build understands stream mode.
+	--------------------------------------------------------------------------------------------*/
+	erract_c("SET", 0, "RETURN");
+	errprt_c("SET", 0, "NONE");
+	printf("%s\n", STREAM_READY);
+	fflush(stdout);
+	while(fgets(userUTCTime, LINE_LEN, stdin) != NULL)
+	{
+		int complete = 0;
+		int blank = 1;
+		for(i=0; userUTCTime[i] != '\0'; i++)
+		{
+			if(userUTCTime[i] == '~')
+			{
+				userUTCTime[i] = ' ';
+			}
+			else if(userUTCTime[i] == '\n' || userUTCTime[i] == '\r')
+			{
+				userUTCTime[i] = '\0';
+				complete = 1;
+				break;
+			}
+			else if(userUTCTime[i] != ' ' && userUTCTime[i] != '\t')
+			{
+				blank = 0;
+			}
+		}
+
+		/* A line longer than the buffer is drained and answered once */
+		if(!complete && !feof(stdin))
+		{
+			int c;
+			while((c = getchar()) != EOF && c != '\n')
+			{
+			}
+			printf("ERROR,UTC time longer than %d characters\n", LINE_LEN - 2);
+		}
+		else if(blank)
+		{
+			printf("ERROR,blank UTC time\n");
+		}
+		else
+		{
+			printPositions(userUTCTime);
+			if(failed_c())
+			{
+				SpiceChar message[LINE_LEN];
+				getmsg_c("SHORT", LINE_LEN, message);
+				printf("ERROR,%s\n", message);
+				reset_c();
+			}
+		}
+		fflush(stdout);
+	}
+
 	return 0;
 }